@@ -0,0 +1,59 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.repository.RoomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports hits, misses and the hit ratio of the Hibernate second-level cache regions. A region that
+ * does not exist yet (query regions are created on first use) or a disabled cache reports zero.
+ */
+@Component
+public class EntityCacheMetrics implements MeterBinder {
+    public static final String ROOM_REGION = "room";
+    public static final String PERSON_REGION = "person";
+
+    private static final String[] REGIONS = {ROOM_REGION, PERSON_REGION, RoomRepository.ROOM_AVAILABLE_QUERY_REGION};
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            FunctionCounter.builder("booking.entity.cache.requests", statistics, s -> count(s, region, CacheRegionStatistics::getHitCount))
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("booking.entity.cache.requests", statistics, s -> count(s, region, CacheRegionStatistics::getMissCount))
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("booking.entity.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(Statistics statistics, String region) {
+        long hits = count(statistics, region, CacheRegionStatistics::getHitCount);
+        long requests = hits + count(statistics, region, CacheRegionStatistics::getMissCount);
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    private static long count(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> counter) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? 0 : counter.applyAsLong(regionStatistics);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.util.LongBloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+
+/**
+ * Bloom filters of the person, room and meeting ids in the database. {@link #mightContain} answers
+ * true for every id that was loaded by the last rebuild or added since, and for every id above the
+ * highest one the rebuild scanned, so rows inserted outside this JVM (persons provisioned elsewhere,
+ * other nodes) are not reported missing while their ids keep growing. Until the first rebuild
+ * finishes every id might exist.
+ * <p>
+ * An id below the highest scanned one that another writer inserts after the scan, for example from a
+ * sequence block another node reserved earlier, still reads as missing until the next rebuild. With
+ * several writers the rebuild interval bounds how long that lasts.
+ * <p>
+ * A rebuild scans the ids into a fresh filter and swaps it in. Ids added while the scan runs are kept
+ * in a journal and replayed into the fresh filter, so callers must add an id only after the insert has
+ * committed: an id committed before the scan starts is seen by the scan, a later one is journaled.
+ */
+@Component
+public class IdExistenceFilter {
+    private static final Logger logger = Logger.getLogger(IdExistenceFilter.class.getName());
+    private static final int ID_PAGE_SIZE = 10_000;
+    private static final long MINIMUM_EXPECTED_IDS = 1024;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    public enum IdType {
+        PERSON, ROOM, MEETING
+    }
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MeetingScheduleRepository meetingScheduleRepository;
+
+    private final Map<IdType, Filter> filters = new EnumMap<>(IdType.class);
+
+    public IdExistenceFilter() {
+        for (IdType type : IdType.values()) {
+            filters.put(type, new Filter());
+        }
+    }
+
+    public boolean mightContain(IdType type, long id) {
+        Scan scan = filters.get(type).current;
+        return scan == null || id > scan.highestId || scan.ids.mightContain(id);
+    }
+
+    public void add(IdType type, long id) {
+        filters.get(type).add(id);
+    }
+
+    public boolean isBuilt(IdType type) {
+        return filters.get(type).current != null;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.existence-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${booking.existence-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        ReplicaRoutingDataSource.onPrimary(() -> {
+            rebuild(IdType.PERSON, personRepository, personRepository::findIdsAfter);
+            rebuild(IdType.ROOM, roomRepository, roomRepository::findIdsAfter);
+            rebuild(IdType.MEETING, meetingScheduleRepository, meetingScheduleRepository::findIdsAfter);
+            return null;
+        });
+    }
+
+    private void rebuild(IdType type, CrudRepository<?, Long> repository, BiFunction<Long, Pageable, List<Long>> idsAfter) {
+        long start = System.currentTimeMillis();
+        Filter filter = filters.get(type);
+        filter.beginRebuild();
+        try {
+            long count = repository.count();
+            LongBloomFilter fresh = new LongBloomFilter(count + Math.max(MINIMUM_EXPECTED_IDS, count / 2), FALSE_POSITIVE_PROBABILITY);
+            long afterId = Long.MIN_VALUE;
+            List<Long> ids;
+            do {
+                ids = idsAfter.apply(afterId, PageRequest.of(0, ID_PAGE_SIZE));
+                for (Long id : ids) {
+                    fresh.put(id);
+                }
+                if (!ids.isEmpty()) {
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == ID_PAGE_SIZE);
+            filter.finishRebuild(new Scan(fresh, afterId));
+            logger.fine("Existence filter for " + type + " rebuilt from " + count + " ids, " + fresh.getBitSize() / 8
+                    + " bytes, in " + (System.currentTimeMillis() - start) + " ms.");
+        } catch (DataAccessException e) {
+            filter.abortRebuild();
+            logger.warning("Existence filter for " + type + " could not be rebuilt: " + e.getMessage());
+        }
+    }
+
+    private static final class Scan {
+        private final LongBloomFilter ids;
+        private final long highestId;
+
+        Scan(LongBloomFilter ids, long highestId) {
+            this.ids = ids;
+            this.highestId = highestId;
+        }
+    }
+
+    private static final class Filter {
+        private volatile Scan current;
+        private List<Long> journal;
+
+        synchronized void add(long id) {
+            if (current != null) {
+                current.ids.put(id);
+            }
+            if (journal != null) {
+                journal.add(id);
+            }
+        }
+
+        synchronized void beginRebuild() {
+            journal = new ArrayList<>();
+        }
+
+        synchronized void finishRebuild(Scan fresh) {
+            for (Long id : journal) {
+                fresh.ids.put(id);
+            }
+            journal = null;
+            current = fresh;
+        }
+
+        synchronized void abortRebuild() {
+            journal = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bookingapp.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdExistenceFilterWarmUp implements ApplicationRunner {
+    @Autowired
+    private IdExistenceFilter idExistenceFilter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread warmUp = new Thread(idExistenceFilter::rebuild, "id-existence-filter-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+}
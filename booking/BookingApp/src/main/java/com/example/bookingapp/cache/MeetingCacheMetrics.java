@@ -0,0 +1,56 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.concurrent.SeatReservationCounters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MeetingCacheMetrics implements MeterBinder {
+    @Autowired
+    private MeetingScheduleCache meetingScheduleCache;
+
+    @Autowired
+    private RoomAvailabilityBitmap roomAvailabilityBitmap;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private SeatOccupancyTimeline seatOccupancyTimeline;
+
+    @Autowired
+    private SeatReservationCounters seatReservationCounters;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("booking.meeting.cache.requests", meetingScheduleCache, MeetingScheduleCache::getHits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("booking.meeting.cache.requests", meetingScheduleCache, MeetingScheduleCache::getMisses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("booking.meeting.cache.evictions", meetingScheduleCache, MeetingScheduleCache::getEvictions)
+                .register(registry);
+        Gauge.builder("booking.meeting.cache.size", meetingScheduleCache, MeetingScheduleCache::getSize)
+                .register(registry);
+        Gauge.builder("booking.meeting.cache.rooms", meetingScheduleCache, MeetingScheduleCache::getRoomCount)
+                .register(registry);
+        Gauge.builder("booking.meeting.cache.warm", meetingScheduleCache, cache -> cache.isWarm() ? 1 : 0)
+                .register(registry);
+        Gauge.builder("booking.availability.bitmap.rooms", roomAvailabilityBitmap, RoomAvailabilityBitmap::getRoomCount)
+                .register(registry);
+        Gauge.builder("booking.availability.bitmap.bytes", roomAvailabilityBitmap, RoomAvailabilityBitmap::getMemoryFootprintBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("booking.room.catalog.rooms", roomCatalog, RoomCatalog::getRoomCount)
+                .register(registry);
+        Gauge.builder("booking.seat.occupancy.days", seatOccupancyTimeline, SeatOccupancyTimeline::getDayCount)
+                .register(registry);
+        Gauge.builder("booking.seat.reservation.days", seatReservationCounters, SeatReservationCounters::getDayCount)
+                .register(registry);
+    }
+}
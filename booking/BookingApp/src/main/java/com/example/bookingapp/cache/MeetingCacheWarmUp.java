@@ -0,0 +1,19 @@
+package com.example.bookingapp.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "booking.conflict-engine", havingValue = "memory", matchIfMissing = true)
+public class MeetingCacheWarmUp implements ApplicationRunner {
+    @Autowired
+    private MeetingScheduleCache meetingScheduleCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        meetingScheduleCache.warmUp();
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MeetingIntervalIndex {
+    private final Map<Long, RoomIntervals> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> meetingRooms = new ConcurrentHashMap<>();
+
+    public void put(MeetingSchedule meeting) {
+        if (meeting == null || meeting.getRoom() == null || meeting.getRoom().getId() == null) {
+            return;
+        }
+        if (meeting.getId() != null) {
+            remove(meeting.getId());
+        }
+        if (meeting.getStatusMeeting() != StatusMeetingSchedule.SCHEDULED
+                || !meeting.getEndTime().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        put(meeting.getRoom().getId(), meeting.getId(), meeting.getStartTime(), meeting.getEndTime());
+    }
+
+    public void put(Long roomId, Long meetingId, LocalDateTime startTime, LocalDateTime endTime) {
+        Interval interval = new Interval(meetingId, toSeconds(startTime), toSeconds(endTime));
+        rooms.computeIfAbsent(roomId, id -> new RoomIntervals()).add(interval);
+        if (meetingId != null) {
+            meetingRooms.put(meetingId, roomId);
+        }
+    }
+
+    public void replaceRoom(Long roomId, List<MeetingIntervalDTO> meetings) {
+        removeRoom(roomId);
+        RoomIntervals intervals = new RoomIntervals();
+        for (MeetingIntervalDTO meeting : meetings) {
+            intervals.add(new Interval(meeting.getMeetingId(), toSeconds(meeting.getStartTime()), toSeconds(meeting.getEndTime())));
+            if (meeting.getMeetingId() != null) {
+                meetingRooms.put(meeting.getMeetingId(), roomId);
+            }
+        }
+        rooms.put(roomId, intervals);
+    }
+
+    public void removeRoom(Long roomId) {
+        RoomIntervals intervals = rooms.remove(roomId);
+        if (intervals != null) {
+            for (Long meetingId : intervals.ids()) {
+                meetingRooms.remove(meetingId, roomId);
+            }
+        }
+    }
+
+    public void remove(Long meetingId) {
+        if (meetingId == null) {
+            return;
+        }
+        Long roomId = meetingRooms.remove(meetingId);
+        if (roomId != null) {
+            RoomIntervals intervals = rooms.get(roomId);
+            if (intervals != null) {
+                intervals.remove(meetingId);
+            }
+        }
+    }
+
+    public Long roomOf(Long meetingId) {
+        return meetingId == null ? null : meetingRooms.get(meetingId);
+    }
+
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedMeetingId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null) {
+            return false;
+        }
+        return intervals.anyOverlap(toSeconds(startTime), toSeconds(endTime), excludedMeetingId);
+    }
+
+    public List<Long> findOverlapping(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null) {
+            return new ArrayList<>();
+        }
+        return intervals.overlapping(toSeconds(startTime), toSeconds(endTime));
+    }
+
+    public int size(Long roomId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        return intervals == null ? 0 : intervals.size();
+    }
+
+    public long size() {
+        long size = 0;
+        for (RoomIntervals intervals : rooms.values()) {
+            size += intervals.size();
+        }
+        return size;
+    }
+
+    long longestDuration(Long roomId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        return intervals == null ? 0 : intervals.longestDuration();
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public int evictEnded(LocalDateTime now) {
+        int evicted = 0;
+        long nowSeconds = toSeconds(now);
+        for (RoomIntervals intervals : rooms.values()) {
+            for (Long meetingId : intervals.evictEnded(nowSeconds)) {
+                meetingRooms.remove(meetingId);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static final class Interval {
+        private static final Comparator<Interval> ORDER = Comparator
+                .comparingLong((Interval interval) -> interval.start)
+                .thenComparingLong(interval -> interval.id);
+
+        private final long id;
+        private final long start;
+        private final long end;
+
+        Interval(Long id, long start, long end) {
+            this.id = id == null ? Long.MIN_VALUE : id;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean overlaps(long otherStart, long otherEnd) {
+            return start <= otherEnd && end >= otherStart;
+        }
+    }
+
+    /**
+     * One room's intervals ordered by start. Overlap lookups scan back from the window start by the
+     * longest duration still in the room, which is kept as a counted multiset of durations so it shrinks
+     * again when long meetings are removed or evicted.
+     */
+    static final class RoomIntervals {
+        private final NavigableSet<Interval> byStart = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, Interval> byId = new HashMap<>();
+        private final TreeMap<Long, Integer> durations = new TreeMap<>();
+
+        synchronized void add(Interval interval) {
+            byStart.add(interval);
+            byId.put(interval.id, interval);
+            durations.merge(interval.end - interval.start, 1, Integer::sum);
+        }
+
+        synchronized void remove(Long meetingId) {
+            Interval interval = byId.remove(meetingId);
+            if (interval != null) {
+                byStart.remove(interval);
+                forgetDuration(interval);
+            }
+        }
+
+        synchronized long longestDuration() {
+            return durations.isEmpty() ? 0 : durations.lastKey();
+        }
+
+        synchronized boolean anyOverlap(long start, long end, Long excludedMeetingId) {
+            for (Interval interval : candidates(start, end)) {
+                if (interval.overlaps(start, end) && (excludedMeetingId == null || interval.id != excludedMeetingId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<Long> overlapping(long start, long end) {
+            List<Long> ids = new ArrayList<>();
+            for (Interval interval : candidates(start, end)) {
+                if (interval.overlaps(start, end)) {
+                    ids.add(interval.id);
+                }
+            }
+            return ids;
+        }
+
+        synchronized int size() {
+            return byStart.size();
+        }
+
+        synchronized List<Long> ids() {
+            return new ArrayList<>(byId.keySet());
+        }
+
+        synchronized List<Long> evictEnded(long now) {
+            List<Long> evicted = new ArrayList<>();
+            Iterator<Interval> iterator = byStart.headSet(probe(now), false).iterator();
+            while (iterator.hasNext()) {
+                Interval interval = iterator.next();
+                if (interval.end < now) {
+                    iterator.remove();
+                    byId.remove(interval.id);
+                    forgetDuration(interval);
+                    evicted.add(interval.id);
+                }
+            }
+            return evicted;
+        }
+
+        private NavigableSet<Interval> candidates(long start, long end) {
+            return byStart.subSet(probe(start - longestDuration()), true, new Interval(Long.MAX_VALUE, end, end), true);
+        }
+
+        private void forgetDuration(Interval interval) {
+            durations.computeIfPresent(interval.end - interval.start, (duration, count) -> count == 1 ? null : count - 1);
+        }
+
+        private static Interval probe(long start) {
+            return new Interval(Long.MIN_VALUE, start, start);
+        }
+    }
+}
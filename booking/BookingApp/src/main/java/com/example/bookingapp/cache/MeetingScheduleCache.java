@@ -0,0 +1,205 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Loads run outside any lock, so a committed booking or cancellation can land between a load's query
+ * and its install. Every put and remove bumps the room's version, and a load only replaces the room
+ * when the version it started from is still current. A dropped load leaves the room stale, which sends
+ * its conflict checks to the database until the next load succeeds.
+ */
+@Component
+public class MeetingScheduleCache {
+    private static final Logger logger = Logger.getLogger(MeetingScheduleCache.class.getName());
+
+    private final MeetingIntervalIndex index = new MeetingIntervalIndex();
+    private final Set<Long> loadedRooms = ConcurrentHashMap.newKeySet();
+    private final Set<Long> oversizedRooms = ConcurrentHashMap.newKeySet();
+    private final Set<Long> staleRooms = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> roomVersions = new ConcurrentHashMap<>();
+    private final AtomicLong unplacedRemovals = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile boolean warm;
+
+    @Autowired
+    private MeetingScheduleRepository meetingRepository;
+
+    @Value("${booking.meeting-cache.max-meetings-per-room:5000}")
+    private int maxMeetingsPerRoom = 5000;
+
+    @Value("${booking.meeting-cache.warm-up-threads:4}")
+    private int warmUpThreads = 4;
+
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedMeetingId) {
+        if (isCached(roomId)) {
+            hits.increment();
+            return index.hasConflict(roomId, startTime, endTime, excludedMeetingId);
+        }
+        misses.increment();
+        boolean conflict = meetingRepository.countOverlappingMeetings(
+                roomId, StatusMeetingSchedule.SCHEDULED, startTime, endTime, excludedMeetingId) > 0;
+        if (!oversizedRooms.contains(roomId)) {
+            loadRoom(roomId);
+        }
+        return conflict;
+    }
+
+    public void put(MeetingSchedule meeting) {
+        Long roomId = meeting.getRoom().getId();
+        roomVersions.compute(roomId, (id, version) -> {
+            if (!isCached(id)) {
+                index.remove(meeting.getId());
+            } else {
+                index.put(meeting);
+                if (index.size(id) > maxMeetingsPerRoom) {
+                    unloadOversizedRoom(id);
+                }
+            }
+            return nextVersion(version);
+        });
+    }
+
+    public void remove(Long meetingId) {
+        Long roomId = index.roomOf(meetingId);
+        if (roomId == null) {
+            // The meeting's room is not in memory, but a load of it may have read the meeting already.
+            unplacedRemovals.incrementAndGet();
+            roomId = index.roomOf(meetingId);
+            if (roomId == null) {
+                return;
+            }
+        }
+        roomVersions.compute(roomId, (id, version) -> {
+            index.remove(meetingId);
+            return nextVersion(version);
+        });
+    }
+
+    public void loadRoom(Long roomId) {
+        long version = roomVersions.getOrDefault(roomId, 0L);
+        long removals = unplacedRemovals.get();
+        List<MeetingIntervalDTO> meetings = ReplicaRoutingDataSource.onPrimary(() -> meetingRepository.findIntervalsInRoomEndingAfter(
+                roomId, StatusMeetingSchedule.SCHEDULED, LocalDateTime.now()));
+        install(roomId, meetings, version, removals);
+    }
+
+    public void loadRoom(Long roomId, List<MeetingIntervalDTO> meetings) {
+        install(roomId, meetings, roomVersions.getOrDefault(roomId, 0L), unplacedRemovals.get());
+    }
+
+    private void install(Long roomId, List<MeetingIntervalDTO> meetings, long loadedVersion, long loadedRemovals) {
+        roomVersions.compute(roomId, (id, version) -> {
+            if ((version == null ? 0L : version) != loadedVersion || unplacedRemovals.get() != loadedRemovals) {
+                if (!loadedRooms.contains(id)) {
+                    staleRooms.add(id);
+                }
+                return version;
+            }
+            if (meetings.size() > maxMeetingsPerRoom) {
+                unloadOversizedRoom(id);
+                return version;
+            }
+            index.replaceRoom(id, meetings);
+            oversizedRooms.remove(id);
+            staleRooms.remove(id);
+            loadedRooms.add(id);
+            return version;
+        });
+    }
+
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        List<Long> roomIds = ReplicaRoutingDataSource.onPrimary(() -> meetingRepository.findRoomIdsWithMeetingsEndingAfter(
+                StatusMeetingSchedule.SCHEDULED, LocalDateTime.now()));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, warmUpThreads));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long roomId : roomIds) {
+                futures.add(executor.submit(() -> loadRoom(roomId)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            warm = true;
+            logger.info("Meeting cache warmed up with " + index.size() + " meetings in " + roomIds.size()
+                    + " rooms in " + (System.currentTimeMillis() - start) + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Meeting cache warm-up was interrupted.", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Meeting cache warm-up failed.", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.meeting-cache.eviction-interval-ms:60000}")
+    public void evictEnded() {
+        evictions.add(index.evictEnded(LocalDateTime.now()));
+        for (Long roomId : oversizedRooms) {
+            loadRoom(roomId);
+        }
+    }
+
+    public boolean isCached(Long roomId) {
+        return !oversizedRooms.contains(roomId) && !staleRooms.contains(roomId) && (warm || loadedRooms.contains(roomId));
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getSize() {
+        return index.size();
+    }
+
+    public int getRoomCount() {
+        return index.roomCount();
+    }
+
+    private static Long nextVersion(Long version) {
+        return version == null ? 1L : version + 1;
+    }
+
+    private void unloadOversizedRoom(Long roomId) {
+        oversizedRooms.add(roomId);
+        loadedRooms.remove(roomId);
+        index.removeRoom(roomId);
+        logger.warning("Room " + roomId + " exceeds " + maxMeetingsPerRoom + " cached meetings, conflict checks fall back to the database.");
+    }
+}
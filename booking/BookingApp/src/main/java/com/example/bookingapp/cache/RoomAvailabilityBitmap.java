@@ -0,0 +1,328 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+@Component
+public class RoomAvailabilityBitmap {
+    private static final Logger logger = Logger.getLogger(RoomAvailabilityBitmap.class.getName());
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int LONGS_PER_DAY = 2;
+
+    private final Map<Long, RoomDays> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> roomVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeetingScheduleRepository meetingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${booking.availability-bitmap.horizon-days:92}")
+    private int horizonDays = 92;
+
+    public boolean isDefinitelyFree(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || endTime.isBefore(startTime)) {
+            return false;
+        }
+        RoomDays days = rooms.get(roomId);
+        if (days == null) {
+            days = load(roomId);
+        }
+        return days != null && days.isClear(startTime, endTime);
+    }
+
+    /**
+     * Same answer as {@link #isDefinitelyFree} for rooms already in memory, but never loads one, so a
+     * read-only caller routed to the replica does not issue a query of its own.
+     */
+    public boolean isLoadedAndFree(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || endTime.isBefore(startTime)) {
+            return false;
+        }
+        RoomDays days = rooms.get(roomId);
+        return days != null && days.isClear(startTime, endTime);
+    }
+
+    public void mark(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null) {
+            return;
+        }
+        rooms.compute(roomId, (id, days) -> {
+            bumpVersion(id);
+            if (days != null) {
+                days.mark(startTime, endTime);
+            }
+            return days;
+        });
+    }
+
+    public void rebuild(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null) {
+            return;
+        }
+        if (startTime == null || endTime == null) {
+            unloadRoom(roomId);
+            return;
+        }
+        rebuild(roomId, startTime.toLocalDate(), endTime.toLocalDate());
+    }
+
+    public void rebuild(Long roomId, LocalDate fromDate, LocalDate toDate) {
+        long version = bumpVersion(roomId);
+        if (!rooms.containsKey(roomId)) {
+            return;
+        }
+        List<MeetingIntervalDTO> meetings = ReplicaRoutingDataSource.onPrimary(() -> meetingRepository.findIntervalsInRoomBetween(
+                roomId, StatusMeetingSchedule.SCHEDULED, fromDate.atStartOfDay(), toDate.atTime(LocalTime.MAX)));
+        rooms.computeIfPresent(roomId, (id, days) -> {
+            if (roomVersions.get(id) != version) {
+                return null;
+            }
+            days.clear(fromDate, toDate);
+            for (MeetingIntervalDTO meeting : meetings) {
+                days.mark(meeting.getStartTime(), meeting.getEndTime());
+            }
+            return days;
+        });
+    }
+
+    public void loadRoom(Long roomId) {
+        load(roomId);
+    }
+
+    private RoomDays load(Long roomId) {
+        long version = roomVersions.getOrDefault(roomId, 0L);
+        LocalDateTime now = LocalDateTime.now();
+        RoomDays loaded = newRoomDays(now);
+        for (MeetingIntervalDTO meeting : ReplicaRoutingDataSource.onPrimary(() ->
+                meetingRepository.findIntervalsInRoomEndingAfter(roomId, StatusMeetingSchedule.SCHEDULED, now))) {
+            loaded.mark(meeting.getStartTime(), meeting.getEndTime());
+        }
+        return rooms.compute(roomId, (id, days) -> {
+            if (days != null) {
+                return days;
+            }
+            return roomVersions.getOrDefault(id, 0L) == version ? loaded : null;
+        });
+    }
+
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        Map<Long, Long> versions = new HashMap<>(roomVersions);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, RoomDays> loaded = new HashMap<>();
+        for (Long roomId : ReplicaRoutingDataSource.onPrimary(roomRepository::findActiveRoomIds)) {
+            loaded.put(roomId, newRoomDays(now));
+        }
+        for (MeetingIntervalDTO meeting : ReplicaRoutingDataSource.onPrimary(() ->
+                meetingRepository.findIntervalsEndingAfter(StatusMeetingSchedule.SCHEDULED, now))) {
+            RoomDays days = loaded.get(meeting.getRoomId());
+            if (days != null) {
+                days.mark(meeting.getStartTime(), meeting.getEndTime());
+            }
+        }
+        for (Map.Entry<Long, RoomDays> entry : loaded.entrySet()) {
+            rooms.compute(entry.getKey(), (id, days) -> {
+                if (days != null) {
+                    return days;
+                }
+                return roomVersions.getOrDefault(id, 0L).equals(versions.getOrDefault(id, 0L)) ? entry.getValue() : null;
+            });
+        }
+        logger.info("Availability bitmaps built for " + rooms.size() + " rooms (" + getMemoryFootprintBytes()
+                + " bytes) in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    public void unloadRoom(Long roomId) {
+        rooms.compute(roomId, (id, days) -> {
+            bumpVersion(id);
+            return null;
+        });
+    }
+
+    /**
+     * Moves every room to today. The days that enter at the end of the horizon are not known until they
+     * are loaded, so each rolled room reads its new tail; if the room changes meanwhile it is dropped and
+     * loaded again on its next use.
+     */
+    @Scheduled(fixedDelayString = "${booking.availability-bitmap.roll-interval-ms:3600000}")
+    public void roll() {
+        long today = LocalDate.now().toEpochDay();
+        for (Map.Entry<Long, RoomDays> entry : rooms.entrySet()) {
+            entry.getValue().roll(today);
+            if (entry.getValue().getLoadedUntilDay() < today + horizonDays) {
+                loadTail(entry.getKey(), today + horizonDays);
+            }
+        }
+    }
+
+    private void loadTail(Long roomId, long untilDay) {
+        long version = roomVersions.getOrDefault(roomId, 0L);
+        RoomDays current = rooms.get(roomId);
+        if (current == null) {
+            return;
+        }
+        LocalDate fromDate = LocalDate.ofEpochDay(current.getLoadedUntilDay());
+        List<MeetingIntervalDTO> meetings = ReplicaRoutingDataSource.onPrimary(() -> meetingRepository.findIntervalsInRoomBetween(roomId,
+                StatusMeetingSchedule.SCHEDULED, fromDate.atStartOfDay(), LocalDate.ofEpochDay(untilDay).atStartOfDay()));
+        rooms.computeIfPresent(roomId, (id, days) -> {
+            if (days != current || roomVersions.getOrDefault(id, 0L) != version) {
+                return null;
+            }
+            days.extend(meetings, untilDay);
+            return days;
+        });
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    /**
+     * Estimate from the bit arrays and assumed header sizes, not a heap measurement.
+     */
+    public long getMemoryFootprintBytes() {
+        long bytes = 0;
+        for (RoomDays days : rooms.values()) {
+            bytes += days.footprintBytes();
+        }
+        return bytes;
+    }
+
+    private RoomDays newRoomDays(LocalDateTime loadedAt) {
+        return new RoomDays(loadedAt, horizonDays);
+    }
+
+    private long bumpVersion(Long roomId) {
+        return roomVersions.merge(roomId, 1L, Long::sum);
+    }
+
+    static final class RoomDays {
+        private static final int ARRAY_HEADER_BYTES = 16;
+        private static final int OBJECT_BYTES = 32;
+
+        private final LocalDateTime loadedAt;
+        private final long[] bits;
+        private long baseDay;
+        private long loadedUntilDay;
+
+        RoomDays(LocalDateTime loadedAt, int horizonDays) {
+            this.loadedAt = loadedAt;
+            this.baseDay = loadedAt.toLocalDate().toEpochDay();
+            this.loadedUntilDay = baseDay + horizonDays;
+            this.bits = new long[horizonDays * LONGS_PER_DAY];
+        }
+
+        /**
+         * First day whose meetings have not been read from the database. Days rolled in past it are all
+         * zero without being free, so they are never answered.
+         */
+        synchronized long getLoadedUntilDay() {
+            return loadedUntilDay;
+        }
+
+        synchronized boolean isClear(LocalDateTime startTime, LocalDateTime endTime) {
+            if (startTime.isBefore(loadedAt)) {
+                return false;
+            }
+            long firstDay = startTime.toLocalDate().toEpochDay();
+            long lastDay = endTime.toLocalDate().toEpochDay();
+            if (firstDay < baseDay || lastDay >= loadedUntilDay) {
+                return false;
+            }
+            for (long day = firstDay; day <= lastDay; day++) {
+                int fromSlot = day == firstDay ? slotOf(startTime) : 0;
+                int toSlot = day == lastDay ? slotOf(endTime) : SLOTS_PER_DAY - 1;
+                int offset = (int) (day - baseDay) * LONGS_PER_DAY;
+                if ((bits[offset] & mask(fromSlot, toSlot, 0)) != 0
+                        || (bits[offset + 1] & mask(fromSlot, toSlot, 64)) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void mark(LocalDateTime startTime, LocalDateTime endTime) {
+            long firstDay = Math.max(startTime.toLocalDate().toEpochDay(), baseDay);
+            long lastDay = Math.min(endTime.toLocalDate().toEpochDay(), baseDay + days() - 1);
+            for (long day = firstDay; day <= lastDay; day++) {
+                int fromSlot = day == startTime.toLocalDate().toEpochDay() ? slotOf(startTime) : 0;
+                int toSlot = day == endTime.toLocalDate().toEpochDay() ? slotOf(endTime) : SLOTS_PER_DAY - 1;
+                int offset = (int) (day - baseDay) * LONGS_PER_DAY;
+                bits[offset] |= mask(fromSlot, toSlot, 0);
+                bits[offset + 1] |= mask(fromSlot, toSlot, 64);
+            }
+        }
+
+        synchronized void clear(LocalDate fromDate, LocalDate toDate) {
+            long firstDay = Math.max(fromDate.toEpochDay(), baseDay);
+            long lastDay = Math.min(toDate.toEpochDay(), baseDay + days() - 1);
+            for (long day = firstDay; day <= lastDay; day++) {
+                int offset = (int) (day - baseDay) * LONGS_PER_DAY;
+                bits[offset] = 0;
+                bits[offset + 1] = 0;
+            }
+        }
+
+        synchronized void extend(List<MeetingIntervalDTO> meetings, long untilDay) {
+            clear(LocalDate.ofEpochDay(Math.max(loadedUntilDay, baseDay)), LocalDate.ofEpochDay(untilDay - 1));
+            for (MeetingIntervalDTO meeting : meetings) {
+                mark(meeting.getStartTime(), meeting.getEndTime());
+            }
+            loadedUntilDay = Math.min(untilDay, baseDay + days());
+        }
+
+        synchronized void roll(long today) {
+            long shift = today - baseDay;
+            if (shift <= 0) {
+                return;
+            }
+            int shiftLongs = (int) Math.min(shift * LONGS_PER_DAY, bits.length);
+            System.arraycopy(bits, shiftLongs, bits, 0, bits.length - shiftLongs);
+            Arrays.fill(bits, bits.length - shiftLongs, bits.length, 0L);
+            baseDay = today;
+        }
+
+        long footprintBytes() {
+            return OBJECT_BYTES + ARRAY_HEADER_BYTES + (long) bits.length * Long.BYTES;
+        }
+
+        private int days() {
+            return bits.length / LONGS_PER_DAY;
+        }
+
+        private static int slotOf(LocalDateTime time) {
+            return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+        }
+
+        private static long mask(int fromSlot, int toSlot, int firstBit) {
+            int from = Math.max(fromSlot - firstBit, 0);
+            int to = Math.min(toSlot - firstBit, 63);
+            if (from > to) {
+                return 0L;
+            }
+            long upper = to == 63 ? -1L : (1L << (to + 1)) - 1;
+            return upper & (-1L << from);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bookingapp.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoomAvailabilityBitmapWarmUp implements ApplicationRunner {
+    @Autowired
+    private RoomAvailabilityBitmap roomAvailabilityBitmap;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        roomAvailabilityBitmap.warmUp();
+    }
+}
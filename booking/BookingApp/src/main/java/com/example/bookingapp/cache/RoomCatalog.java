@@ -0,0 +1,222 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+@Component
+public class RoomCatalog {
+    private static final Logger logger = Logger.getLogger(RoomCatalog.class.getName());
+    private static final int GRAM_SIZE = 3;
+
+    public static final Comparator<Room> ORDER = Comparator
+            .comparing(Room::getRoomName)
+            .thenComparing(Room::getId);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private volatile Snapshot snapshot;
+
+    public List<Room> search(Integer minCapacity, Integer maxCapacity, String roomName) {
+        Snapshot current = snapshot();
+        BitSet matches = null;
+        if (minCapacity != null || maxCapacity != null) {
+            matches = current.capacityMatches(
+                    minCapacity == null ? Integer.MIN_VALUE : minCapacity,
+                    maxCapacity == null ? Integer.MAX_VALUE : maxCapacity);
+        }
+        if (roomName != null) {
+            BitSet nameMatches = current.nameMatches(normalize(roomName));
+            if (matches == null) {
+                matches = nameMatches;
+            } else {
+                matches.and(nameMatches);
+            }
+        }
+        if (matches == null) {
+            return current.rooms;
+        }
+        List<Room> rooms = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            rooms.add(current.rooms.get(i));
+        }
+        return rooms;
+    }
+
+    public boolean containsName(String roomName) {
+        return roomName != null && snapshot().names.contains(normalize(roomName.trim()));
+    }
+
+    public synchronized void put(Room room) {
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        Map<Long, Room> allRooms = new HashMap<>(snapshot().allRooms);
+        allRooms.put(room.getId(), copyOf(room));
+        snapshot = new Snapshot(allRooms);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.room-catalog.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        Map<Long, Room> allRooms = new HashMap<>();
+        for (Room room : ReplicaRoutingDataSource.onPrimary(roomRepository::findAll)) {
+            allRooms.put(room.getId(), copyOf(room));
+        }
+        snapshot = new Snapshot(allRooms);
+        logger.fine("Room catalog refreshed with " + snapshot.rooms.size() + " active rooms in "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    public int getRoomCount() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.rooms.size();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Room copyOf(Room room) {
+        return Room.builder()
+                .id(room.getId())
+                .roomName(room.getRoomName())
+                .capacity(room.getCapacity())
+                .statusRoom(room.getStatusRoom())
+                .createdAt(room.getCreatedAt())
+                .updatedAt(room.getUpdatedAt())
+                .deletedAt(room.getDeletedAt())
+                .build();
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, Room> allRooms;
+        private final List<Room> rooms;
+        private final String[] normalizedNames;
+        private final NavigableMap<Integer, int[]> capacityIndex = new TreeMap<>();
+        private final Map<String, int[]> gramIndex = new HashMap<>();
+        private final Set<String> names = new HashSet<>();
+
+        Snapshot(Map<Long, Room> allRooms) {
+            this.allRooms = allRooms;
+            List<Room> activeRooms = new ArrayList<>();
+            for (Room room : allRooms.values()) {
+                if (room.getRoomName() != null) {
+                    names.add(normalize(room.getRoomName().trim()));
+                    if (room.getDeletedAt() == null) {
+                        activeRooms.add(room);
+                    }
+                }
+            }
+            activeRooms.sort(ORDER);
+            this.rooms = Collections.unmodifiableList(activeRooms);
+            this.normalizedNames = new String[activeRooms.size()];
+
+            Map<Integer, List<Integer>> byCapacity = new TreeMap<>();
+            Map<String, List<Integer>> byGram = new HashMap<>();
+            for (int i = 0; i < activeRooms.size(); i++) {
+                Room room = activeRooms.get(i);
+                normalizedNames[i] = normalize(room.getRoomName());
+                byCapacity.computeIfAbsent(room.getCapacity(), capacity -> new ArrayList<>()).add(i);
+                for (String gram : grams(normalizedNames[i])) {
+                    byGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(i);
+                }
+            }
+            for (Map.Entry<Integer, List<Integer>> entry : byCapacity.entrySet()) {
+                capacityIndex.put(entry.getKey(), toArray(entry.getValue()));
+            }
+            for (Map.Entry<String, List<Integer>> entry : byGram.entrySet()) {
+                gramIndex.put(entry.getKey(), toArray(entry.getValue()));
+            }
+        }
+
+        BitSet capacityMatches(int minCapacity, int maxCapacity) {
+            BitSet matches = new BitSet(rooms.size());
+            if (minCapacity > maxCapacity) {
+                return matches;
+            }
+            for (int[] positions : capacityIndex.subMap(minCapacity, true, maxCapacity, true).values()) {
+                for (int position : positions) {
+                    matches.set(position);
+                }
+            }
+            return matches;
+        }
+
+        BitSet nameMatches(String query) {
+            BitSet matches = new BitSet(rooms.size());
+            if (query.length() < GRAM_SIZE) {
+                for (int i = 0; i < normalizedNames.length; i++) {
+                    if (normalizedNames[i].contains(query)) {
+                        matches.set(i);
+                    }
+                }
+                return matches;
+            }
+            int[] candidates = null;
+            for (String gram : grams(query)) {
+                int[] positions = gramIndex.get(gram);
+                if (positions == null) {
+                    return matches;
+                }
+                if (candidates == null || positions.length < candidates.length) {
+                    candidates = positions;
+                }
+            }
+            for (int position : candidates) {
+                if (normalizedNames[position].contains(query)) {
+                    matches.set(position);
+                }
+            }
+            return matches;
+        }
+
+        private static Collection<String> grams(String value) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM_SIZE));
+            }
+            return grams;
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            int[] array = new int[values.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.datasource.ReplicaRoutingDataSource;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.repository.SeatRegistrationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+@Component
+public class SeatOccupancyTimeline {
+    private static final Logger logger = Logger.getLogger(SeatOccupancyTimeline.class.getName());
+    static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Map<Long, Map<Long, DayTimeline>> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> roomVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SeatRegistrationRepository seatRegistrationRepository;
+
+    public int peakOccupancy(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            return 0;
+        }
+        int peak = 0;
+        LocalDate firstDay = startTime.toLocalDate();
+        LocalDate lastDay = endTime.toLocalDate();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            int from = day.equals(firstDay) ? secondOfDay(startTime) : 0;
+            int to = day.equals(lastDay) ? secondOfDay(endTime) : SECONDS_PER_DAY;
+            if (from < to) {
+                peak = Math.max(peak, timeline(roomId, day).peak(from, to));
+            }
+        }
+        return peak;
+    }
+
+    public int[] occupancyPerMinute(Long roomId, LocalDate day) {
+        return timeline(roomId, day).occupancyPerMinute();
+    }
+
+    public void add(Long roomId, Long registrationId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || registrationId == null || startTime == null || endTime == null) {
+            return;
+        }
+        rooms.compute(roomId, (id, days) -> {
+            bumpVersion(id);
+            if (days != null) {
+                for (LocalDate day = startTime.toLocalDate(); !day.isAfter(endTime.toLocalDate()); day = day.plusDays(1)) {
+                    DayTimeline timeline = days.get(day.toEpochDay());
+                    if (timeline != null) {
+                        timeline.add(registrationId, clip(startTime, day), clip(endTime, day));
+                    }
+                }
+            }
+            return days;
+        });
+    }
+
+    public void remove(Long roomId, Long registrationId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || registrationId == null || startTime == null || endTime == null) {
+            return;
+        }
+        rooms.compute(roomId, (id, days) -> {
+            bumpVersion(id);
+            if (days != null) {
+                for (LocalDate day = startTime.toLocalDate(); !day.isAfter(endTime.toLocalDate()); day = day.plusDays(1)) {
+                    DayTimeline timeline = days.get(day.toEpochDay());
+                    if (timeline != null) {
+                        timeline.remove(registrationId);
+                    }
+                }
+            }
+            return days;
+        });
+    }
+
+    /**
+     * Drops the days the window touches, so the next read loads them again from the database with the
+     * registrations other nodes have committed meanwhile.
+     */
+    public void invalidate(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null) {
+            return;
+        }
+        rooms.compute(roomId, (id, days) -> {
+            bumpVersion(id);
+            if (days != null) {
+                for (LocalDate day = startTime.toLocalDate(); !day.isAfter(endTime.toLocalDate()); day = day.plusDays(1)) {
+                    days.remove(day.toEpochDay());
+                }
+            }
+            return days;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-occupancy.eviction-interval-ms:3600000}")
+    public void evictPastDays() {
+        long today = LocalDate.now().toEpochDay();
+        int evicted = 0;
+        for (Map<Long, DayTimeline> days : rooms.values()) {
+            int before = days.size();
+            days.keySet().removeIf(day -> day < today);
+            evicted += before - days.size();
+        }
+        if (evicted > 0) {
+            logger.fine("Evicted " + evicted + " past days from the seat occupancy timeline.");
+        }
+    }
+
+    public int getDayCount() {
+        int count = 0;
+        for (Map<Long, DayTimeline> days : rooms.values()) {
+            count += days.size();
+        }
+        return count;
+    }
+
+    private DayTimeline timeline(Long roomId, LocalDate day) {
+        Map<Long, DayTimeline> days = rooms.get(roomId);
+        DayTimeline timeline = days == null ? null : days.get(day.toEpochDay());
+        if (timeline != null) {
+            return timeline;
+        }
+        long version = roomVersions.getOrDefault(roomId, 0L);
+        DayTimeline loaded = new DayTimeline();
+        for (SeatIntervalDTO registration : ReplicaRoutingDataSource.onPrimary(() -> seatRegistrationRepository.findIntervalsInRoomBetween(
+                roomId, StatusSeatRegistration.REGISTERED, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))) {
+            loaded.add(registration.getRegistrationId(), clip(registration.getStartTime(), day), clip(registration.getEndTime(), day));
+        }
+        DayTimeline[] result = {loaded};
+        rooms.compute(roomId, (id, current) -> {
+            if (roomVersions.getOrDefault(id, 0L) != version) {
+                return current;
+            }
+            Map<Long, DayTimeline> target = current == null ? new ConcurrentHashMap<>() : current;
+            DayTimeline existing = target.putIfAbsent(day.toEpochDay(), loaded);
+            if (existing != null) {
+                result[0] = existing;
+            }
+            return target;
+        });
+        return result[0];
+    }
+
+    private long bumpVersion(Long roomId) {
+        return roomVersions.merge(roomId, 1L, Long::sum);
+    }
+
+    private static int clip(LocalDateTime time, LocalDate day) {
+        LocalDate date = time.toLocalDate();
+        if (date.isBefore(day)) {
+            return 0;
+        }
+        if (date.isAfter(day)) {
+            return SECONDS_PER_DAY;
+        }
+        return secondOfDay(time);
+    }
+
+    private static int secondOfDay(LocalDateTime time) {
+        return time.toLocalTime().toSecondOfDay();
+    }
+
+    static final class DayTimeline {
+        private final Map<Long, int[]> registrations = new HashMap<>();
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int size;
+
+        synchronized void add(Long registrationId, int start, int end) {
+            if (start >= end || registrations.containsKey(registrationId)) {
+                return;
+            }
+            registrations.put(registrationId, new int[]{start, end});
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            insert(starts, start);
+            insert(ends, end);
+            size++;
+        }
+
+        synchronized void remove(Long registrationId) {
+            int[] interval = registrations.remove(registrationId);
+            if (interval != null) {
+                delete(starts, interval[0]);
+                delete(ends, interval[1]);
+                size--;
+            }
+        }
+
+        /**
+         * Sweeps the sorted start and end events of [from, to) and returns the highest number of
+         * registrations that hold a seat at the same moment. An end and a start at the same second
+         * do not overlap.
+         */
+        synchronized int peak(int from, int to) {
+            int i = countAtMost(starts, from);
+            int j = countAtMost(ends, from);
+            int active = i - j;
+            int peak = active;
+            while (i < size && starts[i] < to) {
+                while (j < size && ends[j] <= starts[i]) {
+                    active--;
+                    j++;
+                }
+                active++;
+                i++;
+                peak = Math.max(peak, active);
+            }
+            return peak;
+        }
+
+        synchronized int[] occupancyPerMinute() {
+            int[] occupancy = new int[MINUTES_PER_DAY];
+            int started = 0;
+            int ended = 0;
+            for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                int from = minute * 60;
+                while (started < size && starts[started] < from + 60) {
+                    started++;
+                }
+                while (ended < size && ends[ended] <= from) {
+                    ended++;
+                }
+                occupancy[minute] = started - ended;
+            }
+            return occupancy;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void insert(int[] values, int value) {
+            int position = countAtMost(values, value);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+        }
+
+        private void delete(int[] values, int value) {
+            int position = countAtMost(values, value) - 1;
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+        }
+
+        private int countAtMost(int[] values, int value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
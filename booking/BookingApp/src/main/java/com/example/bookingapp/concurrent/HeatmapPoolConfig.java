@@ -0,0 +1,24 @@
+package com.example.bookingapp.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * One pool for every heatmap request, so concurrent requests share booking.heatmap.parallelism workers
+ * instead of each starting its own.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HeatmapPoolConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool heatmapForkJoinPool(@Value("${booking.heatmap.parallelism:4}") int parallelism) {
+        return new ForkJoinPool(Math.max(1, parallelism), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("heatmap-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookingapp.concurrent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class RoomLockManager {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+
+    public RoomLockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    @Autowired
+    public RoomLockManager(@Value("${booking.room-lock.stripes:64}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withRoomLock(Long roomId, Supplier<T> action) {
+        ReentrantLock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withRoomLock(Long roomId, Runnable action) {
+        withRoomLock(roomId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Holds the locks of all the rooms while the action runs. The distinct stripes are taken in index
+     * order, so callers locking overlapping sets of rooms can not deadlock.
+     */
+    public <T> T withRoomLocks(Collection<Long> roomIds, Supplier<T> action) {
+        int[] indexes = roomIds.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock lockFor(Long roomId) {
+        return stripes[stripeIndex(roomId)];
+    }
+
+    private int stripeIndex(Long roomId) {
+        int hash = roomId == null ? 0 : Long.hashCode(roomId);
+        hash ^= hash >>> 16;
+        return hash & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.bookingapp.concurrent;
+
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.example.bookingapp.cache.SeatOccupancyTimeline.MINUTES_PER_DAY;
+
+/**
+ * Per-minute seat claims for this JVM only. Other nodes' registrations and cancellations reach the
+ * counters only through the occupancy timeline they are seeded from, so a refused claim is confirmed
+ * against the database before it is answered, and the conditional insert under the room lock is what
+ * keeps a room from being overbooked.
+ */
+@Component
+public class SeatReservationCounters {
+    private final Map<Long, Map<Long, AtomicIntegerArray>> rooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SeatOccupancyTimeline seatOccupancyTimeline;
+
+    /**
+     * Takes one seat in every minute of [startTime, endTime) or none at all. Each minute is raised
+     * with a compare-and-set that never passes {@code capacity}; when a minute is already full the
+     * minutes taken so far are given back.
+     */
+    public boolean tryReserve(Long roomId, int capacity, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            return false;
+        }
+        LocalDate firstDay = startTime.toLocalDate();
+        LocalDate lastDay = endTime.toLocalDate();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            AtomicIntegerArray counters = counters(roomId, day);
+            int from = day.equals(firstDay) ? firstMinute(startTime) : 0;
+            int to = day.equals(lastDay) ? lastMinute(endTime) : MINUTES_PER_DAY;
+            for (int minute = from; minute < to; minute++) {
+                if (!increment(counters, minute, capacity)) {
+                    release(counters, from, minute);
+                    if (!day.equals(firstDay)) {
+                        release(roomId, startTime, day.atStartOfDay());
+                    }
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes one seat in every minute of [startTime, endTime) without the capacity bound, for a
+     * registration the database has accepted although the counters had turned it away.
+     */
+    public void reserve(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            return;
+        }
+        LocalDate firstDay = startTime.toLocalDate();
+        LocalDate lastDay = endTime.toLocalDate();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            AtomicIntegerArray counters = counters(roomId, day);
+            int from = day.equals(firstDay) ? firstMinute(startTime) : 0;
+            int to = day.equals(lastDay) ? lastMinute(endTime) : MINUTES_PER_DAY;
+            for (int minute = from; minute < to; minute++) {
+                counters.incrementAndGet(minute);
+            }
+        }
+    }
+
+    public void release(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            return;
+        }
+        Map<Long, AtomicIntegerArray> days = rooms.get(roomId);
+        if (days == null) {
+            return;
+        }
+        LocalDate firstDay = startTime.toLocalDate();
+        LocalDate lastDay = endTime.toLocalDate();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            AtomicIntegerArray counters = days.get(day.toEpochDay());
+            if (counters != null) {
+                release(counters, day.equals(firstDay) ? firstMinute(startTime) : 0,
+                        day.equals(lastDay) ? lastMinute(endTime) : MINUTES_PER_DAY);
+            }
+        }
+    }
+
+    public int getReserved(Long roomId, LocalDateTime time) {
+        Map<Long, AtomicIntegerArray> days = rooms.get(roomId);
+        AtomicIntegerArray counters = days == null ? null : days.get(time.toLocalDate().toEpochDay());
+        return counters == null ? 0 : counters.get(firstMinute(time));
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-occupancy.eviction-interval-ms:3600000}")
+    public void evictPastDays() {
+        long today = LocalDate.now().toEpochDay();
+        for (Map<Long, AtomicIntegerArray> days : rooms.values()) {
+            days.keySet().removeIf(day -> day < today);
+        }
+    }
+
+    public int getDayCount() {
+        int count = 0;
+        for (Map<Long, AtomicIntegerArray> days : rooms.values()) {
+            count += days.size();
+        }
+        return count;
+    }
+
+    private AtomicIntegerArray counters(Long roomId, LocalDate day) {
+        return rooms.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(day.toEpochDay(), epochDay ->
+                        new AtomicIntegerArray(seatOccupancyTimeline.occupancyPerMinute(roomId, day)));
+    }
+
+    private static boolean increment(AtomicIntegerArray counters, int minute, int capacity) {
+        while (true) {
+            int reserved = counters.get(minute);
+            if (reserved >= capacity) {
+                return false;
+            }
+            if (counters.compareAndSet(minute, reserved, reserved + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static void release(AtomicIntegerArray counters, int from, int to) {
+        for (int minute = from; minute < to; minute++) {
+            while (true) {
+                int reserved = counters.get(minute);
+                if (reserved <= 0 || counters.compareAndSet(minute, reserved, reserved - 1)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int firstMinute(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int lastMinute(LocalDateTime time) {
+        int seconds = time.toLocalTime().toSecondOfDay() + (time.getNano() > 0 ? 1 : 0);
+        return (seconds + 59) / 60;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.bookingapp.constant;
+
+public enum BatchItemStatus {
+    CREATED,
+    INVALID,
+    NOT_FOUND,
+    FORBIDDEN,
+    CONFLICT
+}
@@ -0,0 +1,27 @@
+package com.example.bookingapp.constant;
+
+public enum ImportType {
+    ROOMS("rooms"),
+    PERSONS("persons"),
+    MEETINGS("meetings"),
+    SEAT_REGISTRATIONS("seat-registrations");
+
+    private final String value;
+
+    ImportType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ImportType from(String value) {
+        for (ImportType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("type must be one of 'rooms', 'persons', 'meetings' or 'seat-registrations'.");
+    }
+}
@@ -3,4 +3,9 @@ package com.example.bookingapp.constant;
 public class InputRequired {
     public static final int SEATS_FOR_ONE_REGISTRATION = 1;
     public static final int MINIMUM_TIME = 15;
+    public static final int MAXIMUM_FREE_SLOT_WINDOW_DAYS = 92;
+    public static final int MAXIMUM_HEATMAP_DAYS = 31;
+    public static final int MAXIMUM_UTILIZATION_DAYS = 366;
+    public static final int MAXIMUM_SERIES_OCCURRENCES = 366;
+    public static final int MAXIMUM_BATCH_MEETINGS = 1000;
 }
@@ -0,0 +1,18 @@
+package com.example.bookingapp.constant;
+
+import com.example.bookingapp.exception.ValidationException;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    public static RecurrenceFrequency from(String value) {
+        for (RecurrenceFrequency frequency : values()) {
+            if (frequency.name().equalsIgnoreCase(value)) {
+                return frequency;
+            }
+        }
+        throw new ValidationException("Frequency must be one of DAILY, WEEKLY or MONTHLY.");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookingapp.constant;
+
+public class RoomSearchPaging {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int DEFAULT_MEETINGS_PER_ROOM = 10;
+    public static final int MAX_MEETINGS_PER_ROOM = 100;
+    public static final String MEETINGS_WINDOW = "window";
+    public static final String MEETINGS_NONE = "none";
+}
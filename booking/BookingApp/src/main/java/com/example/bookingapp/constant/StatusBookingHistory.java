@@ -0,0 +1,21 @@
+package com.example.bookingapp.constant;
+
+import java.time.LocalDateTime;
+
+public class StatusBookingHistory {
+    public static final int CANCELED = 0;
+    public static final int UPCOMING = 1;
+    public static final int IN_PROGRESS = 2;
+    public static final int ENDED = 3;
+
+    public static int of(int statusMeeting, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+        if (statusMeeting == StatusMeetingSchedule.CANCELED) {
+            return CANCELED;
+        } else if (now.isBefore(startTime)) {
+            return UPCOMING;
+        } else if (now.isAfter(endTime)) {
+            return ENDED;
+        }
+        return IN_PROGRESS;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.bookingapp.controller;
+
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.ImportType;
+import com.example.bookingapp.service.BulkImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminRestController {
+    @Autowired
+    BulkImportService bulkImportService;
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importRows(@RequestParam(name = "type") String type,
+                                        @RequestParam(name = "format", required = false) String format,
+                                        @RequestParam(name = "batchSize", required = false) Integer batchSize,
+                                        InputStream body) {
+        try {
+            return ResponseEntity.ok(bulkImportService.importRows(ImportType.from(type), ExportFormat.from(format), body, batchSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
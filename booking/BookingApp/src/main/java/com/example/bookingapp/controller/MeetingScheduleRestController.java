@@ -6,6 +6,7 @@ import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.exception.ValidationException;
 import com.example.bookingapp.request.MeetingScheduleRequest;
 import com.example.bookingapp.request.MeetingScheduleRequestUpdate;
+import com.example.bookingapp.request.MeetingSeriesRequest;
 import com.example.bookingapp.response.MeetingResponseUpdate;
 import com.example.bookingapp.response.MeetingScheduleResponse;
 import com.example.bookingapp.service.MeetingScheduleService;
@@ -21,6 +22,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/meeting-schedule")
 public class MeetingScheduleRestController {
@@ -63,4 +67,40 @@ public class MeetingScheduleRestController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> bookMeetingSchedules(@RequestBody List<MeetingScheduleRequest> requests) {
+        try {
+            return ResponseEntity.ok(meetingScheduleService.bookMeetingSchedules(requests));
+        } catch (MeetingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Scheduling conflict. The requested time slot is not available.");
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/series")
+    public ResponseEntity<?> bookMeetingSeries(@RequestBody MeetingSeriesRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(meetingScheduleService.bookMeetingSeries(request));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Room or person not found. Please verify the provided IDs.");
+        } catch (ResourceForbidden e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Scheduling meetings in soft-deleted room is not allowed.");
+        } catch (MeetingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/series/{seriesId}")
+    public ResponseEntity<?> cancelMeetingSeries(@PathVariable("seriesId") UUID seriesId, @RequestParam("personId") Long personId) {
+        try {
+            int canceled = meetingScheduleService.cancelMeetingSeries(seriesId, personId);
+            return ResponseEntity.ok(canceled + " meetings of the series have been successfully canceled");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -1,18 +1,27 @@
 package com.example.bookingapp.controller;
+import com.example.bookingapp.constant.ExportFormat;
 import com.example.bookingapp.dto.RoomDTO;
 import com.example.bookingapp.exception.RoomInvalidFormatParamException;
 import com.example.bookingapp.exception.RoomNotFoundException;
+import com.example.bookingapp.request.BookingHistoryRequest;
 import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.SearchRoomRequest;
 import com.example.bookingapp.exception.BadRequestException;
 import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.FreeSlotResponse;
 import com.example.bookingapp.response.IBookingHistoryResponse;
 import com.example.bookingapp.response.RoomDetailResponse;
+import com.example.bookingapp.response.RoomUtilizationResponse;
 import com.example.bookingapp.response.SearchRoomResponse;
+import com.example.bookingapp.service.BookingExportService;
 import com.example.bookingapp.service.RoomService;
+import com.example.bookingapp.service.RoomUsageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,7 +32,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -33,6 +45,10 @@ import java.util.List;
 public class RoomRestController {
     @Autowired
     RoomService roomService;
+    @Autowired
+    BookingExportService bookingExportService;
+    @Autowired
+    RoomUsageService roomUsageService;
 
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteRoom(@PathVariable Long id) {
@@ -83,14 +99,32 @@ public class RoomRestController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(required = false) Integer minCapacity,
             @RequestParam(required = false) Integer maxCapacity,
-            @RequestParam(required = false) String roomName
+            @RequestParam(required = false) String roomName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String meetings,
+            @RequestParam(required = false) Integer meetingLimit
     ) {
         DataListRoomResponse<List<SearchRoomResponse>> responseData = new DataListRoomResponse<>();
 
         try {
-            List<SearchRoomResponse> rooms = roomService.listRoom(fromDate, toDate, minCapacity, maxCapacity, roomName);
-            responseData.setData(rooms);
-            return ResponseEntity.ok(responseData);
+            if (cursor == null && limit == null && meetings == null && meetingLimit == null) {
+                List<SearchRoomResponse> rooms = roomService.listRoom(fromDate, toDate, minCapacity, maxCapacity, roomName);
+                responseData.setData(rooms);
+                return ResponseEntity.ok(responseData);
+            }
+            SearchRoomRequest request = SearchRoomRequest.builder()
+                    .fromDate(fromDate)
+                    .toDate(toDate)
+                    .minCapacity(minCapacity)
+                    .maxCapacity(maxCapacity)
+                    .roomName(roomName)
+                    .cursor(cursor)
+                    .limit(limit)
+                    .meetings(meetings)
+                    .meetingLimit(meetingLimit)
+                    .build();
+            return ResponseEntity.ok(roomService.listRoomPage(request));
         } catch (RoomNotFoundException e) {
             responseData.setErrorMessage("No rooms match the search criteria.");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseData);
@@ -103,12 +137,82 @@ public class RoomRestController {
         }
     }
 
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<DataListRoomResponse<List<FreeSlotResponse>>> freeSlots(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer minDuration
+    ) {
+        DataListRoomResponse<List<FreeSlotResponse>> responseData = new DataListRoomResponse<>();
+
+        try {
+            responseData.setData(roomService.findFreeSlots(id, from, to, minDuration));
+            return ResponseEntity.ok(responseData);
+        } catch (RoomNotFoundException e) {
+            responseData.setErrorMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseData);
+        } catch (RoomInvalidFormatParamException e) {
+            responseData.setErrorMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseData);
+        } catch (Exception e) {
+            responseData.setErrorMessage("An error occurred while searching free slots.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseData);
+        }
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<DataListRoomResponse<List<RoomUtilizationResponse>>> utilization(
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        DataListRoomResponse<List<RoomUtilizationResponse>> responseData = new DataListRoomResponse<>();
+
+        try {
+            responseData.setData(roomUsageService.getUtilization(roomId, fromDate, toDate));
+            return ResponseEntity.ok(responseData);
+        } catch (RoomInvalidFormatParamException e) {
+            responseData.setErrorMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseData);
+        } catch (Exception e) {
+            responseData.setErrorMessage("An error occurred while reading room utilization.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseData);
+        }
+    }
+
+    @PostMapping("/utilization/rebuild")
+    public ResponseEntity<String> rebuildUtilization(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        try {
+            int rows = roomUsageService.rebuild(fromDate, toDate);
+            return ResponseEntity.ok("Rebuilt " + rows + " daily usage rows.");
+        } catch (RoomInvalidFormatParamException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/person/{id}/history")
     public ResponseEntity<?> bookingHistory(@PathVariable(name = "id") Long id,
                                             @RequestParam(name = "title", required = false) String title,
                                             @RequestParam(name = "roomName", required = false) String roomName,
                                             @RequestParam(name = "statusMeeting", required = false) Integer statusMeeting,
-                                            @RequestParam(name = "isSort", required = false) Boolean isSort) {
+                                            @RequestParam(name = "isSort", required = false) Boolean isSort,
+                                            @RequestParam(name = "cursor", required = false) String cursor,
+                                            @RequestParam(name = "limit", required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return bookingHistoryPage(BookingHistoryRequest.builder()
+                    .personId(id)
+                    .title(title)
+                    .roomName(roomName)
+                    .statusMeeting(statusMeeting)
+                    .isSort(isSort)
+                    .cursor(cursor)
+                    .limit(limit)
+                    .build());
+        }
         try {
             List<IBookingHistoryResponse> responseList = roomService.getBookingHistory(id, title, roomName, statusMeeting, isSort);
             return new ResponseEntity<>(responseList, HttpStatus.OK);
@@ -116,6 +220,61 @@ public class RoomRestController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.OK);
         }
     }
+
+    private ResponseEntity<DataListRoomResponse<List<IBookingHistoryResponse>>> bookingHistoryPage(BookingHistoryRequest request) {
+        try {
+            return ResponseEntity.ok(roomService.getBookingHistoryPage(request));
+        } catch (IllegalArgumentException | RoomInvalidFormatParamException e) {
+            DataListRoomResponse<List<IBookingHistoryResponse>> responseData = new DataListRoomResponse<>();
+            responseData.setErrorMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseData);
+        } catch (Exception e) {
+            DataListRoomResponse<List<IBookingHistoryResponse>> responseData = new DataListRoomResponse<>();
+            responseData.setErrorMessage("An error occurred while searching booking history.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseData);
+        }
+    }
+
+    @GetMapping("/person/{id}/history/export")
+    public ResponseEntity<StreamingResponseBody> exportPersonHistory(@PathVariable(name = "id") Long id,
+                                                 @RequestParam(name = "format", required = false) String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.from(format);
+            return exportResponse(bookingExportService.exportHistoryByPerson(id, exportFormat), exportFormat, "person-" + id);
+        } catch (ResourceNotFoundException e) {
+            return exportError(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return exportError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/history/export")
+    public ResponseEntity<StreamingResponseBody> exportRoomHistory(@PathVariable(name = "id") Long id,
+                                               @RequestParam(name = "format", required = false) String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.from(format);
+            return exportResponse(bookingExportService.exportHistoryByRoom(id, exportFormat), exportFormat, "room-" + id);
+        } catch (RoomNotFoundException e) {
+            return exportError(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return exportError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(StreamingResponseBody body, ExportFormat format, String name) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"booking-history-" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportError(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @GetMapping("/person/{personId}/meeting-schedule/{meetingId}")
     public ResponseEntity<?> meetingByUser(@PathVariable(name = "personId") Long personId,
                                            @PathVariable (name = "meetingId") Long meetingId){
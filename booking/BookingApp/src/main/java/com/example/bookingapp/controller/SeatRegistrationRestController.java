@@ -7,10 +7,12 @@ import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamExcept
 import com.example.bookingapp.request.SeatRegistrationRequest;
 import com.example.bookingapp.response.SeatRegistrationStatisticsResponse;
 import com.example.bookingapp.service.RoomService;
+import com.example.bookingapp.service.SeatRegistrationHeatmapService;
 import com.example.bookingapp.service.SeatRegistrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,7 +22,9 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 
@@ -31,6 +35,8 @@ public class SeatRegistrationRestController {
     private SeatRegistrationService seatRegistrationService;
     @Autowired
     RoomService roomService;
+    @Autowired
+    SeatRegistrationHeatmapService seatRegistrationHeatmapService;
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> cancelSeatRegistration(@PathVariable("id") Long id, @RequestParam("personId") Long personId) {
@@ -72,4 +78,19 @@ public class SeatRegistrationRestController {
         }
     }
 
+    @GetMapping("/heatmap")
+    public ResponseEntity<StreamingResponseBody> getSeatRegistrationHeatmap(
+            @RequestParam (required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam (required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam (required = false) Integer eachMinute
+    ) {
+        try {
+            StreamingResponseBody body = seatRegistrationHeatmapService.exportHeatmap(fromDate, toDate, eachMinute);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (SeatRegistrationInvalidFormatParamException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
 }
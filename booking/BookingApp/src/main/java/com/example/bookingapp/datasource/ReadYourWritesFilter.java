@@ -0,0 +1,57 @@
+package com.example.bookingapp.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes for replica routing. A write request (anything but GET, HEAD or OPTIONS) runs
+ * pinned to the primary and answers with an {@value #READ_AFTER_HEADER} token, the time until which
+ * its writes may not have reached the replica. Reads that echo a token that has not expired yet are
+ * pinned to the primary too.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private final long pinWindowMillis;
+
+    public ReadYourWritesFilter(long pinWindowMillis) {
+        this.pinWindowMillis = pinWindowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (isWrite(request.getMethod())) {
+            response.setHeader(READ_AFTER_HEADER, String.valueOf(now + pinWindowMillis));
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else if (now < readAfter(request.getHeader(READ_AFTER_HEADER))) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private long readAfter(String token) {
+        if (token == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
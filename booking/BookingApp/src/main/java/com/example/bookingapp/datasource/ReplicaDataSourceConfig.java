@@ -0,0 +1,44 @@
+package com.example.bookingapp.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active only when booking.replica.url is set; otherwise Spring Boot's single data source is used.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "booking.replica.url")
+public class ReplicaDataSourceConfig {
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Value("${booking.replica.url}") String url,
+            @Value("${booking.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${booking.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${booking.replica.lag-query:" + ReplicaLagMonitor.POSTGRES_LAG_QUERY + "}") String lagQuery,
+            @Value("${booking.replica.max-lag-ms:2000}") long maxLagMillis) {
+        DataSource replica = DataSourceBuilder.create().url(url).username(username).password(password).build();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLagMillis);
+        monitor.checkLag();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaLagMonitor replicaLagMonitor) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaLagMonitor));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${booking.replica.pin-window-ms:5000}") long pinWindowMillis) {
+        return new ReadYourWritesFilter(pinWindowMillis);
+    }
+}
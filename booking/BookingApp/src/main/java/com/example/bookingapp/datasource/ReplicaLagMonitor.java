@@ -0,0 +1,79 @@
+package com.example.bookingapp.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * Polls the replica for its replication lag in milliseconds. The replica is used only while the last
+ * poll succeeded and reported a lag within the limit, so a lagging or unreachable replica falls back
+ * to the primary until it catches up.
+ */
+public class ReplicaLagMonitor implements Closeable {
+    private static final Logger logger = Logger.getLogger(ReplicaLagMonitor.class.getName());
+
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) END";
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            lagMillis = resultSet.next() ? resultSet.getLong(1) : -1;
+            usable = lagMillis >= 0 && lagMillis <= maxLagMillis;
+        } catch (SQLException e) {
+            lagMillis = -1;
+            usable = false;
+            if (replicaUsable) {
+                logger.warning("Replica lag check failed: " + e.getMessage());
+            }
+        }
+        if (usable != replicaUsable) {
+            logger.info(usable ? "Routing read-only transactions to the replica, lag " + lagMillis + " ms."
+                    : "Routing read-only transactions to the primary, replica lag " + lagMillis + " ms.");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (replica instanceof Closeable) {
+            ((Closeable) replica).close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bookingapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary.
+ * The decision is taken when a connection is first needed, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction's read-only flag is only published after the
+ * transaction manager has begun it. Reads stay on the primary while the current thread is pinned
+ * (read-your-writes) or while the lag monitor considers the replica too far behind.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replicaLagMonitor.getReplica());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static void pinToPrimary() {
+        pinnedToPrimary.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        pinnedToPrimary.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinnedToPrimary.get());
+    }
+
+    /**
+     * Runs a cache loader with its reads sent to the primary: what it loads is served to later requests,
+     * so it must not come from a replica that lags behind. The pin only decides connections taken while
+     * the loader runs, so a loader must not be called from a read-only transaction that has already
+     * run a statement.
+     */
+    public static <T> T onPrimary(Supplier<T> loader) {
+        if (isPinnedToPrimary()) {
+            return loader.get();
+        }
+        pinToPrimary();
+        try {
+            return loader.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !isPinnedToPrimary()
+                && replicaLagMonitor.isReplicaUsable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bookingapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRowDTO {
+    private Long meetingId;
+    private Long roomId;
+    private String roomName;
+    private Long personId;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime reservationTime;
+    private int statusMeeting;
+}
@@ -0,0 +1,17 @@
+package com.example.bookingapp.dto;
+
+import java.sql.Timestamp;
+
+public interface IRoomMeetingSchedule {
+    Long getRoomId();
+
+    Long getMeetingId();
+
+    String getTitle();
+
+    Timestamp getStartTime();
+
+    Timestamp getEndTime();
+
+    Timestamp getReservationTime();
+}
@@ -0,0 +1,29 @@
+package com.example.bookingapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MeetingIntervalDTO {
+    private Long meetingId;
+    private Long roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    /**
+     * Row version, only selected by queries that guard a later update with it.
+     */
+    private Long version;
+
+    public MeetingIntervalDTO(Long meetingId, Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        this(meetingId, roomId, startTime, endTime, null);
+    }
+}
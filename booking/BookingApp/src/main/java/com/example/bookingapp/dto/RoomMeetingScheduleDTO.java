@@ -0,0 +1,23 @@
+package com.example.bookingapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomMeetingScheduleDTO {
+    private Long roomId;
+    private Long meetingId;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime reservationTime;
+}
@@ -0,0 +1,21 @@
+package com.example.bookingapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomMonthlyUsageDTO {
+    private Long roomId;
+    private Integer year;
+    private Integer month;
+    private Long meetingCount;
+    private Long meetingMinutes;
+    private Long seatRegistrationCount;
+    private Long seatMinutes;
+    private Integer peakSeats;
+}
@@ -0,0 +1,21 @@
+package com.example.bookingapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatIntervalDTO {
+    private Long registrationId;
+    private Long roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
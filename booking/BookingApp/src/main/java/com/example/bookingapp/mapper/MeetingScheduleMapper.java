@@ -0,0 +1,77 @@
+package com.example.bookingapp.mapper;
+
+import com.example.bookingapp.dto.IRoomMeetingSchedule;
+import com.example.bookingapp.dto.MeetingScheduleDTO;
+import com.example.bookingapp.dto.RoomMeetingScheduleDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.response.MeetingDetail;
+import com.example.bookingapp.response.MeetingResponseUpdate;
+import com.example.bookingapp.response.MeetingScheduleResponse;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Conversions from meetings and meeting projections to DTOs and responses.
+ */
+public class MeetingScheduleMapper {
+    private MeetingScheduleMapper() {
+    }
+
+    public static MeetingScheduleResponse toResponse(MeetingSchedule meeting) {
+        MeetingScheduleResponse response = new MeetingScheduleResponse();
+        response.setMeetingId(meeting.getId());
+        response.setTitle(meeting.getTitle());
+        response.setStartTime(meeting.getStartTime());
+        response.setEndTime(meeting.getEndTime());
+        response.setStatusMeeting(meeting.getStatusMeeting());
+        response.setReservationTime(meeting.getReservationTime());
+        return response;
+    }
+
+    public static MeetingResponseUpdate toResponseUpdate(MeetingSchedule meeting) {
+        MeetingResponseUpdate response = new MeetingResponseUpdate();
+        response.setMeetingId(meeting.getId());
+        response.setPersonId(meeting.getPerson().getId());
+        response.setTitle(meeting.getTitle());
+        response.setStartTime(meeting.getStartTime());
+        response.setEndTime(meeting.getEndTime());
+        response.setReservationTime(meeting.getReservationTime());
+        return response;
+    }
+
+    public static MeetingDetail toDetail(MeetingSchedule meeting) {
+        MeetingDetail detail = new MeetingDetail();
+        detail.setMeetingId(meeting.getId());
+        detail.setPersonId(meeting.getPerson().getId());
+        detail.setTitle(meeting.getTitle());
+        detail.setStartTime(meeting.getStartTime());
+        detail.setEndTime(meeting.getEndTime());
+        detail.setReservationTime(meeting.getReservationTime());
+        return detail;
+    }
+
+    public static MeetingScheduleDTO toDto(RoomMeetingScheduleDTO meeting) {
+        MeetingScheduleDTO scheduleDTO = new MeetingScheduleDTO();
+        scheduleDTO.setMeetingId(meeting.getMeetingId());
+        scheduleDTO.setTitle(meeting.getTitle());
+        scheduleDTO.setStartTime(meeting.getStartTime());
+        scheduleDTO.setEndTime(meeting.getEndTime());
+        scheduleDTO.setReservationTime(meeting.getReservationTime());
+        return scheduleDTO;
+    }
+
+    public static MeetingScheduleDTO toDto(IRoomMeetingSchedule meeting) {
+        MeetingScheduleDTO scheduleDTO = new MeetingScheduleDTO();
+        scheduleDTO.setMeetingId(meeting.getMeetingId());
+        scheduleDTO.setTitle(meeting.getTitle());
+        scheduleDTO.setStartTime(toLocalDateTime(meeting.getStartTime()));
+        scheduleDTO.setEndTime(toLocalDateTime(meeting.getEndTime()));
+        scheduleDTO.setReservationTime(toLocalDateTime(meeting.getReservationTime()));
+        return scheduleDTO;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bookingapp.mapper;
+
+import com.example.bookingapp.dto.MeetingScheduleDTO;
+import com.example.bookingapp.dto.RoomDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.response.MeetingDetail;
+import com.example.bookingapp.response.RoomDetailResponse;
+import com.example.bookingapp.response.SearchRoomResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversions between rooms and their requests, DTOs and responses. Every field is copied by hand, so a
+ * mapping costs a few getter and setter calls instead of a reflective ModelMapper configuration per call.
+ */
+public class RoomMapper {
+    private RoomMapper() {
+    }
+
+    public static Room toEntity(RoomAddRequest request) {
+        Room room = new Room();
+        room.setRoomName(request.getRoomName());
+        room.setCapacity(request.getCapacity());
+        return room;
+    }
+
+    public static RoomDTO toDto(Room room) {
+        RoomDTO roomDTO = new RoomDTO();
+        roomDTO.setRoomId(room.getId());
+        roomDTO.setRoomName(room.getRoomName());
+        roomDTO.setCapacity(room.getCapacity());
+        roomDTO.setStatusRoom(room.getStatusRoom());
+        return roomDTO;
+    }
+
+    public static RoomDetailResponse toDetailResponse(Room room, List<MeetingSchedule> bookedMeetings) {
+        RoomDetailResponse detailResponse = new RoomDetailResponse();
+        detailResponse.setRoomName(room.getRoomName());
+        detailResponse.setCapacity(room.getCapacity());
+        if (bookedMeetings == null || bookedMeetings.isEmpty()) {
+            detailResponse.setBookedMeeting(null);
+        } else {
+            List<MeetingDetail> detailList = new ArrayList<>(bookedMeetings.size());
+            for (MeetingSchedule meeting : bookedMeetings) {
+                detailList.add(MeetingScheduleMapper.toDetail(meeting));
+            }
+            detailResponse.setBookedMeeting(detailList);
+        }
+        return detailResponse;
+    }
+
+    public static SearchRoomResponse toSearchRoomResponse(Room room, List<MeetingScheduleDTO> meetingSchedules) {
+        SearchRoomResponse response = new SearchRoomResponse();
+        response.setRoomId(room.getId());
+        response.setRoomName(room.getRoomName());
+        response.setCapacity(room.getCapacity());
+        response.setStatusRoom(room.getStatusRoom());
+        response.setMeetingSchedules(meetingSchedules);
+        return response;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bookingapp.mapper;
+
+import com.example.bookingapp.dto.SeatRegistrationDTO;
+import com.example.bookingapp.request.SeatRegistrationRequest;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversions from seat registration requests to DTOs.
+ */
+public class SeatRegistrationMapper {
+    private SeatRegistrationMapper() {
+    }
+
+    public static SeatRegistrationDTO toDto(SeatRegistrationRequest request, Long id, int status, LocalDateTime registrationTime) {
+        SeatRegistrationDTO registrationDTO = new SeatRegistrationDTO();
+        registrationDTO.setId(id);
+        registrationDTO.setRoomId(request.getRoomId());
+        registrationDTO.setPersonId(request.getPersonId());
+        registrationDTO.setStartTime(request.getStartTime());
+        registrationDTO.setEndTime(request.getEndTime());
+        registrationDTO.setSeatRegistrationStatus(status);
+        registrationDTO.setSeatRegistrationTime(registrationTime);
+        return registrationDTO;
+    }
+}
@@ -3,21 +3,31 @@ package com.example.bookingapp.model;
 import jakarta.persistence.Id;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.Builder;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "meeting_schedule")
+@Table(name = "meeting_schedule", indexes = {
+        @Index(name = "idx_meeting_schedule_person_start", columnList = "person_id, start_time, meeting_id"),
+        @Index(name = "idx_meeting_schedule_person_reservation", columnList = "person_id, reservation_time, meeting_id"),
+        @Index(name = "idx_meeting_schedule_room_start", columnList = "room_id, start_time, meeting_id"),
+        @Index(name = "idx_meeting_schedule_series", columnList = "series_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +35,8 @@ import java.time.LocalDateTime;
 @Builder
 public class MeetingSchedule {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_schedule_id_seq")
+    @SequenceGenerator(name = "meeting_schedule_id_seq", sequenceName = "meeting_schedule_meeting_id_seq", allocationSize = 50)
     @Column(name = "meeting_id")
     private Long id;
 
@@ -38,8 +49,17 @@ public class MeetingSchedule {
     private Person person;
 
     private String title;
+    @Column(name = "start_time")
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private int statusMeeting;
+    @Column(name = "reservation_time")
     private LocalDateTime reservationTime;
+    @Column(name = "series_id")
+    private UUID seriesId;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,64 @@
+package com.example.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "meeting_slot", indexes = @Index(name = "idx_meeting_slot_meeting_id", columnList = "meeting_id"))
+@IdClass(MeetingSlotId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class MeetingSlot implements Persistable<MeetingSlotId> {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "slot_start")
+    private LocalDateTime slotStart;
+
+    @Column(name = "meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public MeetingSlot(Long roomId, LocalDateTime slotStart, Long meetingId) {
+        this.roomId = roomId;
+        this.slotStart = slotStart;
+        this.meetingId = meetingId;
+    }
+
+    @Override
+    public MeetingSlotId getId() {
+        return new MeetingSlotId(roomId, slotStart);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
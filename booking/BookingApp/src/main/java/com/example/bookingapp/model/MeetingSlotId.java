@@ -0,0 +1,20 @@
+package com.example.bookingapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MeetingSlotId implements Serializable {
+    private Long roomId;
+    private LocalDateTime slotStart;
+}
@@ -1,6 +1,7 @@
 package com.example.bookingapp.model;
 
 import jakarta.persistence.Table;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
@@ -12,8 +13,13 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person")
 @Table(name = "person")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +29,8 @@ import jakarta.persistence.GenerationType;
 public class Person {
     @Id
     @Column(name = "person_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_id_seq")
+    @SequenceGenerator(name = "person_id_seq", sequenceName = "person_person_id_seq", allocationSize = 50)
     private Long id;
     @Column(name = "fullname")
     private String fullName;
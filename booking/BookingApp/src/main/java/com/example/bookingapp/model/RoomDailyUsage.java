@@ -0,0 +1,66 @@
+package com.example.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "room_daily_usage", indexes = @Index(name = "idx_room_daily_usage_usage_date", columnList = "usage_date"))
+@IdClass(RoomDailyUsageId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RoomDailyUsage implements Persistable<RoomDailyUsageId> {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    private int meetingCount;
+    private long meetingMinutes;
+    private int seatRegistrationCount;
+    private long seatMinutes;
+    private int peakSeats;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public RoomDailyUsage(Long roomId, LocalDate usageDate) {
+        this.roomId = roomId;
+        this.usageDate = usageDate;
+    }
+
+    @Override
+    public RoomDailyUsageId getId() {
+        return new RoomDailyUsageId(roomId, usageDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
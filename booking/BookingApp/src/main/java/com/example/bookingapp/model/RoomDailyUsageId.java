@@ -0,0 +1,20 @@
+package com.example.bookingapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RoomDailyUsageId implements Serializable {
+    private Long roomId;
+    private LocalDate usageDate;
+}
@@ -3,9 +3,11 @@ package com.example.bookingapp.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.Builder;
@@ -17,7 +19,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seat_registration")
+@Table(name = "seat_registration", indexes = {
+        @Index(name = "idx_seat_registration_room_start", columnList = "room_id, start_time, end_time"),
+        @Index(name = "idx_seat_registration_end_start", columnList = "end_time, start_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +30,8 @@ import java.time.LocalDateTime;
 @Builder
 public class SeatRegistration {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_registration_id_seq")
+    @SequenceGenerator(name = "seat_registration_id_seq", sequenceName = "seat_registration_seat_registration_id_seq", allocationSize = 50)
     @Column(name = "seat_registration_id")
     private Long id;
     @JoinColumn(name = "room_id")
@@ -34,7 +40,9 @@ public class SeatRegistration {
     @JoinColumn(name = "person_id")
     @ManyToOne
     private Person person;
+    @Column(name = "start_time")
     private LocalDateTime startTime;
+    @Column(name = "end_time")
     private LocalDateTime endTime;
     private LocalDateTime seatRegistrationTime;
     private Integer seatRegistrationStatus;
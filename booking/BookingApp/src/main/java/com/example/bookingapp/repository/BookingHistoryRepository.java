@@ -0,0 +1,12 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.request.BookingHistoryRequest;
+import com.example.bookingapp.response.IBookingHistoryResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingHistoryRepository {
+    List<IBookingHistoryResponse> findBookingHistoryPage(BookingHistoryRequest request, LocalDateTime cursorTime,
+                                                         Long cursorId, LocalDateTime now, int limit);
+}
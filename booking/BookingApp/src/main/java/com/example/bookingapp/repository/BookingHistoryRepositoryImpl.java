@@ -0,0 +1,106 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.constant.StatusBookingHistory;
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.request.BookingHistoryRequest;
+import com.example.bookingapp.response.BookingHistoryResponseImpl;
+import com.example.bookingapp.response.IBookingHistoryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class BookingHistoryRepositoryImpl implements BookingHistoryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<IBookingHistoryResponse> findBookingHistoryPage(BookingHistoryRequest request, LocalDateTime cursorTime,
+                                                                Long cursorId, LocalDateTime now, int limit) {
+        String sortColumn = Boolean.TRUE.equals(request.getIsSort()) ? "m.startTime" : "m.reservationTime";
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT m.id AS meetingId, r.roomName AS roomName, m.title AS title, ")
+                .append("m.startTime AS startTime, m.endTime AS endTime, m.reservationTime AS reservationTime, ")
+                .append("m.statusMeeting AS statusMeeting ")
+                .append("FROM MeetingSchedule m JOIN m.room r ")
+                .append("WHERE m.person.id = :personId AND r.deletedAt IS NULL");
+        params.put("personId", request.getPersonId());
+
+        if (request.getTitle() != null) {
+            jpql.append(" AND LOWER(m.title) LIKE :title");
+            params.put("title", "%" + request.getTitle().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (request.getRoomName() != null) {
+            jpql.append(" AND LOWER(r.roomName) LIKE :roomName");
+            params.put("roomName", "%" + request.getRoomName().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (request.getStatusMeeting() != null) {
+            appendStatusFilter(jpql, params, request.getStatusMeeting(), now);
+        }
+        if (cursorTime != null) {
+            jpql.append(" AND ").append(sortColumn).append(" >= :cursorTime AND (").append(sortColumn)
+                    .append(" > :cursorTime OR m.id > :cursorId)");
+            params.put("cursorTime", cursorTime);
+            params.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY ").append(sortColumn).append(" ASC, m.id ASC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            query.setParameter(param.getKey(), param.getValue());
+        }
+        query.setMaxResults(limit);
+
+        List<IBookingHistoryResponse> result = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            LocalDateTime startTime = tuple.get("startTime", LocalDateTime.class);
+            LocalDateTime endTime = tuple.get("endTime", LocalDateTime.class);
+            BookingHistoryResponseImpl response = new BookingHistoryResponseImpl();
+            response.setMeetingId(tuple.get("meetingId", Long.class));
+            response.setRoomName(tuple.get("roomName", String.class));
+            response.setTitle(tuple.get("title", String.class));
+            response.setStartTime(toTimestamp(startTime));
+            response.setEndTime(toTimestamp(endTime));
+            response.setReservationTime(toTimestamp(tuple.get("reservationTime", LocalDateTime.class)));
+            response.setStatusMeeting(StatusBookingHistory.of(tuple.get("statusMeeting", Integer.class), startTime, endTime, now));
+            result.add(response);
+        }
+        return result;
+    }
+
+    private void appendStatusFilter(StringBuilder jpql, Map<String, Object> params, int statusMeeting, LocalDateTime now) {
+        switch (statusMeeting) {
+            case StatusBookingHistory.CANCELED:
+                jpql.append(" AND m.statusMeeting = :canceled");
+                break;
+            case StatusBookingHistory.UPCOMING:
+                jpql.append(" AND m.statusMeeting <> :canceled AND m.startTime > :now");
+                params.put("now", now);
+                break;
+            case StatusBookingHistory.IN_PROGRESS:
+                jpql.append(" AND m.statusMeeting <> :canceled AND m.startTime <= :now AND m.endTime >= :now");
+                params.put("now", now);
+                break;
+            case StatusBookingHistory.ENDED:
+                jpql.append(" AND m.statusMeeting <> :canceled AND m.endTime < :now");
+                params.put("now", now);
+                break;
+            default:
+                jpql.append(" AND 1 = 0");
+                return;
+        }
+        params.put("canceled", StatusMeetingSchedule.CANCELED);
+    }
+
+    private Timestamp toTimestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.bookingapp.repository;
 
+import com.example.bookingapp.dto.BookingExportRowDTO;
+import com.example.bookingapp.dto.IRoomMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.dto.RoomMeetingScheduleDTO;
 import com.example.bookingapp.model.MeetingSchedule;
 import com.example.bookingapp.model.Room;
 import com.example.bookingapp.response.IBookingHistoryResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface MeetingScheduleRepository extends JpaRepository<MeetingSchedule, Long> {
+public interface MeetingScheduleRepository extends JpaRepository<MeetingSchedule, Long>, BookingHistoryRepository {
     @Query(value = "SELECT * FROM meeting_schedule ms " +
             "WHERE ms.room_id = ?1 " +
             "AND ms.status_meeting = ?2 " +
@@ -32,6 +43,205 @@ public interface MeetingScheduleRepository extends JpaRepository<MeetingSchedule
             @Param("endTime") LocalDateTime endTime,
             @Param("meetingId") Long meetingId
     );
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.room.id = :roomId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.endTime > :time")
+    List<MeetingIntervalDTO> findIntervalsInRoomEndingAfter(
+            @Param("roomId") Long roomId,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("time") LocalDateTime time
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.room.id = :roomId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime <= :toTime " +
+            "AND m.endTime >= :fromTime " +
+            "ORDER BY m.startTime ASC")
+    List<MeetingIntervalDTO> findIntervalsInRoomBetween(
+            @Param("roomId") Long roomId,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.statusMeeting = :statusMeeting " +
+            "AND m.startTime >= :fromTime " +
+            "AND m.startTime < :toTime")
+    List<MeetingIntervalDTO> findIntervalsStartingBetween(
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.statusMeeting = :statusMeeting " +
+            "AND m.endTime > :time")
+    List<MeetingIntervalDTO> findIntervalsEndingAfter(
+            @Param("statusMeeting") int statusMeeting,
+            @Param("time") LocalDateTime time
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.RoomMeetingScheduleDTO(r.id, m.id, m.title, m.startTime, m.endTime, m.reservationTime) " +
+            "FROM MeetingSchedule m JOIN m.room r " +
+            "WHERE r.deletedAt IS NULL " +
+            "AND (:minCapacity IS NULL OR r.capacity >= :minCapacity) " +
+            "AND (:maxCapacity IS NULL OR r.capacity <= :maxCapacity) " +
+            "AND (:roomName IS NULL OR LOWER(r.roomName) LIKE LOWER(CONCAT('%', :roomName, '%'))) " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime <= :toDate " +
+            "AND m.endTime >= :fromDate " +
+            "ORDER BY r.id ASC, m.startTime ASC")
+    List<RoomMeetingScheduleDTO> findMeetingsForRoomSearch(
+            @Param("minCapacity") Integer minCapacity,
+            @Param("maxCapacity") Integer maxCapacity,
+            @Param("roomName") String roomName,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate
+    );
+
+    @Query(value = "SELECT t.room_id AS roomId, " +
+            "t.meeting_id AS meetingId, " +
+            "t.title AS title, " +
+            "t.start_time AS startTime, " +
+            "t.end_time AS endTime, " +
+            "t.reservation_time AS reservationTime " +
+            "FROM (SELECT ms.room_id, ms.meeting_id, ms.title, ms.start_time, ms.end_time, ms.reservation_time, " +
+            "    ROW_NUMBER() OVER (PARTITION BY ms.room_id ORDER BY ms.start_time, ms.meeting_id) AS rn " +
+            "    FROM meeting_schedule ms " +
+            "    WHERE ms.room_id IN (:roomIds) " +
+            "    AND ms.status_meeting = :statusMeeting " +
+            "    AND ms.start_time <= :toDate " +
+            "    AND ms.end_time >= :fromDate) t " +
+            "WHERE t.rn <= :perRoom " +
+            "ORDER BY t.room_id, t.start_time, t.meeting_id",
+            nativeQuery = true)
+    List<IRoomMeetingSchedule> findMeetingsInRoomsLimited(
+            @Param("roomIds") List<Long> roomIds,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("perRoom") int perRoom
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.bookingapp.dto.BookingExportRowDTO(m.id, r.id, r.roomName, p.id, m.title, " +
+            "m.startTime, m.endTime, m.reservationTime, m.statusMeeting) " +
+            "FROM MeetingSchedule m JOIN m.room r JOIN m.person p " +
+            "WHERE p.id = :personId " +
+            "AND r.deletedAt IS NULL " +
+            "ORDER BY m.startTime ASC, m.id ASC")
+    Stream<BookingExportRowDTO> streamHistoryByPerson(@Param("personId") Long personId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.bookingapp.dto.BookingExportRowDTO(m.id, r.id, r.roomName, p.id, m.title, " +
+            "m.startTime, m.endTime, m.reservationTime, m.statusMeeting) " +
+            "FROM MeetingSchedule m JOIN m.room r JOIN m.person p " +
+            "WHERE r.id = :roomId " +
+            "ORDER BY m.startTime ASC, m.id ASC")
+    Stream<BookingExportRowDTO> streamHistoryByRoom(@Param("roomId") Long roomId);
+
+    @Query("SELECT DISTINCT m.room.id FROM MeetingSchedule m " +
+            "WHERE m.statusMeeting = :statusMeeting " +
+            "AND m.endTime > :time")
+    List<Long> findRoomIdsWithMeetingsEndingAfter(
+            @Param("statusMeeting") int statusMeeting,
+            @Param("time") LocalDateTime time
+    );
+
+    @Query("SELECT COUNT(m) FROM MeetingSchedule m " +
+            "WHERE m.room.id = :roomId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime <= :endTime " +
+            "AND m.endTime >= :startTime " +
+            "AND (:meetingId IS NULL OR m.id <> :meetingId)")
+    long countOverlappingMeetings(
+            @Param("roomId") Long roomId,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("meetingId") Long meetingId
+    );
+
+    @Query("SELECT DISTINCT m.room.id FROM MeetingSchedule m WHERE m.seriesId = :seriesId")
+    List<Long> findRoomIdsOfSeries(@Param("seriesId") UUID seriesId);
+
+    @Query("SELECT m FROM MeetingSchedule m " +
+            "WHERE m.seriesId = :seriesId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime >= :fromTime " +
+            "ORDER BY m.startTime ASC")
+    List<MeetingSchedule> findSeriesMeetingsStartingFrom(
+            @Param("seriesId") UUID seriesId,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromTime") LocalDateTime fromTime
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.seriesId = :seriesId " +
+            "AND m.person.id = :personId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime >= :fromTime " +
+            "AND m.room.id IN (SELECT r.id FROM Room r WHERE r.deletedAt IS NULL) " +
+            "ORDER BY m.startTime ASC")
+    List<MeetingIntervalDTO> findCancelableSeriesIntervals(
+            @Param("seriesId") UUID seriesId,
+            @Param("personId") Long personId,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromTime") LocalDateTime fromTime
+    );
+
+    @Modifying
+    @Query("UPDATE MeetingSchedule m SET m.statusMeeting = :canceledStatus, m.version = m.version + 1 " +
+            "WHERE m.id = :meetingId " +
+            "AND m.person.id = :personId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime >= :minCancellationTime " +
+            "AND m.version = :version " +
+            "AND m.room.id IN (SELECT r.id FROM Room r WHERE r.deletedAt IS NULL)")
+    int cancelIfAllowed(
+            @Param("meetingId") Long meetingId,
+            @Param("personId") Long personId,
+            @Param("canceledStatus") int canceledStatus,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("minCancellationTime") LocalDateTime minCancellationTime,
+            @Param("version") long version
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.MeetingIntervalDTO(m.id, m.room.id, m.startTime, m.endTime, m.version) " +
+            "FROM MeetingSchedule m " +
+            "WHERE m.id = :meetingId")
+    MeetingIntervalDTO findIntervalById(@Param("meetingId") Long meetingId);
+
+    @Modifying
+    @Query("UPDATE MeetingSchedule m SET m.statusMeeting = :canceledStatus, m.version = m.version + 1 " +
+            "WHERE m.seriesId = :seriesId " +
+            "AND m.person.id = :personId " +
+            "AND m.statusMeeting = :statusMeeting " +
+            "AND m.startTime >= :fromTime " +
+            "AND m.room.id IN (SELECT r.id FROM Room r WHERE r.deletedAt IS NULL)")
+    int cancelSeriesStartingFrom(
+            @Param("seriesId") UUID seriesId,
+            @Param("personId") Long personId,
+            @Param("canceledStatus") int canceledStatus,
+            @Param("statusMeeting") int statusMeeting,
+            @Param("fromTime") LocalDateTime fromTime
+    );
+
     @Query(value = "SELECT " +
             "r.room_name AS roomName," +
             "ms.meeting_id AS meetingId," +
@@ -51,4 +261,7 @@ public interface MeetingScheduleRepository extends JpaRepository<MeetingSchedule
             "AND  ms.person_id = ?1 " +
             "AND ms.meeting_id = ?2", nativeQuery = true)
     IBookingHistoryResponse findMeetingByUser(Long personId, Long meetingId);
+
+    @Query("SELECT m.id FROM MeetingSchedule m WHERE m.id > :afterId ORDER BY m.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
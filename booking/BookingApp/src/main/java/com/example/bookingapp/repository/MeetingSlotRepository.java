@@ -0,0 +1,31 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.model.MeetingSlot;
+import com.example.bookingapp.model.MeetingSlotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface MeetingSlotRepository extends JpaRepository<MeetingSlot, MeetingSlotId> {
+    @Query("SELECT COUNT(s) FROM MeetingSlot s " +
+            "WHERE s.roomId = :roomId " +
+            "AND s.slotStart BETWEEN :fromSlot AND :toSlot " +
+            "AND (:meetingId IS NULL OR s.meetingId <> :meetingId)")
+    long countClaimedSlots(@Param("roomId") Long roomId,
+                           @Param("fromSlot") LocalDateTime fromSlot,
+                           @Param("toSlot") LocalDateTime toSlot,
+                           @Param("meetingId") Long meetingId);
+
+    @Modifying
+    @Query("DELETE FROM MeetingSlot s WHERE s.meetingId = :meetingId")
+    int releaseSlots(@Param("meetingId") Long meetingId);
+
+    @Modifying
+    @Query("DELETE FROM MeetingSlot s WHERE s.slotStart < :time")
+    int deleteSlotsStartingBefore(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,7 @@
+package com.example.bookingapp.repository;
+
+import java.time.LocalDate;
+
+public interface RoomDailyUsageCommandRepository {
+    int insertIfAbsent(Long roomId, LocalDate usageDate);
+}
@@ -0,0 +1,51 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.model.RoomDailyUsage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+
+/**
+ * Creates an empty daily usage row in the caller's transaction unless it already exists. PostgreSQL
+ * gets INSERT ... ON CONFLICT DO NOTHING, which waits for a concurrent insert of the same key and then
+ * skips instead of failing. Other databases get the standard MERGE, which does not wait like that, so
+ * the room row is locked FOR UPDATE first and creators of the same room's rows run one at a time.
+ * Returns the number of rows inserted.
+ */
+public class RoomDailyUsageCommandRepositoryImpl implements RoomDailyUsageCommandRepository {
+    private static final String INSERT_IF_ABSENT = "INSERT INTO room_daily_usage " +
+            "(room_id, usage_date, meeting_count, meeting_minutes, seat_registration_count, seat_minutes, peak_seats) " +
+            "VALUES (:roomId, :usageDate, 0, 0, 0, 0, 0) " +
+            "ON CONFLICT (room_id, usage_date) DO NOTHING";
+    private static final String LOCK_ROOM = "SELECT r.room_id FROM room r WHERE r.room_id = :roomId FOR UPDATE";
+    private static final String MERGE_IF_ABSENT = "MERGE INTO room_daily_usage u " +
+            "USING (SELECT CAST(:roomId AS BIGINT) AS room_id, CAST(:usageDate AS DATE) AS usage_date) s " +
+            "ON (u.room_id = s.room_id AND u.usage_date = s.usage_date) " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(room_id, usage_date, meeting_count, meeting_minutes, seat_registration_count, seat_minutes, peak_seats) " +
+            "VALUES (s.room_id, s.usage_date, 0, 0, 0, 0, 0)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIfAbsent(Long roomId, LocalDate usageDate) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        boolean postgres = session.getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        if (!postgres) {
+            entityManager.createNativeQuery(LOCK_ROOM)
+                    .setParameter("roomId", roomId)
+                    .getResultList();
+        }
+        return entityManager.createNativeQuery(postgres ? INSERT_IF_ABSENT : MERGE_IF_ABSENT)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(RoomDailyUsage.class)
+                .setParameter("roomId", roomId)
+                .setParameter("usageDate", usageDate)
+                .executeUpdate();
+    }
+}
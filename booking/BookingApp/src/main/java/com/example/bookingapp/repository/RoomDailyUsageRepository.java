@@ -0,0 +1,55 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.dto.RoomMonthlyUsageDTO;
+import com.example.bookingapp.model.RoomDailyUsage;
+import com.example.bookingapp.model.RoomDailyUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomDailyUsageRepository extends JpaRepository<RoomDailyUsage, RoomDailyUsageId>, RoomDailyUsageCommandRepository {
+    @Modifying
+    @Query("UPDATE RoomDailyUsage u " +
+            "SET u.meetingCount = u.meetingCount + :count, u.meetingMinutes = u.meetingMinutes + :minutes " +
+            "WHERE u.roomId = :roomId AND u.usageDate = :usageDate")
+    int addMeetings(@Param("roomId") Long roomId,
+                    @Param("usageDate") LocalDate usageDate,
+                    @Param("count") int count,
+                    @Param("minutes") long minutes);
+
+    @Modifying
+    @Query("UPDATE RoomDailyUsage u " +
+            "SET u.seatRegistrationCount = u.seatRegistrationCount + :count, u.seatMinutes = u.seatMinutes + :minutes " +
+            "WHERE u.roomId = :roomId AND u.usageDate = :usageDate")
+    int addSeatRegistrations(@Param("roomId") Long roomId,
+                             @Param("usageDate") LocalDate usageDate,
+                             @Param("count") int count,
+                             @Param("minutes") long minutes);
+
+    @Modifying
+    @Query("UPDATE RoomDailyUsage u SET u.peakSeats = :peakSeats WHERE u.roomId = :roomId AND u.usageDate = :usageDate")
+    int updatePeakSeats(@Param("roomId") Long roomId,
+                        @Param("usageDate") LocalDate usageDate,
+                        @Param("peakSeats") int peakSeats);
+
+    @Modifying
+    @Query("DELETE FROM RoomDailyUsage u WHERE u.usageDate = :usageDate")
+    int deleteByUsageDate(@Param("usageDate") LocalDate usageDate);
+
+    @Query("SELECT new com.example.bookingapp.dto.RoomMonthlyUsageDTO(u.roomId, YEAR(u.usageDate), MONTH(u.usageDate), " +
+            "SUM(u.meetingCount), SUM(u.meetingMinutes), SUM(u.seatRegistrationCount), SUM(u.seatMinutes), MAX(u.peakSeats)) " +
+            "FROM RoomDailyUsage u " +
+            "WHERE u.usageDate BETWEEN :fromDate AND :toDate " +
+            "AND (:roomId IS NULL OR u.roomId = :roomId) " +
+            "GROUP BY u.roomId, YEAR(u.usageDate), MONTH(u.usageDate) " +
+            "ORDER BY u.roomId ASC, YEAR(u.usageDate) ASC, MONTH(u.usageDate) ASC")
+    List<RoomMonthlyUsageDTO> findMonthlyUsage(@Param("roomId") Long roomId,
+                                               @Param("fromDate") LocalDate fromDate,
+                                               @Param("toDate") LocalDate toDate);
+}
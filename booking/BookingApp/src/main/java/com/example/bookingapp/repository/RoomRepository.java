@@ -2,19 +2,41 @@ package com.example.bookingapp.repository;
 
 import com.example.bookingapp.model.Room;
 import com.example.bookingapp.response.IBookingHistoryResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room,Long> {
+    String ROOM_AVAILABLE_QUERY_REGION = "room-available";
+
     boolean existsByRoomName(String roomName);
+    boolean existsByRoomNameIgnoreCase(String roomName);
     @Query("SELECT r FROM Room r WHERE r.id = ?1 and r.deletedAt IS NULL")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ROOM_AVAILABLE_QUERY_REGION)
+    })
     Room getRoomByIdAvailable(Long id);
 
+    @Query("SELECT r.id FROM Room r WHERE r.deletedAt IS NULL")
+    List<Long> findActiveRoomIds();
+
+    @Query("SELECT r.id FROM Room r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Room r WHERE r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     @Query(value = "SELECT * FROM " +
             "(SELECT r.room_name AS roomName, " +
             "ms.meeting_id AS meetingId, " +
@@ -43,26 +65,6 @@ public interface RoomRepository extends JpaRepository<Room,Long> {
             "    END", nativeQuery = true)
     List<IBookingHistoryResponse> findBookingHistoryFromData(Long personId, String title, String roomName, Integer statusMeeting, Boolean isSort);
 
-    @Query(value = "SELECT (" +
-            "    COALESCE(" +
-            "        (SELECT r.capacity" +
-            "        FROM room r" +
-            "        WHERE r.deleted_at IS NULL" +
-            "        AND r.room_id = ?1), 0)" +
-            "        -" +
-            "    COALESCE(" +
-            "        (SELECT SUM(" +
-            "        CASE" +
-            "        WHEN sr.seat_registration_status = 0 THEN 0" +
-            "        WHEN CURRENT_TIMESTAMP < sr.start_time THEN ?2" +
-            "        WHEN CURRENT_TIMESTAMP > sr.end_time THEN 0" +
-            "        ELSE ?2" +
-            "        END)" +
-            "        FROM seat_registration sr" +
-            "        WHERE sr.room_id = ?1), 0)" +
-            ") AS result", nativeQuery = true)
-    int getAvailableSeat(Long roomId, int seatsForOneRegistration);
-
     @Query(value = "SELECT sr.room_id " +
             "FROM seat_registration sr " +
             "INNER JOIN room r " +
@@ -0,0 +1,9 @@
+package com.example.bookingapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SeatRegistrationCommandRepository {
+    Optional<Long> registerIfAvailable(Long roomId, Long personId, LocalDateTime startTime, LocalDateTime endTime,
+                                       LocalDateTime registrationTime);
+}
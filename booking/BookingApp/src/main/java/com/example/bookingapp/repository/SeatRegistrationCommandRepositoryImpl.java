@@ -0,0 +1,85 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.model.SeatRegistration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Registers a seat with one conditional INSERT ... SELECT. The row is only inserted when the person
+ * exists, the room exists and is not deleted, the person has no registration in the room touching the
+ * window, and the peak number of registrations inside the window is below the room's capacity. The
+ * peak is taken at the window start and at every registration start inside the window, which is where
+ * the occupancy of half-open intervals can rise.
+ * <p>
+ * Under READ COMMITTED two concurrent inserts cannot see each other's rows, so the room row is locked
+ * FOR UPDATE first. Registrations for the same room then run one after another on every node, and the
+ * insert, being a new statement, sees the rows of the registration that held the lock before it. The
+ * in-memory seat counters are per JVM and only turn away full rooms early; with several nodes they do
+ * not see each other's claims, and this lock is what keeps the room from being overbooked.
+ * <p>
+ * The lock cannot be folded into the insert as a FOR UPDATE CTE. PostgreSQL takes a statement's
+ * snapshot when the statement starts, before it waits for the lock, so the capacity check would still
+ * miss the rows committed by the previous holder. A registration therefore costs two round-trips, the
+ * lock and the insert, plus a sequence fetch once per pool of ids.
+ * <p>
+ * The id comes from the entity's pooled sequence generator, so it needs no extra round-trip most of
+ * the time. An empty result means the registration was rejected; the caller works out why.
+ */
+public class SeatRegistrationCommandRepositoryImpl implements SeatRegistrationCommandRepository {
+    private static final String LOCK_ROOM = "SELECT r.room_id FROM room r " +
+            "WHERE r.room_id = :roomId AND r.deleted_at IS NULL FOR UPDATE";
+    private static final String REGISTER_IF_AVAILABLE = "INSERT INTO seat_registration " +
+            "(seat_registration_id, room_id, person_id, start_time, end_time, seat_registration_time, seat_registration_status) " +
+            "SELECT :id, r.room_id, p.person_id, :startTime, :endTime, :registrationTime, :registered " +
+            "FROM room r JOIN person p ON p.person_id = :personId " +
+            "WHERE r.room_id = :roomId " +
+            "AND r.deleted_at IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM seat_registration o " +
+            "    WHERE o.room_id = :roomId AND o.person_id = :personId AND o.seat_registration_status = :registered " +
+            "    AND o.start_time <= :endTime AND o.end_time >= :startTime) " +
+            "AND (SELECT COALESCE(MAX(occupancy.seats), 0) FROM (" +
+            "    SELECT (SELECT COUNT(*) FROM seat_registration b " +
+            "        WHERE b.room_id = :roomId AND b.seat_registration_status = :registered " +
+            "        AND b.start_time <= point.t AND b.end_time > point.t) AS seats " +
+            "    FROM (SELECT CAST(:startTime AS TIMESTAMP) AS t " +
+            "        UNION SELECT a.start_time FROM seat_registration a " +
+            "        WHERE a.room_id = :roomId AND a.seat_registration_status = :registered " +
+            "        AND a.start_time > :startTime AND a.start_time < :endTime) point" +
+            ") occupancy) < r.capacity / :seatsPerRegistration";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> registerIfAvailable(Long roomId, Long personId, LocalDateTime startTime, LocalDateTime endTime,
+                                              LocalDateTime registrationTime) {
+        if (entityManager.createNativeQuery(LOCK_ROOM)
+                .setParameter("roomId", roomId)
+                .getResultList().isEmpty()) {
+            return Optional.empty();
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Long id = (Long) session.getFactory().getMappingMetamodel().getEntityDescriptor(SeatRegistration.class)
+                .getIdentifierGenerator().generate(session, null);
+        int inserted = entityManager.createNativeQuery(REGISTER_IF_AVAILABLE)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(SeatRegistration.class)
+                .setParameter("id", id)
+                .setParameter("roomId", roomId)
+                .setParameter("personId", personId)
+                .setParameter("startTime", startTime)
+                .setParameter("endTime", endTime)
+                .setParameter("registrationTime", registrationTime)
+                .setParameter("registered", StatusSeatRegistration.REGISTERED)
+                .setParameter("seatsPerRegistration", InputRequired.SEATS_FOR_ONE_REGISTRATION)
+                .executeUpdate();
+        return inserted == 1 ? Optional.of(id) : Optional.empty();
+    }
+}
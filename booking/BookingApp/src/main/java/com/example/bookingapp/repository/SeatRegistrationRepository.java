@@ -1,57 +1,85 @@
 package com.example.bookingapp.repository;
 
+import com.example.bookingapp.dto.SeatIntervalDTO;
 import com.example.bookingapp.model.SeatRegistration;
-import com.example.bookingapp.response.iSeatRegistrationStatisticsInterval;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface SeatRegistrationRepository extends JpaRepository<SeatRegistration, Long> {
-    @Query(value =
-            "SELECT result.block_start AS startTime," +
-                    "       result.block_end AS endTime," +
-                    "       SUM(COALESCE(result.count, 0)) AS totalSeatRegistrations\n" +
-                    "FROM (" +
-                    "    WITH block_times (block_start, block_end) AS" +
-                    "        (SELECT" +
-                    "             generate_series(\n" +
-                    "               CAST(:date AS TIMESTAMP) + CAST('00:00:00' AS TIME)," +
-                    "               CAST(:date AS TIMESTAMP) + INTERVAL '1 day' - INTERVAL '1 minute' * :eachMinute," +
-                    "               CAST(:eachMinute || ' minutes' AS INTERVAL MINUTE TO SECOND)" +
-                    "               ) AS block_start,\n" +
-                    "            generate_series(\n" +
-                    "                CAST(:date AS TIMESTAMP) + CAST(:eachMinute || ' minutes' AS INTERVAL MINUTE TO SECOND)," +
-                    "                CAST(:date AS TIMESTAMP) + INTERVAL '1 day'," +
-                    "                CAST(:eachMinute || ' minutes' AS INTERVAL MINUTE TO SECOND)" +
-                    "               ) AS block_end" +
-                    "       )" +
-                    "    SELECT bt.block_start, bt.block_end, count(bt.block_start)" +
-                    "    FROM block_times bt" +
-                    "    CROSS JOIN seat_registration sr" +
-                    "    INNER JOIN room r ON sr.room_id = r.room_id" +
-                    "    WHERE r.deleted_at IS NULL" +
-                    "    AND r.room_id = :roomId" +
-                    "    AND sr.seat_registration_status <> 0" +
-                    "    AND (sr.start_time BETWEEN bt.block_start AND bt.block_end" +
-                    "        OR sr.end_time BETWEEN bt.block_start AND bt.block_end" +
-                    "        OR bt.block_start BETWEEN sr.start_time AND sr.end_time" +
-                    "        OR bt.block_end BETWEEN sr.start_time AND sr.end_time)" +
-                    "    GROUP BY bt.block_start, bt.block_end" +
-                    "    UNION" +
-                    "    SELECT block_start, block_end, 0 count" +
-                    "    FROM block_times" +
-                    "    ORDER BY block_start, block_end" +
-                    ") AS result " +
-                    "GROUP BY result.block_start, result.block_end " +
-                    "ORDER BY result.block_start, result.block_end", nativeQuery = true)
-    List<iSeatRegistrationStatisticsInterval> calculateSeatRegistration(
+public interface SeatRegistrationRepository extends JpaRepository<SeatRegistration, Long>, SeatRegistrationCommandRepository {
+    @Query("SELECT new com.example.bookingapp.dto.SeatIntervalDTO(sr.id, sr.room.id, sr.startTime, sr.endTime) " +
+            "FROM SeatRegistration sr " +
+            "WHERE sr.room.id = :roomId " +
+            "AND sr.seatRegistrationStatus = :status " +
+            "AND sr.startTime < :toTime " +
+            "AND sr.endTime > :fromTime " +
+            "ORDER BY sr.startTime ASC")
+    List<SeatIntervalDTO> findIntervalsInRoomBetween(
             @Param("roomId") Long roomId,
-            @Param("date") LocalDate date,
-            @Param("eachMinute") Integer eachMinute
+            @Param("status") int status,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
     );
+
+    @Query("SELECT new com.example.bookingapp.dto.SeatIntervalDTO(sr.id, sr.room.id, sr.startTime, sr.endTime) " +
+            "FROM SeatRegistration sr " +
+            "WHERE sr.room.id = :roomId " +
+            "AND sr.room.deletedAt IS NULL " +
+            "AND sr.seatRegistrationStatus <> :canceledStatus " +
+            "AND sr.startTime <= :toTime " +
+            "AND sr.endTime >= :fromTime")
+    List<SeatIntervalDTO> findIntervalsTouching(
+            @Param("roomId") Long roomId,
+            @Param("canceledStatus") int canceledStatus,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.SeatIntervalDTO(sr.id, sr.room.id, sr.startTime, sr.endTime) " +
+            "FROM SeatRegistration sr " +
+            "WHERE sr.endTime >= :fromTime " +
+            "AND sr.startTime <= :toTime " +
+            "AND sr.seatRegistrationStatus <> :canceledStatus " +
+            "AND sr.room.deletedAt IS NULL")
+    List<SeatIntervalDTO> findIntervalsTouchingActiveRooms(
+            @Param("canceledStatus") int canceledStatus,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.SeatIntervalDTO(sr.id, sr.room.id, sr.startTime, sr.endTime) " +
+            "FROM SeatRegistration sr " +
+            "WHERE sr.seatRegistrationStatus = :status " +
+            "AND sr.startTime >= :fromTime " +
+            "AND sr.startTime < :toTime")
+    List<SeatIntervalDTO> findIntervalsStartingBetween(
+            @Param("status") int status,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime
+    );
+
+    @Modifying
+    @Query("UPDATE SeatRegistration sr SET sr.seatRegistrationStatus = :canceledStatus " +
+            "WHERE sr.id = :registrationId " +
+            "AND sr.person.id = :personId " +
+            "AND (sr.seatRegistrationStatus IS NULL OR sr.seatRegistrationStatus <> :canceledStatus) " +
+            "AND sr.startTime >= :now " +
+            "AND sr.room.id IN (SELECT r.id FROM Room r WHERE r.deletedAt IS NULL)")
+    int cancelIfAllowed(
+            @Param("registrationId") Long registrationId,
+            @Param("personId") Long personId,
+            @Param("canceledStatus") int canceledStatus,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("SELECT new com.example.bookingapp.dto.SeatIntervalDTO(sr.id, sr.room.id, sr.startTime, sr.endTime) " +
+            "FROM SeatRegistration sr " +
+            "WHERE sr.id = :registrationId")
+    SeatIntervalDTO findIntervalById(@Param("registrationId") Long registrationId);
 }
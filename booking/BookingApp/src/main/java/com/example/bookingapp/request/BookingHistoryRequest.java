@@ -0,0 +1,22 @@
+package com.example.bookingapp.request;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingHistoryRequest {
+    private Long personId;
+    private String title;
+    private String roomName;
+    private Integer statusMeeting;
+    private Boolean isSort;
+    private String cursor;
+    private Integer limit;
+}
@@ -0,0 +1,28 @@
+package com.example.bookingapp.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingSeriesRequest {
+    private Long roomId;
+    private Long personId;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String frequency;
+    private Integer interval;
+    private LocalDate until;
+    private Integer count;
+    private boolean skipConflicts;
+}
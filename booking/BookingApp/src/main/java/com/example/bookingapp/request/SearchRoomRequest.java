@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
 public class SearchRoomRequest {
     private LocalDateTime fromDate;
     private LocalDateTime toDate;
-    private int minCapacity;
-    private int maxCapacity;
+    private Integer minCapacity;
+    private Integer maxCapacity;
     private String roomName;
-}
\ No newline at end of file
+    private String cursor;
+    private Integer limit;
+    private String meetings;
+    private Integer meetingLimit;
+}
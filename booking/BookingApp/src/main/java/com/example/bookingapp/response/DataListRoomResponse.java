@@ -14,4 +14,5 @@ import lombok.Builder;
 public class DataListRoomResponse<T> {
     private T data;
     private String errorMessage;
+    private String nextCursor;
 }
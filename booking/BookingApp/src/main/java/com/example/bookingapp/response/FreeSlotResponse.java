@@ -0,0 +1,20 @@
+package com.example.bookingapp.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FreeSlotResponse {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long durationMinutes;
+}
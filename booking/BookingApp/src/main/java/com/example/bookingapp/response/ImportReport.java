@@ -0,0 +1,22 @@
+package com.example.bookingapp.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportReport {
+    private String type;
+    private int batchSize;
+    private long rows;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.example.bookingapp.response;
+
+import com.example.bookingapp.constant.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingBatchItemResult {
+    private int index;
+    private BatchItemStatus status;
+    private MeetingScheduleResponse meeting;
+    private String errorMessage;
+
+    public static MeetingBatchItemResult created(int index, MeetingScheduleResponse meeting) {
+        return new MeetingBatchItemResult(index, BatchItemStatus.CREATED, meeting, null);
+    }
+
+    public static MeetingBatchItemResult rejected(int index, BatchItemStatus status, String errorMessage) {
+        return new MeetingBatchItemResult(index, status, null, errorMessage);
+    }
+}
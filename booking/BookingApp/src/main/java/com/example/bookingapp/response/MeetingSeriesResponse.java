@@ -0,0 +1,20 @@
+package com.example.bookingapp.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingSeriesResponse {
+    private UUID seriesId;
+    private List<MeetingScheduleResponse> meetings;
+    private List<LocalDateTime> skippedStartTimes;
+}
@@ -0,0 +1,24 @@
+package com.example.bookingapp.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomUtilizationResponse {
+    private Long roomId;
+    private String month;
+    private int days;
+    private long meetingCount;
+    private long meetingMinutes;
+    private long seatRegistrationCount;
+    private long seatMinutes;
+    private int peakSeats;
+    private double meetingUtilization;
+}
@@ -1,6 +1,7 @@
 package com.example.bookingapp.response;
 
 import com.example.bookingapp.dto.MeetingScheduleDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -19,6 +20,7 @@ public class SearchRoomResponse {
     private String roomName;
     private int capacity;
     private Integer statusRoom;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<MeetingScheduleDTO> meetingSchedules;
 }
 
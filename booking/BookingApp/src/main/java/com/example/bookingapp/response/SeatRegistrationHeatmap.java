@@ -0,0 +1,25 @@
+package com.example.bookingapp.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms x blocks matrix of seat registrations: {@code totals[i][k]} counts the registrations of
+ * {@code roomIds[i]} touching block k, where block k starts {@code k * eachMinute} minutes after
+ * {@code fromDate} midnight and blocks run until the end of {@code toDate}.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatRegistrationHeatmap {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private int eachMinute;
+    private long[] roomIds;
+    private int[][] totals;
+
+    public int getBlocksPerDay() {
+        return 24 * 60 / eachMinute;
+    }
+}
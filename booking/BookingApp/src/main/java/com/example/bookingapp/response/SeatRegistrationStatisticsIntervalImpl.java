@@ -0,0 +1,33 @@
+package com.example.bookingapp.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatRegistrationStatisticsIntervalImpl implements iSeatRegistrationStatisticsInterval {
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer totalSeatRegistrations;
+
+    @Override
+    public Integer getTotalSeatRegistrations() {
+        return totalSeatRegistrations;
+    }
+
+    @Override
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.bookingapp.service;
+
+import com.example.bookingapp.constant.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface BookingExportService {
+    StreamingResponseBody exportHistoryByPerson(Long personId, ExportFormat format);
+    StreamingResponseBody exportHistoryByRoom(Long roomId, ExportFormat format);
+}
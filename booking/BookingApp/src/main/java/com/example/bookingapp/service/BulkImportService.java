@@ -0,0 +1,11 @@
+package com.example.bookingapp.service;
+
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.ImportType;
+import com.example.bookingapp.response.ImportReport;
+
+import java.io.InputStream;
+
+public interface BulkImportService {
+    ImportReport importRows(ImportType type, ExportFormat format, InputStream in, Integer batchSize);
+}
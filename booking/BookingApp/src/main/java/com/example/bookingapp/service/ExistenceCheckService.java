@@ -0,0 +1,10 @@
+package com.example.bookingapp.service;
+
+public interface ExistenceCheckService {
+    boolean personExists(Long personId);
+    boolean roomExists(Long roomId);
+    boolean meetingExists(Long meetingId);
+    void recordPerson(Long personId);
+    void recordRoom(Long roomId);
+    void recordMeeting(Long meetingId);
+}
@@ -0,0 +1,17 @@
+package com.example.bookingapp.service;
+
+import com.example.bookingapp.model.MeetingSchedule;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservations and releases are made inside the booking transaction while the room lock is held. An
+ * engine must not let other transactions see them before that transaction commits.
+ */
+public interface MeetingConflictEngine {
+    boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedMeetingId);
+
+    void reserve(MeetingSchedule meeting);
+
+    void release(Long meetingId);
+}
@@ -2,12 +2,21 @@ package com.example.bookingapp.service;
 
 import com.example.bookingapp.request.MeetingScheduleRequest;
 import com.example.bookingapp.request.MeetingScheduleRequestUpdate;
+import com.example.bookingapp.request.MeetingSeriesRequest;
+import com.example.bookingapp.response.MeetingBatchItemResult;
 import com.example.bookingapp.response.MeetingResponseUpdate;
 import com.example.bookingapp.response.MeetingScheduleResponse;
+import com.example.bookingapp.response.MeetingSeriesResponse;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface MeetingScheduleService {
     MeetingScheduleResponse bookMeetingSchedule(MeetingScheduleRequest meetingRequest);
     MeetingResponseUpdate updateMeeting(Long id, Long personId, MeetingScheduleRequestUpdate req);
     void cancelMeeting(Long meetingId, Long personId);
+    MeetingSeriesResponse bookMeetingSeries(MeetingSeriesRequest request);
+    List<MeetingBatchItemResult> bookMeetingSchedules(List<MeetingScheduleRequest> requests);
+    int cancelMeetingSeries(UUID seriesId, Long personId);
 
 }
@@ -1,8 +1,12 @@
 package com.example.bookingapp.service;
 import com.example.bookingapp.dto.RoomDTO;
 import com.example.bookingapp.dto.SeatRegistrationDTO;
+import com.example.bookingapp.request.BookingHistoryRequest;
 import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.SearchRoomRequest;
 import com.example.bookingapp.request.SeatRegistrationRequest;
+import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.FreeSlotResponse;
 import com.example.bookingapp.response.IBookingHistoryResponse;
 import com.example.bookingapp.response.RoomDetailResponse;
 import com.example.bookingapp.response.SearchRoomResponse;
@@ -22,7 +26,10 @@ public interface RoomService {
             Integer maxCapacity,
             String roomName
     );
+    DataListRoomResponse<List<SearchRoomResponse>> listRoomPage(SearchRoomRequest request);
+    List<FreeSlotResponse> findFreeSlots(Long roomId, LocalDateTime fromTime, LocalDateTime toTime, Integer minDuration);
     List<IBookingHistoryResponse> getBookingHistory(Long personId, String title, String roomName, Integer statusMeeting, Boolean isSort);
+    DataListRoomResponse<List<IBookingHistoryResponse>> getBookingHistoryPage(BookingHistoryRequest request);
     IBookingHistoryResponse findMeetingByUserFromData(Long personId, Long meetingId);
     SeatRegistrationDTO resolverSeatRegistration(SeatRegistrationRequest seatRegistrationRequest);
 }
@@ -0,0 +1,14 @@
+package com.example.bookingapp.service;
+
+import com.example.bookingapp.response.RoomUtilizationResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RoomUsageService {
+    void recordMeeting(Long roomId, LocalDateTime startTime, LocalDateTime endTime, int delta);
+    void recordSeatRegistration(Long roomId, LocalDateTime startTime, LocalDateTime endTime, int delta);
+    int rebuild(LocalDate fromDate, LocalDate toDate);
+    List<RoomUtilizationResponse> getUtilization(Long roomId, LocalDate fromDate, LocalDate toDate);
+}
@@ -0,0 +1,11 @@
+package com.example.bookingapp.service;
+
+import com.example.bookingapp.response.SeatRegistrationHeatmap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface SeatRegistrationHeatmapService {
+    SeatRegistrationHeatmap calculateHeatmap(LocalDate fromDate, LocalDate toDate, Integer eachMinute);
+    StreamingResponseBody exportHeatmap(LocalDate fromDate, LocalDate toDate, Integer eachMinute);
+}
@@ -0,0 +1,157 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.StatusBookingHistory;
+import com.example.bookingapp.dto.BookingExportRowDTO;
+import com.example.bookingapp.exception.ResourceNotFoundException;
+import com.example.bookingapp.exception.RoomNotFoundException;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.service.BookingExportService;
+import com.example.bookingapp.service.ExistenceCheckService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+    private static final Logger logger = Logger.getLogger(BookingExportServiceImpl.class.getName());
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final String CSV_HEADER = "meetingId,roomId,roomName,personId,title,startTime,endTime,reservationTime,statusMeeting";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Autowired
+    MeetingScheduleRepository meetingScheduleRepository;
+    @Autowired
+    ExistenceCheckService existenceCheckService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    public StreamingResponseBody exportHistoryByPerson(Long personId, ExportFormat format) {
+        if (!existenceCheckService.personExists(personId)) {
+            throw new ResourceNotFoundException("Person with ID " + personId + " does not exist.");
+        }
+        return out -> export(() -> meetingScheduleRepository.streamHistoryByPerson(personId), format, out);
+    }
+
+    @Override
+    public StreamingResponseBody exportHistoryByRoom(Long roomId, ExportFormat format) {
+        if (!existenceCheckService.roomExists(roomId)) {
+            throw new RoomNotFoundException("Room with ID " + roomId + " does not exist.");
+        }
+        return out -> export(() -> meetingScheduleRepository.streamHistoryByRoom(roomId), format, out);
+    }
+
+    private void export(Supplier<Stream<BookingExportRowDTO>> rows, ExportFormat format, OutputStream out) {
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Long count = transactionTemplate.execute(status -> {
+            try (Stream<BookingExportRowDTO> stream = rows.get()) {
+                LocalDateTime now = LocalDateTime.now();
+                return format == ExportFormat.CSV
+                        ? writeCsv(stream.iterator(), now, out)
+                        : writeNdjson(stream.iterator(), now, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logger.info("Exported " + count + " booking history rows as " + format + " in "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    private long writeNdjson(Iterator<BookingExportRowDTO> rows, LocalDateTime now, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+        generator.setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            BookingExportRowDTO row = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField("meetingId", row.getMeetingId());
+            generator.writeNumberField("roomId", row.getRoomId());
+            generator.writeStringField("roomName", row.getRoomName());
+            generator.writeNumberField("personId", row.getPersonId());
+            generator.writeStringField("title", row.getTitle());
+            generator.writeStringField("startTime", format(row.getStartTime()));
+            generator.writeStringField("endTime", format(row.getEndTime()));
+            generator.writeStringField("reservationTime", format(row.getReservationTime()));
+            generator.writeNumberField("statusMeeting", statusOf(row, now));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                generator.flush();
+            }
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Iterator<BookingExportRowDTO> rows, LocalDateTime now, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            BookingExportRowDTO row = rows.next();
+            writer.write(String.valueOf(row.getMeetingId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getRoomId()));
+            writer.write(',');
+            writer.write(csv(row.getRoomName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getPersonId()));
+            writer.write(',');
+            writer.write(csv(row.getTitle()));
+            writer.write(',');
+            writer.write(format(row.getStartTime()));
+            writer.write(',');
+            writer.write(format(row.getEndTime()));
+            writer.write(',');
+            writer.write(format(row.getReservationTime()));
+            writer.write(',');
+            writer.write(String.valueOf(statusOf(row, now)));
+            writer.write('\n');
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private int statusOf(BookingExportRowDTO row, LocalDateTime now) {
+        return StatusBookingHistory.of(row.getStatusMeeting(), row.getStartTime(), row.getEndTime(), now);
+    }
+
+    private String format(LocalDateTime time) {
+        return time == null ? "" : time.toString();
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
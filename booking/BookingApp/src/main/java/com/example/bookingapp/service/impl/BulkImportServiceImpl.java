@@ -0,0 +1,375 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.ImportType;
+import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.constant.StatusRoom;
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Person;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.model.SeatRegistration;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.response.ImportReport;
+import com.example.bookingapp.service.BulkImportService;
+import com.example.bookingapp.service.ExistenceCheckService;
+import com.example.bookingapp.service.RoomUsageService;
+import com.example.bookingapp.util.ImportRowReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Loads rooms, persons, meetings and seat registrations from CSV or NDJSON. Rows are read as a stream and
+ * handled in chunks of the batch size: each chunk is validated (foreign keys with one IN query per table),
+ * then persisted in its own transaction with JDBC batching, flushed and cleared, so memory stays flat and a
+ * bad chunk only loses its own rows. Imported meetings and seat registrations bypass the daily usage
+ * counters, so the rollup is rebuilt over the imported days afterwards.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+    private static final Logger logger = Logger.getLogger(BulkImportServiceImpl.class.getName());
+    public static final int MAXIMUM_BATCH_SIZE = 10_000;
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    RoomRepository roomRepository;
+    @Autowired
+    PersonRepository personRepository;
+    @Autowired
+    RoomCatalog roomCatalog;
+    @Autowired
+    ExistenceCheckService existenceCheckService;
+    @Autowired
+    RoomUsageService roomUsageService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${booking.import.batch-size:1000}")
+    int defaultBatchSize;
+
+    @Override
+    public ImportReport importRows(ImportType type, ExportFormat format, InputStream in, Integer batchSize) {
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+        if (size < 1 || size > MAXIMUM_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAXIMUM_BATCH_SIZE + ".");
+        }
+        ImportReport report = new ImportReport();
+        report.setType(type.getValue());
+        report.setBatchSize(size);
+        Set<String> roomNames = new HashSet<>();
+        TreeSet<LocalDate> importedDays = new TreeSet<>();
+        long start = System.nanoTime();
+
+        List<Map<String, String>> chunk = new ArrayList<>(size);
+        long firstRow = 1;
+        try (ImportRowReader reader = ImportRowReader.of(format, in)) {
+            try {
+                Map<String, String> row;
+                while ((row = reader.next()) != null) {
+                    chunk.add(row);
+                    if (chunk.size() == size) {
+                        importChunk(type, chunk, firstRow, size, roomNames, importedDays, report);
+                        firstRow += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                importChunk(type, chunk, firstRow, size, roomNames, importedDays, report);
+            } catch (IOException e) {
+                importChunk(type, chunk, firstRow, size, roomNames, importedDays, report);
+                report.setRows(report.getRows() + 1);
+                reject(report, reader.getRowNumber(), "Malformed input, import stopped: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            reject(report, 0, "Malformed input, import stopped: " + e.getMessage());
+        }
+        if (type == ImportType.ROOMS && report.getImported() > 0) {
+            roomCatalog.refresh();
+        }
+        if (!importedDays.isEmpty()) {
+            rebuildUsage(importedDays.first(), importedDays.last());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRows() / (elapsedNanos / 1_000_000_000.0));
+        logger.info(String.format("Imported %d of %d %s rows in %d ms (%.0f rows/sec)", report.getImported(),
+                report.getRows(), type.getValue(), report.getElapsedMillis(), report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void importChunk(ImportType type, List<Map<String, String>> rows, long firstRow, int batchSize,
+                             Set<String> roomNames, Set<LocalDate> importedDays, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        report.setRows(report.getRows() + rows.size());
+        List<Object> entities = new ArrayList<>(rows.size());
+        List<Long> rowNumbers = new ArrayList<>(rows.size());
+        Set<Long> roomIds = new HashSet<>();
+        Set<Long> personIds = new HashSet<>();
+        Map<Long, String> errors = new TreeMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                Object entity = toEntity(type, rows.get(i), roomNames);
+                entities.add(entity);
+                rowNumbers.add(firstRow + i);
+                collectReferences(entity, roomIds, personIds);
+            } catch (IllegalArgumentException e) {
+                errors.put(firstRow + i, e.getMessage());
+            }
+        }
+
+        Set<Long> existingRooms = roomIds.isEmpty() ? roomIds : new HashSet<>(roomRepository.findExistingIds(roomIds));
+        Set<Long> existingPersons = personIds.isEmpty() ? personIds : new HashSet<>(personRepository.findExistingIds(personIds));
+        List<Object> valid = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            Set<Long> rowRooms = new HashSet<>();
+            Set<Long> rowPersons = new HashSet<>();
+            collectReferences(entities.get(i), rowRooms, rowPersons);
+            if (!existingRooms.containsAll(rowRooms)) {
+                errors.put(rowNumbers.get(i), "Room " + rowRooms.iterator().next() + " does not exist.");
+            } else if (!existingPersons.containsAll(rowPersons)) {
+                errors.put(rowNumbers.get(i), "Person " + rowPersons.iterator().next() + " does not exist.");
+            } else {
+                valid.add(entities.get(i));
+            }
+        }
+        for (Map.Entry<Long, String> error : errors.entrySet()) {
+            reject(report, error.getKey(), error.getValue());
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (Object entity : valid) {
+                    entityManager.persist(attach(entity));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.setImported(report.getImported() + valid.size());
+            for (Object entity : valid) {
+                record(entity, importedDays);
+            }
+        } catch (DataAccessException e) {
+            logger.warning("Import chunk starting at row " + firstRow + " failed: " + e.getMessage());
+            report.setRejected(report.getRejected() + valid.size());
+            addError(report, "Rows " + firstRow + "-" + (firstRow + rows.size() - 1) + ": " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private Object toEntity(ImportType type, Map<String, String> row, Set<String> roomNames) {
+        switch (type) {
+            case ROOMS:
+                return toRoom(row, roomNames);
+            case PERSONS:
+                return toPerson(row);
+            case MEETINGS:
+                return toMeeting(row);
+            default:
+                return toSeatRegistration(row);
+        }
+    }
+
+    private Room toRoom(Map<String, String> row, Set<String> roomNames) {
+        String roomName = row.get("roomName");
+        if (roomName == null || roomName.trim().isEmpty() || !roomName.matches("[a-zA-Z0-9\\s]{1,255}")) {
+            throw new IllegalArgumentException("roomName must be 1-255 letters, digits or spaces.");
+        }
+        if (roomCatalog.containsName(roomName) || !roomNames.add(roomName.trim().toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Room name '" + roomName + "' already exists.");
+        }
+        int capacity = parseInt(row, "capacity");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0.");
+        }
+        return Room.builder()
+                .roomName(roomName)
+                .capacity(capacity)
+                .statusRoom(StatusRoom.AVAILABLE)
+                .createdAt(new Date())
+                .build();
+    }
+
+    private Person toPerson(Map<String, String> row) {
+        String fullName = row.get("fullName");
+        if (fullName == null || fullName.trim().isEmpty() || fullName.length() > 255) {
+            throw new IllegalArgumentException("fullName must be 1-255 characters.");
+        }
+        Integer age = row.containsKey("age") ? parseInt(row, "age") : null;
+        if (age != null && age < 0) {
+            throw new IllegalArgumentException("age must not be negative.");
+        }
+        return Person.builder().fullName(fullName).age(age).build();
+    }
+
+    private MeetingSchedule toMeeting(Map<String, String> row) {
+        String title = row.get("title");
+        if (title == null || title.trim().isEmpty() || title.length() > 255) {
+            throw new IllegalArgumentException("title must be 1-255 characters.");
+        }
+        LocalDateTime startTime = parseTime(row, "startTime");
+        LocalDateTime endTime = parseTime(row, "endTime");
+        checkPastInterval(startTime, endTime);
+        return MeetingSchedule.builder()
+                .room(Room.builder().id(parseLong(row, "roomId")).build())
+                .person(Person.builder().id(parseLong(row, "personId")).build())
+                .title(title)
+                .startTime(startTime)
+                .endTime(endTime)
+                .reservationTime(row.containsKey("reservationTime") ? parseTime(row, "reservationTime") : startTime)
+                .statusMeeting(row.containsKey("statusMeeting") && parseInt(row, "statusMeeting") == StatusMeetingSchedule.CANCELED
+                        ? StatusMeetingSchedule.CANCELED : StatusMeetingSchedule.SCHEDULED)
+                .build();
+    }
+
+    private SeatRegistration toSeatRegistration(Map<String, String> row) {
+        LocalDateTime startTime = parseTime(row, "startTime");
+        LocalDateTime endTime = parseTime(row, "endTime");
+        checkPastInterval(startTime, endTime);
+        return SeatRegistration.builder()
+                .room(Room.builder().id(parseLong(row, "roomId")).build())
+                .person(Person.builder().id(parseLong(row, "personId")).build())
+                .startTime(startTime)
+                .endTime(endTime)
+                .seatRegistrationTime(row.containsKey("seatRegistrationTime") ? parseTime(row, "seatRegistrationTime") : startTime)
+                .seatRegistrationStatus(row.containsKey("seatRegistrationStatus")
+                        && parseInt(row, "seatRegistrationStatus") == StatusSeatRegistration.CANCELED
+                        ? StatusSeatRegistration.CANCELED : StatusSeatRegistration.REGISTERED)
+                .build();
+    }
+
+    /**
+     * Imports are limited to history: upcoming bookings must go through the booking endpoints so the
+     * in-memory availability structures see them.
+     */
+    private void checkPastInterval(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
+        if (endTime.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Only past bookings can be imported.");
+        }
+    }
+
+    private void collectReferences(Object entity, Set<Long> roomIds, Set<Long> personIds) {
+        if (entity instanceof MeetingSchedule) {
+            roomIds.add(((MeetingSchedule) entity).getRoom().getId());
+            personIds.add(((MeetingSchedule) entity).getPerson().getId());
+        } else if (entity instanceof SeatRegistration) {
+            roomIds.add(((SeatRegistration) entity).getRoom().getId());
+            personIds.add(((SeatRegistration) entity).getPerson().getId());
+        }
+    }
+
+    private void record(Object entity, Set<LocalDate> importedDays) {
+        if (entity instanceof Room) {
+            existenceCheckService.recordRoom(((Room) entity).getId());
+        } else if (entity instanceof Person) {
+            existenceCheckService.recordPerson(((Person) entity).getId());
+        } else if (entity instanceof MeetingSchedule) {
+            existenceCheckService.recordMeeting(((MeetingSchedule) entity).getId());
+            importedDays.add(((MeetingSchedule) entity).getStartTime().toLocalDate());
+        } else if (entity instanceof SeatRegistration) {
+            importedDays.add(((SeatRegistration) entity).getStartTime().toLocalDate());
+        }
+    }
+
+    /**
+     * Rebuilds the daily usage rows from the first to the last imported day, in windows no longer than a
+     * rebuild accepts.
+     */
+    private void rebuildUsage(LocalDate fromDate, LocalDate toDate) {
+        for (LocalDate from = fromDate; !from.isAfter(toDate); from = from.plusDays(InputRequired.MAXIMUM_UTILIZATION_DAYS)) {
+            LocalDate to = from.plusDays(InputRequired.MAXIMUM_UTILIZATION_DAYS - 1);
+            roomUsageService.rebuild(from, to.isAfter(toDate) ? toDate : to);
+        }
+    }
+
+    private Object attach(Object entity) {
+        if (entity instanceof MeetingSchedule) {
+            MeetingSchedule meeting = (MeetingSchedule) entity;
+            meeting.setRoom(entityManager.getReference(Room.class, meeting.getRoom().getId()));
+            meeting.setPerson(entityManager.getReference(Person.class, meeting.getPerson().getId()));
+        } else if (entity instanceof SeatRegistration) {
+            SeatRegistration registration = (SeatRegistration) entity;
+            registration.setRoom(entityManager.getReference(Room.class, registration.getRoom().getId()));
+            registration.setPerson(entityManager.getReference(Person.class, registration.getPerson().getId()));
+        }
+        return entity;
+    }
+
+    private String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(column + " is required.");
+        }
+        return value.trim();
+    }
+
+    private int parseInt(Map<String, String> row, String column) {
+        try {
+            return Integer.parseInt(required(row, column));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number.");
+        }
+    }
+
+    private long parseLong(Map<String, String> row, String column) {
+        try {
+            return Long.parseLong(required(row, column));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number.");
+        }
+    }
+
+    private LocalDateTime parseTime(Map<String, String> row, String column) {
+        try {
+            return LocalDateTime.parse(required(row, column));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be an ISO date-time such as 2023-10-02T09:00:00.");
+        }
+    }
+
+    private void reject(ImportReport report, long rowNumber, String message) {
+        report.setRejected(report.getRejected() + 1);
+        addError(report, "Row " + rowNumber + ": " + message);
+    }
+
+    private void addError(ImportReport report, String error) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        }
+    }
+}
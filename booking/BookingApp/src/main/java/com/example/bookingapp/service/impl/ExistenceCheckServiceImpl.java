@@ -0,0 +1,80 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.IdExistenceFilter.IdType;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.service.ExistenceCheckService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Answers "does this id exist?" without a round-trip for ids the {@link IdExistenceFilter} has never
+ * seen. Ids above the filter's last scan, such as persons provisioned outside this application, always
+ * reach the database. Ids that might exist are confirmed against the database: persons with findById and rooms with
+ * getRoomByIdAvailable, both served by the second-level cache, and meetings with existsById. A
+ * soft-deleted room does not exist. New ids are recorded once their transaction commits.
+ */
+@Service
+public class ExistenceCheckServiceImpl implements ExistenceCheckService {
+    @Autowired
+    IdExistenceFilter idExistenceFilter;
+    @Autowired
+    PersonRepository personRepository;
+    @Autowired
+    RoomRepository roomRepository;
+    @Autowired
+    MeetingScheduleRepository meetingScheduleRepository;
+
+    @Override
+    public boolean personExists(Long personId) {
+        return personId != null && idExistenceFilter.mightContain(IdType.PERSON, personId)
+                && personRepository.findById(personId).isPresent();
+    }
+
+    @Override
+    public boolean roomExists(Long roomId) {
+        return roomId != null && idExistenceFilter.mightContain(IdType.ROOM, roomId)
+                && roomRepository.getRoomByIdAvailable(roomId) != null;
+    }
+
+    @Override
+    public boolean meetingExists(Long meetingId) {
+        return meetingId != null && idExistenceFilter.mightContain(IdType.MEETING, meetingId)
+                && meetingScheduleRepository.existsById(meetingId);
+    }
+
+    @Override
+    public void recordPerson(Long personId) {
+        record(IdType.PERSON, personId);
+    }
+
+    @Override
+    public void recordRoom(Long roomId) {
+        record(IdType.ROOM, roomId);
+    }
+
+    @Override
+    public void recordMeeting(Long meetingId) {
+        record(IdType.MEETING, meetingId);
+    }
+
+    private void record(IdType type, Long id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    idExistenceFilter.add(type, id);
+                }
+            });
+        } else {
+            idExistenceFilter.add(type, id);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.MeetingScheduleCache;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.service.MeetingConflictEngine;
+import com.example.bookingapp.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies reservations and releases to the cache only once the transaction commits: a rolled back booking
+ * leaves no phantom reservation and a canceled meeting stays reserved until the cancellation is durable.
+ * Callers hold the room lock until after commit, so the next conflict check of the room sees the change.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.conflict-engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryMeetingConflictEngine implements MeetingConflictEngine {
+    @Autowired
+    private MeetingScheduleCache meetingScheduleCache;
+
+    @Override
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedMeetingId) {
+        return meetingScheduleCache.hasConflict(roomId, startTime, endTime, excludedMeetingId);
+    }
+
+    @Override
+    public void reserve(MeetingSchedule meeting) {
+        TransactionCallbacks.afterCommit(() -> meetingScheduleCache.put(meeting));
+    }
+
+    @Override
+    public void release(Long meetingId) {
+        TransactionCallbacks.afterCommit(() -> meetingScheduleCache.remove(meetingId));
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.bookingapp.service.impl;
 
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.concurrent.RoomLockManager;
+import com.example.bookingapp.constant.BatchItemStatus;
+import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.RecurrenceFrequency;
 import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
 import com.example.bookingapp.exception.MeetingConflictException;
 import com.example.bookingapp.exception.ResourceForbidden;
 import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.exception.ValidationException;
+import com.example.bookingapp.mapper.MeetingScheduleMapper;
 import com.example.bookingapp.model.MeetingSchedule;
 import com.example.bookingapp.model.Person;
 import com.example.bookingapp.model.Room;
@@ -13,24 +20,40 @@ import com.example.bookingapp.repository.PersonRepository;
 import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.request.MeetingScheduleRequest;
 import com.example.bookingapp.request.MeetingScheduleRequestUpdate;
+import com.example.bookingapp.request.MeetingSeriesRequest;
+import com.example.bookingapp.response.MeetingBatchItemResult;
 import com.example.bookingapp.response.MeetingResponseUpdate;
 import com.example.bookingapp.response.MeetingScheduleResponse;
+import com.example.bookingapp.response.MeetingSeriesResponse;
+import com.example.bookingapp.service.ExistenceCheckService;
+import com.example.bookingapp.service.MeetingConflictEngine;
 import com.example.bookingapp.service.MeetingScheduleService;
+import com.example.bookingapp.service.RoomUsageService;
+import com.example.bookingapp.util.MeetingRecurrence;
+import com.example.bookingapp.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Optional;
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 @Service
 public class MeetingScheduleServiceImpl implements MeetingScheduleService {
-    private final Map<Long, List<MeetingSchedule>> roomMeetingsCache = new HashMap<>();
     private static final Logger logger = Logger.getLogger(MeetingScheduleServiceImpl.class.getName());
 
     @Autowired
@@ -42,46 +65,31 @@ public class MeetingScheduleServiceImpl implements MeetingScheduleService {
     @Autowired
     private MeetingScheduleRepository meetingRepository;
 
-    @Override
-    public MeetingScheduleResponse bookMeetingSchedule(MeetingScheduleRequest meetingScheduleRequest) {
-        try {
-            validateMeetingRequest(meetingScheduleRequest);
+    @Autowired
+    private MeetingConflictEngine meetingConflictEngine;
 
-            Room room;
-            Optional<Room> roomOptional = roomRepository.findById(meetingScheduleRequest.getRoomId());
-            if (roomOptional.isPresent()) {
-                room = roomOptional.get();
-                if (room.getDeletedAt() != null) {
-                    throw new ResourceForbidden("Scheduling meetings in soft-deleted room is not allowed.");
-                }
-            } else {
-                logger.severe("Room not found.");
-                throw new ResourceNotFoundException("Room not found");
-            }
+    @Autowired
+    private RoomLockManager roomLockManager;
 
-            Person person = personRepository.findById(meetingScheduleRequest.getPersonId())
-                    .orElseThrow(() -> {
-                        logger.severe("Person not found.");
-                        return new ResourceNotFoundException("Person not found.");
-                    });
+    @Autowired
+    private RoomAvailabilityBitmap roomAvailabilityBitmap;
 
-            boolean isConflict = checkMeetingConflicts(room, meetingScheduleRequest);
-            if (isConflict) {
-                throw new MeetingConflictException("Meeting conflict detected.");
-            }
-            MeetingSchedule meetingSchedule = new MeetingSchedule();
-            meetingSchedule.setRoom(room);
-            meetingSchedule.setPerson(person);
-            meetingSchedule.setTitle(meetingScheduleRequest.getTitle());
-            meetingSchedule.setStartTime(meetingScheduleRequest.getStartTime());
-            meetingSchedule.setEndTime(meetingScheduleRequest.getEndTime());
-            meetingSchedule.setReservationTime(LocalDateTime.now());
-            meetingSchedule.setStatusMeeting(StatusMeetingSchedule.SCHEDULED);
+    @Autowired
+    private RoomUsageService roomUsageService;
 
-            MeetingSchedule savedMeeting = meetingRepository.save(meetingSchedule);
-            updateMeetingCache(savedMeeting);
+    @Autowired
+    private ExistenceCheckService existenceCheckService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public MeetingScheduleResponse bookMeetingSchedule(MeetingScheduleRequest meetingScheduleRequest) {
+        try {
+            validateMeetingRequest(meetingScheduleRequest);
 
-            return convertToMeetingResponse(savedMeeting);
+            return roomLockManager.withRoomLock(meetingScheduleRequest.getRoomId(),
+                    () -> inTransaction(() -> createMeetingSchedule(meetingScheduleRequest)));
 
         } catch (ResourceNotFoundException e) {
             throw new ResourceNotFoundException("Room or person not found. Please verify the provided IDs.");
@@ -99,6 +107,47 @@ public class MeetingScheduleServiceImpl implements MeetingScheduleService {
         }
     }
 
+    private MeetingScheduleResponse createMeetingSchedule(MeetingScheduleRequest meetingScheduleRequest) {
+        Room room;
+        Optional<Room> roomOptional = roomRepository.findById(meetingScheduleRequest.getRoomId());
+        if (roomOptional.isPresent()) {
+            room = roomOptional.get();
+            if (room.getDeletedAt() != null) {
+                throw new ResourceForbidden("Scheduling meetings in soft-deleted room is not allowed.");
+            }
+        } else {
+            logger.severe("Room not found.");
+            throw new ResourceNotFoundException("Room not found");
+        }
+
+        Person person = personRepository.findById(meetingScheduleRequest.getPersonId())
+                .orElseThrow(() -> {
+                    logger.severe("Person not found.");
+                    return new ResourceNotFoundException("Person not found.");
+                });
+
+        boolean isConflict = checkMeetingConflicts(room, meetingScheduleRequest);
+        if (isConflict) {
+            throw new MeetingConflictException("Meeting conflict detected.");
+        }
+        MeetingSchedule meetingSchedule = new MeetingSchedule();
+        meetingSchedule.setRoom(room);
+        meetingSchedule.setPerson(person);
+        meetingSchedule.setTitle(meetingScheduleRequest.getTitle());
+        meetingSchedule.setStartTime(meetingScheduleRequest.getStartTime());
+        meetingSchedule.setEndTime(meetingScheduleRequest.getEndTime());
+        meetingSchedule.setReservationTime(LocalDateTime.now());
+        meetingSchedule.setStatusMeeting(StatusMeetingSchedule.SCHEDULED);
+
+        MeetingSchedule savedMeeting = meetingRepository.save(meetingSchedule);
+        meetingConflictEngine.reserve(savedMeeting);
+        existenceCheckService.recordMeeting(savedMeeting.getId());
+        roomUsageService.recordMeeting(room.getId(), savedMeeting.getStartTime(), savedMeeting.getEndTime(), 1);
+        TransactionCallbacks.afterCommit(() -> roomAvailabilityBitmap.mark(room.getId(), savedMeeting.getStartTime(), savedMeeting.getEndTime()));
+
+        return MeetingScheduleMapper.toResponse(savedMeeting);
+    }
+
     private void validateMeetingRequest(MeetingScheduleRequest meetingScheduleRequest) {
         if (meetingScheduleRequest == null) {
             logger.severe("Meeting request cannot be null");
@@ -156,88 +205,57 @@ public class MeetingScheduleServiceImpl implements MeetingScheduleService {
     }
 
     private boolean checkMeetingConflicts(Room room, MeetingScheduleRequest meetingScheduleRequest) {
-        LocalDateTime startTime = meetingScheduleRequest.getStartTime();
-        LocalDateTime endTime = meetingScheduleRequest.getEndTime();
-        Long roomId = room.getId();
-
-        List<MeetingSchedule> meetingsInRoom = roomMeetingsCache.getOrDefault(roomId, new ArrayList<>());
-        for (MeetingSchedule existingMeeting : meetingsInRoom) {
-            LocalDateTime existingStartTime = existingMeeting.getStartTime();
-            LocalDateTime existingEndTime = existingMeeting.getEndTime();
-            if (startTime.isEqual(existingStartTime) && endTime.isEqual(existingEndTime)) {
-                logger.severe("Case 1: Exact Overlap Check");
-                return true;
-            }
-            if ((startTime.isAfter(existingStartTime) && startTime.isBefore(existingEndTime)) ||
-                    (endTime.isAfter(existingStartTime) && endTime.isBefore(existingEndTime))) {
-                logger.severe("Case 2: Partial Overlap Check");
-                return true;
-            }
-            if (startTime.isEqual(existingEndTime) || endTime.isEqual(existingStartTime)) {
-                logger.severe("Case 3: Adjacent Check ");
-                return true;
-            }
-            if (startTime.isAfter(existingStartTime) && endTime.isBefore(existingEndTime)) {
-                logger.severe("Case 4: Existing Meeting Fully Encloses the New Meeting");
-                return true;
-            }
+        if (meetingConflictEngine.hasConflict(room.getId(), meetingScheduleRequest.getStartTime(), meetingScheduleRequest.getEndTime(), null)) {
+            logger.severe("Meeting overlaps or is adjacent to an existing meeting in room " + room.getId());
+            return true;
         }
         return false;
     }
 
-    private void updateMeetingCache(MeetingSchedule meeting) {
-        Long roomId = meeting.getRoom().getId();
-
-        List<MeetingSchedule> roomMeetings = roomMeetingsCache.getOrDefault(roomId, new ArrayList<>());
-        roomMeetings.add(meeting);
-        roomMeetingsCache.put(roomId, roomMeetings);
-    }
-
-    private MeetingScheduleResponse convertToMeetingResponse(MeetingSchedule meetingSchedule) {
-        MeetingScheduleResponse meetingScheduleResponse = new MeetingScheduleResponse();
-
-        meetingScheduleResponse.setMeetingId(meetingSchedule.getId());
-        meetingScheduleResponse.setTitle(meetingSchedule.getTitle());
-        meetingScheduleResponse.setStartTime(meetingSchedule.getStartTime());
-        meetingScheduleResponse.setEndTime(meetingSchedule.getEndTime());
-        meetingScheduleResponse.setStatusMeeting(meetingSchedule.getStatusMeeting());
-        meetingScheduleResponse.setReservationTime(meetingSchedule.getReservationTime());
-        return meetingScheduleResponse;
-    }
-
     @Override
     public MeetingResponseUpdate updateMeeting(Long id, Long personId, MeetingScheduleRequestUpdate req) {
-        MeetingSchedule existingMeeting = meetingRepository.findById(id).orElse(null);
-        if (existingMeeting == null){
+        MeetingIntervalDTO interval = meetingRepository.findIntervalById(id);
+        if (interval == null) {
             throw new IllegalArgumentException("No meeting schedule found");
         }
-        validateMeetingTime(id, personId, req.getStartTime(), req.getEndTime());
+        return roomLockManager.withRoomLock(interval.getRoomId(), () -> inTransaction(() -> {
+            MeetingSchedule existingMeeting = meetingRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("No meeting schedule found"));
+            validateMeetingTime(existingMeeting, personId, req.getStartTime(), req.getEndTime());
+            applyMeetingUpdate(existingMeeting, req);
+            return MeetingScheduleMapper.toResponseUpdate(existingMeeting);
+        }));
+    }
+
+    private void applyMeetingUpdate(MeetingSchedule meeting, MeetingScheduleRequestUpdate req) {
         if (req.getTitle() == null || req.getTitle().trim().isEmpty() || req.getTitle().length() > 255){
             throw new IllegalArgumentException("The title cannot be blank and must not be larger than 255 characters");
         }else if (req.getStartTime() == null ||  req.getEndTime() == null){
             throw new IllegalArgumentException("start time and end time cannot be null");
         }else {
-            existingMeeting.setTitle(req.getTitle());
-            existingMeeting.setStartTime(req.getStartTime());
-            existingMeeting.setEndTime(req.getEndTime());
-            existingMeeting.setReservationTime(LocalDateTime.now());
-            meetingRepository.save(existingMeeting);
-        }
-        MeetingResponseUpdate meetingResponseUpdate = new MeetingResponseUpdate();
-        meetingResponseUpdate.setMeetingId(existingMeeting.getId());
-        meetingResponseUpdate.setPersonId(existingMeeting.getPerson().getId());
-        meetingResponseUpdate.setTitle(existingMeeting.getTitle());
-        meetingResponseUpdate.setStartTime(existingMeeting.getStartTime());
-        meetingResponseUpdate.setEndTime(existingMeeting.getEndTime());
-        meetingResponseUpdate.setReservationTime(existingMeeting.getReservationTime());
-        return meetingResponseUpdate;
-    }
-    private void validateMeetingTime(Long id, Long personId, LocalDateTime startTime, LocalDateTime endTime) {
-        Optional<MeetingSchedule> optionalMeeting = meetingRepository.findById(id);
-        if (!optionalMeeting.isPresent()) {
-            throw new IllegalArgumentException("No meeting schedule found");
+            LocalDateTime previousStartTime = meeting.getStartTime();
+            LocalDateTime previousEndTime = meeting.getEndTime();
+            meeting.setTitle(req.getTitle());
+            meeting.setStartTime(req.getStartTime());
+            meeting.setEndTime(req.getEndTime());
+            meeting.setReservationTime(LocalDateTime.now());
+            meetingRepository.save(meeting);
+            try {
+                meetingConflictEngine.reserve(meeting);
+            } catch (MeetingConflictException e) {
+                throw new IllegalArgumentException("The meeting schedule conflicts with existing meetings in the same room");
+            }
+            Long roomId = roomIdOf(meeting);
+            roomUsageService.recordMeeting(roomId, previousStartTime, previousEndTime, -1);
+            roomUsageService.recordMeeting(roomId, meeting.getStartTime(), meeting.getEndTime(), 1);
+            TransactionCallbacks.afterCommit(() -> {
+                roomAvailabilityBitmap.rebuild(roomId, previousStartTime, previousEndTime);
+                roomAvailabilityBitmap.mark(roomId, meeting.getStartTime(), meeting.getEndTime());
+            });
         }
-        MeetingSchedule meeting = optionalMeeting.get();
+    }
+
+    private void validateMeetingTime(MeetingSchedule meeting, Long personId, LocalDateTime startTime, LocalDateTime endTime) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime updateAt = meeting.getReservationTime();
         Room room = meeting.getRoom();
@@ -262,18 +280,12 @@ public class MeetingScheduleServiceImpl implements MeetingScheduleService {
         } else if (updateAt.plusMinutes(15).isAfter(startTime)) {
             throw new IllegalArgumentException("The meeting appointment time must be 15 minutes from the start time");
         }
-        List<MeetingSchedule> conflictingMeetings = meetingRepository.findConflictingMeetingsInRoom(room, startTime, endTime, id);
-        if (!conflictingMeetings.isEmpty()) {
+        if (meetingConflictEngine.hasConflict(room.getId(), startTime, endTime, meeting.getId())) {
             throw new IllegalArgumentException("The meeting schedule conflicts with existing meetings in the same room");
         }
     }
 
-    private void validateMeetingForCancellation(Long id, Long personId) {
-        Optional<MeetingSchedule> optionalMeeting = meetingRepository.findById(id);
-        if (!optionalMeeting.isPresent()) {
-            throw new IllegalArgumentException("No meeting schedule found.");
-        }
-        MeetingSchedule meeting = optionalMeeting.get();
+    private void validateMeetingForCancellation(MeetingSchedule meeting, Long personId) {
         LocalDateTime currentTime = LocalDateTime.now();
         LocalDateTime minCancellationTime = currentTime.plusMinutes(15);
         if(!meeting.getPerson().getId().equals(personId)){
@@ -285,19 +297,314 @@ public class MeetingScheduleServiceImpl implements MeetingScheduleService {
         }
     }
 
+    /**
+     * Cancels with one guarded UPDATE that carries every cancellation rule and the version read with the
+     * meeting's interval, so a meeting changed by a concurrent request is not canceled and the interval
+     * released below is exactly the one canceled. The meeting is only read in full when the update
+     * matched no row, to report which rule failed.
+     */
     @Override
     public void cancelMeeting(Long id, Long personId) {
-        validateMeetingForCancellation(id, personId);
-        Optional<MeetingSchedule> optionalMeeting = meetingRepository.findById(id);
-        if (optionalMeeting.isPresent()) {
-            MeetingSchedule meeting = optionalMeeting.get();
-            if (meeting.getStatusMeeting() == StatusMeetingSchedule.CANCELED) {
-                throw new IllegalArgumentException("There have been no meetings yet");
+        MeetingIntervalDTO meeting = meetingRepository.findIntervalById(id);
+        if (meeting == null) {
+            throw new IllegalArgumentException("No meeting schedule found.");
+        }
+        roomLockManager.withRoomLock(meeting.getRoomId(), () -> inTransaction(() -> {
+            int canceled = meetingRepository.cancelIfAllowed(id, personId, StatusMeetingSchedule.CANCELED,
+                    StatusMeetingSchedule.SCHEDULED, LocalDateTime.now().plusMinutes(15), meeting.getVersion());
+            if (canceled == 0) {
+                throw cancellationRejected(id, personId);
+            }
+            meetingConflictEngine.release(id);
+            roomUsageService.recordMeeting(meeting.getRoomId(), meeting.getStartTime(), meeting.getEndTime(), -1);
+            TransactionCallbacks.afterCommit(() -> roomAvailabilityBitmap.rebuild(meeting.getRoomId(), meeting.getStartTime(), meeting.getEndTime()));
+            return canceled;
+        }));
+    }
+
+    private IllegalArgumentException cancellationRejected(Long id, Long personId) {
+        MeetingSchedule meeting = meetingRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("No meeting schedule found."));
+        validateMeetingForCancellation(meeting, personId);
+        if (meeting.getStatusMeeting() == StatusMeetingSchedule.CANCELED) {
+            return new IllegalArgumentException("There have been no meetings yet");
+        }
+        return new IllegalArgumentException("The meeting schedule was changed by another request, please try again.");
+    }
+
+    @Override
+    public MeetingSeriesResponse bookMeetingSeries(MeetingSeriesRequest request) {
+        if (request == null) {
+            throw new ValidationException("Meeting request cannot be null");
+        }
+        validateMeetingRequest(new MeetingScheduleRequest(request.getRoomId(), request.getPersonId(),
+                request.getTitle(), request.getStartTime(), request.getEndTime()));
+        List<LocalDateTime> startTimes = MeetingRecurrence.expand(request.getStartTime(),
+                RecurrenceFrequency.from(request.getFrequency()),
+                request.getInterval() == null ? 1 : request.getInterval(),
+                request.getUntil(), request.getCount(), InputRequired.MAXIMUM_SERIES_OCCURRENCES);
+
+        return roomLockManager.withRoomLock(request.getRoomId(), () -> inTransaction(() -> createMeetingSeries(request, startTimes)));
+    }
+
+    /**
+     * Checks every occurrence against one range query over the whole series: both lists are sorted by start
+     * time, so a single forward sweep finds the conflicts. The conflict engine is still asked per kept
+     * occurrence, which the in-memory engine answers without a query, to see bookings not yet committed.
+     */
+    private MeetingSeriesResponse createMeetingSeries(MeetingSeriesRequest request, List<LocalDateTime> startTimes) {
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+        if (room.getDeletedAt() != null) {
+            throw new ResourceForbidden("Scheduling meetings in soft-deleted room is not allowed.");
+        }
+        Person person = personRepository.findById(request.getPersonId())
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found."));
+
+        Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
+        LocalDateTime lastEndTime = startTimes.get(startTimes.size() - 1).plus(duration);
+        List<MeetingIntervalDTO> booked = meetingRepository.findIntervalsInRoomBetween(
+                room.getId(), StatusMeetingSchedule.SCHEDULED, startTimes.get(0), lastEndTime);
+
+        UUID seriesId = UUID.randomUUID();
+        LocalDateTime reservationTime = LocalDateTime.now();
+        List<MeetingSchedule> meetings = new ArrayList<>();
+        List<LocalDateTime> skippedStartTimes = new ArrayList<>();
+        int next = 0;
+        for (LocalDateTime startTime : startTimes) {
+            LocalDateTime endTime = startTime.plus(duration);
+            while (next < booked.size() && booked.get(next).getEndTime().isBefore(startTime)) {
+                next++;
+            }
+            if (overlapsBooked(booked, next, startTime, endTime)
+                    || meetingConflictEngine.hasConflict(room.getId(), startTime, endTime, null)) {
+                if (!request.isSkipConflicts()) {
+                    throw new MeetingConflictException("The occurrence starting at " + startTime + " conflicts with an existing meeting.");
+                }
+                skippedStartTimes.add(startTime);
+                continue;
+            }
+            MeetingSchedule meeting = newMeeting(room, person, request.getTitle(), startTime, endTime, reservationTime);
+            meeting.setSeriesId(seriesId);
+            meetings.add(meeting);
+        }
+        if (meetings.isEmpty()) {
+            throw new MeetingConflictException("Every occurrence of the series conflicts with an existing meeting.");
+        }
+
+        List<MeetingScheduleResponse> responses = new ArrayList<>(meetings.size());
+        for (MeetingSchedule meeting : saveAndReserve(room, meetings)) {
+            responses.add(MeetingScheduleMapper.toResponse(meeting));
+        }
+        return new MeetingSeriesResponse(seriesId, responses, skippedStartTimes);
+    }
+
+    /**
+     * Books the whole batch in one transaction while holding the locks of every room in it, so no room's
+     * lock is released before the batch has committed.
+     */
+    @Override
+    public List<MeetingBatchItemResult> bookMeetingSchedules(List<MeetingScheduleRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > InputRequired.MAXIMUM_BATCH_MEETINGS) {
+            throw new ValidationException("A batch must contain between 1 and " + InputRequired.MAXIMUM_BATCH_MEETINGS + " meetings.");
+        }
+        MeetingBatchItemResult[] results = new MeetingBatchItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> roomIds = new HashSet<>();
+        Set<Long> personIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateMeetingRequest(requests.get(i));
+                candidates.add(i);
+                roomIds.add(requests.get(i).getRoomId());
+                personIds.add(requests.get(i).getPersonId());
+            } catch (ValidationException e) {
+                results[i] = MeetingBatchItemResult.rejected(i, BatchItemStatus.INVALID, e.getMessage());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Arrays.asList(results);
+        }
+        return roomLockManager.withRoomLocks(roomIds, () -> inTransaction(() -> {
+            bookBatch(requests, candidates, roomIds, personIds, results);
+            return Arrays.asList(results);
+        }));
+    }
+
+    private void bookBatch(List<MeetingScheduleRequest> requests, List<Integer> candidates, Set<Long> roomIds,
+                           Set<Long> personIds, MeetingBatchItemResult[] results) {
+        Map<Long, Room> rooms = new HashMap<>();
+        roomRepository.findAllById(roomIds).forEach(room -> rooms.put(room.getId(), room));
+        Map<Long, Person> persons = new HashMap<>();
+        personRepository.findAllById(personIds).forEach(person -> persons.put(person.getId(), person));
+
+        Map<Long, List<Integer>> candidatesByRoom = new TreeMap<>();
+        for (int i : candidates) {
+            Room room = rooms.get(requests.get(i).getRoomId());
+            if (room == null || !persons.containsKey(requests.get(i).getPersonId())) {
+                results[i] = MeetingBatchItemResult.rejected(i, BatchItemStatus.NOT_FOUND, "Room or person not found. Please verify the provided IDs.");
+            } else if (room.getDeletedAt() != null) {
+                results[i] = MeetingBatchItemResult.rejected(i, BatchItemStatus.FORBIDDEN, "Scheduling meetings in soft-deleted room is not allowed.");
             } else {
-                meeting.setStatusMeeting(StatusMeetingSchedule.CANCELED);
-                meetingRepository.save(meeting);
+                candidatesByRoom.computeIfAbsent(room.getId(), roomId -> new ArrayList<>()).add(i);
             }
         }
+        for (Map.Entry<Long, List<Integer>> entry : candidatesByRoom.entrySet()) {
+            bookRoomBatch(rooms.get(entry.getKey()), entry.getValue(), requests, persons, results);
+        }
     }
-}
 
+    /**
+     * Sorts one room's candidates by start time and sweeps them against a single range query of the
+     * meetings already booked there. Accepted candidates never overlap, so a candidate only has to be
+     * compared with the last accepted one to find conflicts inside the batch.
+     */
+    private void bookRoomBatch(Room room, List<Integer> indexes, List<MeetingScheduleRequest> requests,
+                               Map<Long, Person> persons, MeetingBatchItemResult[] results) {
+        indexes.sort(Comparator.comparing((Integer i) -> requests.get(i).getStartTime()).thenComparing(i -> i));
+        LocalDateTime fromTime = requests.get(indexes.get(0)).getStartTime();
+        LocalDateTime toTime = fromTime;
+        for (int i : indexes) {
+            if (requests.get(i).getEndTime().isAfter(toTime)) {
+                toTime = requests.get(i).getEndTime();
+            }
+        }
+        List<MeetingIntervalDTO> booked = meetingRepository.findIntervalsInRoomBetween(
+                room.getId(), StatusMeetingSchedule.SCHEDULED, fromTime, toTime);
+
+        LocalDateTime reservationTime = LocalDateTime.now();
+        List<MeetingSchedule> meetings = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        int next = 0;
+        for (int i : indexes) {
+            MeetingScheduleRequest request = requests.get(i);
+            while (next < booked.size() && booked.get(next).getEndTime().isBefore(request.getStartTime())) {
+                next++;
+            }
+            if (!meetings.isEmpty() && !meetings.get(meetings.size() - 1).getEndTime().isBefore(request.getStartTime())) {
+                int other = acceptedIndexes.get(acceptedIndexes.size() - 1);
+                results[i] = MeetingBatchItemResult.rejected(i, BatchItemStatus.CONFLICT, "Meeting conflicts with item " + other + " of the batch.");
+            } else if (overlapsBooked(booked, next, request.getStartTime(), request.getEndTime())
+                    || meetingConflictEngine.hasConflict(room.getId(), request.getStartTime(), request.getEndTime(), null)) {
+                results[i] = MeetingBatchItemResult.rejected(i, BatchItemStatus.CONFLICT, "Scheduling conflict. The requested time slot is not available.");
+            } else {
+                meetings.add(newMeeting(room, persons.get(request.getPersonId()), request.getTitle(),
+                        request.getStartTime(), request.getEndTime(), reservationTime));
+                acceptedIndexes.add(i);
+            }
+        }
+        if (meetings.isEmpty()) {
+            return;
+        }
+        List<MeetingSchedule> savedMeetings = saveAndReserve(room, meetings);
+        for (int k = 0; k < savedMeetings.size(); k++) {
+            int i = acceptedIndexes.get(k);
+            results[i] = MeetingBatchItemResult.created(i, MeetingScheduleMapper.toResponse(savedMeetings.get(k)));
+        }
+    }
+
+    private MeetingSchedule newMeeting(Room room, Person person, String title, LocalDateTime startTime,
+                                       LocalDateTime endTime, LocalDateTime reservationTime) {
+        return MeetingSchedule.builder()
+                .room(room)
+                .person(person)
+                .title(title)
+                .startTime(startTime)
+                .endTime(endTime)
+                .reservationTime(reservationTime)
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED)
+                .build();
+    }
+
+    /**
+     * Inserts the meetings with one saveAll, so Hibernate sends them as JDBC batches at flush, then
+     * reserves them in the conflict engine and rollups and marks the availability bitmap after commit.
+     * The conflict engine itself defers its in-memory reservations to commit.
+     */
+    private List<MeetingSchedule> saveAndReserve(Room room, List<MeetingSchedule> meetings) {
+        List<MeetingSchedule> savedMeetings = meetingRepository.saveAll(meetings);
+        for (MeetingSchedule meeting : savedMeetings) {
+            meetingConflictEngine.reserve(meeting);
+            roomUsageService.recordMeeting(room.getId(), meeting.getStartTime(), meeting.getEndTime(), 1);
+            existenceCheckService.recordMeeting(meeting.getId());
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            for (MeetingSchedule meeting : savedMeetings) {
+                roomAvailabilityBitmap.mark(room.getId(), meeting.getStartTime(), meeting.getEndTime());
+            }
+        });
+        return savedMeetings;
+    }
+
+    private boolean overlapsBooked(List<MeetingIntervalDTO> booked, int from, LocalDateTime startTime, LocalDateTime endTime) {
+        for (int i = from; i < booked.size() && !booked.get(i).getStartTime().isAfter(endTime); i++) {
+            if (!booked.get(i).getEndTime().isBefore(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancels the upcoming occurrences the person owns in rooms that are not deleted, holding the locks of
+     * every room the series has occurrences in. The bulk UPDATE carries the same conditions as the interval
+     * query, so when their counts differ a concurrent change slipped in and nothing is canceled.
+     */
+    @Override
+    public int cancelMeetingSeries(UUID seriesId, Long personId) {
+        List<Long> roomIds = meetingRepository.findRoomIdsOfSeries(seriesId);
+        if (roomIds.isEmpty()) {
+            throw new IllegalArgumentException("No meeting series found.");
+        }
+        return roomLockManager.withRoomLocks(roomIds, () -> inTransaction(() -> {
+            LocalDateTime minCancellationTime = LocalDateTime.now().plusMinutes(15);
+            List<MeetingIntervalDTO> upcoming = meetingRepository.findCancelableSeriesIntervals(
+                    seriesId, personId, StatusMeetingSchedule.SCHEDULED, minCancellationTime);
+            if (upcoming.isEmpty()) {
+                throw seriesCancellationRejected(seriesId, personId, minCancellationTime);
+            }
+            int canceled = meetingRepository.cancelSeriesStartingFrom(seriesId, personId, StatusMeetingSchedule.CANCELED,
+                    StatusMeetingSchedule.SCHEDULED, minCancellationTime);
+            if (canceled != upcoming.size()) {
+                throw new IllegalArgumentException("The meeting series was changed by another request, please try again.");
+            }
+            for (MeetingIntervalDTO meeting : upcoming) {
+                meetingConflictEngine.release(meeting.getMeetingId());
+                roomUsageService.recordMeeting(meeting.getRoomId(), meeting.getStartTime(), meeting.getEndTime(), -1);
+            }
+            TransactionCallbacks.afterCommit(() -> {
+                for (MeetingIntervalDTO meeting : upcoming) {
+                    roomAvailabilityBitmap.rebuild(meeting.getRoomId(), meeting.getStartTime(), meeting.getEndTime());
+                }
+            });
+            return canceled;
+        }));
+    }
+
+    private IllegalArgumentException seriesCancellationRejected(UUID seriesId, Long personId, LocalDateTime minCancellationTime) {
+        List<MeetingSchedule> upcoming = meetingRepository.findSeriesMeetingsStartingFrom(
+                seriesId, StatusMeetingSchedule.SCHEDULED, minCancellationTime);
+        if (upcoming.isEmpty()) {
+            return new IllegalArgumentException("The series has no meetings that can still be canceled.");
+        }
+        for (MeetingSchedule meeting : upcoming) {
+            if (meeting.getPerson().getId().equals(personId)) {
+                return new IllegalArgumentException("Cannot cancel the appointment because the meeting room has been deleted");
+            }
+        }
+        return new IllegalArgumentException("You do not have the right to cancel this meeting series.");
+    }
+
+    private Long roomIdOf(MeetingSchedule meeting) {
+        return meeting.getRoom() == null ? null : meeting.getRoom().getId();
+    }
+
+    /**
+     * Runs the action in its own transaction. Callers take the room lock around this call, so the lock is
+     * held until the transaction has committed and its after-commit callbacks have run: the next booker of
+     * the room sees the committed rows and the updated conflict engine.
+     */
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
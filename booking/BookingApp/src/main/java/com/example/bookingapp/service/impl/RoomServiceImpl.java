@@ -1,46 +1,66 @@
 package com.example.bookingapp.service.impl;
 
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
 import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.RoomSearchPaging;
 import com.example.bookingapp.constant.StatusMeetingSchedule;
 import com.example.bookingapp.constant.StatusRoom;
 import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.IRoomMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
 import com.example.bookingapp.dto.MeetingScheduleDTO;
 import com.example.bookingapp.dto.RoomDTO;
+import com.example.bookingapp.dto.RoomMeetingScheduleDTO;
 import com.example.bookingapp.dto.SeatRegistrationDTO;
 import com.example.bookingapp.exception.RoomNotFoundException;
 import com.example.bookingapp.exception.BadRequestException;
 import com.example.bookingapp.exception.DatabaseOperationException;
 import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.exception.RoomInvalidFormatParamException;
+import com.example.bookingapp.mapper.MeetingScheduleMapper;
+import com.example.bookingapp.mapper.RoomMapper;
+import com.example.bookingapp.mapper.SeatRegistrationMapper;
 import com.example.bookingapp.model.MeetingSchedule;
-import com.example.bookingapp.model.Person;
 import com.example.bookingapp.model.Room;
 import com.example.bookingapp.model.SeatRegistration;
 import com.example.bookingapp.repository.MeetingScheduleRepository;
 import com.example.bookingapp.repository.PersonRepository;
 import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.request.BookingHistoryRequest;
 import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.SearchRoomRequest;
 import com.example.bookingapp.request.SeatRegistrationRequest;
+import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.FreeSlotResponse;
 import com.example.bookingapp.response.IBookingHistoryResponse;
-import com.example.bookingapp.response.MeetingDetail;
 import com.example.bookingapp.response.RoomDetailResponse;
 import com.example.bookingapp.response.SearchRoomResponse;
+import com.example.bookingapp.service.ExistenceCheckService;
 import com.example.bookingapp.service.RoomService;
+import com.example.bookingapp.service.RoomUsageService;
+import com.example.bookingapp.util.KeysetCursor;
+import com.example.bookingapp.util.TransactionCallbacks;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.Date;
 import java.util.List;
-import java.util.LinkedList;
-import java.util.Comparator;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -57,6 +77,18 @@ public class RoomServiceImpl implements RoomService {
     PersonRepository personRepository;
     @Autowired
     SeatRegistrationRepository seatRegistrationRepository;
+    @Autowired
+    RoomAvailabilityBitmap roomAvailabilityBitmap;
+    @Autowired
+    RoomCatalog roomCatalog;
+    @Autowired
+    SeatOccupancyTimeline seatOccupancyTimeline;
+    @Autowired
+    SeatReservationCounters seatReservationCounters;
+    @Autowired
+    RoomUsageService roomUsageService;
+    @Autowired
+    ExistenceCheckService existenceCheckService;
 
     @Override
     public void deleteRoom(Long roomId) {
@@ -70,6 +102,7 @@ public class RoomServiceImpl implements RoomService {
                 try {
                     room.setDeletedAt(new Date());
                     roomRepository.save(room);
+                    roomCatalog.put(room);
                 } catch (DataAccessException e) {
                     throw new DatabaseOperationException("Error while soft deleting room with ID " + roomId, e);
                 }
@@ -93,6 +126,7 @@ public class RoomServiceImpl implements RoomService {
                 existingRoom.setStatusRoom(roomDTO.getStatusRoom());
                 existingRoom.setUpdatedAt(new Date());
                 roomRepository.save(existingRoom);
+                roomCatalog.put(existingRoom);
                 return roomDTO;
             }
         } else {
@@ -110,7 +144,7 @@ public class RoomServiceImpl implements RoomService {
         if (room.getRoomName().length() > 255) {
             throw new IllegalArgumentException("Room name < 255");
         }
-        if (roomRepository.existsByRoomName(room.getRoomName())) {
+        if (isRoomNameTaken(room.getRoomName())) {
             throw new IllegalArgumentException("Room name cannot be the same");
         }
         if (!room.getRoomName().matches("[a-zA-Z0-9\\s]+")) {
@@ -130,22 +164,32 @@ public class RoomServiceImpl implements RoomService {
             return null;
         } else {
             if (checkRoomName(roomRequest) && roomRequest.getCapacity() > 0) {
-                Room newRoom = new ModelMapper().map(roomRequest, Room.class);
+                Room newRoom = RoomMapper.toEntity(roomRequest);
                 newRoom.setStatusRoom(StatusRoom.AVAILABLE);
                 newRoom.setCreatedAt(new Date());
                 Room saveRoom = roomRepository.save(newRoom);
-                return new ModelMapper().map(saveRoom, RoomDTO.class);
+                roomCatalog.put(saveRoom);
+                existenceCheckService.recordRoom(saveRoom.getId());
+                return RoomMapper.toDto(saveRoom);
             } else {
                 return null;
             }
         }
     }
 
+    /**
+     * The catalog only knows the rooms this node has saved or loaded at its last refresh, so a name it
+     * does not hold is confirmed against the database before it counts as free.
+     */
+    private boolean isRoomNameTaken(String roomName) {
+        return roomCatalog.containsName(roomName) || roomRepository.existsByRoomNameIgnoreCase(roomName.trim());
+    }
+
     private boolean checkRoomName(RoomAddRequest roomRequest) {
         if (roomRequest == null || roomRequest.getRoomName() == null || roomRequest.getRoomName().trim().length() == 0)
             return false;
         else {
-            boolean exists = roomRepository.existsByRoomName(roomRequest.getRoomName().trim());
+            boolean exists = isRoomNameTaken(roomRequest.getRoomName());
             if (exists) {
                 return false;
             } else {
@@ -155,12 +199,13 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoomDetailResponse getRoomDetail(Long roomId) {
         Room room = roomRepository.getRoomByIdAvailable(roomId);
         if (room == null) {
             return null;
         } else {
-            return convertToResponse(room, getBookedMeetings(roomId));
+            return RoomMapper.toDetailResponse(room, getBookedMeetings(roomId));
         }
     }
 
@@ -168,31 +213,8 @@ public class RoomServiceImpl implements RoomService {
         return meetingScheduleRepository.bookedList(id, StatusMeetingSchedule.SCHEDULED);
     }
 
-    private RoomDetailResponse convertToResponse(Room room, List<MeetingSchedule> scheduleList) {
-        RoomDetailResponse detailResponse = new RoomDetailResponse();
-
-        detailResponse.setRoomName(room.getRoomName());
-        detailResponse.setCapacity(room.getCapacity());
-        if (scheduleList == null || scheduleList.isEmpty()) {
-            detailResponse.setBookedMeeting(null);
-        } else {
-            List<MeetingDetail> detailList = new LinkedList<>();
-            for (MeetingSchedule ms : scheduleList) {
-                MeetingDetail md = new MeetingDetail();
-                md.setMeetingId(ms.getId());
-                md.setPersonId(ms.getPerson().getId());
-                md.setTitle(ms.getTitle());
-                md.setStartTime(ms.getStartTime());
-                md.setEndTime(ms.getEndTime());
-                md.setReservationTime(ms.getReservationTime());
-                detailList.add(md);
-            }
-            detailResponse.setBookedMeeting(detailList);
-        }
-        return detailResponse;
-    }
-
     @Override
+    @Transactional(readOnly = true)
     public List<SearchRoomResponse> listRoom(
             LocalDateTime fromDate,
             LocalDateTime toDate,
@@ -202,29 +224,24 @@ public class RoomServiceImpl implements RoomService {
     ) {
         try {
             validateListRoomRequestParams(fromDate, toDate, minCapacity, maxCapacity, roomName);
-            List<Room> allRooms = roomRepository.findAll();
-            List<Room> filteredRooms = allRooms.stream()
-                    .filter(room -> room.getDeletedAt() == null)
-                    .sorted(Comparator.comparing(Room::getRoomName))
-                    .collect(Collectors.toList());
-
-            filteredRooms = filterRoomsByDate(filteredRooms, fromDate, toDate);
-
-            if (roomName != null && !roomName.isEmpty()) {
-                filteredRooms = filterRoomsByName(filteredRooms, roomName);
-            }
-
-            if (minCapacity != null || maxCapacity != null) {
-                filteredRooms = filterRoomsByCapacity(filteredRooms, minCapacity, maxCapacity);
+            if (fromDate.isAfter(toDate)) {
+                logger.severe("fromDate param cannot be after toDate param.");
+                throw new RoomInvalidFormatParamException("fromDate param cannot be after toDate param.");
             }
-
-            if (filteredRooms.isEmpty()) {
+            String nameFilter = roomName == null || roomName.isEmpty() ? null : roomName;
+            List<Room> rooms = roomCatalog.search(minCapacity, maxCapacity, nameFilter);
+            if (rooms.isEmpty()) {
                 logger.severe("No rooms match the search criteria.");
                 throw new RoomNotFoundException("No rooms match the search criteria.");
             }
 
-            return filteredRooms.stream()
-                    .map(this::mapToSearchRoomResponse)
+            Map<Long, List<MeetingScheduleDTO>> meetingsByRoom = allDefinitelyFree(rooms, fromDate, toDate)
+                    ? new HashMap<>()
+                    : groupMeetingsByRoom(meetingScheduleRepository.findMeetingsForRoomSearch(
+                            minCapacity, maxCapacity, nameFilter, StatusMeetingSchedule.SCHEDULED, fromDate, toDate));
+
+            return sortRoomsByAvailability(rooms, meetingsByRoom).stream()
+                    .map(room -> RoomMapper.toSearchRoomResponse(room, meetingsByRoom.getOrDefault(room.getId(), new ArrayList<>())))
                     .collect(Collectors.toList());
         } catch (RoomInvalidFormatParamException e) {
             throw e;
@@ -235,99 +252,142 @@ public class RoomServiceImpl implements RoomService {
         }
     }
 
-    private List<Room> filterRoomsByDate(List<Room> rooms, LocalDateTime fromDate, LocalDateTime toDate) {
-        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
-            logger.severe("fromDate param cannot be after toDate param.");
-            throw new RoomInvalidFormatParamException("fromDate param cannot be after toDate param.");
-        }
-        List<Room> availableRooms = new ArrayList<>();
-        List<Room> unavailableRooms = new ArrayList<>();
-
-        for (Room room : rooms) {
-            if (isRoomAvailable(room, fromDate, toDate)) {
-                availableRooms.add(room);
-            } else {
-                unavailableRooms.add(room);
+    @Override
+    @Transactional(readOnly = true)
+    public DataListRoomResponse<List<SearchRoomResponse>> listRoomPage(SearchRoomRequest request) {
+        try {
+            validateListRoomRequestParams(request.getFromDate(), request.getToDate(),
+                    request.getMinCapacity(), request.getMaxCapacity(), request.getRoomName());
+            if (request.getFromDate().isAfter(request.getToDate())) {
+                logger.severe("fromDate param cannot be after toDate param.");
+                throw new RoomInvalidFormatParamException("fromDate param cannot be after toDate param.");
+            }
+            int limit = validatePageParam("limit", request.getLimit(), RoomSearchPaging.DEFAULT_LIMIT, RoomSearchPaging.MAX_LIMIT);
+            int meetingLimit = validatePageParam("meetingLimit", request.getMeetingLimit(),
+                    RoomSearchPaging.DEFAULT_MEETINGS_PER_ROOM, RoomSearchPaging.MAX_MEETINGS_PER_ROOM);
+            boolean embedMeetings = embedMeetings(request.getMeetings());
+            KeysetCursor cursor = request.getCursor() == null ? null : KeysetCursor.decode(request.getCursor());
+
+            String nameFilter = request.getRoomName() == null || request.getRoomName().isEmpty() ? null : request.getRoomName();
+            List<Room> rooms = roomsAfter(roomCatalog.search(request.getMinCapacity(), request.getMaxCapacity(), nameFilter),
+                    cursor, limit + 1);
+            if (rooms.isEmpty() && cursor == null) {
+                logger.severe("No rooms match the search criteria.");
+                throw new RoomNotFoundException("No rooms match the search criteria.");
             }
-        }
 
-        availableRooms.sort(Comparator.comparing(Room::getRoomName));
-        unavailableRooms.sort(Comparator.comparing(Room::getRoomName));
+            String nextCursor = null;
+            if (rooms.size() > limit) {
+                rooms = new ArrayList<>(rooms.subList(0, limit));
+                Room last = rooms.get(limit - 1);
+                nextCursor = new KeysetCursor(last.getId(), last.getRoomName()).encode();
+            }
 
-        List<Room> sortedRooms = new ArrayList<>(availableRooms);
-        sortedRooms.addAll(unavailableRooms);
+            Map<Long, List<MeetingScheduleDTO>> meetingsByRoom = new HashMap<>();
+            if (embedMeetings && !rooms.isEmpty()) {
+                List<Long> roomIds = rooms.stream().map(Room::getId).collect(Collectors.toList());
+                meetingsByRoom = groupLimitedMeetingsByRoom(meetingScheduleRepository.findMeetingsInRoomsLimited(
+                        roomIds, StatusMeetingSchedule.SCHEDULED, request.getFromDate(), request.getToDate(), meetingLimit));
+            }
 
-        return sortedRooms;
+            List<SearchRoomResponse> data = new ArrayList<>();
+            for (Room room : rooms) {
+                data.add(RoomMapper.toSearchRoomResponse(room,
+                        embedMeetings ? meetingsByRoom.getOrDefault(room.getId(), new ArrayList<>()) : null));
+            }
+            DataListRoomResponse<List<SearchRoomResponse>> response = new DataListRoomResponse<>();
+            response.setData(data);
+            response.setNextCursor(nextCursor);
+            return response;
+        } catch (RoomInvalidFormatParamException e) {
+            throw e;
+        } catch (RoomNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurred while searching for rooms.", e);
+        }
     }
 
-    private List<Room> filterRoomsByName(List<Room> rooms, String roomName) {
-        return rooms.stream()
-                .filter(room -> room.getRoomName().toLowerCase().contains(roomName.toLowerCase()))
-                .collect(Collectors.toList());
+    private List<Room> roomsAfter(List<Room> rooms, KeysetCursor cursor, int count) {
+        int from = 0;
+        if (cursor != null) {
+            Room probe = Room.builder().id(cursor.getId()).roomName(cursor.getKey()).build();
+            int position = Collections.binarySearch(rooms, probe, RoomCatalog.ORDER);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return rooms.subList(from, Math.min(rooms.size(), from + count));
     }
 
-    private List<Room> filterRoomsByCapacity(List<Room> rooms, Integer minCapacity, Integer maxCapacity) {
-        return rooms.stream()
-                .filter(room -> {
-                    boolean meetsMinCapacity = minCapacity == null || room.getCapacity() >= minCapacity;
-                    boolean meetsMaxCapacity = maxCapacity == null || room.getCapacity() <= maxCapacity;
-                    return meetsMinCapacity && meetsMaxCapacity;
-                })
-                .collect(Collectors.toList());
+    private int validatePageParam(String name, Integer value, int defaultValue, int maxValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < 1 || value > maxValue) {
+            String errorMessage = name + " must be between 1 and " + maxValue + ".";
+            logger.severe(errorMessage);
+            throw new RoomInvalidFormatParamException(errorMessage);
+        }
+        return value;
     }
 
-    private boolean isRoomAvailable(Room room, LocalDateTime startTime, LocalDateTime endTime) {
-        List<MeetingSchedule> meetingSchedules = getMeetingScheduleForRoom(room.getId(), StatusMeetingSchedule.SCHEDULED);
-
-        if (meetingSchedules.isEmpty()) {
+    private boolean embedMeetings(String meetings) {
+        if (meetings == null || RoomSearchPaging.MEETINGS_WINDOW.equalsIgnoreCase(meetings)) {
             return true;
         }
-        for (MeetingSchedule schedule : meetingSchedules) {
-            LocalDateTime scheduleStartTime = schedule.getStartTime();
-            LocalDateTime scheduleEndTime = schedule.getEndTime();
-            if (checkOverlap(startTime, endTime, scheduleStartTime, scheduleEndTime)) {
+        if (RoomSearchPaging.MEETINGS_NONE.equalsIgnoreCase(meetings)) {
+            return false;
+        }
+        String errorMessage = "meetings must be either '" + RoomSearchPaging.MEETINGS_WINDOW
+                + "' or '" + RoomSearchPaging.MEETINGS_NONE + "'.";
+        logger.severe(errorMessage);
+        throw new RoomInvalidFormatParamException(errorMessage);
+    }
+
+    private Map<Long, List<MeetingScheduleDTO>> groupLimitedMeetingsByRoom(List<IRoomMeetingSchedule> meetings) {
+        Map<Long, List<MeetingScheduleDTO>> meetingsByRoom = new HashMap<>();
+        for (IRoomMeetingSchedule meeting : meetings) {
+            meetingsByRoom.computeIfAbsent(meeting.getRoomId(), id -> new ArrayList<>()).add(MeetingScheduleMapper.toDto(meeting));
+        }
+        return meetingsByRoom;
+    }
+
+    /**
+     * True when the availability bitmaps already in memory show every room free over the window. The
+     * search then has no meetings to return and skips its query; one busy or unloaded room means it runs.
+     */
+    private boolean allDefinitelyFree(List<Room> rooms, LocalDateTime fromDate, LocalDateTime toDate) {
+        for (Room room : rooms) {
+            if (!roomAvailabilityBitmap.isLoadedAndFree(room.getId(), fromDate, toDate)) {
                 return false;
             }
         }
         return true;
     }
 
-    private SearchRoomResponse mapToSearchRoomResponse(Room room) {
-        SearchRoomResponse response = new SearchRoomResponse();
-        response.setRoomId(room.getId());
-        response.setRoomName(room.getRoomName());
-        response.setCapacity(room.getCapacity());
-        response.setStatusRoom(room.getStatusRoom());
-
-        List<MeetingScheduleDTO> meetingSchedules = new ArrayList<>();
-        List<MeetingSchedule> allSchedulesForRoom = getMeetingScheduleForRoom(room.getId(), StatusMeetingSchedule.SCHEDULED);
-        for (MeetingSchedule schedule : allSchedulesForRoom) {
-            MeetingScheduleDTO scheduleDTO = new MeetingScheduleDTO();
-            scheduleDTO.setMeetingId(schedule.getId());
-            scheduleDTO.setTitle(schedule.getTitle());
-            scheduleDTO.setStartTime(schedule.getStartTime());
-            scheduleDTO.setEndTime(schedule.getEndTime());
-            scheduleDTO.setReservationTime(schedule.getReservationTime());
-            meetingSchedules.add(scheduleDTO);
-        }
-        response.setMeetingSchedules(meetingSchedules);
-        return response;
+    private Map<Long, List<MeetingScheduleDTO>> groupMeetingsByRoom(List<RoomMeetingScheduleDTO> meetings) {
+        Map<Long, List<MeetingScheduleDTO>> meetingsByRoom = new HashMap<>();
+        for (RoomMeetingScheduleDTO meeting : meetings) {
+            meetingsByRoom.computeIfAbsent(meeting.getRoomId(), id -> new ArrayList<>()).add(MeetingScheduleMapper.toDto(meeting));
+        }
+        return meetingsByRoom;
     }
 
-    private List<MeetingSchedule> getMeetingScheduleForRoom(Long roomId, Integer statusMeeting) {
-        List<MeetingSchedule> allMeetingSchedules = meetingScheduleRepository.findAll();
+    private List<Room> sortRoomsByAvailability(List<Room> rooms, Map<Long, List<MeetingScheduleDTO>> meetingsByRoom) {
+        List<Room> availableRooms = new ArrayList<>();
+        List<Room> unavailableRooms = new ArrayList<>();
 
-        return allMeetingSchedules.stream()
-                .filter(schedule -> isMatchingSchedule(schedule, roomId, statusMeeting))
-                .collect(Collectors.toList());
-    }
+        for (Room room : rooms) {
+            if (meetingsByRoom.containsKey(room.getId())) {
+                unavailableRooms.add(room);
+            } else {
+                availableRooms.add(room);
+            }
+        }
 
-    private boolean isMatchingSchedule(MeetingSchedule schedule, Long roomId, Integer statusMeeting) {
-        return schedule.getRoom().getId().equals(roomId) && schedule.getStatusMeeting() == statusMeeting;
-    }
+        List<Room> sortedRooms = new ArrayList<>(availableRooms);
+        sortedRooms.addAll(unavailableRooms);
 
-    private boolean checkOverlap(LocalDateTime startFirst, LocalDateTime endFirst, LocalDateTime startSecond, LocalDateTime endSecond) {
-        return (startFirst.isBefore(endSecond) || startFirst.isEqual(endSecond)) && (endFirst.isAfter(startSecond) || endFirst.isEqual(startSecond));
+        return sortedRooms;
     }
 
     private void validateListRoomRequestParams(LocalDateTime fromDate, LocalDateTime toDate, Integer minCapacity, Integer maxCapacity, String roomName) {
@@ -357,7 +417,102 @@ public class RoomServiceImpl implements RoomService {
             throw new RoomInvalidFormatParamException("roomName must be a non-empty string with length less than 255.");
         }
     }
+    /**
+     * Not one read-only transaction: the availability bitmap may load the room from the primary, and a
+     * transaction that had already taken a replica connection would load it from there instead.
+     */
+    @Override
+    public List<FreeSlotResponse> findFreeSlots(Long roomId, LocalDateTime fromTime, LocalDateTime toTime, Integer minDuration) {
+        int minimumMinutes = validateFreeSlotRequestParams(fromTime, toTime, minDuration);
+        Optional<Room> roomOptional = roomRepository.findById(roomId);
+        if (!roomOptional.isPresent() || roomOptional.get().getDeletedAt() != null) {
+            logger.severe("Room with ID " + roomId + " does not exist.");
+            throw new RoomNotFoundException("Room with ID " + roomId + " does not exist.");
+        }
+
+        LocalDateTime earliestStart = minuteAfter(LocalDateTime.now());
+        LocalDateTime windowStart = fromTime.truncatedTo(ChronoUnit.MINUTES).isBefore(fromTime) ? minuteAfter(fromTime) : fromTime;
+        if (windowStart.isBefore(earliestStart)) {
+            windowStart = earliestStart;
+        }
+        LocalDateTime windowEnd = toTime.truncatedTo(ChronoUnit.MINUTES);
+        if (!windowStart.isBefore(windowEnd)) {
+            return new ArrayList<>();
+        }
+
+        List<MeetingIntervalDTO> meetings = roomAvailabilityBitmap.isDefinitelyFree(roomId, windowStart, windowEnd)
+                ? new ArrayList<>()
+                : meetingScheduleRepository.findIntervalsInRoomBetween(roomId, StatusMeetingSchedule.SCHEDULED, windowStart, windowEnd);
+        return computeFreeSlots(meetings, windowStart, windowEnd, minimumMinutes);
+    }
+
+    private int validateFreeSlotRequestParams(LocalDateTime fromTime, LocalDateTime toTime, Integer minDuration) {
+        if (fromTime == null || toTime == null) {
+            String errorMessage = "Both from param and to param must be provided.";
+            logger.severe(errorMessage);
+            throw new RoomInvalidFormatParamException(errorMessage);
+        }
+        if (!fromTime.isBefore(toTime)) {
+            String errorMessage = "from param must be before to param.";
+            logger.severe(errorMessage);
+            throw new RoomInvalidFormatParamException(errorMessage);
+        }
+        if (fromTime.plusDays(InputRequired.MAXIMUM_FREE_SLOT_WINDOW_DAYS).isBefore(toTime)) {
+            String errorMessage = "The search window cannot exceed " + InputRequired.MAXIMUM_FREE_SLOT_WINDOW_DAYS + " days.";
+            logger.severe(errorMessage);
+            throw new RoomInvalidFormatParamException(errorMessage);
+        }
+        if (minDuration == null) {
+            return InputRequired.MINIMUM_TIME;
+        }
+        if (minDuration < InputRequired.MINIMUM_TIME) {
+            String errorMessage = "minDuration cannot be less than " + InputRequired.MINIMUM_TIME + " minutes.";
+            logger.severe(errorMessage);
+            throw new RoomInvalidFormatParamException(errorMessage);
+        }
+        return minDuration;
+    }
+
+    private List<FreeSlotResponse> computeFreeSlots(List<MeetingIntervalDTO> meetings, LocalDateTime windowStart,
+                                                    LocalDateTime windowEnd, int minimumMinutes) {
+        List<FreeSlotResponse> freeSlots = new ArrayList<>();
+        LocalDateTime cursor = windowStart;
+        for (MeetingIntervalDTO meeting : meetings) {
+            LocalDateTime gapEnd = minuteBefore(meeting.getStartTime());
+            addFreeSlots(freeSlots, cursor, gapEnd.isBefore(windowEnd) ? gapEnd : windowEnd, minimumMinutes);
+            LocalDateTime nextStart = minuteAfter(meeting.getEndTime());
+            if (nextStart.isAfter(cursor)) {
+                cursor = nextStart;
+            }
+        }
+        addFreeSlots(freeSlots, cursor, windowEnd, minimumMinutes);
+        return freeSlots;
+    }
+
+    private void addFreeSlots(List<FreeSlotResponse> freeSlots, LocalDateTime startTime, LocalDateTime endTime, int minimumMinutes) {
+        LocalDateTime sliceStart = startTime;
+        while (sliceStart.isBefore(endTime)) {
+            LocalDateTime dayEnd = sliceStart.toLocalDate().atTime(23, 59);
+            LocalDateTime sliceEnd = dayEnd.isBefore(endTime) ? dayEnd : endTime;
+            long minutes = Duration.between(sliceStart, sliceEnd).toMinutes();
+            if (minutes >= minimumMinutes) {
+                freeSlots.add(new FreeSlotResponse(sliceStart, sliceEnd, minutes));
+            }
+            sliceStart = sliceStart.toLocalDate().plusDays(1).atStartOfDay();
+        }
+    }
+
+    private LocalDateTime minuteBefore(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.isBefore(time) ? truncated : truncated.minusMinutes(1);
+    }
+
+    private LocalDateTime minuteAfter(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<IBookingHistoryResponse> getBookingHistory(Long personId, String title, String roomName, Integer statusMeeting, Boolean isSort) {
         if (!checkPersonId(personId)) {
             throw new IllegalArgumentException("User ID is incorrect.");
@@ -374,6 +529,34 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public DataListRoomResponse<List<IBookingHistoryResponse>> getBookingHistoryPage(BookingHistoryRequest request) {
+        if (!checkPersonId(request.getPersonId())) {
+            throw new IllegalArgumentException("User ID is incorrect.");
+        }
+        if (!checkStatusMeeting(request.getStatusMeeting())) {
+            throw new IllegalArgumentException("Status meeting from 0 to 3");
+        }
+        int limit = validatePageParam("limit", request.getLimit(), RoomSearchPaging.DEFAULT_LIMIT, RoomSearchPaging.MAX_LIMIT);
+        KeysetCursor cursor = request.getCursor() == null ? null : KeysetCursor.decode(request.getCursor());
+
+        List<IBookingHistoryResponse> result = meetingScheduleRepository.findBookingHistoryPage(request,
+                cursor == null ? null : cursor.getKeyAsTime(), cursor == null ? null : cursor.getId(),
+                LocalDateTime.now(), limit + 1);
+
+        DataListRoomResponse<List<IBookingHistoryResponse>> response = new DataListRoomResponse<>();
+        if (result.size() > limit) {
+            result = new ArrayList<>(result.subList(0, limit));
+            IBookingHistoryResponse last = result.get(limit - 1);
+            Timestamp sortKey = Boolean.TRUE.equals(request.getIsSort()) ? last.getStartTime() : last.getReservationTime();
+            response.setNextCursor(new KeysetCursor(last.getMeetingId(), sortKey.toLocalDateTime().toString()).encode());
+        }
+        response.setData(result);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public IBookingHistoryResponse findMeetingByUserFromData(Long personId, Long meetingId) {
         if (!checkPersonId(personId)) {
             throw new IllegalArgumentException("User ID is incorrect.");
@@ -391,12 +574,7 @@ public class RoomServiceImpl implements RoomService {
     }
 
     private boolean checkPersonId(Long personId) {
-        if (personId == null) {
-            return false;
-        } else {
-            Optional<Person> findPerson = personRepository.findById(personId);
-            return findPerson.isPresent();
-        }
+        return existenceCheckService.personExists(personId);
     }
 
     private boolean checkStatusMeeting(Integer statusMeeting){
@@ -404,20 +582,17 @@ public class RoomServiceImpl implements RoomService {
     }
 
     private boolean checkMeetingId(Long meetingId) {
-        if (meetingId == null) {
-            return false;
-        } else {
-            Optional<MeetingSchedule> findMeeting = meetingScheduleRepository.findById(meetingId);
-            return findMeeting.isPresent();
-        }
+        return existenceCheckService.meetingExists(meetingId);
     }
 
     @Override
+    @Transactional
     public SeatRegistrationDTO resolverSeatRegistration(SeatRegistrationRequest request) {
         if (!checkPersonId(request.getPersonId())) {
             throw new IllegalArgumentException("User ID is incorrect.");
         }
-        if (!checkRoomId(request.getRoomId())) {
+        Room room = request.getRoomId() == null ? null : roomRepository.getRoomByIdAvailable(request.getRoomId());
+        if (room == null) {
             throw new IllegalArgumentException("Room ID is incorrect or Room has been deleted.");
         }
         if (request.getStartTime() == null || request.getEndTime() == null) {
@@ -432,37 +607,65 @@ public class RoomServiceImpl implements RoomService {
         if (Duration.between(request.getStartTime(), request.getEndTime()).toMinutes() < InputRequired.MINIMUM_TIME) {
             throw new IllegalArgumentException("The minimum registration time is "+ InputRequired.MINIMUM_TIME+ " minutes.");
         }
-        int availableSeat = roomRepository.getAvailableSeat(request.getRoomId(), InputRequired.SEATS_FOR_ONE_REGISTRATION);
-        if (availableSeat < InputRequired.SEATS_FOR_ONE_REGISTRATION) {
-            throw new IllegalArgumentException("Fully booked.");
+        int registrationsPerRoom = room.getCapacity() / InputRequired.SEATS_FOR_ONE_REGISTRATION;
+        // The counters are claimed before the insert so that a full room is rejected without touching
+        // the database; the claim is given back if the transaction rolls back, including a failed commit.
+        // A refused claim is only an answer once the windowed peak, read again from the database, agrees:
+        // the counters are per JVM and miss what other nodes registered or canceled. Otherwise the
+        // registration goes to the conditional insert unclaimed and is counted if it lands.
+        boolean claimed = seatReservationCounters.tryReserve(request.getRoomId(), registrationsPerRoom,
+                request.getStartTime(), request.getEndTime());
+        if (!claimed) {
+            seatOccupancyTimeline.invalidate(request.getRoomId(), request.getStartTime(), request.getEndTime());
+            if (seatOccupancyTimeline.peakOccupancy(request.getRoomId(), request.getStartTime(), request.getEndTime()) >= registrationsPerRoom) {
+                throw new IllegalArgumentException("Fully booked.");
+            }
         }
-        Long roomIdOverlapTime = roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusSeatRegistration.REGISTERED, request.getStartTime(), request.getEndTime());
-        if ( roomIdOverlapTime != null) {
-            throw new IllegalArgumentException("Overlap time.");
-        } else {
-            SeatRegistrationDTO registrationDTO = convertToSeatRegistrationDTO(request);
-            SeatRegistration seatRegistration = seatRegistrationRepository.save(new ModelMapper().map(registrationDTO, SeatRegistration.class));
-            return new ModelMapper().map(seatRegistration,SeatRegistrationDTO.class);
+        boolean releasedOnRollback = claimed && releaseSeatOnRollback(request);
+        try {
+            LocalDateTime registrationTime = LocalDateTime.now();
+            Long seatRegistrationId = seatRegistrationRepository.registerIfAvailable(request.getRoomId(), request.getPersonId(),
+                    request.getStartTime(), request.getEndTime(), registrationTime)
+                    .orElseThrow(() -> new IllegalArgumentException(rejectedSeatRegistrationReason(request)));
+            if (!claimed) {
+                seatReservationCounters.reserve(request.getRoomId(), request.getStartTime(), request.getEndTime());
+                claimed = true;
+                releasedOnRollback = releaseSeatOnRollback(request);
+            }
+            roomUsageService.recordSeatRegistration(request.getRoomId(), request.getStartTime(), request.getEndTime(), 1);
+            TransactionCallbacks.afterCommit(() -> seatOccupancyTimeline.add(request.getRoomId(), seatRegistrationId,
+                    request.getStartTime(), request.getEndTime()));
+            return SeatRegistrationMapper.toDto(request, seatRegistrationId, StatusSeatRegistration.REGISTERED, registrationTime);
+        } catch (RuntimeException e) {
+            if (claimed && !releasedOnRollback) {
+                seatReservationCounters.release(request.getRoomId(), request.getStartTime(), request.getEndTime());
+            }
+            logger.fine("Seat registration in room " + request.getRoomId() + " was not saved, reservation released: " + e.getMessage());
+            throw e;
         }
     }
 
-    private boolean checkRoomId(Long roomId) {
-        if (roomId == null) {
-            return false;
-        } else {
-            Room room = roomRepository.getRoomByIdAvailable(roomId);
-            return room != null;
-        }
+    private boolean releaseSeatOnRollback(SeatRegistrationRequest request) {
+        return TransactionCallbacks.afterRollback(() ->
+                seatReservationCounters.release(request.getRoomId(), request.getStartTime(), request.getEndTime()));
     }
 
-    private SeatRegistrationDTO convertToSeatRegistrationDTO(SeatRegistrationRequest request) {
-        SeatRegistrationDTO registrationDTO = new SeatRegistrationDTO();
-        registrationDTO.setRoomId(request.getRoomId());
-        registrationDTO.setPersonId(request.getPersonId());
-        registrationDTO.setStartTime(request.getStartTime());
-        registrationDTO.setEndTime(request.getEndTime());
-        registrationDTO.setSeatRegistrationStatus(StatusSeatRegistration.REGISTERED);
-        registrationDTO.setSeatRegistrationTime(LocalDateTime.now());
-        return registrationDTO;
+    /**
+     * Works out why the conditional insert added no row. Only runs on the rejected path, so the
+     * successful registration stays a single statement.
+     */
+    private String rejectedSeatRegistrationReason(SeatRegistrationRequest request) {
+        if (roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusSeatRegistration.REGISTERED, request.getStartTime(), request.getEndTime()) != null) {
+            return "Overlap time.";
+        }
+        if (roomRepository.getRoomByIdAvailable(request.getRoomId()) == null) {
+            return "Room ID is incorrect or Room has been deleted.";
+        }
+        if (!checkPersonId(request.getPersonId())) {
+            return "User ID is incorrect.";
+        }
+        // The database is full where this node's view was not; read the days again on next use.
+        seatOccupancyTimeline.invalidate(request.getRoomId(), request.getStartTime(), request.getEndTime());
+        return "Fully booked.";
     }
 }
@@ -0,0 +1,192 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.dto.RoomMonthlyUsageDTO;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.exception.RoomInvalidFormatParamException;
+import com.example.bookingapp.model.RoomDailyUsage;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.RoomDailyUsageRepository;
+import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.response.RoomUtilizationResponse;
+import com.example.bookingapp.service.RoomUsageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Keeps one {@link RoomDailyUsage} row per room and day in step with bookings and seat registrations.
+ * Counters change through relative UPDATEs in the caller's transaction, so concurrent bookings of the
+ * same room and day serialize on the row lock instead of overwriting each other. A missing row is
+ * created empty by an insert that skips an existing key, in the same transaction, so a concurrent
+ * creator of the same row waits for it rather than failing.
+ */
+@Service
+public class RoomUsageServiceImpl implements RoomUsageService {
+    private static final Logger logger = Logger.getLogger(RoomUsageServiceImpl.class.getName());
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    RoomDailyUsageRepository roomDailyUsageRepository;
+    @Autowired
+    MeetingScheduleRepository meetingScheduleRepository;
+    @Autowired
+    SeatRegistrationRepository seatRegistrationRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional
+    public void recordMeeting(Long roomId, LocalDateTime startTime, LocalDateTime endTime, int delta) {
+        LocalDate usageDate = startTime.toLocalDate();
+        long minutes = delta * Duration.between(startTime, endTime).toMinutes();
+        if (roomDailyUsageRepository.addMeetings(roomId, usageDate, delta, minutes) == 0) {
+            roomDailyUsageRepository.insertIfAbsent(roomId, usageDate);
+            roomDailyUsageRepository.addMeetings(roomId, usageDate, delta, minutes);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordSeatRegistration(Long roomId, LocalDateTime startTime, LocalDateTime endTime, int delta) {
+        LocalDate usageDate = startTime.toLocalDate();
+        long minutes = delta * Duration.between(startTime, endTime).toMinutes();
+        if (roomDailyUsageRepository.addSeatRegistrations(roomId, usageDate, delta, minutes) == 0) {
+            roomDailyUsageRepository.insertIfAbsent(roomId, usageDate);
+            roomDailyUsageRepository.addSeatRegistrations(roomId, usageDate, delta, minutes);
+        }
+        // The row is locked by now, so the registrations read here include every committed concurrent change.
+        LocalDateTime dayStart = usageDate.atStartOfDay();
+        List<SeatIntervalDTO> registrations = seatRegistrationRepository.findIntervalsInRoomBetween(
+                roomId, StatusSeatRegistration.REGISTERED, dayStart, dayStart.plusDays(1));
+        roomDailyUsageRepository.updatePeakSeats(roomId, usageDate, peakSeats(registrations));
+    }
+
+    @Override
+    public int rebuild(LocalDate fromDate, LocalDate toDate) {
+        validateDateRange(fromDate, toDate);
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int rows = 0;
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            LocalDate usageDate = date;
+            rows += transactionTemplate.execute(status -> rebuildDay(usageDate));
+        }
+        logger.info("Rebuilt " + rows + " daily usage rows from " + fromDate + " to " + toDate + " in "
+                + (System.currentTimeMillis() - start) + " ms.");
+        return rows;
+    }
+
+    @Scheduled(cron = "${booking.daily-usage.rebuild-cron:0 30 2 * * *}")
+    public void rebuildYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday, yesterday);
+    }
+
+    private int rebuildDay(LocalDate usageDate) {
+        LocalDateTime dayStart = usageDate.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        Map<Long, RoomDailyUsage> usages = new TreeMap<>();
+        for (MeetingIntervalDTO meeting : meetingScheduleRepository.findIntervalsStartingBetween(
+                StatusMeetingSchedule.SCHEDULED, dayStart, dayEnd)) {
+            RoomDailyUsage usage = usages.computeIfAbsent(meeting.getRoomId(), roomId -> new RoomDailyUsage(roomId, usageDate));
+            usage.setMeetingCount(usage.getMeetingCount() + 1);
+            usage.setMeetingMinutes(usage.getMeetingMinutes() + Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes());
+        }
+        Map<Long, List<SeatIntervalDTO>> registrationsByRoom = new HashMap<>();
+        for (SeatIntervalDTO registration : seatRegistrationRepository.findIntervalsStartingBetween(
+                StatusSeatRegistration.REGISTERED, dayStart, dayEnd)) {
+            RoomDailyUsage usage = usages.computeIfAbsent(registration.getRoomId(), roomId -> new RoomDailyUsage(roomId, usageDate));
+            usage.setSeatRegistrationCount(usage.getSeatRegistrationCount() + 1);
+            usage.setSeatMinutes(usage.getSeatMinutes() + Duration.between(registration.getStartTime(), registration.getEndTime()).toMinutes());
+            registrationsByRoom.computeIfAbsent(registration.getRoomId(), roomId -> new ArrayList<>()).add(registration);
+        }
+        for (Map.Entry<Long, List<SeatIntervalDTO>> entry : registrationsByRoom.entrySet()) {
+            usages.get(entry.getKey()).setPeakSeats(peakSeats(entry.getValue()));
+        }
+        roomDailyUsageRepository.deleteByUsageDate(usageDate);
+        roomDailyUsageRepository.saveAll(usages.values());
+        return usages.size();
+    }
+
+    /**
+     * Most registrations held at the same instant; registrations are half-open, so one ending exactly
+     * when another starts does not overlap it.
+     */
+    static int peakSeats(List<SeatIntervalDTO> registrations) {
+        LocalDateTime[] starts = new LocalDateTime[registrations.size()];
+        LocalDateTime[] ends = new LocalDateTime[registrations.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = registrations.get(i).getStartTime();
+            ends[i] = registrations.get(i).getEndTime();
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        int peak = 0;
+        int active = 0;
+        int ended = 0;
+        for (LocalDateTime start : starts) {
+            while (ended < ends.length && !ends[ended].isAfter(start)) {
+                active--;
+                ended++;
+            }
+            peak = Math.max(peak, ++active);
+        }
+        return peak;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RoomUtilizationResponse> getUtilization(Long roomId, LocalDate fromDate, LocalDate toDate) {
+        validateDateRange(fromDate, toDate);
+        List<RoomUtilizationResponse> utilization = new ArrayList<>();
+        for (RoomMonthlyUsageDTO usage : roomDailyUsageRepository.findMonthlyUsage(roomId, fromDate, toDate)) {
+            YearMonth month = YearMonth.of(usage.getYear(), usage.getMonth());
+            LocalDate first = month.atDay(1).isBefore(fromDate) ? fromDate : month.atDay(1);
+            LocalDate last = month.atEndOfMonth().isAfter(toDate) ? toDate : month.atEndOfMonth();
+            int days = (int) ChronoUnit.DAYS.between(first, last) + 1;
+            utilization.add(RoomUtilizationResponse.builder()
+                    .roomId(usage.getRoomId())
+                    .month(month.toString())
+                    .days(days)
+                    .meetingCount(usage.getMeetingCount())
+                    .meetingMinutes(usage.getMeetingMinutes())
+                    .seatRegistrationCount(usage.getSeatRegistrationCount())
+                    .seatMinutes(usage.getSeatMinutes())
+                    .peakSeats(usage.getPeakSeats())
+                    .meetingUtilization((double) usage.getMeetingMinutes() / ((long) days * MINUTES_PER_DAY))
+                    .build());
+        }
+        return utilization;
+    }
+
+    private void validateDateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            logger.severe("From date and to date are required and to date must not be before from date.");
+            throw new RoomInvalidFormatParamException("From date and to date are required and to date must not be before from date.");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= InputRequired.MAXIMUM_UTILIZATION_DAYS) {
+            logger.severe("The date range must not exceed " + InputRequired.MAXIMUM_UTILIZATION_DAYS + " days.");
+            throw new RoomInvalidFormatParamException("The date range must not exceed " + InputRequired.MAXIMUM_UTILIZATION_DAYS + " days.");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamException;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.response.SeatRegistrationHeatmap;
+import com.example.bookingapp.service.SeatRegistrationHeatmapService;
+import com.example.bookingapp.util.IntervalBlockCounter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+@Service
+public class SeatRegistrationHeatmapServiceImpl implements SeatRegistrationHeatmapService {
+    private static final Logger logger = Logger.getLogger(SeatRegistrationHeatmapServiceImpl.class.getName());
+    private static final int ROOMS_PER_TASK = 8;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Autowired
+    SeatRegistrationRepository seatRegistrationRepository;
+    @Autowired
+    RoomRepository roomRepository;
+    @Autowired
+    ForkJoinPool heatmapForkJoinPool;
+
+    @Override
+    public SeatRegistrationHeatmap calculateHeatmap(LocalDate fromDate, LocalDate toDate, Integer eachMinute) {
+        validateParameters(fromDate, toDate, eachMinute);
+        long start = System.currentTimeMillis();
+        LocalDateTime fromTime = fromDate.atStartOfDay();
+        LocalDateTime toTime = toDate.plusDays(1).atStartOfDay();
+        int blocks = (int) (ChronoUnit.DAYS.between(fromDate, toDate) + 1) * (24 * 60 / eachMinute);
+
+        List<Long> activeRoomIds = new ArrayList<>(roomRepository.findActiveRoomIds());
+        Collections.sort(activeRoomIds);
+        long[] roomIds = new long[activeRoomIds.size()];
+        Map<Long, Integer> rowOfRoom = new HashMap<>(roomIds.length * 2);
+        List<List<SeatIntervalDTO>> intervalsPerRoom = new ArrayList<>(roomIds.length);
+        for (int i = 0; i < roomIds.length; i++) {
+            roomIds[i] = activeRoomIds.get(i);
+            rowOfRoom.put(roomIds[i], i);
+            intervalsPerRoom.add(new ArrayList<>());
+        }
+        List<SeatIntervalDTO> intervals = seatRegistrationRepository.findIntervalsTouchingActiveRooms(
+                StatusSeatRegistration.CANCELED, fromTime, toTime);
+        for (SeatIntervalDTO interval : intervals) {
+            Integer row = rowOfRoom.get(interval.getRoomId());
+            if (row != null) {
+                intervalsPerRoom.get(row).add(interval);
+            }
+        }
+
+        int[][] totals = new int[roomIds.length][];
+        heatmapForkJoinPool.invoke(new HeatmapTask(intervalsPerRoom, totals, fromTime, eachMinute, blocks, 0, roomIds.length));
+        logger.info("Calculated seat heatmap of " + roomIds.length + " rooms x " + blocks + " blocks from "
+                + intervals.size() + " registrations in " + (System.currentTimeMillis() - start) + " ms.");
+        return new SeatRegistrationHeatmap(fromDate, toDate, eachMinute, roomIds, totals);
+    }
+
+    @Override
+    public StreamingResponseBody exportHeatmap(LocalDate fromDate, LocalDate toDate, Integer eachMinute) {
+        SeatRegistrationHeatmap heatmap = calculateHeatmap(fromDate, toDate, eachMinute);
+        return out -> writeHeatmap(heatmap, out);
+    }
+
+    private void writeHeatmap(SeatRegistrationHeatmap heatmap, OutputStream out) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+        generator.writeStartObject();
+        generator.writeStringField("fromDate", heatmap.getFromDate().toString());
+        generator.writeStringField("toDate", heatmap.getToDate().toString());
+        generator.writeNumberField("eachMinute", heatmap.getEachMinute());
+        generator.writeNumberField("blocksPerDay", heatmap.getBlocksPerDay());
+        generator.writeFieldName("roomIds");
+        generator.writeArray(heatmap.getRoomIds(), 0, heatmap.getRoomIds().length);
+        generator.writeArrayFieldStart("totals");
+        for (int[] row : heatmap.getTotals()) {
+            generator.writeArray(row, 0, row.length);
+            generator.flush();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void validateParameters(LocalDate fromDate, LocalDate toDate, Integer eachMinute) {
+        if (fromDate == null || toDate == null || eachMinute == null) {
+            logger.severe("Invalid format param request.");
+            throw new SeatRegistrationInvalidFormatParamException("Invalid format param request.");
+        }
+        if (toDate.isBefore(fromDate) || ChronoUnit.DAYS.between(fromDate, toDate) >= InputRequired.MAXIMUM_HEATMAP_DAYS) {
+            logger.severe("The heatmap covers from 1 to " + InputRequired.MAXIMUM_HEATMAP_DAYS + " days.");
+            throw new SeatRegistrationInvalidFormatParamException(
+                    "The heatmap covers from 1 to " + InputRequired.MAXIMUM_HEATMAP_DAYS + " days.");
+        }
+        if (eachMinute < 1 || eachMinute > 1440 || 1440 % eachMinute != 0) {
+            logger.severe("Format param eachMinute in request is not satisfied request.");
+            throw new SeatRegistrationInvalidFormatParamException("Format param eachMinute in request is not satisfied request.");
+        }
+    }
+
+    /**
+     * Fills {@code totals} for the rooms in [from, to), splitting the range in halves until a task
+     * holds at most {@link #ROOMS_PER_TASK} rooms. Each room writes only its own row.
+     */
+    private static class HeatmapTask extends RecursiveAction {
+        private final List<List<SeatIntervalDTO>> intervalsPerRoom;
+        private final int[][] totals;
+        private final LocalDateTime fromTime;
+        private final int eachMinute;
+        private final int blocks;
+        private final int from;
+        private final int to;
+
+        HeatmapTask(List<List<SeatIntervalDTO>> intervalsPerRoom, int[][] totals, LocalDateTime fromTime,
+                    int eachMinute, int blocks, int from, int to) {
+            this.intervalsPerRoom = intervalsPerRoom;
+            this.totals = totals;
+            this.fromTime = fromTime;
+            this.eachMinute = eachMinute;
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROOMS_PER_TASK) {
+                for (int row = from; row < to; row++) {
+                    IntervalBlockCounter counter = new IntervalBlockCounter(fromTime, eachMinute, blocks);
+                    for (SeatIntervalDTO interval : intervalsPerRoom.get(row)) {
+                        counter.add(interval.getStartTime(), interval.getEndTime());
+                    }
+                    totals[row] = counter.counts();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new HeatmapTask(intervalsPerRoom, totals, fromTime, eachMinute, blocks, from, middle),
+                    new HeatmapTask(intervalsPerRoom, totals, fromTime, eachMinute, blocks, middle, to));
+        }
+    }
+}
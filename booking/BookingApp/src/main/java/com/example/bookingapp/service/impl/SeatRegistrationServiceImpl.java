@@ -1,6 +1,9 @@
 package com.example.bookingapp.service.impl;
 
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
 import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.SeatIntervalDTO;
 import com.example.bookingapp.exception.RoomNotFoundException;
 import com.example.bookingapp.exception.SeatRegistrationForbidden;
 import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamException;
@@ -9,14 +12,20 @@ import com.example.bookingapp.model.SeatRegistration;
 import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.repository.SeatRegistrationRepository;
 import com.example.bookingapp.response.SeatRegistrationStatisticsData;
+import com.example.bookingapp.response.SeatRegistrationStatisticsIntervalImpl;
 import com.example.bookingapp.response.SeatRegistrationStatisticsResponse;
 import com.example.bookingapp.response.iSeatRegistrationStatisticsInterval;
+import com.example.bookingapp.service.RoomUsageService;
 import com.example.bookingapp.service.SeatRegistrationService;
+import com.example.bookingapp.util.IntervalBlockCounter;
+import com.example.bookingapp.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -27,15 +36,37 @@ public class SeatRegistrationServiceImpl implements SeatRegistrationService {
     private SeatRegistrationRepository seatRegistrationRepository;
     @Autowired
     RoomRepository roomRepository;
+    @Autowired
+    SeatOccupancyTimeline seatOccupancyTimeline;
+    @Autowired
+    SeatReservationCounters seatReservationCounters;
+    @Autowired
+    RoomUsageService roomUsageService;
 
+    /**
+     * Cancels with one guarded UPDATE; the registration is read in full only when no row matched,
+     * to report which rule failed. The seat goes back to the counters and the timeline only after
+     * the cancellation has committed.
+     */
     @Override
+    @Transactional
     public void cancleSeatRegistration(Long id, Long personId) {
-        SeatRegistration seatRegistration = validateCancelSeatRegistration(id, personId);
-        seatRegistration.setSeatRegistrationStatus(StatusSeatRegistration.CANCELED);
-        seatRegistrationRepository.save(seatRegistration);
+        if (seatRegistrationRepository.cancelIfAllowed(id, personId, StatusSeatRegistration.CANCELED, LocalDateTime.now()) == 0) {
+            validateCancelSeatRegistration(id, personId);
+            throw new IllegalArgumentException("The seat registration was changed by another request, please try again.");
+        }
+        SeatIntervalDTO registration = seatRegistrationRepository.findIntervalById(id);
+        roomUsageService.recordSeatRegistration(registration.getRoomId(),
+                registration.getStartTime(), registration.getEndTime(), -1);
+        TransactionCallbacks.afterCommit(() -> {
+            seatReservationCounters.release(registration.getRoomId(),
+                    registration.getStartTime(), registration.getEndTime());
+            seatOccupancyTimeline.remove(registration.getRoomId(), registration.getRegistrationId(),
+                    registration.getStartTime(), registration.getEndTime());
+        });
     }
 
-    private SeatRegistration validateCancelSeatRegistration(Long id, Long personId) {
+    private void validateCancelSeatRegistration(Long id, Long personId) {
         SeatRegistration seatRegistration = seatRegistrationRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Seat registration id not found"));
         LocalDateTime now = LocalDateTime.now();
@@ -50,13 +81,13 @@ public class SeatRegistrationServiceImpl implements SeatRegistrationService {
         } else if (seatRegistration.getSeatRegistrationStatus() != null && seatRegistration.getSeatRegistrationStatus() == StatusSeatRegistration.CANCELED) {
             throw new IllegalArgumentException("You have not registered for this seat yet");
         }
-        return seatRegistration;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SeatRegistrationStatisticsResponse statisticSeatRegistration(Long roomId, LocalDate date, Integer eachMinute) {
         validateParameters(roomId, date, eachMinute);
-        List<iSeatRegistrationStatisticsInterval> statistics = seatRegistrationRepository.calculateSeatRegistration(roomId, date, eachMinute);
+        List<iSeatRegistrationStatisticsInterval> statistics = calculateSeatRegistration(roomId, date, eachMinute);
 
         SeatRegistrationStatisticsData data = new SeatRegistrationStatisticsData();
         data.setRoomId(roomId);
@@ -65,6 +96,23 @@ public class SeatRegistrationServiceImpl implements SeatRegistrationService {
         return new SeatRegistrationStatisticsResponse(data, null);
     }
 
+    private List<iSeatRegistrationStatisticsInterval> calculateSeatRegistration(Long roomId, LocalDate date, int eachMinute) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        IntervalBlockCounter counter = new IntervalBlockCounter(dayStart, eachMinute, 24 * 60 / eachMinute);
+        for (SeatIntervalDTO registration : seatRegistrationRepository.findIntervalsTouching(
+                roomId, StatusSeatRegistration.CANCELED, dayStart, dayStart.plusDays(1))) {
+            counter.add(registration.getStartTime(), registration.getEndTime());
+        }
+        int[] counts = counter.counts();
+        List<iSeatRegistrationStatisticsInterval> statistics = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            LocalDateTime blockStart = dayStart.plusMinutes((long) i * eachMinute);
+            statistics.add(new SeatRegistrationStatisticsIntervalImpl(
+                    blockStart.toLocalTime(), blockStart.plusMinutes(eachMinute).toLocalTime(), counts[i]));
+        }
+        return statistics;
+    }
+
     private void validateParameters(Long roomId, LocalDate date, Integer eachMinute) {
         if (date == null || roomId == null || eachMinute == null) {
             logger.severe("Invalid format param request.");
@@ -80,7 +128,7 @@ public class SeatRegistrationServiceImpl implements SeatRegistrationService {
             throw new SeatRegistrationForbidden("Statistical analysis of seat registrations in the soft-deleted room is not allowed.");
         }
         Integer totalMinutesInDay = 24 * 60;
-        if (totalMinutesInDay % eachMinute != 0 || eachMinute < 1 || eachMinute > 1440) {
+        if (eachMinute < 1 || eachMinute > totalMinutesInDay || totalMinutesInDay % eachMinute != 0) {
             logger.severe("Format param eachMinute in request is not satisfied request.");
             throw new SeatRegistrationInvalidFormatParamException("Format param eachMinute in request is not satisfied request.");
         }
@@ -0,0 +1,79 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.exception.MeetingConflictException;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.MeetingSlot;
+import com.example.bookingapp.repository.MeetingSlotRepository;
+import com.example.bookingapp.service.MeetingConflictEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+@Service
+@ConditionalOnProperty(name = "booking.conflict-engine", havingValue = "slot-claim")
+public class SlotClaimMeetingConflictEngine implements MeetingConflictEngine {
+    private static final Logger logger = Logger.getLogger(SlotClaimMeetingConflictEngine.class.getName());
+
+    @Autowired
+    private MeetingSlotRepository meetingSlotRepository;
+
+    @Value("${booking.slot-claim.granularity-minutes:15}")
+    private int granularityMinutes = 15;
+
+    @Override
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedMeetingId) {
+        return meetingSlotRepository.countClaimedSlots(
+                roomId, slotOf(startTime), slotOf(endTime), excludedMeetingId) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(MeetingSchedule meeting) {
+        meetingSlotRepository.releaseSlots(meeting.getId());
+        try {
+            meetingSlotRepository.saveAll(slotsOf(meeting));
+            meetingSlotRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            logger.severe("Slots for meeting " + meeting.getId() + " are already claimed in room " + meeting.getRoom().getId());
+            throw new MeetingConflictException("Meeting conflict detected.");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Long meetingId) {
+        meetingSlotRepository.releaseSlots(meetingId);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.slot-claim.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgePastSlots() {
+        int purged = meetingSlotRepository.deleteSlotsStartingBefore(slotOf(LocalDateTime.now()).minusDays(1));
+        logger.info("Purged " + purged + " past meeting slots.");
+    }
+
+    List<MeetingSlot> slotsOf(MeetingSchedule meeting) {
+        List<MeetingSlot> slots = new ArrayList<>();
+        LocalDateTime last = slotOf(meeting.getEndTime());
+        for (LocalDateTime slot = slotOf(meeting.getStartTime()); !slot.isAfter(last); slot = slot.plusMinutes(granularityMinutes)) {
+            slots.add(new MeetingSlot(meeting.getRoom().getId(), slot, meeting.getId()));
+        }
+        return slots;
+    }
+
+    LocalDateTime slotOf(LocalDateTime time) {
+        LocalDateTime day = time.toLocalDate().atStartOfDay();
+        long minutes = Duration.between(day, time).toMinutes();
+        return day.plusMinutes(minutes - minutes % granularityMinutes);
+    }
+}
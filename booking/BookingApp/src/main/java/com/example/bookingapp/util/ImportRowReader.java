@@ -0,0 +1,154 @@
+package com.example.bookingapp.util;
+
+import com.example.bookingapp.constant.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time as column name to raw value maps, so the input is never held in
+ * memory as a whole. CSV takes its column names from the header row, the same layout the export writes.
+ */
+public abstract class ImportRowReader implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected long rowNumber;
+
+    public static ImportRowReader of(ExportFormat format, InputStream in) throws IOException {
+        return format == ExportFormat.CSV ? new CsvReader(in) : new NdjsonReader(in);
+    }
+
+    /**
+     * Returns the next row, or null once the input is exhausted.
+     */
+    public abstract Map<String, String> next() throws IOException;
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    private static class NdjsonReader extends ImportRowReader {
+        private final JsonParser parser;
+
+        NdjsonReader(InputStream in) throws IOException {
+            this.parser = JSON_FACTORY.createParser(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            rowNumber++;
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object per line.");
+            }
+            Map<String, String> row = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                } else if (value != JsonToken.VALUE_NULL) {
+                    row.put(name, parser.getText());
+                }
+            }
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static class CsvReader extends ImportRowReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+
+        CsvReader(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String> columns = readRecord();
+            this.header = columns == null ? new ArrayList<>() : columns;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            rowNumber++;
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    row.put(header.get(i), values.get(i));
+                }
+            }
+            return row;
+        }
+
+        /**
+         * One RFC 4180 record: quoted fields may hold commas, doubled quotes and line breaks. Blank lines are skipped.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            while (c == '\n' || c == '\r') {
+                c = reader.read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    break;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+            if (quoted) {
+                throw new IOException("Unterminated quoted value.");
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bookingapp.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Counts how many intervals touch each block [from + k * blockMinutes, from + (k + 1) * blockMinutes],
+ * both ends inclusive. Every interval adds +1/-1 to a difference array and {@link #counts()} turns it
+ * into per-block totals with one prefix sum, so the cost is O(blocks + intervals).
+ */
+public class IntervalBlockCounter {
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final LocalDateTime from;
+    private final long blockNanos;
+    private final int[] diff;
+
+    public IntervalBlockCounter(LocalDateTime from, int blockMinutes, int blocks) {
+        this.from = from;
+        this.blockNanos = blockMinutes * NANOS_PER_MINUTE;
+        this.diff = new int[blocks + 1];
+    }
+
+    public void add(LocalDateTime startTime, LocalDateTime endTime) {
+        long start = Duration.between(from, startTime).toNanos();
+        long end = Duration.between(from, endTime).toNanos();
+        long first = Math.max(0, -Math.floorDiv(blockNanos - start, blockNanos));
+        long last = Math.min(getBlocks() - 1, Math.floorDiv(end, blockNanos));
+        if (first <= last) {
+            diff[(int) first]++;
+            diff[(int) last + 1]--;
+        }
+    }
+
+    public int[] counts() {
+        int[] counts = new int[getBlocks()];
+        int running = 0;
+        for (int i = 0; i < counts.length; i++) {
+            running += diff[i];
+            counts[i] = running;
+        }
+        return counts;
+    }
+
+    public int getBlocks() {
+        return diff.length - 1;
+    }
+}
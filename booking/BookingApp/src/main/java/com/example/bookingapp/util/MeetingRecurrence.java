@@ -0,0 +1,58 @@
+package com.example.bookingapp.util;
+
+import com.example.bookingapp.constant.RecurrenceFrequency;
+import com.example.bookingapp.exception.ValidationException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expands an RRULE-style recurrence (FREQ, INTERVAL, UNTIL or COUNT) into occurrence start times.
+ * Every occurrence is computed from the first one rather than the previous one, so monthly series do not
+ * drift, and like RFC 5545 a monthly rule on the 29th-31st skips months that have no such day.
+ */
+public class MeetingRecurrence {
+    private MeetingRecurrence() {
+    }
+
+    public static List<LocalDateTime> expand(LocalDateTime first, RecurrenceFrequency frequency, int interval,
+                                             LocalDate until, Integer count, int maxOccurrences) {
+        if (interval < 1) {
+            throw new ValidationException("Interval must be at least 1.");
+        }
+        if ((until == null) == (count == null)) {
+            throw new ValidationException("Exactly one of until and count is required.");
+        }
+        if (count != null && (count < 1 || count > maxOccurrences)) {
+            throw new ValidationException("Count must be between 1 and " + maxOccurrences + ".");
+        }
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (long step = 0; count == null || occurrences.size() < count; step += interval) {
+            LocalDateTime occurrence = next(first, frequency, step);
+            if (until != null && occurrence.toLocalDate().isAfter(until)) {
+                break;
+            }
+            if (frequency == RecurrenceFrequency.MONTHLY && occurrence.getDayOfMonth() != first.getDayOfMonth()) {
+                continue;
+            }
+            if (occurrences.size() == maxOccurrences) {
+                throw new ValidationException("A series cannot have more than " + maxOccurrences + " occurrences.");
+            }
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    private static LocalDateTime next(LocalDateTime first, RecurrenceFrequency frequency, long step) {
+        switch (frequency) {
+            case DAILY:
+                return first.plusDays(step);
+            case WEEKLY:
+                return first.plusWeeks(step);
+            default:
+                return first.plusMonths(step);
+        }
+    }
+}
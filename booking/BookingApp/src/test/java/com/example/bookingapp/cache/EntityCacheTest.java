@@ -0,0 +1,105 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.model.Person;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+    @Autowired
+    RoomRepository roomRepository;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long roomId;
+    private Long personId;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        roomId = roomRepository.save(Room.builder().roomName("Cached Room").capacity(10).statusRoom(2).build()).getId();
+        personId = personRepository.save(Person.builder().fullName("John").age(30).build()).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM room");
+        jdbcTemplate.update("DELETE FROM person");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void test_findById_servesRepeatedLookupsFromCache() {
+        entityManagerFactory.getCache().evictAll();
+        lookUp();
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        for (int i = 0; i < 10; i++) {
+            lookUp();
+        }
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, statistics.getCacheRegionStatistics(EntityCacheMetrics.ROOM_REGION).getHitCount()
+                + statistics.getCacheRegionStatistics(EntityCacheMetrics.PERSON_REGION).getHitCount());
+        assertEquals(10.0 / 11, EntityCacheMetrics.hitRatio(statistics, EntityCacheMetrics.ROOM_REGION), 1e-9);
+    }
+
+    @Test
+    void test_getRoomByIdAvailable_servesRepeatedQueriesFromQueryCache() {
+        assertEquals("Cached Room", roomRepository.getRoomByIdAvailable(roomId).getRoomName());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("Cached Room", roomRepository.getRoomByIdAvailable(roomId).getRoomName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void test_updateAndDelete_invalidateCachedRoom() {
+        roomRepository.getRoomByIdAvailable(roomId);
+        roomRepository.findById(roomId);
+
+        Room room = roomRepository.findById(roomId).get();
+        room.setRoomName("Renamed Room");
+        roomRepository.save(room);
+        assertEquals("Renamed Room", roomRepository.findById(roomId).get().getRoomName());
+        assertEquals("Renamed Room", roomRepository.getRoomByIdAvailable(roomId).getRoomName());
+
+        room = roomRepository.findById(roomId).get();
+        room.setDeletedAt(new Date());
+        roomRepository.save(room);
+        assertNull(roomRepository.getRoomByIdAvailable(roomId));
+    }
+
+    private void lookUp() {
+        assertEquals("Cached Room", roomRepository.findById(roomId).get().getRoomName());
+        assertEquals("John", personRepository.findById(personId).get().getFullName());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.cache.IdExistenceFilter.IdType;
+import com.example.bookingapp.service.impl.ExistenceCheckServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({IdExistenceFilter.class, ExistenceCheckServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdExistenceFilterTest {
+    @Autowired
+    IdExistenceFilter idExistenceFilter;
+
+    @Autowired
+    ExistenceCheckServiceImpl existenceCheckService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (900001, 'Room A', 2, 10)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) SELECT 900000 + x, 30, 'Person' FROM SYSTEM_RANGE(1, 12000)");
+        jdbcTemplate.update("INSERT INTO meeting_schedule (meeting_id, room_id, person_id, title, start_time, end_time, reservation_time, status_meeting) " +
+                "VALUES (900001, 900001, 900001, 'Sync', TIMESTAMP '2099-01-01 09:00:00', TIMESTAMP '2099-01-01 10:00:00', TIMESTAMP '2098-12-01 00:00:00', 1)");
+        idExistenceFilter.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM meeting_schedule");
+        jdbcTemplate.update("DELETE FROM person");
+        jdbcTemplate.update("DELETE FROM room");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void test_rebuild_pagesThroughEveryId() {
+        for (long id = 900001; id <= 912000; id++) {
+            assertTrue(idExistenceFilter.mightContain(IdType.PERSON, id));
+        }
+        assertTrue(idExistenceFilter.mightContain(IdType.ROOM, 900001));
+        assertTrue(idExistenceFilter.mightContain(IdType.MEETING, 900001));
+    }
+
+    @Test
+    void test_exists_definiteMissSkipsDatabase() {
+        int misses = 0;
+        for (long id = 1; id <= 1000; id++) {
+            if (!idExistenceFilter.mightContain(IdType.MEETING, id)) {
+                assertFalse(existenceCheckService.meetingExists(id));
+                misses++;
+            }
+        }
+        assertTrue(misses > 950);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertTrue(existenceCheckService.meetingExists(900001L));
+        assertTrue(existenceCheckService.personExists(900001L));
+        assertTrue(existenceCheckService.roomExists(900001L));
+        assertFalse(existenceCheckService.personExists(null));
+    }
+
+    @Test
+    void test_personExists_insertedOutsideTheApplicationAfterRebuild() {
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (912001, 30, 'Provisioned')");
+
+        assertTrue(idExistenceFilter.mightContain(IdType.PERSON, 912001));
+        assertTrue(existenceCheckService.personExists(912001L));
+        assertFalse(existenceCheckService.personExists(912002L));
+    }
+
+    @Test
+    void test_roomExists_softDeletedRoomDoesNotExist() {
+        jdbcTemplate.update("UPDATE room SET deleted_at = CURRENT_TIMESTAMP WHERE room_id = 900001");
+
+        assertTrue(idExistenceFilter.mightContain(IdType.ROOM, 900001));
+        assertFalse(existenceCheckService.roomExists(900001L));
+    }
+
+    @Test
+    void test_recordMeeting_addsIdOnlyAfterCommit() {
+        long committed = findUnknownMeetingId(1);
+        long rolledBack = findUnknownMeetingId(committed + 1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            existenceCheckService.recordMeeting(committed);
+            assertFalse(idExistenceFilter.mightContain(IdType.MEETING, committed));
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            existenceCheckService.recordMeeting(rolledBack);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(idExistenceFilter.mightContain(IdType.MEETING, committed));
+        assertFalse(idExistenceFilter.mightContain(IdType.MEETING, rolledBack));
+    }
+
+    private long findUnknownMeetingId(long from) {
+        long id = from;
+        while (idExistenceFilter.mightContain(IdType.MEETING, id)) {
+            id++;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.model.MeetingSchedule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class MeetingIntervalIndexBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(MeetingIntervalIndexBenchmarkTest.class.getName());
+    private static final int QUERIES = 2_000;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void benchmark_hasConflict_indexAgainstListScan() {
+        for (int meetings : new int[]{10_000, 100_000, 1_000_000}) {
+            compare(meetings);
+        }
+    }
+
+    private void compare(int meetings) {
+        List<MeetingSchedule> roomMeetings = new ArrayList<>(meetings);
+        MeetingIntervalIndex index = new MeetingIntervalIndex();
+        for (long i = 0; i < meetings; i++) {
+            LocalDateTime start = base.plusMinutes(i * 30);
+            LocalDateTime end = start.plusMinutes(20);
+            roomMeetings.add(MeetingSchedule.builder().id(i).startTime(start).endTime(end).build());
+            index.put(1L, i, start, end);
+        }
+        Random random = new Random(meetings);
+        List<LocalDateTime> starts = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            starts.add(base.plusMinutes(random.nextInt(meetings * 30)));
+        }
+
+        int listConflicts = 0;
+        long listStart = System.nanoTime();
+        for (LocalDateTime start : starts) {
+            if (listScanHasConflict(roomMeetings, start, start.plusMinutes(5))) {
+                listConflicts++;
+            }
+        }
+        long listNanos = System.nanoTime() - listStart;
+
+        int indexConflicts = 0;
+        long indexStart = System.nanoTime();
+        for (LocalDateTime start : starts) {
+            if (index.hasConflict(1L, start, start.plusMinutes(5), null)) {
+                indexConflicts++;
+            }
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        assertEquals(listConflicts, indexConflicts);
+        logger.info(String.format("%d meetings, %d lookups: list scan %.3f ms/lookup, interval index %.4f ms/lookup",
+                meetings, QUERIES, listNanos / 1_000_000.0 / QUERIES, indexNanos / 1_000_000.0 / QUERIES));
+    }
+
+    /**
+     * The overlap scan over every cached meeting of the room that roomMeetingsCache used before the index.
+     * The probe windows never enclose a whole meeting, the one case that scan missed, so both answers match.
+     */
+    private static boolean listScanHasConflict(List<MeetingSchedule> meetingsInRoom, LocalDateTime startTime, LocalDateTime endTime) {
+        for (MeetingSchedule existingMeeting : meetingsInRoom) {
+            LocalDateTime existingStartTime = existingMeeting.getStartTime();
+            LocalDateTime existingEndTime = existingMeeting.getEndTime();
+            if (startTime.isEqual(existingStartTime) && endTime.isEqual(existingEndTime)) {
+                return true;
+            }
+            if ((startTime.isAfter(existingStartTime) && startTime.isBefore(existingEndTime)) ||
+                    (endTime.isAfter(existingStartTime) && endTime.isBefore(existingEndTime))) {
+                return true;
+            }
+            if (startTime.isEqual(existingEndTime) || endTime.isEqual(existingStartTime)) {
+                return true;
+            }
+            if (startTime.isAfter(existingStartTime) && endTime.isBefore(existingEndTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetingIntervalIndexTest {
+    private final MeetingIntervalIndex index = new MeetingIntervalIndex();
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void test_hasConflict_withOverlappingAndAdjacentMeetings() {
+        index.put(1L, 10L, base, base.plusHours(1));
+
+        assertTrue(index.hasConflict(1L, base.plusMinutes(30), base.plusMinutes(90), null));
+        assertTrue(index.hasConflict(1L, base.minusMinutes(30), base.plusMinutes(90), null));
+        assertTrue(index.hasConflict(1L, base.plusHours(1), base.plusHours(2), null));
+        assertFalse(index.hasConflict(1L, base.plusHours(1).plusMinutes(1), base.plusHours(2), null));
+        assertFalse(index.hasConflict(2L, base, base.plusHours(1), null));
+    }
+
+    @Test
+    void test_hasConflict_withExcludedMeeting() {
+        index.put(1L, 10L, base, base.plusHours(1));
+
+        assertFalse(index.hasConflict(1L, base, base.plusHours(1), 10L));
+    }
+
+    @Test
+    void test_hasConflict_withLongMeetingStartingEarlier() {
+        index.put(1L, 10L, base, base.plusHours(10));
+        index.put(1L, 11L, base.plusHours(11), base.plusHours(12));
+
+        assertTrue(index.hasConflict(1L, base.plusHours(9), base.plusHours(9).plusMinutes(30), null));
+        assertEquals(1, index.findOverlapping(1L, base.plusHours(9), base.plusHours(9).plusMinutes(30)).size());
+    }
+
+    @Test
+    void test_remove() {
+        index.put(1L, 10L, base, base.plusHours(1));
+        index.remove(10L);
+
+        assertFalse(index.hasConflict(1L, base, base.plusHours(1), null));
+        assertEquals(0, index.size(1L));
+    }
+
+    @Test
+    void test_put_withCanceledOrPastMeeting_isNotIndexed() {
+        Room room = Room.builder().id(1L).build();
+        MeetingSchedule canceled = MeetingSchedule.builder().id(10L).room(room)
+                .startTime(base).endTime(base.plusHours(1))
+                .statusMeeting(StatusMeetingSchedule.CANCELED).build();
+        MeetingSchedule past = MeetingSchedule.builder().id(11L).room(room)
+                .startTime(LocalDateTime.now().minusHours(2)).endTime(LocalDateTime.now().minusHours(1))
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED).build();
+        index.put(canceled);
+        index.put(past);
+
+        assertEquals(0, index.size(1L));
+    }
+
+    @Test
+    void test_put_withRescheduledMeeting_replacesPreviousInterval() {
+        Room room = Room.builder().id(1L).build();
+        MeetingSchedule meeting = MeetingSchedule.builder().id(10L).room(room)
+                .startTime(base).endTime(base.plusHours(1))
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED).build();
+        index.put(meeting);
+        meeting.setStartTime(base.plusHours(3));
+        meeting.setEndTime(base.plusHours(4));
+        index.put(meeting);
+
+        assertEquals(1, index.size(1L));
+        assertFalse(index.hasConflict(1L, base, base.plusHours(1), null));
+        assertTrue(index.hasConflict(1L, base.plusHours(3), base.plusHours(4), null));
+    }
+
+    @Test
+    void test_longestDuration_shrinksWhenLongMeetingsLeave() {
+        index.put(1L, 10L, base, base.plusHours(10));
+        index.put(1L, 11L, base.plusHours(11), base.plusHours(12));
+        index.put(1L, 12L, base.plusHours(13), base.plusHours(15));
+        assertEquals(10 * 3600, index.longestDuration(1L));
+
+        index.remove(10L);
+        assertEquals(2 * 3600, index.longestDuration(1L));
+
+        index.evictEnded(base.plusHours(16));
+        assertEquals(0, index.longestDuration(1L));
+    }
+
+    @Test
+    void test_longestDuration_keepsDurationWhileAnotherMeetingHasIt() {
+        index.put(1L, 10L, base, base.plusHours(2));
+        index.put(1L, 11L, base.plusHours(3), base.plusHours(5));
+        index.remove(10L);
+
+        assertEquals(2 * 3600, index.longestDuration(1L));
+        assertTrue(index.hasConflict(1L, base.plusHours(4), base.plusHours(4), null));
+    }
+
+    @Test
+    void test_findOverlapping_withManyMeetings() {
+        for (long i = 0; i < 10_000; i++) {
+            index.put(1L, i, base.plusMinutes(i * 30), base.plusMinutes(i * 30 + 20));
+        }
+        List<Long> overlapping = index.findOverlapping(1L, base.plusMinutes(5000 * 30), base.plusMinutes(5000 * 30 + 45));
+
+        assertEquals(2, overlapping.size());
+        assertTrue(overlapping.contains(5000L));
+        assertTrue(overlapping.contains(5001L));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingScheduleCacheTest {
+    @Mock
+    MeetingScheduleRepository meetingScheduleRepository;
+
+    @InjectMocks
+    MeetingScheduleCache meetingScheduleCache;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(meetingScheduleCache, "maxMeetingsPerRoom", 3);
+        ReflectionTestUtils.setField(meetingScheduleCache, "warmUpThreads", 2);
+    }
+
+    @Test
+    void test_hasConflict_withColdRoom_readsThroughAndLoadsRoom() {
+        when(meetingScheduleRepository.countOverlappingMeetings(eq(1L), anyInt(), any(), any(), any())).thenReturn(1L);
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any()))
+                .thenReturn(Collections.singletonList(interval(10L, 1L, base, base.plusHours(1))));
+
+        assertTrue(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+        assertTrue(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+        assertFalse(meetingScheduleCache.hasConflict(1L, base.plusHours(2), base.plusHours(3), null));
+
+        assertEquals(1, meetingScheduleCache.getMisses());
+        assertEquals(2, meetingScheduleCache.getHits());
+        verify(meetingScheduleRepository, times(1)).countOverlappingMeetings(eq(1L), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void test_warmUp_loadsRoomsInParallel() {
+        when(meetingScheduleRepository.findRoomIdsWithMeetingsEndingAfter(anyInt(), any())).thenReturn(Arrays.asList(1L, 2L));
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any()))
+                .thenReturn(Collections.singletonList(interval(10L, 1L, base, base.plusHours(1))));
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(2L), anyInt(), any()))
+                .thenReturn(Collections.singletonList(interval(20L, 2L, base, base.plusHours(1))));
+
+        meetingScheduleCache.warmUp();
+
+        assertTrue(meetingScheduleCache.isWarm());
+        assertEquals(2, meetingScheduleCache.getSize());
+        assertTrue(meetingScheduleCache.hasConflict(2L, base, base.plusMinutes(15), null));
+        assertFalse(meetingScheduleCache.hasConflict(3L, base, base.plusMinutes(15), null));
+        verify(meetingScheduleRepository, never()).countOverlappingMeetings(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void test_put_withRoomOverCapacity_fallsBackToDatabase() {
+        meetingScheduleCache.loadRoom(1L, new ArrayList<MeetingIntervalDTO>());
+        Room room = Room.builder().id(1L).build();
+        for (long i = 0; i < 4; i++) {
+            meetingScheduleCache.put(MeetingSchedule.builder().id(i).room(room)
+                    .startTime(base.plusHours(i)).endTime(base.plusHours(i).plusMinutes(30))
+                    .statusMeeting(StatusMeetingSchedule.SCHEDULED).build());
+        }
+
+        assertFalse(meetingScheduleCache.isCached(1L));
+        assertEquals(0, meetingScheduleCache.getSize());
+    }
+
+    @Test
+    void test_loadRoom_withTooManyMeetings_isNotCached() {
+        List<MeetingIntervalDTO> meetings = new ArrayList<>();
+        for (long i = 0; i < 4; i++) {
+            meetings.add(interval(i, 1L, base.plusHours(i), base.plusHours(i).plusMinutes(30)));
+        }
+        meetingScheduleCache.loadRoom(1L, meetings);
+
+        assertFalse(meetingScheduleCache.isCached(1L));
+    }
+
+    @Test
+    void test_evictEnded_removesFinishedMeetings() {
+        LocalDateTime now = LocalDateTime.now();
+        meetingScheduleCache.loadRoom(1L, Arrays.asList(
+                interval(10L, 1L, now.minusHours(2), now.minusHours(1)),
+                interval(11L, 1L, base, base.plusHours(1))));
+
+        meetingScheduleCache.evictEnded();
+
+        assertEquals(1, meetingScheduleCache.getSize());
+        assertEquals(1, meetingScheduleCache.getEvictions());
+    }
+
+    @Test
+    void test_remove() {
+        meetingScheduleCache.loadRoom(1L, Collections.singletonList(interval(10L, 1L, base, base.plusHours(1))));
+        meetingScheduleCache.remove(10L);
+
+        assertFalse(meetingScheduleCache.hasConflict(1L, base, base.plusHours(1), null));
+    }
+
+    @Test
+    void test_loadRoom_withPutDuringQuery_dropsStaleLoadAndReloads() {
+        Room room = Room.builder().id(1L).build();
+        MeetingSchedule booked = MeetingSchedule.builder().id(10L).room(room)
+                .startTime(base).endTime(base.plusHours(1))
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED).build();
+        when(meetingScheduleRepository.countOverlappingMeetings(eq(1L), anyInt(), any(), any(), any())).thenReturn(1L);
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    meetingScheduleCache.put(booked);
+                    return new ArrayList<MeetingIntervalDTO>();
+                })
+                .thenReturn(Collections.singletonList(interval(10L, 1L, base, base.plusHours(1))));
+
+        meetingScheduleCache.loadRoom(1L);
+
+        assertFalse(meetingScheduleCache.isCached(1L));
+        assertTrue(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+        assertTrue(meetingScheduleCache.isCached(1L));
+        assertTrue(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+        verify(meetingScheduleRepository, times(2)).findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any());
+    }
+
+    @Test
+    void test_loadRoom_withRemoveDuringQuery_doesNotInstallRemovedMeeting() {
+        when(meetingScheduleRepository.findRoomIdsWithMeetingsEndingAfter(anyInt(), any())).thenReturn(Collections.singletonList(1L));
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    meetingScheduleCache.remove(10L);
+                    return Collections.singletonList(interval(10L, 1L, base, base.plusHours(1)));
+                })
+                .thenReturn(new ArrayList<MeetingIntervalDTO>());
+
+        meetingScheduleCache.warmUp();
+
+        assertTrue(meetingScheduleCache.isWarm());
+        assertFalse(meetingScheduleCache.isCached(1L));
+        assertFalse(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+        assertTrue(meetingScheduleCache.isCached(1L));
+        assertFalse(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+    }
+
+    @Test
+    void test_put_afterLoadedRoom_keepsRoomCurrent() {
+        meetingScheduleCache.loadRoom(1L, new ArrayList<MeetingIntervalDTO>());
+        Room room = Room.builder().id(1L).build();
+        meetingScheduleCache.put(MeetingSchedule.builder().id(10L).room(room)
+                .startTime(base).endTime(base.plusHours(1))
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED).build());
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    meetingScheduleCache.remove(10L);
+                    return Collections.singletonList(interval(10L, 1L, base, base.plusHours(1)));
+                });
+
+        meetingScheduleCache.loadRoom(1L);
+
+        assertTrue(meetingScheduleCache.isCached(1L));
+        assertFalse(meetingScheduleCache.hasConflict(1L, base, base.plusMinutes(30), null));
+    }
+
+    private MeetingIntervalDTO interval(Long meetingId, Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return new MeetingIntervalDTO(meetingId, roomId, startTime, endTime);
+    }
+}
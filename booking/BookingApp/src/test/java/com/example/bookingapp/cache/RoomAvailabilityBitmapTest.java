@@ -0,0 +1,201 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityBitmapTest {
+    private static final Logger logger = Logger.getLogger(RoomAvailabilityBitmapTest.class.getName());
+    @Mock
+    MeetingScheduleRepository meetingScheduleRepository;
+
+    @Mock
+    RoomRepository roomRepository;
+
+    @InjectMocks
+    RoomAvailabilityBitmap roomAvailabilityBitmap;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void test_isDefinitelyFree_withColdRoom_loadsRoomOnce() {
+        when(meetingScheduleRepository.findIntervalsInRoomEndingAfter(eq(1L), eq(StatusMeetingSchedule.SCHEDULED), any()))
+                .thenReturn(Collections.singletonList(new MeetingIntervalDTO(10L, 1L, base, base.plusHours(1))));
+
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base.plusMinutes(30), base.plusMinutes(45)));
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base.plusHours(1), base.plusHours(2)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, base.plusMinutes(75), base.plusHours(2)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, base.minusHours(2), base.minusMinutes(1)));
+        assertEquals(1, roomAvailabilityBitmap.getRoomCount());
+    }
+
+    @Test
+    void test_mark_acrossTheSecondWordOfTheDay() {
+        roomAvailabilityBitmap.loadRoom(1L);
+        LocalDateTime evening = base.withHour(17);
+        roomAvailabilityBitmap.mark(1L, evening, evening.plusHours(1));
+
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base, base.withHour(23).withMinute(59)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, base, evening.minusMinutes(1)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, evening.plusMinutes(75), evening.plusHours(3)));
+    }
+
+    @Test
+    void test_isDefinitelyFree_withWindowSpanningDays() {
+        roomAvailabilityBitmap.loadRoom(1L);
+        roomAvailabilityBitmap.mark(1L, base.plusDays(1).withHour(0), base.plusDays(1).withHour(0).plusMinutes(30));
+
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base, base.plusDays(1).withHour(1)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, base, base.withHour(23).withMinute(59)));
+    }
+
+    @Test
+    void test_isDefinitelyFree_withPastOrOutOfHorizonWindow_isNotAnswered() {
+        roomAvailabilityBitmap.loadRoom(1L);
+
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1)));
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base.plusDays(400), base.plusDays(400).plusHours(1)));
+    }
+
+    @Test
+    void test_rebuild_afterCancel_clearsOnlyCanceledMeeting() {
+        roomAvailabilityBitmap.loadRoom(1L);
+        roomAvailabilityBitmap.mark(1L, base, base.plusHours(1));
+        roomAvailabilityBitmap.mark(1L, base.plusHours(1), base.plusHours(2));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusMeetingSchedule.SCHEDULED), any(), any()))
+                .thenReturn(Collections.singletonList(new MeetingIntervalDTO(11L, 1L, base.plusHours(1), base.plusHours(2))));
+
+        roomAvailabilityBitmap.rebuild(1L, base, base.plusHours(1));
+
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, base, base.plusMinutes(45)));
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, base.plusHours(1), base.plusHours(1)));
+    }
+
+    @Test
+    void test_rebuild_withMissingTimes_unloadsRoom() {
+        roomAvailabilityBitmap.loadRoom(1L);
+        roomAvailabilityBitmap.rebuild(1L, (LocalDateTime) null, null);
+
+        assertEquals(0, roomAvailabilityBitmap.getRoomCount());
+    }
+
+    @Test
+    void test_roll_shiftsDays() {
+        RoomAvailabilityBitmap.RoomDays days = new RoomAvailabilityBitmap.RoomDays(base.minusDays(2), 4);
+        days.mark(base.plusDays(1), base.plusDays(1).plusHours(1));
+        days.roll(LocalDate.now().plusDays(1).toEpochDay());
+
+        assertFalse(days.isClear(base.plusDays(1), base.plusDays(1).plusHours(1)));
+        assertTrue(days.isClear(base, base.plusHours(1)));
+    }
+
+    @Test
+    void test_roll_daysPastTheLoadedHorizon_areNotAnswered() {
+        RoomAvailabilityBitmap.RoomDays days = new RoomAvailabilityBitmap.RoomDays(base.minusDays(2), 4);
+        days.roll(LocalDate.now().plusDays(1).toEpochDay());
+
+        assertTrue(days.isClear(base.plusDays(1), base.plusDays(1).plusHours(1)));
+        assertFalse(days.isClear(base.plusDays(2), base.plusDays(2).plusHours(1)));
+        assertFalse(days.isClear(base.plusDays(3), base.plusDays(3).plusHours(1)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_roll_loadsTheNewTailOfEachRoom() {
+        ReflectionTestUtils.setField(roomAvailabilityBitmap, "horizonDays", 4);
+        RoomAvailabilityBitmap.RoomDays days = new RoomAvailabilityBitmap.RoomDays(base.minusDays(2), 4);
+        ((Map<Long, RoomAvailabilityBitmap.RoomDays>) ReflectionTestUtils.getField(roomAvailabilityBitmap, "rooms")).put(1L, days);
+        LocalDateTime tailMeeting = base.plusDays(2);
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(1L, StatusMeetingSchedule.SCHEDULED,
+                LocalDate.now().plusDays(3).atStartOfDay(), LocalDate.now().plusDays(4).atStartOfDay()))
+                .thenReturn(Collections.singletonList(new MeetingIntervalDTO(12L, 1L, tailMeeting, tailMeeting.plusHours(1))));
+
+        roomAvailabilityBitmap.roll();
+
+        assertEquals(LocalDate.now().plusDays(4).toEpochDay(), days.getLoadedUntilDay());
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(1L, tailMeeting, tailMeeting.plusMinutes(30)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(1L, tailMeeting.plusHours(2), tailMeeting.plusHours(3)));
+    }
+
+    @Test
+    void test_warmUp_buildsEveryActiveRoom() {
+        stubActiveRooms(100);
+        roomAvailabilityBitmap.warmUp();
+
+        assertEquals(100, roomAvailabilityBitmap.getRoomCount());
+        assertFalse(roomAvailabilityBitmap.isDefinitelyFree(42L, base, base.plusMinutes(15)));
+        assertTrue(roomAvailabilityBitmap.isDefinitelyFree(41L, base, base.plusMinutes(15)));
+    }
+
+    @Test
+    void test_isLoadedAndFree_neverLoadsRoom() {
+        assertFalse(roomAvailabilityBitmap.isLoadedAndFree(1L, base, base.plusMinutes(15)));
+        assertEquals(0, roomAvailabilityBitmap.getRoomCount());
+
+        stubActiveRooms(100);
+        roomAvailabilityBitmap.warmUp();
+
+        assertFalse(roomAvailabilityBitmap.isLoadedAndFree(42L, base, base.plusMinutes(15)));
+        assertTrue(roomAvailabilityBitmap.isLoadedAndFree(41L, base, base.plusMinutes(15)));
+    }
+
+    /**
+     * Measures the heap the bitmaps keep after a 10k-room warm-up, as the drop in free heap after a full
+     * collection, and logs it next to the gauge's estimate.
+     */
+    @Test
+    @Tag("benchmark")
+    void test_warmUp_retainedHeapFor10kRoomsOver92Days() {
+        stubActiveRooms(10_000);
+        long before = usedHeapAfterGc();
+        roomAvailabilityBitmap.warmUp();
+        long retained = usedHeapAfterGc() - before;
+
+        logger.info(String.format("availability bitmaps: rooms=%d days=92 retained=%d bytes (%.1f MB) estimate=%d bytes",
+                roomAvailabilityBitmap.getRoomCount(), retained, retained / 1_000_000.0, roomAvailabilityBitmap.getMemoryFootprintBytes()));
+        assertEquals(10_000, roomAvailabilityBitmap.getRoomCount());
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void stubActiveRooms(int roomCount) {
+        List<Long> roomIds = new ArrayList<>();
+        for (long roomId = 1; roomId <= roomCount; roomId++) {
+            roomIds.add(roomId);
+        }
+        when(roomRepository.findActiveRoomIds()).thenReturn(roomIds);
+        when(meetingScheduleRepository.findIntervalsEndingAfter(anyInt(), any()))
+                .thenReturn(Collections.singletonList(new MeetingIntervalDTO(10L, 42L, base, base.plusHours(1))));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusRoom;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomCatalogTest {
+    private final RoomRepository roomRepository = Mockito.mock(RoomRepository.class);
+    private final RoomCatalog roomCatalog = new RoomCatalog();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomCatalog, "roomRepository", roomRepository);
+    }
+
+    @Test
+    void test_search_filtersByCapacityAndName() {
+        when(roomRepository.findAll()).thenReturn(Arrays.asList(
+                room(1L, "Meeting Room 1", 10),
+                room(2L, "Conference Room", 30),
+                room(3L, "Meeting Room 2", 20),
+                room(4L, "Lounge", 5)));
+
+        assertEquals(Arrays.asList("Conference Room", "Lounge", "Meeting Room 1", "Meeting Room 2"), names(roomCatalog.search(null, null, null)));
+        assertEquals(Arrays.asList("Meeting Room 1", "Meeting Room 2"), names(roomCatalog.search(10, 20, null)));
+        assertEquals(Arrays.asList("Meeting Room 1", "Meeting Room 2"), names(roomCatalog.search(null, null, "MEETING")));
+        assertEquals(Arrays.asList("Conference Room"), names(roomCatalog.search(25, null, "room")));
+        assertEquals(Arrays.asList("Lounge"), names(roomCatalog.search(null, null, "ou")));
+        assertTrue(roomCatalog.search(null, null, "garden").isEmpty());
+        verify(roomRepository, times(1)).findAll();
+    }
+
+    @Test
+    void test_search_excludesDeletedRooms_butNamesStayReserved() {
+        Room deleted = room(1L, "Old Room", 10);
+        deleted.setDeletedAt(new Date());
+        when(roomRepository.findAll()).thenReturn(Arrays.asList(deleted, room(2L, "New Room", 10)));
+
+        assertEquals(Arrays.asList("New Room"), names(roomCatalog.search(null, null, null)));
+        assertTrue(roomCatalog.containsName("old room"));
+        assertTrue(roomCatalog.containsName(" NEW ROOM "));
+        assertFalse(roomCatalog.containsName("Other Room"));
+    }
+
+    @Test
+    void test_put_updatesSnapshot() {
+        when(roomRepository.findAll()).thenReturn(new ArrayList<>(Arrays.asList(room(1L, "Room A", 10))));
+
+        Room renamed = room(1L, "Room B", 40);
+        roomCatalog.put(renamed);
+        roomCatalog.put(room(2L, "Room C", 5));
+        renamed.setRoomName("Mutated Later");
+
+        assertEquals(Arrays.asList("Room B"), names(roomCatalog.search(30, null, null)));
+        assertEquals(Arrays.asList("Room B", "Room C"), names(roomCatalog.search(null, null, "room")));
+        assertFalse(roomCatalog.containsName("Room A"));
+
+        Room deleted = room(2L, "Room C", 5);
+        deleted.setDeletedAt(new Date());
+        roomCatalog.put(deleted);
+
+        assertEquals(1, roomCatalog.getRoomCount());
+        assertTrue(roomCatalog.containsName("Room C"));
+    }
+
+    @Test
+    void test_search_matchesDatabaseSubstringSemantics() {
+        Random random = new Random(42);
+        String[] words = {"Alpha", "Beta", "Gamma", "Delta", "Room", "Hall", "Lab"};
+        List<Room> rooms = new ArrayList<>();
+        for (long i = 1; i <= 2_000; i++) {
+            rooms.add(room(i, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i,
+                    1 + random.nextInt(100)));
+        }
+        when(roomRepository.findAll()).thenReturn(rooms);
+
+        for (String query : Arrays.asList("a", "al", "ALP", "ta r", "room 1", "lab 19", "zzz")) {
+            List<Long> expected = rooms.stream()
+                    .filter(room -> room.getCapacity() >= 20 && room.getCapacity() <= 60)
+                    .filter(room -> room.getRoomName().toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT)))
+                    .sorted(RoomCatalog.ORDER)
+                    .map(Room::getId)
+                    .collect(Collectors.toList());
+            List<Long> actual = roomCatalog.search(20, 60, query).stream().map(Room::getId).collect(Collectors.toList());
+            assertEquals(expected, actual, query);
+        }
+    }
+
+    private List<String> names(List<Room> rooms) {
+        return rooms.stream().map(Room::getRoomName).collect(Collectors.toList());
+    }
+
+    private Room room(Long id, String roomName, int capacity) {
+        return Room.builder().id(id).roomName(roomName).capacity(capacity).statusRoom(StatusRoom.AVAILABLE).build();
+    }
+}
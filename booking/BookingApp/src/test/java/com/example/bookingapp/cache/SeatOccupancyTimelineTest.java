@@ -0,0 +1,171 @@
+package com.example.bookingapp.cache;
+
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.repository.SeatRegistrationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatOccupancyTimelineTest {
+    @Mock
+    SeatRegistrationRepository seatRegistrationRepository;
+
+    @InjectMocks
+    SeatOccupancyTimeline seatOccupancyTimeline;
+
+    private final LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @Test
+    void test_peakOccupancy_onlyCountsRegistrationsInsideTheWindow() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(Arrays.asList(
+                        interval(1L, day.withHour(9), day.withHour(10)),
+                        interval(2L, day.withHour(9).withMinute(30), day.withHour(11)),
+                        interval(3L, day.withHour(10), day.withHour(12))));
+
+        assertEquals(0, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(15), day.withHour(16)));
+        assertEquals(2, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(12)));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(8), day.withHour(9).withMinute(15)));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(11), day.withHour(13)));
+        assertEquals(0, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(12), day.withHour(13)));
+        verify(seatRegistrationRepository, times(1)).findIntervalsInRoomBetween(anyLong(), eq(StatusSeatRegistration.REGISTERED), any(), any());
+        assertEquals(1, seatOccupancyTimeline.getDayCount());
+    }
+
+    @Test
+    void test_addAndRemove_updateLoadedDay() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(Collections.singletonList(interval(1L, day.withHour(9), day.withHour(10))));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10)));
+
+        seatOccupancyTimeline.add(1L, 2L, day.withHour(9), day.withHour(10));
+        seatOccupancyTimeline.add(1L, 2L, day.withHour(9), day.withHour(10));
+        assertEquals(2, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10)));
+
+        seatOccupancyTimeline.remove(1L, 1L, day.withHour(9), day.withHour(10));
+        seatOccupancyTimeline.remove(1L, 1L, day.withHour(9), day.withHour(10));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10)));
+        verify(seatRegistrationRepository, times(1)).findIntervalsInRoomBetween(anyLong(), eq(StatusSeatRegistration.REGISTERED), any(), any());
+    }
+
+    @Test
+    void test_invalidate_reloadsDayFromDatabase() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(Collections.singletonList(interval(1L, day.withHour(9), day.withHour(10))))
+                .thenReturn(Arrays.asList(
+                        interval(1L, day.withHour(9), day.withHour(10)),
+                        interval(2L, day.withHour(9), day.withHour(10))));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10)));
+
+        seatOccupancyTimeline.invalidate(1L, day.withHour(9), day.withHour(10));
+
+        assertEquals(2, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10)));
+        verify(seatRegistrationRepository, times(2)).findIntervalsInRoomBetween(anyLong(), eq(StatusSeatRegistration.REGISTERED), any(), any());
+    }
+
+    @Test
+    void test_peakOccupancy_withRegistrationSpanningDays_isClippedToTheDay() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(Collections.singletonList(interval(1L, day.minusDays(1).withHour(20), day.plusDays(1).withHour(2))));
+
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(0), day.withHour(1)));
+        assertEquals(1, seatOccupancyTimeline.peakOccupancy(1L, day.withHour(23), day.withHour(23).withMinute(59)));
+    }
+
+    @Test
+    void test_occupancyPerMinute_countsRegistrationsTouchingEachMinute() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(Arrays.asList(
+                        interval(1L, day.withHour(9), day.withHour(10)),
+                        interval(2L, day.withHour(9).withMinute(30).withSecond(30), day.withHour(10).withMinute(15))));
+
+        int[] occupancy = seatOccupancyTimeline.occupancyPerMinute(1L, day.toLocalDate());
+
+        assertEquals(SeatOccupancyTimeline.MINUTES_PER_DAY, occupancy.length);
+        assertEquals(0, occupancy[9 * 60 - 1]);
+        assertEquals(1, occupancy[9 * 60]);
+        assertEquals(2, occupancy[9 * 60 + 30]);
+        assertEquals(2, occupancy[9 * 60 + 59]);
+        assertEquals(1, occupancy[10 * 60]);
+        assertEquals(0, occupancy[10 * 60 + 15]);
+    }
+
+    @Test
+    void test_evictPastDays() {
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(new ArrayList<>());
+        seatOccupancyTimeline.peakOccupancy(1L, day.minusDays(3).withHour(9), day.minusDays(3).withHour(10));
+        seatOccupancyTimeline.peakOccupancy(1L, day.withHour(9), day.withHour(10));
+
+        seatOccupancyTimeline.evictPastDays();
+
+        assertEquals(1, seatOccupancyTimeline.getDayCount());
+    }
+
+    @Test
+    void test_peakOccupancy_matchesBruteForce() {
+        Random random = new Random(7);
+        List<SeatIntervalDTO> registrations = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            int start = random.nextInt(24 * 60 - 15);
+            int length = 15 + random.nextInt(Math.min(180, 24 * 60 - start - 15) + 1);
+            registrations.add(interval(id, day.plusMinutes(start), day.plusMinutes(start + length)));
+        }
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusSeatRegistration.REGISTERED), any(), any()))
+                .thenReturn(registrations.subList(0, 200));
+        seatOccupancyTimeline.peakOccupancy(1L, day, day.plusMinutes(1));
+        for (SeatIntervalDTO registration : registrations.subList(200, 300)) {
+            seatOccupancyTimeline.add(1L, registration.getRegistrationId(), registration.getStartTime(), registration.getEndTime());
+        }
+        for (int i = 0; i < 50; i++) {
+            SeatIntervalDTO canceled = registrations.remove(random.nextInt(registrations.size()));
+            seatOccupancyTimeline.remove(1L, canceled.getRegistrationId(), canceled.getStartTime(), canceled.getEndTime());
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(24 * 60 - 1);
+            int end = start + 1 + random.nextInt(24 * 60 - start);
+            LocalDateTime from = day.plusMinutes(start);
+            LocalDateTime to = day.plusMinutes(end);
+            assertEquals(bruteForcePeak(registrations, from, to), seatOccupancyTimeline.peakOccupancy(1L, from, to), from + " - " + to);
+        }
+    }
+
+    private int bruteForcePeak(List<SeatIntervalDTO> registrations, LocalDateTime from, LocalDateTime to) {
+        int peak = 0;
+        for (LocalDateTime minute = from; minute.isBefore(to); minute = minute.plusMinutes(1)) {
+            int active = 0;
+            for (SeatIntervalDTO registration : registrations) {
+                if (!registration.getStartTime().isAfter(minute) && registration.getEndTime().isAfter(minute)) {
+                    active++;
+                }
+            }
+            peak = Math.max(peak, active);
+        }
+        return peak;
+    }
+
+    private SeatIntervalDTO interval(Long id, LocalDateTime startTime, LocalDateTime endTime) {
+        return new SeatIntervalDTO(id, 1L, startTime, endTime);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bookingapp.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomLockManagerTest {
+    private final RoomLockManager roomLockManager = new RoomLockManager(2);
+
+    @Test
+    void test_withRoomLocks_holdsEveryRoomLock() {
+        int result = roomLockManager.withRoomLocks(Arrays.asList(1L, 2L, 3L), () -> {
+            assertTrue(roomLockManager.lockFor(1L).isHeldByCurrentThread());
+            assertTrue(roomLockManager.lockFor(2L).isHeldByCurrentThread());
+            assertTrue(roomLockManager.lockFor(3L).isHeldByCurrentThread());
+            return 7;
+        });
+
+        assertEquals(7, result);
+        assertFalse(roomLockManager.lockFor(1L).isHeldByCurrentThread());
+        assertFalse(roomLockManager.lockFor(2L).isHeldByCurrentThread());
+    }
+
+    @Test
+    void test_withRoomLocks_inOppositeOrders_doesNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> forward = executor.submit(() -> lockRepeatedly(0L, 1L));
+        Future<?> backward = executor.submit(() -> lockRepeatedly(1L, 0L));
+
+        forward.get(30, TimeUnit.SECONDS);
+        backward.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    private void lockRepeatedly(Long first, Long second) {
+        for (int i = 0; i < 10_000; i++) {
+            roomLockManager.withRoomLocks(Arrays.asList(first, second), () -> null);
+        }
+    }
+}
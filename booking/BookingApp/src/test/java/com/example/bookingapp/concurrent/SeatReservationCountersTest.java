@@ -0,0 +1,98 @@
+package com.example.bookingapp.concurrent;
+
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatReservationCountersTest {
+    @Mock
+    SeatOccupancyTimeline seatOccupancyTimeline;
+
+    @InjectMocks
+    SeatReservationCounters seatReservationCounters;
+
+    private final LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @Test
+    void test_tryReserve_isBoundedByCapacityPerMinute() {
+        when(seatOccupancyTimeline.occupancyPerMinute(eq(1L), any())).thenReturn(new int[SeatOccupancyTimeline.MINUTES_PER_DAY]);
+
+        assertTrue(seatReservationCounters.tryReserve(1L, 2, day.withHour(9), day.withHour(10)));
+        assertTrue(seatReservationCounters.tryReserve(1L, 2, day.withHour(9).withMinute(30), day.withHour(11)));
+        assertFalse(seatReservationCounters.tryReserve(1L, 2, day.withHour(8), day.withHour(9).withMinute(45)));
+        assertTrue(seatReservationCounters.tryReserve(1L, 2, day.withHour(10), day.withHour(12)));
+        assertTrue(seatReservationCounters.tryReserve(1L, 2, day.withHour(15), day.withHour(16)));
+
+        assertEquals(0, seatReservationCounters.getReserved(1L, day.withHour(8)));
+        assertEquals(2, seatReservationCounters.getReserved(1L, day.withHour(9).withMinute(30)));
+        assertEquals(2, seatReservationCounters.getReserved(1L, day.withHour(10).withMinute(30)));
+        verify(seatOccupancyTimeline, times(1)).occupancyPerMinute(eq(1L), any());
+    }
+
+    @Test
+    void test_tryReserve_withFullMinute_rollsBackTheMinutesAlreadyTaken() {
+        int[] occupancy = new int[SeatOccupancyTimeline.MINUTES_PER_DAY];
+        occupancy[10 * 60 + 30] = 1;
+        when(seatOccupancyTimeline.occupancyPerMinute(eq(1L), any())).thenReturn(occupancy);
+
+        assertFalse(seatReservationCounters.tryReserve(1L, 1, day.withHour(10), day.withHour(11)));
+
+        assertEquals(0, seatReservationCounters.getReserved(1L, day.withHour(10)));
+        assertEquals(0, seatReservationCounters.getReserved(1L, day.withHour(10).withMinute(29)));
+        assertEquals(1, seatReservationCounters.getReserved(1L, day.withHour(10).withMinute(30)));
+        assertTrue(seatReservationCounters.tryReserve(1L, 1, day.withHour(10), day.withHour(10).withMinute(30)));
+    }
+
+    @Test
+    void test_reserve_countsSeatPastCapacity() {
+        when(seatOccupancyTimeline.occupancyPerMinute(eq(1L), any())).thenReturn(new int[SeatOccupancyTimeline.MINUTES_PER_DAY]);
+        assertTrue(seatReservationCounters.tryReserve(1L, 1, day.withHour(9), day.withHour(10)));
+
+        seatReservationCounters.reserve(1L, day.withHour(9).withMinute(30), day.withHour(10).withMinute(30));
+
+        assertEquals(1, seatReservationCounters.getReserved(1L, day.withHour(9)));
+        assertEquals(2, seatReservationCounters.getReserved(1L, day.withHour(9).withMinute(30)));
+        assertEquals(1, seatReservationCounters.getReserved(1L, day.withHour(10)));
+        assertEquals(0, seatReservationCounters.getReserved(1L, day.withHour(10).withMinute(30)));
+    }
+
+    @Test
+    void test_release_givesSeatsBack() {
+        when(seatOccupancyTimeline.occupancyPerMinute(eq(1L), any())).thenReturn(new int[SeatOccupancyTimeline.MINUTES_PER_DAY]);
+        assertTrue(seatReservationCounters.tryReserve(1L, 1, day.withHour(9), day.withHour(10)));
+        assertFalse(seatReservationCounters.tryReserve(1L, 1, day.withHour(9), day.withHour(10)));
+
+        seatReservationCounters.release(1L, day.withHour(9), day.withHour(10));
+        seatReservationCounters.release(1L, day.withHour(9), day.withHour(10));
+
+        assertEquals(0, seatReservationCounters.getReserved(1L, day.withHour(9)));
+        assertTrue(seatReservationCounters.tryReserve(1L, 1, day.withHour(9), day.withHour(10)));
+    }
+
+    @Test
+    void test_evictPastDays() {
+        when(seatOccupancyTimeline.occupancyPerMinute(eq(1L), any())).thenAnswer(invocation -> new int[SeatOccupancyTimeline.MINUTES_PER_DAY]);
+        seatReservationCounters.tryReserve(1L, 1, day.minusDays(3).withHour(9), day.minusDays(3).withHour(10));
+        seatReservationCounters.tryReserve(1L, 1, day.withHour(9), day.withHour(10));
+
+        seatReservationCounters.evictPastDays();
+
+        assertEquals(1, seatReservationCounters.getDayCount());
+    }
+}
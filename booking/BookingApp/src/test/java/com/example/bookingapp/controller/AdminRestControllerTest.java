@@ -0,0 +1,63 @@
+package com.example.bookingapp.controller;
+
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.ImportType;
+import com.example.bookingapp.response.ImportReport;
+import com.example.bookingapp.service.BulkImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AdminRestController.class)
+class AdminRestControllerTest {
+    @Autowired
+    MockMvc mvc;
+    @MockBean
+    BulkImportService bulkImportService;
+
+    @Test
+    void importRows_success() throws Exception {
+        ImportReport report = new ImportReport();
+        report.setType("meetings");
+        report.setRows(2);
+        report.setImported(2);
+        when(bulkImportService.importRows(eq(ImportType.MEETINGS), eq(ExportFormat.CSV), any(InputStream.class), eq(500)))
+                .thenReturn(report);
+
+        mvc.perform(post("/admin/import?type=meetings&format=csv&batchSize=500")
+                        .contentType("text/csv")
+                        .content("roomId,personId,title,startTime,endTime\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("meetings"))
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    void importRows_withUnknownType_isBadRequest() throws Exception {
+        mvc.perform(post("/admin/import?type=buildings").content("x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("type must be one of 'rooms', 'persons', 'meetings' or 'seat-registrations'."));
+    }
+
+    @Test
+    void importRows_withInvalidBatchSize_isBadRequest() throws Exception {
+        when(bulkImportService.importRows(any(), any(), any(), eq(0)))
+                .thenThrow(new IllegalArgumentException("batchSize must be between 1 and 10000."));
+
+        mvc.perform(post("/admin/import?type=persons&batchSize=0").content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("batchSize must be between 1 and 10000."));
+    }
+}
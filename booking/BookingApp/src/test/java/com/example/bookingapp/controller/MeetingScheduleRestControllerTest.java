@@ -1,11 +1,17 @@
 package com.example.bookingapp.controller;
 
+import com.example.bookingapp.constant.BatchItemStatus;
 import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.exception.MeetingConflictException;
 import com.example.bookingapp.exception.ResourceForbidden;
 import com.example.bookingapp.exception.ResourceNotFoundException;
+import com.example.bookingapp.exception.ValidationException;
 import com.example.bookingapp.request.MeetingScheduleRequest;
 import com.example.bookingapp.request.MeetingScheduleRequestUpdate;
+import com.example.bookingapp.request.MeetingSeriesRequest;
+import com.example.bookingapp.response.MeetingBatchItemResult;
 import com.example.bookingapp.response.MeetingScheduleResponse;
+import com.example.bookingapp.response.MeetingSeriesResponse;
 import com.example.bookingapp.service.MeetingScheduleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -21,6 +27,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -157,4 +166,73 @@ class MeetingScheduleRestControllerTest {
                 .content(new ObjectMapper().writeValueAsString(requestUpdate)))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBookMeetingSeries_Success() throws Exception {
+        MeetingSeriesRequest request = MeetingSeriesRequest.builder()
+                .roomId(1L).personId(1L).title("Weekly sync")
+                .startTime(LocalDateTime.of(2099, 9, 21, 10, 0)).endTime(LocalDateTime.of(2099, 9, 21, 10, 30))
+                .frequency("WEEKLY").count(52).build();
+        UUID seriesId = UUID.randomUUID();
+        Mockito.when(meetingScheduleService.bookMeetingSeries(Mockito.any()))
+                .thenReturn(new MeetingSeriesResponse(seriesId, Collections.emptyList(), Collections.emptyList()));
+
+        mvc.perform(MockMvcRequestBuilders.post("/meeting-schedule/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.seriesId").value(seriesId.toString()));
+    }
+
+    @Test
+    void testBookMeetingSeries_Conflict() throws Exception {
+        Mockito.when(meetingScheduleService.bookMeetingSeries(Mockito.any()))
+                .thenThrow(new MeetingConflictException("The occurrence starting at 2099-09-28T10:00 conflicts with an existing meeting."));
+
+        mvc.perform(MockMvcRequestBuilders.post("/meeting-schedule/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("The occurrence starting at 2099-09-28T10:00 conflicts with an existing meeting."));
+    }
+
+    @Test
+    void testCancelMeetingSeries() throws Exception {
+        UUID seriesId = UUID.randomUUID();
+        Mockito.when(meetingScheduleService.cancelMeetingSeries(seriesId, 1L)).thenReturn(12);
+
+        mvc.perform(MockMvcRequestBuilders.delete("/meeting-schedule/series/" + seriesId).param("personId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("12 meetings of the series have been successfully canceled"));
+    }
+
+    @Test
+    void testBookMeetingSchedules_ReturnsPerItemResults() throws Exception {
+        MeetingScheduleResponse created = new MeetingScheduleResponse();
+        created.setMeetingId(5L);
+        Mockito.when(meetingScheduleService.bookMeetingSchedules(Mockito.anyList())).thenReturn(Arrays.asList(
+                MeetingBatchItemResult.created(0, created),
+                MeetingBatchItemResult.rejected(1, BatchItemStatus.CONFLICT, "Meeting conflicts with item 0 of the batch.")));
+
+        mvc.perform(MockMvcRequestBuilders.post("/meeting-schedule/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"roomId\":1},{\"roomId\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].meeting.meetingId").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("CONFLICT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].index").value(1));
+    }
+
+    @Test
+    void testBookMeetingSchedules_EmptyBatch() throws Exception {
+        Mockito.when(meetingScheduleService.bookMeetingSchedules(Mockito.anyList()))
+                .thenThrow(new ValidationException("A batch must contain between 1 and 1000 meetings."));
+
+        mvc.perform(MockMvcRequestBuilders.post("/meeting-schedule/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("A batch must contain between 1 and 1000 meetings."));
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.bookingapp.controller;
 
+import com.example.bookingapp.constant.ExportFormat;
 import com.example.bookingapp.dto.RoomDTO;
+import com.example.bookingapp.exception.RoomInvalidFormatParamException;
 import com.example.bookingapp.exception.RoomNotFoundException;
 import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.BookingHistoryRequest;
+import com.example.bookingapp.request.SearchRoomRequest;
 import com.example.bookingapp.response.BookingHistoryResponseImpl;
+import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.FreeSlotResponse;
 import com.example.bookingapp.response.IBookingHistoryResponse;
 import com.example.bookingapp.response.RoomDetailResponse;
+import com.example.bookingapp.response.RoomUtilizationResponse;
 import com.example.bookingapp.response.SearchRoomResponse;
+import com.example.bookingapp.service.BookingExportService;
 import com.example.bookingapp.service.RoomService;
+import com.example.bookingapp.service.RoomUsageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,9 +33,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -51,6 +65,12 @@ public class RoomRestControllerTest {
     @MockBean
     RoomService roomService;
 
+    @MockBean
+    BookingExportService bookingExportService;
+
+    @MockBean
+    RoomUsageService roomUsageService;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -234,6 +254,73 @@ public class RoomRestControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+    @Test
+    void test_freeSlots() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2099, 1, 1, 8, 0);
+        LocalDateTime to = LocalDateTime.of(2099, 1, 1, 12, 0);
+        List<FreeSlotResponse> freeSlots = new ArrayList<>();
+        freeSlots.add(new FreeSlotResponse(from, to, 240));
+        when(roomService.findFreeSlots(1L, from, to, 30)).thenReturn(freeSlots);
+
+        mvc.perform(get("/room/{id}/free-slots", 1L)
+                        .param("from", "2099-01-01T08:00")
+                        .param("to", "2099-01-01T12:00")
+                        .param("minDuration", "30"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].durationMinutes").value(240));
+    }
+
+    @Test
+    void test_freeSlots_withInvalidParams() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2099, 1, 1, 8, 0);
+        LocalDateTime to = LocalDateTime.of(2099, 1, 1, 12, 0);
+        when(roomService.findFreeSlots(1L, from, to, 5)).thenThrow(new RoomInvalidFormatParamException("minDuration cannot be less than 15 minutes."));
+
+        mvc.perform(get("/room/{id}/free-slots", 1L)
+                        .param("from", "2099-01-01T08:00")
+                        .param("to", "2099-01-01T12:00")
+                        .param("minDuration", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorMessage").value("minDuration cannot be less than 15 minutes."));
+    }
+
+    @Test
+    void test_listRoom_withPaging() throws Exception {
+        SearchRoomResponse room = new SearchRoomResponse(1L, "Room A", 10, 2, null);
+        List<SearchRoomResponse> rooms = new ArrayList<>();
+        rooms.add(room);
+        DataListRoomResponse<List<SearchRoomResponse>> page = new DataListRoomResponse<>();
+        page.setData(rooms);
+        page.setNextCursor("next");
+        when(roomService.listRoomPage(any(SearchRoomRequest.class))).thenReturn(page);
+
+        mvc.perform(get("/room")
+                        .param("fromDate", "2099-01-01T08:00")
+                        .param("toDate", "2099-01-01T12:00")
+                        .param("limit", "1")
+                        .param("meetings", "none"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].roomName").value("Room A"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].meetingSchedules").doesNotExist());
+
+        ArgumentCaptor<SearchRoomRequest> captor = ArgumentCaptor.forClass(SearchRoomRequest.class);
+        verify(roomService).listRoomPage(captor.capture());
+        assertEquals(1, captor.getValue().getLimit());
+        assertEquals("none", captor.getValue().getMeetings());
+    }
+
+    @Test
+    void test_listRoom_withInvalidCursor() throws Exception {
+        when(roomService.listRoomPage(any(SearchRoomRequest.class))).thenThrow(new RoomInvalidFormatParamException("cursor param is not valid."));
+
+        mvc.perform(get("/room")
+                        .param("fromDate", "2099-01-01T08:00")
+                        .param("toDate", "2099-01-01T12:00")
+                        .param("cursor", "???"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void test_bookingHistory() throws Exception {
         String url = "/room/person/{id}/history";
@@ -253,6 +340,63 @@ public class RoomRestControllerTest {
         assertEquals("application/json", result.getResponse().getContentType());
     }
 
+    @Test
+    void test_bookingHistory_withPaging() throws Exception {
+        DataListRoomResponse<List<IBookingHistoryResponse>> page = new DataListRoomResponse<>();
+        page.setData(new ArrayList<>());
+        page.setNextCursor("next");
+        when(roomService.getBookingHistoryPage(any(BookingHistoryRequest.class))).thenReturn(page);
+
+        mvc.perform(get("/room/person/{id}/history", 1L)
+                        .param("limit", "10")
+                        .param("isSort", "true"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<BookingHistoryRequest> captor = ArgumentCaptor.forClass(BookingHistoryRequest.class);
+        verify(roomService).getBookingHistoryPage(captor.capture());
+        assertEquals(1L, captor.getValue().getPersonId());
+        assertEquals(10, captor.getValue().getLimit());
+        assertEquals(true, captor.getValue().getIsSort());
+    }
+
+    @Test
+    void test_bookingHistory_withPaging_invalidPerson() throws Exception {
+        when(roomService.getBookingHistoryPage(any(BookingHistoryRequest.class))).thenThrow(new IllegalArgumentException("User ID is incorrect."));
+
+        mvc.perform(get("/room/person/{id}/history", 1L)
+                        .param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorMessage").value("User ID is incorrect."));
+    }
+
+    @Test
+    void test_exportPersonHistory_asCsv() throws Exception {
+        StreamingResponseBody body = out -> out.write("meetingId\n1\n".getBytes(StandardCharsets.UTF_8));
+        when(bookingExportService.exportHistoryByPerson(1L, ExportFormat.CSV)).thenReturn(body);
+
+        MvcResult result = mvc.perform(get("/room/person/{id}/history/export", 1L).param("format", "csv"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=\"booking-history-person-1.csv\""))
+                .andExpect(content().string("meetingId\n1\n"));
+    }
+
+    @Test
+    void test_exportRoomHistory_withInvalidFormatOrRoom() throws Exception {
+        when(bookingExportService.exportHistoryByRoom(9L, ExportFormat.NDJSON)).thenThrow(new RoomNotFoundException("Room with ID 9 does not exist."));
+
+        mvc.perform(get("/room/{id}/history/export", 9L))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/room/{id}/history/export", 1L).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void test_bookingHistory_withPersonId_fail() throws Exception{
         String url = "/room/person/{id}/history";
@@ -317,4 +461,43 @@ public class RoomRestControllerTest {
                 .andReturn();
         assertEquals("application/json", result.getResponse().getContentType());
     }
+
+    @Test
+    void test_utilization_readsMonthlyRollups() throws Exception {
+        RoomUtilizationResponse october = RoomUtilizationResponse.builder()
+                .roomId(1L).month("2023-10").days(31).meetingCount(4).meetingMinutes(240).peakSeats(3).build();
+        when(roomUsageService.getUtilization(null, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 12, 31)))
+                .thenReturn(Collections.singletonList(october));
+
+        mvc.perform(get("/room/utilization")
+                        .param("fromDate", "2023-10-01")
+                        .param("toDate", "2023-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].month").value("2023-10"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].meetingMinutes").value(240));
+    }
+
+    @Test
+    void test_utilization_withInvalidRange() throws Exception {
+        when(roomUsageService.getUtilization(null, LocalDate.of(2023, 12, 31), LocalDate.of(2023, 10, 1)))
+                .thenThrow(new RoomInvalidFormatParamException("From date and to date are required and to date must not be before from date."));
+
+        mvc.perform(get("/room/utilization")
+                        .param("fromDate", "2023-12-31")
+                        .param("toDate", "2023-10-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorMessage")
+                        .value("From date and to date are required and to date must not be before from date."));
+    }
+
+    @Test
+    void test_rebuildUtilization() throws Exception {
+        when(roomUsageService.rebuild(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 31))).thenReturn(42);
+
+        mvc.perform(post("/room/utilization/rebuild")
+                        .param("fromDate", "2023-10-01")
+                        .param("toDate", "2023-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Rebuilt 42 daily usage rows."));
+    }
 }
@@ -1,8 +1,10 @@
 package com.example.bookingapp.controller;
 
 import com.example.bookingapp.dto.SeatRegistrationDTO;
+import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamException;
 import com.example.bookingapp.request.SeatRegistrationRequest;
 import com.example.bookingapp.service.RoomService;
+import com.example.bookingapp.service.SeatRegistrationHeatmapService;
 import com.example.bookingapp.service.SeatRegistrationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -13,7 +15,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +40,8 @@ class SeatRegistrationRestControllerTest {
     SeatRegistrationService seatRegistrationService;
     @MockBean
     RoomService roomService;
+    @MockBean
+    SeatRegistrationHeatmapService seatRegistrationHeatmapService;
     @Autowired
     ObjectMapper objectMapper;
 
@@ -91,4 +100,31 @@ class SeatRegistrationRestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("The seat has been successfully canceled"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_getSeatRegistrationHeatmap_streamsJson() throws Exception {
+        StreamingResponseBody body = out -> out.write("{\"roomIds\":[1],\"totals\":[[0,2]]}".getBytes(StandardCharsets.UTF_8));
+        when(seatRegistrationHeatmapService.exportHeatmap(LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 30), 60)).thenReturn(body);
+
+        MvcResult result = mvc.perform(get("/seat-registration/heatmap")
+                        .param("fromDate", "2023-10-01")
+                        .param("toDate", "2023-10-30")
+                        .param("eachMinute", "60"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totals[0][1]").value(2));
+    }
+
+    @Test
+    void test_getSeatRegistrationHeatmap_withInvalidParams() throws Exception {
+        when(seatRegistrationHeatmapService.exportHeatmap(null, null, null))
+                .thenThrow(new SeatRegistrationInvalidFormatParamException("Invalid format param request."));
+
+        mvc.perform(get("/seat-registration/heatmap"))
+                .andExpect(status().isBadRequest());
+    }
+}
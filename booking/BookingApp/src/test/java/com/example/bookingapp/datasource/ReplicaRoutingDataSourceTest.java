@@ -0,0 +1,176 @@
+package com.example.bookingapp.datasource;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private JdbcTemplate replicaTemplate;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        for (DataSource dataSource : new DataSource[]{primary, replica}) {
+            JdbcTemplate template = new JdbcTemplate(dataSource);
+            template.execute("CREATE TABLE node (name VARCHAR(16))");
+            template.execute("CREATE TABLE replication_lag (lag_ms BIGINT)");
+            template.update("INSERT INTO replication_lag VALUES (0)");
+        }
+        new JdbcTemplate(primary).update("INSERT INTO node VALUES ('primary')");
+        replicaTemplate = new JdbcTemplate(replica);
+        replicaTemplate.update("INSERT INTO node VALUES ('replica')");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT lag_ms FROM replication_lag", 2000);
+        lagMonitor.checkLag();
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        replicaTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void test_readOnlyTransaction_routesToReplica() {
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void test_writeTransaction_routesToPrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void test_readOnlyTransaction_whenPinned_routesToPrimary() {
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+
+        ReplicaRoutingDataSource.unpin();
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void test_onPrimary_routesLoaderReadsToPrimaryAndRestoresPin() {
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> node())));
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> node()));
+        assertTrue(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    void test_readOnlyTransaction_whenReplicaLags_fallsBackToPrimary() {
+        replicaTemplate.update("UPDATE replication_lag SET lag_ms = 2001");
+        lagMonitor.checkLag();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(2001, lagMonitor.getLagMillis());
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+
+        replicaTemplate.update("UPDATE replication_lag SET lag_ms = 150");
+        lagMonitor.checkLag();
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void test_readOnlyTransaction_whenLagCheckFails_fallsBackToPrimary() {
+        replicaTemplate.execute("DROP TABLE replication_lag");
+        lagMonitor.checkLag();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void test_filter_writeRequest_pinsToPrimaryAndIssuesReadAfterToken() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/meeting-schedule");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+        long before = System.currentTimeMillis();
+
+        filter.doFilter(request, response, new MockFilterChain(new RecordingServlet(pinned)));
+
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        String token = response.getHeader(ReadYourWritesFilter.READ_AFTER_HEADER);
+        assertNotNull(token);
+        assertTrue(Long.parseLong(token) >= before + 5000);
+    }
+
+    @Test
+    void test_filter_readRequest_pinsOnlyWhileTokenIsFresh() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        MockHttpServletRequest fresh = new MockHttpServletRequest("GET", "/room/1");
+        fresh.addHeader(ReadYourWritesFilter.READ_AFTER_HEADER, String.valueOf(System.currentTimeMillis() + 5000));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(fresh, response, new MockFilterChain(new RecordingServlet(pinned)));
+        assertTrue(pinned.get());
+        assertNull(response.getHeader(ReadYourWritesFilter.READ_AFTER_HEADER));
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/room/1");
+        expired.addHeader(ReadYourWritesFilter.READ_AFTER_HEADER, String.valueOf(System.currentTimeMillis() - 1));
+        filter.doFilter(expired, new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(pinned)));
+        assertFalse(pinned.get());
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/room/1");
+        malformed.addHeader(ReadYourWritesFilter.READ_AFTER_HEADER, "soon");
+        filter.doFilter(malformed, new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(pinned)));
+        assertFalse(pinned.get());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static class RecordingServlet extends HttpServlet {
+        private final AtomicBoolean pinned;
+
+        RecordingServlet(AtomicBoolean pinned) {
+            this.pinned = pinned;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+        }
+    }
+}
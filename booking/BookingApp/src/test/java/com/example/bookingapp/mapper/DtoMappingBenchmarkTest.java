@@ -0,0 +1,107 @@
+package com.example.bookingapp.mapper;
+
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.RoomDTO;
+import com.example.bookingapp.dto.SeatRegistrationDTO;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.model.SeatRegistration;
+import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.SeatRegistrationRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DtoMappingBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(DtoMappingBenchmarkTest.class.getName());
+    private static final int WARM_UP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private final RoomAddRequest roomRequest = RoomAddRequest.builder().roomName("Room A").capacity(12).build();
+    private final Room savedRoom = Room.builder().id(7L).roomName("Room A").capacity(12).statusRoom(2).build();
+    private final SeatRegistrationRequest seatRequest = seatRequest();
+    private final LocalDateTime registrationTime = LocalDateTime.of(2099, 1, 1, 8, 0);
+
+    @Test
+    void test_handMapping_matchesModelMapper() {
+        RoomDTO expectedRoom = new ModelMapper().map(savedRoom, RoomDTO.class);
+        RoomDTO actualRoom = RoomMapper.toDto(savedRoom);
+        assertEquals(expectedRoom.getRoomId(), actualRoom.getRoomId());
+        assertEquals(expectedRoom.getRoomName(), actualRoom.getRoomName());
+        assertEquals(expectedRoom.getCapacity(), actualRoom.getCapacity());
+        assertEquals(expectedRoom.getStatusRoom(), actualRoom.getStatusRoom());
+
+        Room expectedEntity = new ModelMapper().map(roomRequest, Room.class);
+        Room actualEntity = RoomMapper.toEntity(roomRequest);
+        assertEquals(expectedEntity.getRoomName(), actualEntity.getRoomName());
+        assertEquals(expectedEntity.getCapacity(), actualEntity.getCapacity());
+
+        SeatRegistrationDTO expectedSeat = modelMapperSeatRegistration();
+        SeatRegistrationDTO actualSeat = SeatRegistrationMapper.toDto(seatRequest, 100L, StatusSeatRegistration.REGISTERED, registrationTime);
+        assertEquals(expectedSeat.getId(), actualSeat.getId());
+        assertEquals(expectedSeat.getRoomId(), actualSeat.getRoomId());
+        assertEquals(expectedSeat.getPersonId(), actualSeat.getPersonId());
+        assertEquals(expectedSeat.getStartTime(), actualSeat.getStartTime());
+        assertEquals(expectedSeat.getEndTime(), actualSeat.getEndTime());
+        assertEquals(expectedSeat.getSeatRegistrationStatus(), actualSeat.getSeatRegistrationStatus());
+        assertEquals(expectedSeat.getSeatRegistrationTime(), actualSeat.getSeatRegistrationTime());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_roomAndSeatMapping_throughputAndAllocation() {
+        report("room create, ModelMapper", () -> new ModelMapper().map(new ModelMapper().map(roomRequest, Room.class), RoomDTO.class));
+        report("room create, RoomMapper", () -> RoomMapper.toDto(RoomMapper.toEntity(roomRequest)));
+        report("seat registration, ModelMapper", this::modelMapperSeatRegistration);
+        report("seat registration, SeatRegistrationMapper",
+                () -> SeatRegistrationMapper.toDto(seatRequest, 100L, StatusSeatRegistration.REGISTERED, registrationTime));
+    }
+
+    /**
+     * The round trip the seat registration endpoint made before: request DTO to entity and the saved
+     * entity back to a DTO, each through a fresh ModelMapper.
+     */
+    private SeatRegistrationDTO modelMapperSeatRegistration() {
+        SeatRegistrationDTO registrationDTO = new SeatRegistrationDTO();
+        registrationDTO.setRoomId(seatRequest.getRoomId());
+        registrationDTO.setPersonId(seatRequest.getPersonId());
+        registrationDTO.setStartTime(seatRequest.getStartTime());
+        registrationDTO.setEndTime(seatRequest.getEndTime());
+        registrationDTO.setSeatRegistrationStatus(StatusSeatRegistration.REGISTERED);
+        registrationDTO.setSeatRegistrationTime(registrationTime);
+        SeatRegistration seatRegistration = new ModelMapper().map(registrationDTO, SeatRegistration.class);
+        seatRegistration.setId(100L);
+        return new ModelMapper().map(seatRegistration, SeatRegistrationDTO.class);
+    }
+
+    private static SeatRegistrationRequest seatRequest() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(7L);
+        request.setPersonId(3L);
+        request.setStartTime(LocalDateTime.of(2099, 1, 2, 9, 0));
+        request.setEndTime(LocalDateTime.of(2099, 1, 2, 10, 0));
+        return request;
+    }
+
+    private static void report(String name, Supplier<Object> mapping) {
+        for (int i = 0; i < WARM_UP; i++) {
+            mapping.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapping.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        logger.info(String.format("%s: %.0f ops/s, %d bytes/op", name, ITERATIONS / (elapsedNanos / 1_000_000_000.0), allocated / ITERATIONS));
+    }
+}
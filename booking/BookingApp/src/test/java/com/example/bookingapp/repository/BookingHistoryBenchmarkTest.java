@@ -0,0 +1,75 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.request.BookingHistoryRequest;
+import com.example.bookingapp.response.IBookingHistoryResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@DataJpaTest
+class BookingHistoryBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(BookingHistoryBenchmarkTest.class.getName());
+    private static final int PERSONS = 1_000;
+    private static final int MEETINGS = 1_000_000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    RoomRepository roomRepository;
+
+    @Autowired
+    MeetingScheduleRepository meetingScheduleRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmark_bookingHistory_withOneMillionMeetings() {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) " +
+                "SELECT x, CONCAT('Room ', x), 2, 10 FROM SYSTEM_RANGE(1, 100)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) " +
+                "SELECT x, 30, CONCAT('Person ', x) FROM SYSTEM_RANGE(1, " + PERSONS + ")");
+        jdbcTemplate.update("INSERT INTO meeting_schedule " +
+                "(meeting_id, room_id, person_id, title, start_time, end_time, reservation_time, status_meeting) " +
+                "SELECT x, MOD(x, 100) + 1, MOD(x, " + PERSONS + ") + 1, CONCAT('Meeting ', x), " +
+                "DATEADD(MINUTE, x, TIMESTAMP '2020-01-01 00:00:00'), " +
+                "DATEADD(MINUTE, x + 30, TIMESTAMP '2020-01-01 00:00:00'), " +
+                "DATEADD(MINUTE, x - 1440, TIMESTAMP '2020-01-01 00:00:00'), MOD(x, 2) " +
+                "FROM SYSTEM_RANGE(1, " + MEETINGS + ")");
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingHistoryRequest request = BookingHistoryRequest.builder().personId(500L).isSort(true).build();
+        assertEquals(MEETINGS / PERSONS, roomRepository.findBookingHistoryFromData(500L, null, null, null, true).size());
+        assertEquals(20, meetingScheduleRepository.findBookingHistoryPage(request, null, null, now, 20).size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            roomRepository.findBookingHistoryFromData(500L, null, null, null, true);
+        }
+        long fullHistoryNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<IBookingHistoryResponse> page = null;
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            page = meetingScheduleRepository.findBookingHistoryPage(request, cursorTime, cursorId, now, 20);
+            IBookingHistoryResponse last = page.get(page.size() - 1);
+            cursorTime = last.getStartTime().toLocalDateTime();
+            cursorId = last.getMeetingId();
+        }
+        long keysetNanos = System.nanoTime() - start;
+
+        assertEquals(20, page.size());
+        logger.info(String.format("booking history, %d meetings: full list %.2f ms/call, keyset page of 20 %.2f ms/call",
+                MEETINGS, fullHistoryNanos / 1e6 / ROUNDS, keysetNanos / 1e6 / ROUNDS));
+    }
+}
@@ -1,18 +1,33 @@
 package com.example.bookingapp.repository;
 
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.request.BookingHistoryRequest;
 import com.example.bookingapp.response.IBookingHistoryResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 public class MeetingScheduleRepositoryH2Test {
     @Autowired
     MeetingScheduleRepository meetingScheduleRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Test
     @Sql("/dataBookingHistory.sql")
     void test_findMeetingByUser() {
@@ -22,4 +37,143 @@ public class MeetingScheduleRepositoryH2Test {
         assertEquals("Meeting 1", actual.getTitle());
         assertEquals(2, actual.getStatusMeeting());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_countOverlappingMeetings() {
+        LocalDateTime start = LocalDateTime.of(2099, 9, 22, 10, 30);
+        assertEquals(1, meetingScheduleRepository.countOverlappingMeetings(1L, StatusMeetingSchedule.SCHEDULED, start, start.plusMinutes(15), null));
+        assertEquals(0, meetingScheduleRepository.countOverlappingMeetings(1L, StatusMeetingSchedule.SCHEDULED, start, start.plusMinutes(15), 100L));
+        LocalDateTime canceledSlot = LocalDateTime.of(2099, 9, 22, 13, 15);
+        assertEquals(0, meetingScheduleRepository.countOverlappingMeetings(1L, StatusMeetingSchedule.SCHEDULED, canceledSlot, canceledSlot.plusMinutes(15), null));
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_cancelIfAllowed() {
+        LocalDateTime minCancellationTime = LocalDateTime.now().plusMinutes(15);
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(100L, 2L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 0L));
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(200L, 1L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 0L));
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(300L, 1L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 0L));
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(100L, 1L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 1L));
+
+        assertEquals(1, meetingScheduleRepository.cancelIfAllowed(100L, 1L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 0L));
+        assertEquals(StatusMeetingSchedule.CANCELED, jdbcTemplate.queryForObject("SELECT status_meeting FROM meeting_schedule WHERE meeting_id = 100", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM meeting_schedule WHERE meeting_id = 100", Long.class));
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(100L, 1L, StatusMeetingSchedule.CANCELED, StatusMeetingSchedule.SCHEDULED, minCancellationTime, 0L));
+
+        MeetingIntervalDTO interval = meetingScheduleRepository.findIntervalById(100L);
+        assertEquals(1L, interval.getRoomId());
+        assertEquals(LocalDateTime.of(2099, 9, 22, 10, 0), interval.getStartTime());
+        assertEquals(1L, interval.getVersion());
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_cancelIfAllowed_skipsDeletedRoom() {
+        jdbcTemplate.update("UPDATE room SET deleted_at = CURRENT_TIMESTAMP WHERE room_id = 1");
+        assertEquals(0, meetingScheduleRepository.cancelIfAllowed(100L, 1L, StatusMeetingSchedule.CANCELED,
+                StatusMeetingSchedule.SCHEDULED, LocalDateTime.now().plusMinutes(15), 0L));
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_save_withStaleVersion_throwsOptimisticLockingFailure() {
+        MeetingSchedule meeting = meetingScheduleRepository.findById(100L).get();
+        jdbcTemplate.update("UPDATE meeting_schedule SET version = version + 1 WHERE meeting_id = 100");
+        meeting.setTitle("Renamed");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> meetingScheduleRepository.saveAndFlush(meeting));
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_findIntervalsInRoomEndingAfter() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<MeetingIntervalDTO> actual = meetingScheduleRepository.findIntervalsInRoomEndingAfter(1L, StatusMeetingSchedule.SCHEDULED, now);
+        assertEquals(1, actual.size());
+        assertEquals(100L, actual.get(0).getMeetingId());
+        assertEquals(1L, actual.get(0).getRoomId());
+        assertEquals(Collections.singletonList(1L), meetingScheduleRepository.findRoomIdsWithMeetingsEndingAfter(StatusMeetingSchedule.SCHEDULED, now));
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_findIntervalsInRoomBetween() {
+        LocalDateTime from = LocalDateTime.of(2099, 9, 22, 11, 0);
+        List<MeetingIntervalDTO> actual = meetingScheduleRepository.findIntervalsInRoomBetween(1L, StatusMeetingSchedule.SCHEDULED, from, from.plusHours(6));
+        assertEquals(1, actual.size());
+        assertEquals(100L, actual.get(0).getMeetingId());
+        assertEquals(0, meetingScheduleRepository.findIntervalsInRoomBetween(1L, StatusMeetingSchedule.SCHEDULED, from.plusMinutes(1), from.plusHours(6)).size());
+    }
+
+    @Test
+    @Sql("/dataBookingHistory.sql")
+    void test_findBookingHistoryPage() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingHistoryRequest request = BookingHistoryRequest.builder().personId(1L).isSort(true).build();
+
+        List<IBookingHistoryResponse> firstPage = meetingScheduleRepository.findBookingHistoryPage(request, null, null, now, 2);
+        assertEquals(2, firstPage.size());
+        assertEquals(300L, firstPage.get(0).getMeetingId());
+        assertEquals(200L, firstPage.get(1).getMeetingId());
+        assertEquals(0, firstPage.get(1).getStatusMeeting());
+
+        IBookingHistoryResponse last = firstPage.get(1);
+        List<IBookingHistoryResponse> secondPage = meetingScheduleRepository.findBookingHistoryPage(
+                request, last.getStartTime().toLocalDateTime(), last.getMeetingId(), now, 2);
+        assertEquals(1, secondPage.size());
+        assertEquals(100L, secondPage.get(0).getMeetingId());
+        assertEquals(2, secondPage.get(0).getStatusMeeting());
+    }
+
+    @Test
+    @Sql("/dataBookingHistory.sql")
+    void test_findBookingHistoryPage_withFilters() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingHistoryRequest request = BookingHistoryRequest.builder()
+                .personId(1L).title("E").roomName("A").statusMeeting(2).build();
+
+        List<IBookingHistoryResponse> actual = meetingScheduleRepository.findBookingHistoryPage(request, null, null, now, 10);
+        assertEquals(1, actual.size());
+        assertEquals("Meeting 1", actual.get(0).getTitle());
+        assertEquals("Room A", actual.get(0).getRoomName());
+
+        request.setRoomName(null);
+        request.setStatusMeeting(3);
+        actual = meetingScheduleRepository.findBookingHistoryPage(request, null, null, now, 10);
+        assertEquals(1, actual.size());
+        assertEquals(300L, actual.get(0).getMeetingId());
+
+        request.setStatusMeeting(0);
+        assertEquals(200L, meetingScheduleRepository.findBookingHistoryPage(request, null, null, now, 10).get(0).getMeetingId());
+    }
+
+    @Test
+    @Sql("/dataMeetingInterval.sql")
+    void test_cancelSeriesStartingFrom() {
+        UUID seriesId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2099, 10, 1, 9, 0);
+        for (int week = 0; week < 4; week++) {
+            jdbcTemplate.update("INSERT INTO meeting_schedule (meeting_id, room_id, person_id, title, start_time, end_time, " +
+                            "status_meeting, reservation_time, series_id) VALUES (?, 1, 1, 'Weekly', ?, ?, 1, ?, ?)",
+                    1000 + week, start.plusWeeks(week), start.plusWeeks(week).plusMinutes(30), start.minusDays(1), seriesId);
+        }
+
+        assertEquals(Collections.singletonList(1L), meetingScheduleRepository.findRoomIdsOfSeries(seriesId));
+        assertEquals(2, meetingScheduleRepository.findSeriesMeetingsStartingFrom(seriesId, StatusMeetingSchedule.SCHEDULED, start.plusWeeks(2)).size());
+        assertEquals(2, meetingScheduleRepository.findCancelableSeriesIntervals(seriesId, 1L, StatusMeetingSchedule.SCHEDULED, start.plusWeeks(2)).size());
+        assertEquals(0, meetingScheduleRepository.findCancelableSeriesIntervals(seriesId, 2L, StatusMeetingSchedule.SCHEDULED, start.plusWeeks(2)).size());
+        assertEquals(0, meetingScheduleRepository.cancelSeriesStartingFrom(seriesId, 2L, StatusMeetingSchedule.CANCELED,
+                StatusMeetingSchedule.SCHEDULED, start.plusWeeks(2)));
+        assertEquals(2, meetingScheduleRepository.cancelSeriesStartingFrom(seriesId, 1L, StatusMeetingSchedule.CANCELED,
+                StatusMeetingSchedule.SCHEDULED, start.plusWeeks(2)));
+        assertEquals(2, meetingScheduleRepository.findSeriesMeetingsStartingFrom(seriesId, StatusMeetingSchedule.SCHEDULED, start).size());
+        assertEquals(0, meetingScheduleRepository.findRoomIdsOfSeries(UUID.randomUUID()).size());
+
+        jdbcTemplate.update("UPDATE room SET deleted_at = CURRENT_TIMESTAMP WHERE room_id = 1");
+        assertEquals(0, meetingScheduleRepository.findCancelableSeriesIntervals(seriesId, 1L, StatusMeetingSchedule.SCHEDULED, start).size());
+        assertEquals(0, meetingScheduleRepository.cancelSeriesStartingFrom(seriesId, 1L, StatusMeetingSchedule.CANCELED,
+                StatusMeetingSchedule.SCHEDULED, start));
+    }
+}
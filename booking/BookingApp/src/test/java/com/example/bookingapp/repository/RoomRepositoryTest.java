@@ -1,5 +1,4 @@
 package com.example.bookingapp.repository;
-import com.example.bookingapp.constant.InputRequired;
 import com.example.bookingapp.constant.StatusSeatRegistration;
 import com.example.bookingapp.model.Room;
 import com.example.bookingapp.response.IBookingHistoryResponse;
@@ -54,6 +53,14 @@ class RoomRepositoryTest {
         assertFalse(actual);
     }
 
+    @Test
+    void test_existsByRoomNameIgnoreCase() {
+        roomRepository.save(Room.builder().roomName("Room 1").capacity(10).build());
+
+        assertTrue(roomRepository.existsByRoomNameIgnoreCase("ROOM 1"));
+        assertFalse(roomRepository.existsByRoomNameIgnoreCase("Room 2"));
+    }
+
     @Test
     void test_getRoomByIdAvailable_withAvailableRoom() {
         Room room = new Room();
@@ -110,33 +117,6 @@ class RoomRepositoryTest {
         assertEquals(statusMeeting, actual.get(0).getStatusMeeting());
     }
 
-    @Test
-    @Sql("/dataSeatBooking.sql")
-    void test_getAvailableSeat(){
-        Long roomId = 1L;
-        int seatsForOneRegistration = InputRequired.SEATS_FOR_ONE_REGISTRATION;
-        int actual = roomRepository.getAvailableSeat(roomId, seatsForOneRegistration);
-        assertEquals(1, actual);
-    }
-
-    @Test
-    @Sql("/dataSeatBooking.sql")
-    void test_getAvailableSeat_withRoomDeleted(){
-        Long roomId = 3L;
-        int seatsForOneRegistration = InputRequired.SEATS_FOR_ONE_REGISTRATION;
-        int actual = roomRepository.getAvailableSeat(roomId, seatsForOneRegistration);
-        assertEquals(-1, actual);
-    }
-
-    @Test
-    @Sql("/dataSeatBooking.sql")
-    void test_getAvailableSeat_withRoomDeleted_andSeatRegistration_Canceled(){
-        Long roomId = 4L;
-        int seatsForOneRegistration = InputRequired.SEATS_FOR_ONE_REGISTRATION;
-        int actual = roomRepository.getAvailableSeat(roomId, seatsForOneRegistration);
-        assertEquals(0, actual);
-    }
-
     @Test
     @Sql("/dataSeatBooking.sql")
     void test_findRoomIdByOverlapTime(){
@@ -0,0 +1,173 @@
+package com.example.bookingapp.repository;
+
+import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class SeatRegistrationRepositoryTest {
+    @Autowired
+    SeatRegistrationRepository seatRegistrationRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @Sql("/dataSeatBooking.sql")
+    void test_findIntervalsInRoomBetween() {
+        LocalDate today = LocalDate.now();
+        List<SeatIntervalDTO> actual = seatRegistrationRepository.findIntervalsInRoomBetween(1L,
+                StatusSeatRegistration.REGISTERED, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+
+        assertEquals(2, actual.size());
+        assertEquals(200L, actual.get(0).getRegistrationId());
+        assertEquals(100L, actual.get(1).getRegistrationId());
+        assertEquals(1L, actual.get(0).getRoomId());
+    }
+
+    @Test
+    @Sql("/dataSeatBooking.sql")
+    void test_findIntervalsInRoomBetween_skipsCanceledAndOtherDays() {
+        LocalDate today = LocalDate.now();
+        assertTrue(seatRegistrationRepository.findIntervalsInRoomBetween(4L,
+                StatusSeatRegistration.REGISTERED, today.atStartOfDay(), today.plusDays(1).atStartOfDay()).isEmpty());
+        assertTrue(seatRegistrationRepository.findIntervalsInRoomBetween(1L,
+                StatusSeatRegistration.REGISTERED, today.minusYears(10).atStartOfDay(), today.minusYears(10).plusDays(1).atStartOfDay()).isEmpty());
+    }
+
+    @Test
+    void test_registerIfAvailable_insertsRegistration() {
+        insertRoomAndPersons(2, null);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+
+        Optional<Long> id = register(900001L, start, start.plusHours(1));
+
+        assertTrue(id.isPresent());
+        assertEquals(900001L, jdbcTemplate.queryForObject(
+                "SELECT person_id FROM seat_registration WHERE seat_registration_id = ?", Long.class, id.get()));
+        assertEquals(StatusSeatRegistration.REGISTERED, jdbcTemplate.queryForObject(
+                "SELECT seat_registration_status FROM seat_registration WHERE seat_registration_id = ?", Integer.class, id.get()));
+    }
+
+    @Test
+    void test_registerIfAvailable_rejectsOverlapOfSamePerson() {
+        insertRoomAndPersons(5, null);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        assertTrue(register(900001L, start, start.plusHours(1)).isPresent());
+
+        assertFalse(register(900001L, start.plusHours(1), start.plusHours(2)).isPresent());
+        assertTrue(register(900002L, start.plusHours(1), start.plusHours(2)).isPresent());
+    }
+
+    @Test
+    void test_registerIfAvailable_rejectsWhenPeakOccupancyReachesCapacity() {
+        insertRoomAndPersons(2, null);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        assertTrue(register(900001L, start, start.plusHours(1)).isPresent());
+        assertTrue(register(900002L, start.plusHours(1), start.plusHours(2)).isPresent());
+
+        assertTrue(register(900003L, start, start.plusHours(2)).isPresent());
+        assertFalse(register(900004L, start.plusMinutes(30), start.plusMinutes(90)).isPresent());
+        assertFalse(register(900004L, start.plusMinutes(90), start.plusMinutes(120)).isPresent());
+        assertTrue(register(900004L, start.plusHours(2), start.plusHours(3)).isPresent());
+    }
+
+    @Test
+    void test_registerIfAvailable_rejectsDeletedRoomAndUnknownPerson() {
+        insertRoomAndPersons(2, "CURRENT_TIMESTAMP");
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        assertFalse(register(900001L, start, start.plusHours(1)).isPresent());
+
+        jdbcTemplate.update("UPDATE room SET deleted_at = NULL WHERE room_id = 900001");
+        assertFalse(register(999999L, start, start.plusHours(1)).isPresent());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_registration WHERE room_id = 900001", Integer.class));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void test_registerIfAvailable_concurrentRegistrationWaitsForRoomLock() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRoomAndPersons(1, null));
+            Future<Optional<Long>> second = transactionTemplate.execute(status -> {
+                assertTrue(register(900001L, start, start.plusHours(1)).isPresent());
+                Future<Optional<Long>> waiting = executor.submit(() ->
+                        transactionTemplate.execute(inner -> register(900002L, start, start.plusHours(1))));
+                assertThrows(TimeoutException.class, () -> waiting.get(500, TimeUnit.MILLISECONDS));
+                return waiting;
+            });
+
+            assertFalse(second.get(10, TimeUnit.SECONDS).isPresent());
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_registration WHERE room_id = 900001", Integer.class));
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update("DELETE FROM seat_registration WHERE room_id = 900001");
+            jdbcTemplate.update("DELETE FROM room WHERE room_id = 900001");
+            jdbcTemplate.update("DELETE FROM person WHERE person_id BETWEEN 900001 AND 900004");
+        }
+    }
+
+    @Test
+    void test_cancelIfAllowed() {
+        insertRoomAndPersons(5, null);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        Long id = register(900001L, start, start.plusHours(1)).get();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(0, seatRegistrationRepository.cancelIfAllowed(id, 900002L, StatusSeatRegistration.CANCELED, now));
+        assertEquals(0, seatRegistrationRepository.cancelIfAllowed(id, 900001L, StatusSeatRegistration.CANCELED, start.plusMinutes(1)));
+        assertEquals(1, seatRegistrationRepository.cancelIfAllowed(id, 900001L, StatusSeatRegistration.CANCELED, now));
+        assertEquals(0, seatRegistrationRepository.cancelIfAllowed(id, 900001L, StatusSeatRegistration.CANCELED, now));
+        assertEquals(StatusSeatRegistration.CANCELED, jdbcTemplate.queryForObject(
+                "SELECT seat_registration_status FROM seat_registration WHERE seat_registration_id = ?", Integer.class, id));
+        assertEquals(900001L, seatRegistrationRepository.findIntervalById(id).getRoomId());
+    }
+
+    @Test
+    void test_cancelIfAllowed_skipsDeletedRoom() {
+        insertRoomAndPersons(5, null);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        Long id = register(900001L, start, start.plusHours(1)).get();
+        jdbcTemplate.update("UPDATE room SET deleted_at = CURRENT_TIMESTAMP WHERE room_id = 900001");
+
+        assertEquals(0, seatRegistrationRepository.cancelIfAllowed(id, 900001L, StatusSeatRegistration.CANCELED, LocalDateTime.now()));
+    }
+
+    private void insertRoomAndPersons(int capacity, String deletedAt) {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity, deleted_at) VALUES (900001, 'Hot Desk', 2, "
+                + capacity + ", " + deletedAt + ")");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) SELECT 900000 + x, 30, 'Person' FROM SYSTEM_RANGE(1, 4)");
+    }
+
+    private Optional<Long> register(Long personId, LocalDateTime startTime, LocalDateTime endTime) {
+        return seatRegistrationRepository.registerIfAvailable(900001L, personId, startTime, endTime, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.exception.ResourceNotFoundException;
+import com.example.bookingapp.exception.RoomNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({BookingExportServiceImpl.class, ExistenceCheckServiceImpl.class, IdExistenceFilter.class})
+class BookingExportServiceImplTest {
+    private static final Logger logger = Logger.getLogger(BookingExportServiceImplTest.class.getName());
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+    private static final long MAX_EXPORT_OVERHEAD_BYTES = 128L * 1024 * 1024;
+
+    @Autowired
+    BookingExportServiceImpl bookingExportService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Sql("/dataBookingHistory.sql")
+    void test_exportHistoryByPerson_asNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.exportHistoryByPerson(1L, ExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(300L, first.get("meetingId").asLong());
+        assertEquals("Room B", first.get("roomName").asText());
+        assertEquals("2023-08-18T16:00", first.get("startTime").asText());
+        assertEquals(3, first.get("statusMeeting").asInt());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("statusMeeting").asInt());
+        assertEquals(100L, objectMapper.readTree(lines[2]).get("meetingId").asLong());
+    }
+
+    @Test
+    @Sql("/dataBookingHistory.sql")
+    void test_exportHistoryByRoom_asCsv() throws IOException {
+        jdbcTemplate.update("UPDATE meeting_schedule SET title = 'Review, \"final\"' WHERE meeting_id = 300");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.exportHistoryByRoom(2L, ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("meetingId,roomId,roomName,personId,title,startTime,endTime,reservationTime,statusMeeting", lines[0]);
+        assertEquals("300,2,Room B,1,\"Review, \"\"final\"\"\",2023-08-18T16:00,2023-08-18T17:00,2023-05-12T15:30,3", lines[1]);
+        assertTrue(lines[2].startsWith("200,2,Room B,1,Meeting 2,"));
+    }
+
+    @Test
+    @Sql("/dataBookingHistory.sql")
+    void test_export_withUnknownPersonOrRoom() {
+        assertThrows(ResourceNotFoundException.class, () -> bookingExportService.exportHistoryByPerson(99L, ExportFormat.CSV));
+        assertThrows(RoomNotFoundException.class, () -> bookingExportService.exportHistoryByRoom(99L, ExportFormat.CSV));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_exportHistoryByPerson_withOneMillionRows_keepsHeapFlat() throws IOException {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (1, 'Room A', 2, 10)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (1, 30, 'John')");
+        jdbcTemplate.update("INSERT INTO meeting_schedule " +
+                "(meeting_id, room_id, person_id, title, start_time, end_time, reservation_time, status_meeting) " +
+                "SELECT x, 1, 1, CONCAT('Meeting ', x), " +
+                "DATEADD(MINUTE, x, TIMESTAMP '2020-01-01 00:00:00'), " +
+                "DATEADD(MINUTE, x + 30, TIMESTAMP '2020-01-01 00:00:00'), " +
+                "DATEADD(MINUTE, x - 1440, TIMESTAMP '2020-01-01 00:00:00'), MOD(x, 2) " +
+                "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(ROWS / 10);
+        long before = out.sample();
+        bookingExportService.exportHistoryByPerson(1L, ExportFormat.NDJSON).writeTo(out);
+
+        assertEquals(ROWS, out.lines);
+        long growth = Collections.max(out.samples) - Collections.min(out.samples);
+        long overhead = Collections.max(out.samples) - before;
+        logger.info(String.format("exported %d rows (%d MB), heap before %d MB, samples %s MB, growth %d KB", out.lines,
+                out.bytes / (1024 * 1024), before / (1024 * 1024), toMegabytes(out.samples), growth / 1024));
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES, "heap grew by " + growth + " bytes while exporting");
+        assertTrue(overhead < MAX_EXPORT_OVERHEAD_BYTES, "export used " + overhead + " bytes of heap");
+    }
+
+    private List<Long> toMegabytes(List<Long> samples) {
+        List<Long> megabytes = new ArrayList<>();
+        for (Long sample : samples) {
+            megabytes.add(sample / (1024 * 1024));
+        }
+        return megabytes;
+    }
+
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final int sampleEveryLines;
+        private final List<Long> samples = new ArrayList<>();
+        private long lines;
+        private long bytes;
+
+        HeapSamplingOutputStream(int sampleEveryLines) {
+            this.sampleEveryLines = sampleEveryLines;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n' && ++lines % sampleEveryLines == 0) {
+                    samples.add(sample());
+                }
+            }
+        }
+
+        long sample() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
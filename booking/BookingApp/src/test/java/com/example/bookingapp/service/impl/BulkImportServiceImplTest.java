@@ -0,0 +1,175 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.constant.ExportFormat;
+import com.example.bookingapp.constant.ImportType;
+import com.example.bookingapp.response.ImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({BulkImportServiceImpl.class, RoomCatalog.class, ExistenceCheckServiceImpl.class, IdExistenceFilter.class, RoomUsageServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceImplTest {
+    private static final Logger logger = Logger.getLogger(BulkImportServiceImplTest.class.getName());
+    private static final int BENCHMARK_MEETINGS = 100_000;
+
+    @Autowired
+    BulkImportServiceImpl bulkImportService;
+
+    @Autowired
+    RoomCatalog roomCatalog;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (900001, 'Room A', 2, 10)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (900001, 30, 'John')");
+        roomCatalog.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM room_daily_usage");
+        jdbcTemplate.update("DELETE FROM seat_registration");
+        jdbcTemplate.update("DELETE FROM meeting_schedule");
+        jdbcTemplate.update("DELETE FROM person");
+        jdbcTemplate.update("DELETE FROM room");
+        roomCatalog.refresh();
+    }
+
+    @Test
+    void test_importRooms_csv_rejectsInvalidAndDuplicateNames() {
+        ImportReport report = bulkImportService.importRows(ImportType.ROOMS, ExportFormat.CSV, input(
+                "roomName,capacity,ignored\n" +
+                "Room B,20,x\n" +
+                "\"Room C\",5,\"a, \"\"quoted\"\" value\"\n" +
+                "room a,5,\n" +
+                "Room-D,5,\n" +
+                "room b,8,\n" +
+                "Room E,0,\n"), 2);
+
+        assertEquals(6, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getRejected());
+        assertEquals("Row 3: Room name 'room a' already exists.", report.getErrors().get(0));
+        assertTrue(report.getErrors().get(1).startsWith("Row 4: roomName"));
+        assertEquals("Row 6: capacity must be greater than 0.", report.getErrors().get(3));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM room", Integer.class));
+        assertTrue(roomCatalog.containsName("Room C"));
+    }
+
+    @Test
+    void test_importPersons_ndjson() {
+        ImportReport report = bulkImportService.importRows(ImportType.PERSONS, ExportFormat.NDJSON, input(
+                "{\"fullName\":\"Alice\",\"age\":31}\n" +
+                "{\"fullName\":\"Bob\"}\n" +
+                "{\"fullName\":\"\",\"age\":20}\n" +
+                "{\"fullName\":\"Carol\",\"age\":-1}\n"), null);
+
+        assertEquals(1000, report.getBatchSize());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Integer.class));
+    }
+
+    @Test
+    void test_importMeetings_checksReferencesAndTimes() {
+        LocalDateTime start = LocalDateTime.of(2023, 10, 2, 9, 0);
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        ImportReport report = bulkImportService.importRows(ImportType.MEETINGS, ExportFormat.CSV, input(
+                "roomId,personId,title,startTime,endTime,statusMeeting\n" +
+                "900001,900001,Standup," + start + "," + start.plusHours(1) + ",1\n" +
+                "900001,900001,Retro," + start + "," + start.plusHours(1) + ",0\n" +
+                "900002,900001,Planning," + start + "," + start.plusHours(1) + ",1\n" +
+                "900001,900002,Planning," + start + "," + start.plusHours(1) + ",1\n" +
+                "900001,900001,Backwards," + start + "," + start.minusHours(1) + ",1\n" +
+                "900001,900001,Upcoming," + future + "," + future.plusHours(1) + ",1\n" +
+                "900001,900001,Broken,yesterday," + start + ",1\n"), 3);
+
+        assertEquals(7, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getRejected());
+        assertEquals("Row 3: Room 900002 does not exist.", report.getErrors().get(0));
+        assertEquals("Row 4: Person 900002 does not exist.", report.getErrors().get(1));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meeting_schedule WHERE status_meeting = 0", Integer.class));
+        assertEquals(start, jdbcTemplate.queryForObject("SELECT reservation_time FROM meeting_schedule WHERE title = 'Standup'", LocalDateTime.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT meeting_count FROM room_daily_usage WHERE room_id = 900001 AND usage_date = ?",
+                Integer.class, start.toLocalDate()));
+    }
+
+    @Test
+    void test_importSeatRegistrations_ndjson() {
+        LocalDateTime start = LocalDateTime.of(2023, 10, 2, 9, 0);
+        ImportReport report = bulkImportService.importRows(ImportType.SEAT_REGISTRATIONS, ExportFormat.NDJSON, input(
+                "{\"roomId\":900001,\"personId\":900001,\"startTime\":\"" + start + "\",\"endTime\":\"" + start.plusHours(2) + "\"}\n" +
+                "{\"roomId\":900001,\"personId\":900001,\"startTime\":\"" + start + "\"}\n"), 10);
+
+        assertEquals(1, report.getImported());
+        assertEquals("Row 2: endTime is required.", report.getErrors().get(0));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_registration WHERE seat_registration_status = 1", Integer.class));
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT seat_minutes FROM room_daily_usage WHERE room_id = 900001 AND usage_date = ?",
+                Long.class, start.toLocalDate()));
+    }
+
+    @Test
+    void test_importRows_withMalformedInput_stopsAndKeepsEarlierRows() {
+        ImportReport report = bulkImportService.importRows(ImportType.PERSONS, ExportFormat.NDJSON, input(
+                "{\"fullName\":\"Alice\"}\n[1]\n{\"fullName\":\"Bob\"}\n"), 10);
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertTrue(report.getErrors().get(0).startsWith("Row 2: Malformed input"));
+    }
+
+    @Test
+    void test_importRows_withInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importRows(ImportType.PERSONS, ExportFormat.CSV, input("fullName\n"), 0));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_importMeetings_oneHundredThousandRows() {
+        StringBuilder csv = new StringBuilder("roomId,personId,title,startTime,endTime\n");
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+        for (int i = 0; i < BENCHMARK_MEETINGS; i++) {
+            LocalDateTime meetingStart = start.plusMinutes(30L * i);
+            csv.append("900001,900001,Meeting ").append(i).append(',')
+                    .append(meetingStart).append(',').append(meetingStart.plusMinutes(30)).append('\n');
+        }
+
+        ImportReport report = bulkImportService.importRows(ImportType.MEETINGS, ExportFormat.CSV, input(csv.toString()), null);
+
+        assertEquals(BENCHMARK_MEETINGS, report.getImported());
+        assertEquals(BENCHMARK_MEETINGS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meeting_schedule", Integer.class));
+        assertEquals(BENCHMARK_MEETINGS, jdbcTemplate.queryForObject("SELECT SUM(meeting_count) FROM room_daily_usage", Integer.class));
+        logger.info(String.format("bulk import, %d meetings in batches of %d: %d ms, %.0f rows/sec",
+                BENCHMARK_MEETINGS, report.getBatchSize(), report.getElapsedMillis(), report.getRowsPerSecond()));
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
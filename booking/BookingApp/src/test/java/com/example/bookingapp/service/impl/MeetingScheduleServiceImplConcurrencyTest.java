@@ -0,0 +1,182 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.MeetingScheduleCache;
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.concurrent.RoomLockManager;
+import com.example.bookingapp.exception.MeetingConflictException;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Person;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.request.MeetingScheduleRequest;
+import com.example.bookingapp.service.ExistenceCheckService;
+import com.example.bookingapp.service.RoomUsageService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeetingScheduleServiceImplConcurrencyTest {
+    private static final Logger logger = Logger.getLogger(MeetingScheduleServiceImplConcurrencyTest.class.getName());
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 500;
+    private static final int SMALL_BOOKINGS_PER_THREAD = 25;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void test_bookMeetingSchedule_withConcurrentBookings_hasNoDoubleBooking() throws Exception {
+        runStress(2, SMALL_BOOKINGS_PER_THREAD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_bookMeetingSchedule_withOneRoom_hasNoDoubleBooking() throws Exception {
+        runStress(1, BOOKINGS_PER_THREAD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_bookMeetingSchedule_withEightRooms_hasNoDoubleBooking() throws Exception {
+        runStress(8, BOOKINGS_PER_THREAD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_bookMeetingSchedule_withSixtyFourRooms_hasNoDoubleBooking() throws Exception {
+        runStress(64, BOOKINGS_PER_THREAD);
+    }
+
+    private void runStress(int roomCount, int bookingsPerThread) throws Exception {
+        ConcurrentLinkedQueue<MeetingSchedule> saved = new ConcurrentLinkedQueue<>();
+        MeetingScheduleServiceImpl service = createService(roomCount, saved);
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < bookingsPerThread; i++) {
+                    try {
+                        service.bookMeetingSchedule(randomRequest(random, roomCount));
+                    } catch (MeetingConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int attempts = THREADS * bookingsPerThread;
+        logger.info(String.format("rooms=%d threads=%d attempts=%d booked=%d conflicts=%d bookings/sec=%.0f",
+                roomCount, THREADS, attempts, saved.size(), conflicts.get(),
+                attempts / (elapsedNanos / 1_000_000_000.0)));
+
+        assertEquals(attempts, saved.size() + conflicts.get());
+        assertFalse(saved.isEmpty());
+        assertNoOverlap(saved);
+    }
+
+    private MeetingScheduleServiceImpl createService(int roomCount, ConcurrentLinkedQueue<MeetingSchedule> saved) {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        PersonRepository personRepository = mock(PersonRepository.class);
+        MeetingScheduleRepository meetingRepository = mock(MeetingScheduleRepository.class);
+
+        Map<Long, Room> rooms = new HashMap<>();
+        for (long roomId = 1; roomId <= roomCount; roomId++) {
+            rooms.put(roomId, Room.builder().id(roomId).roomName("Room " + roomId).capacity(10).build());
+        }
+        Person person = Person.builder().id(1L).fullName("Stress Tester").build();
+        when(roomRepository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rooms.get(invocation.<Long>getArgument(0))));
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(person));
+        AtomicLong ids = new AtomicLong();
+        when(meetingRepository.save(any(MeetingSchedule.class))).thenAnswer(invocation -> {
+            MeetingSchedule meeting = invocation.getArgument(0);
+            meeting.setId(ids.incrementAndGet());
+            saved.add(meeting);
+            return meeting;
+        });
+
+        MeetingScheduleCache cache = new MeetingScheduleCache();
+        ReflectionTestUtils.setField(cache, "meetingRepository", meetingRepository);
+        for (Long roomId : rooms.keySet()) {
+            cache.loadRoom(roomId, Collections.emptyList());
+        }
+
+        MeetingScheduleServiceImpl service = new MeetingScheduleServiceImpl();
+        ReflectionTestUtils.setField(service, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(service, "personRepository", personRepository);
+        ReflectionTestUtils.setField(service, "meetingRepository", meetingRepository);
+        InMemoryMeetingConflictEngine conflictEngine = new InMemoryMeetingConflictEngine();
+        ReflectionTestUtils.setField(conflictEngine, "meetingScheduleCache", cache);
+        ReflectionTestUtils.setField(service, "meetingConflictEngine", conflictEngine);
+        ReflectionTestUtils.setField(service, "roomLockManager", new RoomLockManager());
+        ReflectionTestUtils.setField(service, "transactionManager", new SynchronizingTransactionManager());
+        ReflectionTestUtils.setField(service, "roomAvailabilityBitmap", new RoomAvailabilityBitmap());
+        ReflectionTestUtils.setField(service, "roomUsageService", mock(RoomUsageService.class));
+        ReflectionTestUtils.setField(service, "existenceCheckService", mock(ExistenceCheckService.class));
+        return service;
+    }
+
+    private MeetingScheduleRequest randomRequest(Random random, int roomCount) {
+        LocalDateTime startTime = base.plusDays(random.nextInt(3)).plusMinutes(15L * random.nextInt(40));
+        MeetingScheduleRequest request = new MeetingScheduleRequest();
+        request.setRoomId(1L + random.nextInt(roomCount));
+        request.setPersonId(1L);
+        request.setTitle("Stress");
+        request.setStartTime(startTime);
+        request.setEndTime(startTime.plusMinutes(15L + 15L * random.nextInt(4)));
+        return request;
+    }
+
+    private void assertNoOverlap(ConcurrentLinkedQueue<MeetingSchedule> saved) {
+        Map<Long, List<MeetingSchedule>> byRoom = new HashMap<>();
+        for (MeetingSchedule meeting : saved) {
+            byRoom.computeIfAbsent(meeting.getRoom().getId(), id -> new ArrayList<>()).add(meeting);
+        }
+        for (List<MeetingSchedule> meetings : byRoom.values()) {
+            meetings.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+            for (int i = 1; i < meetings.size(); i++) {
+                assertTrue(meetings.get(i).getStartTime().isAfter(meetings.get(i - 1).getEndTime()),
+                        "Double booking in room " + meetings.get(i).getRoom().getId());
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.bookingapp.service.impl;
 
+import com.example.bookingapp.cache.MeetingScheduleCache;
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.concurrent.RoomLockManager;
+import com.example.bookingapp.constant.BatchItemStatus;
 import com.example.bookingapp.constant.StatusMeetingSchedule;
 import com.example.bookingapp.constant.StatusRoom;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
+import com.example.bookingapp.exception.MeetingConflictException;
 import com.example.bookingapp.exception.ResourceForbidden;
 import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.exception.ValidationException;
@@ -13,32 +19,46 @@ import com.example.bookingapp.repository.PersonRepository;
 import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.request.MeetingScheduleRequest;
 import com.example.bookingapp.request.MeetingScheduleRequestUpdate;
+import com.example.bookingapp.request.MeetingSeriesRequest;
+import com.example.bookingapp.response.MeetingBatchItemResult;
 import com.example.bookingapp.response.MeetingResponseUpdate;
 import com.example.bookingapp.response.MeetingScheduleResponse;
+import com.example.bookingapp.response.MeetingSeriesResponse;
+import com.example.bookingapp.service.ExistenceCheckService;
+import com.example.bookingapp.service.RoomUsageService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -53,13 +73,34 @@ class MeetingScheduleServiceImplTest {
     private MeetingScheduleRepository meetingScheduleRepository;
     @MockBean
     private PersonRepository personRepository;
+    @MockBean
+    private RoomUsageService roomUsageService;
+    @MockBean
+    private ExistenceCheckService existenceCheckService;
+
+    @Spy
+    private MeetingScheduleCache meetingScheduleCache = new MeetingScheduleCache();
+
+    @Spy
+    private InMemoryMeetingConflictEngine meetingConflictEngine = new InMemoryMeetingConflictEngine();
+
+    @Spy
+    private RoomLockManager roomLockManager = new RoomLockManager();
+
+    @Spy
+    private RoomAvailabilityBitmap roomAvailabilityBitmap = new RoomAvailabilityBitmap();
 
     @InjectMocks
     private MeetingScheduleServiceImpl meetingScheduleService;
 
+    private final SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(meetingScheduleCache, "meetingRepository", meetingScheduleRepository);
+        ReflectionTestUtils.setField(meetingConflictEngine, "meetingScheduleCache", meetingScheduleCache);
+        ReflectionTestUtils.setField(meetingScheduleService, "transactionManager", transactionManager);
     }
 
     @Test
@@ -81,6 +122,7 @@ class MeetingScheduleServiceImplTest {
         verify(personRepository, times(1)).findById(request.getPersonId());
 
         verify(meetingScheduleRepository, times(1)).save(any());
+        verify(roomUsageService, times(1)).recordMeeting(eq(1L), any(), any(), eq(1));
     }
 
     private Room createValidRoom() {
@@ -201,118 +243,133 @@ class MeetingScheduleServiceImplTest {
         verify(meetingScheduleRepository, times(1)).save(any());
     }
 
-    private Map<Long, List<MeetingSchedule>> getRoomMeetingsCache(MeetingScheduleServiceImpl service) throws NoSuchFieldException, IllegalAccessException {
-        Field field = MeetingScheduleServiceImpl.class.getDeclaredField("roomMeetingsCache");
-        field.setAccessible(true);
-        Object fieldValue = field.get(service);
+    @Test
+    void testBookMeetingSchedule_FailedCommit_LeavesNoReservation() {
+        MeetingScheduleRequest request = createValidMeetingRequest();
+        meetingScheduleCache.loadRoom(1L, Collections.emptyList());
+        when(roomRepository.findById(request.getRoomId())).thenReturn(Optional.of(createValidRoom()));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(createValidPerson()));
+        when(meetingScheduleRepository.save(any())).thenAnswer(invocation -> {
+            MeetingSchedule meeting = invocation.getArgument(0);
+            meeting.setId(1L);
+            return meeting;
+        });
 
-        if (fieldValue instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<Long, List<MeetingSchedule>> roomMeetingsCache = (Map<Long, List<MeetingSchedule>>) fieldValue;
-            return roomMeetingsCache;
-        } else {
-            throw new IllegalStateException("roomMeetingsCache field is not of type Map");
-        }
+        transactionManager.setFailCommit(true);
+        assertThrows(RuntimeException.class, () -> meetingScheduleService.bookMeetingSchedule(request));
+        assertFalse(meetingScheduleCache.hasConflict(1L, request.getStartTime(), request.getEndTime(), null));
+        verify(roomAvailabilityBitmap, never()).mark(any(), any(), any());
+
+        transactionManager.setFailCommit(false);
+        meetingScheduleService.bookMeetingSchedule(request);
+        assertTrue(meetingScheduleCache.hasConflict(1L, request.getStartTime(), request.getEndTime(), null));
     }
 
-    private MeetingSchedule createMeetingSchedule(LocalDateTime startTime, LocalDateTime endTime) {
-        MeetingSchedule meetingSchedule = new MeetingSchedule();
-        meetingSchedule.setStartTime(startTime);
-        meetingSchedule.setEndTime(endTime);
-        return meetingSchedule;
+    private List<MeetingIntervalDTO> createMeetingIntervals(Room room, LocalDateTime startTime, LocalDateTime endTime) {
+        return Collections.singletonList(new MeetingIntervalDTO(99L, room.getId(), startTime, endTime));
     }
 
     @Test
     public void testCheckMeetingConflicts_ExactOverlap() throws Exception {
-        MeetingScheduleServiceImpl service = new MeetingScheduleServiceImpl();
         Room room = createValidRoom();
         MeetingScheduleRequest request = createValidMeetingRequest();
         LocalDateTime existingStartTime = request.getStartTime();
         LocalDateTime existingEndTime = request.getEndTime();
-        MeetingSchedule existingMeeting = createMeetingSchedule(existingStartTime, existingEndTime);
-
-        Map<Long, List<MeetingSchedule>> roomMeetingsCache = getRoomMeetingsCache(service);
-        List<MeetingSchedule> meetingsInRoom = new ArrayList<>();
-        meetingsInRoom.add(existingMeeting);
-        roomMeetingsCache.put(room.getId(), meetingsInRoom);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
 
         Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
                 "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
         );
         checkMeetingConflictsMethod.setAccessible(true);
-        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(service, room, request);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
         assertTrue(isConflict);
     }
 
     @Test
     public void testCheckMeetingConflicts_PartialOverlap() throws Exception {
-        MeetingScheduleServiceImpl service = new MeetingScheduleServiceImpl();
         Room room = createValidRoom();
         MeetingScheduleRequest request = createValidMeetingRequest();
 
         LocalDateTime existingStartTime = request.getStartTime().minusMinutes(15);
         LocalDateTime existingEndTime = request.getEndTime().plusMinutes(15);
-        MeetingSchedule existingMeeting = createMeetingSchedule(existingStartTime, existingEndTime);
-
-        Map<Long, List<MeetingSchedule>> roomMeetingsCache = getRoomMeetingsCache(service);
-        List<MeetingSchedule> meetingsInRoom = new ArrayList<>();
-        meetingsInRoom.add(existingMeeting);
-        roomMeetingsCache.put(room.getId(), meetingsInRoom);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
 
         Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
                 "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
         );
         checkMeetingConflictsMethod.setAccessible(true);
-        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(service, room, request);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
         assertTrue(isConflict);
     }
 
     @Test
     public void testCheckMeetingConflicts_Adjacent() throws Exception {
-        MeetingScheduleServiceImpl service = new MeetingScheduleServiceImpl();
         Room room = createValidRoom();
         MeetingScheduleRequest request = createValidMeetingRequest();
 
         LocalDateTime existingStartTime = request.getEndTime();
         LocalDateTime existingEndTime = request.getEndTime().plusMinutes(30);
-        MeetingSchedule existingMeeting = createMeetingSchedule(existingStartTime, existingEndTime);
-
-        Map<Long, List<MeetingSchedule>> roomMeetingsCache = getRoomMeetingsCache(service);
-        List<MeetingSchedule> meetingsInRoom = new ArrayList<>();
-        meetingsInRoom.add(existingMeeting);
-        roomMeetingsCache.put(room.getId(), meetingsInRoom);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
 
         Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
                 "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
         );
         checkMeetingConflictsMethod.setAccessible(true);
-        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(service, room, request);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
         assertTrue(isConflict);
     }
 
     @Test
     public void testCheckMeetingConflicts_FullyEnclosed() throws Exception {
-        MeetingScheduleServiceImpl service = new MeetingScheduleServiceImpl();
         Room room = createValidRoom();
         MeetingScheduleRequest request = createValidMeetingRequest();
 
         LocalDateTime existingStartTime = request.getStartTime().minusMinutes(30);
         LocalDateTime existingEndTime = request.getEndTime().plusMinutes(30);
-        MeetingSchedule existingMeeting = createMeetingSchedule(existingStartTime, existingEndTime);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
+
+        Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
+                "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
+        );
+        checkMeetingConflictsMethod.setAccessible(true);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
+        assertTrue(isConflict);
+    }
+
+    @Test
+    public void testCheckMeetingConflicts_NewMeetingEnclosesExisting() throws Exception {
+        Room room = createValidRoom();
+        MeetingScheduleRequest request = createValidMeetingRequest();
 
-        Map<Long, List<MeetingSchedule>> roomMeetingsCache = getRoomMeetingsCache(service);
-        List<MeetingSchedule> meetingsInRoom = new ArrayList<>();
-        meetingsInRoom.add(existingMeeting);
-        roomMeetingsCache.put(room.getId(), meetingsInRoom);
+        LocalDateTime existingStartTime = request.getStartTime().plusMinutes(5);
+        LocalDateTime existingEndTime = request.getEndTime().minusMinutes(5);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
 
         Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
                 "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
         );
         checkMeetingConflictsMethod.setAccessible(true);
-        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(service, room, request);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
         assertTrue(isConflict);
     }
 
+    @Test
+    public void testCheckMeetingConflicts_NoOverlap() throws Exception {
+        Room room = createValidRoom();
+        MeetingScheduleRequest request = createValidMeetingRequest();
+
+        LocalDateTime existingStartTime = request.getEndTime().plusMinutes(1);
+        LocalDateTime existingEndTime = request.getEndTime().plusMinutes(31);
+        meetingScheduleCache.loadRoom(room.getId(), createMeetingIntervals(room, existingStartTime, existingEndTime));
+
+        Method checkMeetingConflictsMethod = MeetingScheduleServiceImpl.class.getDeclaredMethod(
+                "checkMeetingConflicts", Room.class, MeetingScheduleRequest.class
+        );
+        checkMeetingConflictsMethod.setAccessible(true);
+        boolean isConflict = (boolean) checkMeetingConflictsMethod.invoke(meetingScheduleService, room, request);
+        assertFalse(isConflict);
+    }
+
 
     @Test
     void cancelMeeting_DeletedRoom_ThrowsIllegalArgumentException() {
@@ -324,6 +381,7 @@ class MeetingScheduleServiceImplTest {
         meeting.setStartTime(LocalDateTime.now().plusMinutes(30));
         meeting.setRoom(new Room());
         meeting.getRoom().setDeletedAt(new Date());
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(new MeetingIntervalDTO(id, 5L, meeting.getStartTime(), meeting.getStartTime().plusHours(1), 0L));
         when(meetingScheduleRepository.findById(id)).thenReturn(Optional.of(meeting));
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
             meetingScheduleService.cancelMeeting(id, personId);
@@ -338,6 +396,7 @@ class MeetingScheduleServiceImplTest {
         meeting.setId(id);
         meeting.setPerson(Person.builder().id(personId).build());
         meeting.setStartTime(LocalDateTime.now().minusMinutes(10));
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(new MeetingIntervalDTO(id, 5L, meeting.getStartTime(), meeting.getStartTime().plusHours(1), 0L));
         when(meetingScheduleRepository.findById(id)).thenReturn(Optional.of(meeting));
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
             meetingScheduleService.cancelMeeting(id, personId);
@@ -350,18 +409,53 @@ class MeetingScheduleServiceImplTest {
         Long id = 1L;
         Long personId = 2L;
         LocalDateTime startTime = LocalDateTime.now().plusMinutes(30);
+        when(meetingScheduleRepository.cancelIfAllowed(eq(id), eq(personId), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any(), eq(0L))).thenReturn(1);
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(new MeetingIntervalDTO(id, 5L, startTime, startTime.plusHours(1), 0L));
+
+        meetingScheduleService.cancelMeeting(id, personId);
+        verify(meetingScheduleRepository, never()).findById(id);
+        verify(meetingScheduleRepository, never()).save(any());
+        verify(meetingConflictEngine, times(1)).release(id);
+        verify(meetingScheduleRepository, never()).getReferenceById(any());
+        verify(roomUsageService, times(1)).recordMeeting(eq(5L), eq(startTime), any(), eq(-1));
+    }
+
+    @Test
+    void cancelMeeting_AlreadyCanceled_ThrowsIllegalArgumentException() {
+        Long id = 1L;
+        Long personId = 2L;
         MeetingSchedule meeting = new MeetingSchedule();
         meeting.setId(id);
         meeting.setPerson(Person.builder().id(personId).build());
-        meeting.setStartTime(startTime);
+        meeting.setStartTime(LocalDateTime.now().plusMinutes(30));
         meeting.setRoom(new Room());
-        meeting.setStatusMeeting(StatusMeetingSchedule.SCHEDULED);
+        meeting.setStatusMeeting(StatusMeetingSchedule.CANCELED);
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(new MeetingIntervalDTO(id, 5L, meeting.getStartTime(), meeting.getStartTime().plusHours(1), 0L));
+        when(meetingScheduleRepository.findById(id)).thenReturn(Optional.of(meeting));
+
+        String message = assertThrows(IllegalArgumentException.class,
+                () -> meetingScheduleService.cancelMeeting(id, personId)).getMessage();
+        assertEquals("There have been no meetings yet", message);
+        verify(roomUsageService, never()).recordMeeting(any(), any(), any(), anyInt());
+    }
 
+    @Test
+    void cancelMeeting_ChangedConcurrently_ThrowsIllegalArgumentException() {
+        Long id = 1L;
+        Long personId = 2L;
+        MeetingSchedule meeting = createValidMeetingSchedule();
+        meeting.setStartTime(LocalDateTime.now().plusHours(2));
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(new MeetingIntervalDTO(id, 1L, meeting.getStartTime(), meeting.getEndTime(), 3L));
         when(meetingScheduleRepository.findById(id)).thenReturn(Optional.of(meeting));
-        meetingScheduleService.cancelMeeting(id, personId);
-        verify(meetingScheduleRepository, times(1)).save(meeting);
-        assertEquals(StatusMeetingSchedule.CANCELED, meeting.getStatusMeeting());
-        assertEquals(startTime, meeting.getStartTime());
+
+        String message = assertThrows(IllegalArgumentException.class,
+                () -> meetingScheduleService.cancelMeeting(id, personId)).getMessage();
+        assertEquals("The meeting schedule was changed by another request, please try again.", message);
+        verify(meetingScheduleRepository, times(1)).cancelIfAllowed(eq(id), eq(personId), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any(), eq(3L));
+        verify(meetingConflictEngine, never()).release(any());
+        verify(roomUsageService, never()).recordMeeting(any(), any(), any(), anyInt());
     }
 
     @Test
@@ -372,6 +466,27 @@ class MeetingScheduleServiceImplTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
             meetingScheduleService.cancelMeeting(id, personId);
         });
+        verify(meetingScheduleRepository, never()).cancelIfAllowed(any(), any(), anyInt(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void cancelMeeting_FailedCommit_KeepsMeetingReserved() {
+        Long id = 1L;
+        Long personId = 2L;
+        LocalDateTime startTime = LocalDateTime.now().plusHours(2);
+        MeetingIntervalDTO interval = new MeetingIntervalDTO(id, 5L, startTime, startTime.plusHours(1), 0L);
+        meetingScheduleCache.loadRoom(5L, Collections.singletonList(interval));
+        when(meetingScheduleRepository.cancelIfAllowed(eq(id), eq(personId), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any(), eq(0L))).thenReturn(1);
+        when(meetingScheduleRepository.findIntervalById(id)).thenReturn(interval);
+
+        transactionManager.setFailCommit(true);
+        assertThrows(RuntimeException.class, () -> meetingScheduleService.cancelMeeting(id, personId));
+        assertTrue(meetingScheduleCache.hasConflict(5L, startTime, startTime.plusMinutes(30), null));
+
+        transactionManager.setFailCommit(false);
+        meetingScheduleService.cancelMeeting(id, personId);
+        assertFalse(meetingScheduleCache.hasConflict(5L, startTime, startTime.plusMinutes(30), null));
     }
 
     @Test
@@ -383,7 +498,7 @@ class MeetingScheduleServiceImplTest {
         when(meetingScheduleRepository.findById(meetingId)).thenReturn(Optional.empty());
         assertThrows(IllegalArgumentException.class,
                 () -> meetingScheduleService.updateMeeting(meetingId, personId, req));
-        verify(meetingScheduleRepository, times(1)).findById(meetingId);
+        verify(meetingScheduleRepository, times(1)).findIntervalById(meetingId);
         verify(meetingScheduleRepository, never()).save(any(MeetingSchedule.class));
     }
 
@@ -412,12 +527,248 @@ class MeetingScheduleServiceImplTest {
         request.setStartTime(LocalDateTime.now().plusHours(3));
         request.setEndTime(LocalDateTime.now().plusHours(4));
 
+        when(meetingScheduleRepository.findIntervalById(1L)).thenReturn(
+                new MeetingIntervalDTO(1L, 1L, existingMeeting.getStartTime(), existingMeeting.getEndTime()));
         when(meetingScheduleRepository.findById(1L)).thenReturn(Optional.of(existingMeeting));
         when(meetingScheduleRepository.save(any(MeetingSchedule.class))).thenReturn(existingMeeting);
 
+        LocalDateTime previousStartTime = existingMeeting.getStartTime();
         MeetingResponseUpdate response = meetingScheduleService.updateMeeting(1L, 1L, request);
 
         assertEquals("New Title", response.getTitle());
         assertEquals(existingMeeting.getId(), response.getMeetingId());
+        verify(roomUsageService, times(1)).recordMeeting(eq(1L), eq(previousStartTime), any(), eq(-1));
+        verify(roomUsageService, times(1)).recordMeeting(eq(1L), eq(request.getStartTime()), eq(request.getEndTime()), eq(1));
+    }
+
+    private MeetingSeriesRequest createWeeklySeriesRequest(boolean skipConflicts) {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        return MeetingSeriesRequest.builder()
+                .roomId(1L)
+                .personId(2L)
+                .title("Weekly sync")
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .frequency("weekly")
+                .count(10)
+                .skipConflicts(skipConflicts)
+                .build();
+    }
+
+    private void stubSeriesLookups(List<MeetingIntervalDTO> booked) {
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(createValidRoom()));
+        when(personRepository.findById(2L)).thenReturn(Optional.of(createValidPerson()));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusMeetingSchedule.SCHEDULED), any(), any()))
+                .thenReturn(booked);
+        AtomicLong ids = new AtomicLong(100);
+        when(meetingScheduleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MeetingSchedule> meetings = invocation.getArgument(0);
+            meetings.forEach(meeting -> meeting.setId(ids.incrementAndGet()));
+            return meetings;
+        });
+    }
+
+    @Test
+    void testBookMeetingSeries_SavesEveryOccurrenceWithOneRangeQuery() {
+        MeetingSeriesRequest request = createWeeklySeriesRequest(false);
+        stubSeriesLookups(Collections.emptyList());
+
+        MeetingSeriesResponse response = meetingScheduleService.bookMeetingSeries(request);
+
+        assertNotNull(response.getSeriesId());
+        assertEquals(10, response.getMeetings().size());
+        assertTrue(response.getSkippedStartTimes().isEmpty());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(request.getStartTime().plusWeeks(i), response.getMeetings().get(i).getStartTime());
+            assertEquals(request.getEndTime().plusWeeks(i), response.getMeetings().get(i).getEndTime());
+        }
+        verify(meetingScheduleRepository, times(1)).findIntervalsInRoomBetween(eq(1L), eq(StatusMeetingSchedule.SCHEDULED),
+                eq(request.getStartTime()), eq(request.getEndTime().plusWeeks(9)));
+        verify(meetingScheduleRepository, times(1)).saveAll(anyList());
+        verify(meetingScheduleRepository, never()).save(any());
+        verify(roomRepository, times(1)).findById(1L);
+        verify(roomUsageService, times(10)).recordMeeting(eq(1L), any(), any(), eq(1));
+    }
+
+    @Test
+    void testBookMeetingSeries_Conflict_BooksNothing() {
+        MeetingSeriesRequest request = createWeeklySeriesRequest(false);
+        LocalDateTime thirdStart = request.getStartTime().plusWeeks(2);
+        stubSeriesLookups(createMeetingIntervals(createValidRoom(), thirdStart.plusMinutes(15), thirdStart.plusMinutes(45)));
+
+        assertThrows(MeetingConflictException.class, () -> meetingScheduleService.bookMeetingSeries(request));
+        verify(meetingScheduleRepository, never()).saveAll(anyList());
+        verify(roomUsageService, never()).recordMeeting(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testBookMeetingSeries_SkipConflicts_BooksTheRest() {
+        MeetingSeriesRequest request = createWeeklySeriesRequest(true);
+        LocalDateTime thirdStart = request.getStartTime().plusWeeks(2);
+        stubSeriesLookups(createMeetingIntervals(createValidRoom(), thirdStart.minusMinutes(30), thirdStart));
+
+        MeetingSeriesResponse response = meetingScheduleService.bookMeetingSeries(request);
+
+        assertEquals(9, response.getMeetings().size());
+        assertEquals(Collections.singletonList(thirdStart), response.getSkippedStartTimes());
+        verify(roomUsageService, times(9)).recordMeeting(eq(1L), any(), any(), eq(1));
+    }
+
+    @Test
+    void testBookMeetingSeries_InvalidRecurrence() {
+        MeetingSeriesRequest request = createWeeklySeriesRequest(false);
+        request.setUntil(request.getStartTime().toLocalDate().plusMonths(1));
+        assertThrows(ValidationException.class, () -> meetingScheduleService.bookMeetingSeries(request));
+
+        request.setCount(null);
+        request.setFrequency("yearly");
+        assertThrows(ValidationException.class, () -> meetingScheduleService.bookMeetingSeries(request));
+        verify(roomRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCancelMeetingSeries_CancelsUpcomingOccurrencesInOneStatement() {
+        UUID seriesId = UUID.randomUUID();
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<MeetingIntervalDTO> upcoming = Arrays.asList(
+                new MeetingIntervalDTO(1L, 1L, startTime, startTime.plusMinutes(30)),
+                new MeetingIntervalDTO(2L, 4L, startTime.plusWeeks(1), startTime.plusWeeks(1).plusMinutes(30)));
+        MeetingSchedule first = createValidMeetingSchedule();
+        first.setStartTime(startTime);
+        when(meetingScheduleRepository.findRoomIdsOfSeries(seriesId)).thenReturn(Arrays.asList(1L, 4L));
+        when(meetingScheduleRepository.findCancelableSeriesIntervals(eq(seriesId), eq(2L), eq(StatusMeetingSchedule.SCHEDULED), any()))
+                .thenReturn(upcoming);
+        when(meetingScheduleRepository.findSeriesMeetingsStartingFrom(eq(seriesId), eq(StatusMeetingSchedule.SCHEDULED), any()))
+                .thenReturn(Collections.singletonList(first));
+        when(meetingScheduleRepository.cancelSeriesStartingFrom(eq(seriesId), eq(2L), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any())).thenReturn(2);
+
+        String message = assertThrows(IllegalArgumentException.class, () -> meetingScheduleService.cancelMeetingSeries(seriesId, 3L)).getMessage();
+        assertEquals("You do not have the right to cancel this meeting series.", message);
+        assertEquals(2, meetingScheduleService.cancelMeetingSeries(seriesId, 2L));
+
+        verify(meetingScheduleRepository, times(1)).cancelSeriesStartingFrom(eq(seriesId), eq(2L), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any());
+        verify(meetingScheduleRepository, never()).save(any());
+        verify(meetingConflictEngine, times(1)).release(1L);
+        verify(meetingConflictEngine, times(1)).release(2L);
+        verify(roomUsageService, times(1)).recordMeeting(eq(1L), any(), any(), eq(-1));
+        verify(roomUsageService, times(1)).recordMeeting(eq(4L), any(), any(), eq(-1));
+        verify(roomLockManager, times(2)).withRoomLocks(eq(Arrays.asList(1L, 4L)), any());
+    }
+
+    @Test
+    void testCancelMeetingSeries_ChangedConcurrently_CancelsNothing() {
+        UUID seriesId = UUID.randomUUID();
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        when(meetingScheduleRepository.findRoomIdsOfSeries(seriesId)).thenReturn(Collections.singletonList(1L));
+        when(meetingScheduleRepository.findCancelableSeriesIntervals(eq(seriesId), eq(2L), eq(StatusMeetingSchedule.SCHEDULED), any()))
+                .thenReturn(Collections.singletonList(new MeetingIntervalDTO(1L, 1L, startTime, startTime.plusMinutes(30))));
+        when(meetingScheduleRepository.cancelSeriesStartingFrom(eq(seriesId), eq(2L), eq(StatusMeetingSchedule.CANCELED),
+                eq(StatusMeetingSchedule.SCHEDULED), any())).thenReturn(2);
+
+        assertThrows(IllegalArgumentException.class, () -> meetingScheduleService.cancelMeetingSeries(seriesId, 2L));
+        verify(meetingConflictEngine, never()).release(any());
+        verify(roomUsageService, never()).recordMeeting(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testCancelMeetingSeries_UnknownSeries() {
+        UUID seriesId = UUID.randomUUID();
+        when(meetingScheduleRepository.findRoomIdsOfSeries(seriesId)).thenReturn(Collections.emptyList());
+        assertThrows(IllegalArgumentException.class, () -> meetingScheduleService.cancelMeetingSeries(seriesId, 2L));
+    }
+
+    private MeetingScheduleRequest batchRequest(Long roomId, LocalDateTime startTime, int minutes) {
+        return new MeetingScheduleRequest(roomId, 2L, "Planning", startTime, startTime.plusMinutes(minutes));
+    }
+
+    @Test
+    void testBookMeetingSchedules_ReportsEveryItemAndBatchesLookups() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Room deletedRoom = createSoftDeletedRoom();
+        Room secondRoom = createValidRoom();
+        secondRoom.setId(3L);
+        List<MeetingScheduleRequest> requests = Arrays.asList(
+                batchRequest(1L, day.withHour(10), 60),
+                batchRequest(1L, day.withHour(9), 30),
+                batchRequest(1L, day.withHour(10).withMinute(30), 60),
+                batchRequest(1L, day.withHour(14), 30),
+                batchRequest(1L, day.withHour(16), 5),
+                batchRequest(99L, day.withHour(9), 30),
+                batchRequest(20L, day.withHour(9), 30),
+                batchRequest(3L, day.withHour(9), 30));
+        when(roomRepository.findAllById(any())).thenReturn(Arrays.asList(createValidRoom(), deletedRoom, secondRoom));
+        when(personRepository.findAllById(any())).thenReturn(Collections.singletonList(createValidPerson()));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(eq(1L), eq(StatusMeetingSchedule.SCHEDULED), any(), any()))
+                .thenReturn(createMeetingIntervals(createValidRoom(), day.withHour(13).withMinute(30), day.withHour(14)));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(eq(3L), eq(StatusMeetingSchedule.SCHEDULED), any(), any()))
+                .thenReturn(Collections.emptyList());
+        AtomicLong ids = new AtomicLong(100);
+        when(meetingScheduleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MeetingSchedule> meetings = invocation.getArgument(0);
+            meetings.forEach(meeting -> meeting.setId(ids.incrementAndGet()));
+            return meetings;
+        });
+
+        List<MeetingBatchItemResult> results = meetingScheduleService.bookMeetingSchedules(requests);
+
+        assertEquals(8, results.size());
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(day.withHour(10), results.get(0).getMeeting().getStartTime());
+        assertEquals(BatchItemStatus.CREATED, results.get(1).getStatus());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(2).getStatus());
+        assertEquals("Meeting conflicts with item 0 of the batch.", results.get(2).getErrorMessage());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(3).getStatus());
+        assertEquals(BatchItemStatus.INVALID, results.get(4).getStatus());
+        assertEquals("Meeting duration must be at least 15 minutes.", results.get(4).getErrorMessage());
+        assertEquals(BatchItemStatus.NOT_FOUND, results.get(5).getStatus());
+        assertEquals(BatchItemStatus.FORBIDDEN, results.get(6).getStatus());
+        assertEquals(BatchItemStatus.CREATED, results.get(7).getStatus());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        verify(roomRepository, times(1)).findAllById(anyIterable());
+        verify(personRepository, times(1)).findAllById(anyIterable());
+        verify(roomRepository, never()).findById(any());
+        verify(meetingScheduleRepository, times(2)).saveAll(anyList());
+        verify(meetingScheduleRepository, never()).save(any());
+        verify(roomUsageService, times(3)).recordMeeting(any(), any(), any(), eq(1));
+    }
+
+    @Test
+    void testBookMeetingSchedules_FailedCommit_LeavesNoReservation() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Room secondRoom = createValidRoom();
+        secondRoom.setId(3L);
+        List<MeetingScheduleRequest> requests = Arrays.asList(batchRequest(1L, day.withHour(9), 30), batchRequest(3L, day.withHour(9), 30));
+        meetingScheduleCache.loadRoom(1L, Collections.emptyList());
+        meetingScheduleCache.loadRoom(3L, Collections.emptyList());
+        when(roomRepository.findAllById(any())).thenReturn(Arrays.asList(createValidRoom(), secondRoom));
+        when(personRepository.findAllById(any())).thenReturn(Collections.singletonList(createValidPerson()));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(any(), eq(StatusMeetingSchedule.SCHEDULED), any(), any()))
+                .thenReturn(Collections.emptyList());
+        AtomicLong ids = new AtomicLong(100);
+        when(meetingScheduleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MeetingSchedule> meetings = invocation.getArgument(0);
+            meetings.forEach(meeting -> meeting.setId(ids.incrementAndGet()));
+            return meetings;
+        });
+
+        transactionManager.setFailCommit(true);
+        assertThrows(RuntimeException.class, () -> meetingScheduleService.bookMeetingSchedules(requests));
+        assertFalse(meetingScheduleCache.hasConflict(1L, day.withHour(9), day.withHour(10), null));
+        assertFalse(meetingScheduleCache.hasConflict(3L, day.withHour(9), day.withHour(10), null));
+
+        transactionManager.setFailCommit(false);
+        meetingScheduleService.bookMeetingSchedules(requests);
+        assertTrue(meetingScheduleCache.hasConflict(1L, day.withHour(9), day.withHour(10), null));
+        assertTrue(meetingScheduleCache.hasConflict(3L, day.withHour(9), day.withHour(10), null));
+    }
+
+    @Test
+    void testBookMeetingSchedules_EmptyBatch() {
+        assertThrows(ValidationException.class, () -> meetingScheduleService.bookMeetingSchedules(Collections.emptyList()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.constant.StatusRoom;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Person;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.request.SearchRoomRequest;
+import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.SearchRoomResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RoomServiceImpl.class, RoomAvailabilityBitmap.class, RoomCatalog.class, SeatOccupancyTimeline.class, SeatReservationCounters.class, RoomUsageServiceImpl.class, ExistenceCheckServiceImpl.class, IdExistenceFilter.class})
+class RoomServiceImplQueryCountTest {
+    @Autowired
+    RoomServiceImpl roomService;
+
+    @Autowired
+    RoomCatalog roomCatalog;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime fromDate = LocalDateTime.of(2099, 1, 1, 9, 0);
+    private final LocalDateTime toDate = LocalDateTime.of(2099, 1, 1, 17, 0);
+
+    @Test
+    void test_listRoom_withFewRooms_runsOneStatement() {
+        createRooms(3);
+
+        assertEquals(1, countStatements(3));
+    }
+
+    @Test
+    void test_listRoom_withManyRooms_runsOneStatement() {
+        createRooms(60);
+
+        assertEquals(1, countStatements(60));
+    }
+
+    @Test
+    void test_listRoom_filtersByCapacityAndNameInQuery() {
+        createRooms(10);
+
+        List<SearchRoomResponse> actual = roomService.listRoom(fromDate, toDate, 5, 7, "ROOM");
+
+        assertEquals(3, actual.size());
+        assertEquals(0, actual.get(0).getMeetingSchedules().size());
+        assertEquals("Room 006", actual.get(2).getRoomName());
+        assertEquals(1, actual.get(2).getMeetingSchedules().size());
+    }
+
+    @Test
+    void test_listRoomPage_walksAllRoomsByKeyset() {
+        createRooms(10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<String> roomNames = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            DataListRoomResponse<List<SearchRoomResponse>> page = roomService.listRoomPage(SearchRoomRequest.builder()
+                    .fromDate(fromDate).toDate(toDate).cursor(cursor).limit(4).build());
+            for (SearchRoomResponse room : page.getData()) {
+                roomNames.add(room.getRoomName());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(10, roomNames.size());
+        assertEquals("Room 001", roomNames.get(0));
+        assertEquals("Room 010", roomNames.get(9));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void test_listRoomPage_capsMeetingsPerRoom() {
+        createRooms(2);
+        Room room = entityManager.getEntityManager()
+                .createQuery("SELECT r FROM Room r WHERE r.roomName = 'Room 002'", Room.class).getSingleResult();
+        Person person = entityManager.persist(Person.builder().fullName("Jane").age(30).build());
+        entityManager.persist(MeetingSchedule.builder()
+                .room(room)
+                .person(person)
+                .title("Afternoon")
+                .startTime(fromDate.plusHours(4))
+                .endTime(fromDate.plusHours(5))
+                .reservationTime(fromDate.minusDays(1))
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SearchRoomResponse> capped = roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).meetingLimit(1).build()).getData();
+        List<SearchRoomResponse> all = roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).build()).getData();
+        List<SearchRoomResponse> none = roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).meetings("none").build()).getData();
+
+        assertEquals(1, capped.get(1).getMeetingSchedules().size());
+        assertEquals("Meeting 2", capped.get(1).getMeetingSchedules().get(0).getTitle());
+        assertEquals(2, all.get(1).getMeetingSchedules().size());
+        assertEquals(0, all.get(0).getMeetingSchedules().size());
+        assertNull(none.get(1).getMeetingSchedules());
+    }
+
+    private long countStatements(int expectedRooms) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<SearchRoomResponse> actual = roomService.listRoom(fromDate, toDate, null, null, null);
+
+        assertEquals(expectedRooms, actual.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createRooms(int count) {
+        Person person = entityManager.persist(Person.builder().fullName("John").age(30).build());
+        for (int i = 1; i <= count; i++) {
+            Room room = entityManager.persist(Room.builder()
+                    .roomName(String.format("Room %03d", i))
+                    .capacity(i)
+                    .statusRoom(StatusRoom.AVAILABLE)
+                    .build());
+            if (i % 2 == 0) {
+                entityManager.persist(MeetingSchedule.builder()
+                        .room(room)
+                        .person(person)
+                        .title("Meeting " + i)
+                        .startTime(fromDate.plusHours(1))
+                        .endTime(fromDate.plusHours(2))
+                        .reservationTime(fromDate.minusDays(1))
+                        .statusMeeting(StatusMeetingSchedule.SCHEDULED)
+                        .build());
+                entityManager.persist(MeetingSchedule.builder()
+                        .room(room)
+                        .person(person)
+                        .title("Tomorrow " + i)
+                        .startTime(fromDate.plusDays(1))
+                        .endTime(fromDate.plusDays(1).plusHours(1))
+                        .reservationTime(fromDate.minusDays(1))
+                        .statusMeeting(StatusMeetingSchedule.SCHEDULED)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        roomCatalog.refresh();
+    }
+}
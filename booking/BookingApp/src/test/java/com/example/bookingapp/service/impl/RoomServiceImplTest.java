@@ -1,47 +1,68 @@
 package com.example.bookingapp.service.impl;
 
-import com.example.bookingapp.constant.InputRequired;
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
 import com.example.bookingapp.constant.StatusMeetingSchedule;
 import com.example.bookingapp.constant.StatusRoom;
 import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.MeetingIntervalDTO;
 import com.example.bookingapp.dto.MeetingScheduleDTO;
 import com.example.bookingapp.dto.SeatRegistrationDTO;
 import com.example.bookingapp.exception.BadRequestException;
 import com.example.bookingapp.exception.ResourceNotFoundException;
 import com.example.bookingapp.exception.RoomInvalidFormatParamException;
 import com.example.bookingapp.exception.RoomNotFoundException;
+import com.example.bookingapp.mapper.RoomMapper;
 import com.example.bookingapp.model.MeetingSchedule;
 import com.example.bookingapp.model.Person;
 import com.example.bookingapp.model.Room;
-import com.example.bookingapp.model.SeatRegistration;
 import com.example.bookingapp.repository.MeetingScheduleRepository;
 import com.example.bookingapp.repository.PersonRepository;
 import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.dto.RoomDTO;
+import com.example.bookingapp.dto.RoomMeetingScheduleDTO;
 import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.request.BookingHistoryRequest;
 import com.example.bookingapp.request.RoomAddRequest;
+import com.example.bookingapp.request.SearchRoomRequest;
 import com.example.bookingapp.request.SeatRegistrationRequest;
 import com.example.bookingapp.response.BookingHistoryResponseImpl;
+import com.example.bookingapp.response.DataListRoomResponse;
+import com.example.bookingapp.response.FreeSlotResponse;
 import com.example.bookingapp.response.IBookingHistoryResponse;
 import com.example.bookingapp.response.RoomDetailResponse;
 import com.example.bookingapp.response.SearchRoomResponse;
+import com.example.bookingapp.service.RoomUsageService;
+import com.example.bookingapp.util.KeysetCursor;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -56,6 +77,8 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(SpringExtension.class)
 @ExtendWith(MockitoExtension.class)
@@ -68,9 +91,30 @@ class RoomServiceImplTest {
     PersonRepository personRepository;
     @MockBean
     SeatRegistrationRepository seatRegistrationRepository;
+    @MockBean
+    RoomAvailabilityBitmap roomAvailabilityBitmap;
+    @MockBean
+    SeatOccupancyTimeline seatOccupancyTimeline;
+    @MockBean
+    SeatReservationCounters seatReservationCounters;
+    @MockBean
+    RoomUsageService roomUsageService;
+    @Spy
+    RoomCatalog roomCatalog;
+    @Spy
+    ExistenceCheckServiceImpl existenceCheckService;
     @InjectMocks
     RoomServiceImpl roomService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomCatalog, "roomRepository", roomRepository);
+        existenceCheckService.idExistenceFilter = new IdExistenceFilter();
+        existenceCheckService.personRepository = personRepository;
+        existenceCheckService.roomRepository = roomRepository;
+        existenceCheckService.meetingScheduleRepository = meetingScheduleRepository;
+    }
+
     @Test
     public void testSoftDeleteRoom_Success() {
         Long roomId = 1L;
@@ -134,6 +178,19 @@ class RoomServiceImplTest {
         Assertions.assertNull(actual);
     }
 
+    @Test
+    void test_checkInsertRoom_withNameSavedByAnotherNode() {
+        RoomAddRequest roomRequest = new RoomAddRequest();
+        roomRequest.setRoomName("Room A ");
+        roomRequest.setCapacity(5);
+        when(roomRepository.existsByRoomNameIgnoreCase("Room A")).thenReturn(true);
+
+        RoomDTO actual = roomService.checkInsertRoom(roomRequest);
+
+        Assertions.assertNull(actual);
+        verify(roomRepository, never()).save(any(Room.class));
+    }
+
     @Test
     void testUpdateRoom_ValidRoom_ReturnsUpdatedRoomDTO() {
         Long roomId = 1L;
@@ -297,77 +354,13 @@ class RoomServiceImplTest {
     }
 
     @Test
-    void testCheckOverlap_NoOverlap() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        LocalDateTime startFirst = LocalDateTime.of(2023, 1, 1, 10, 0);
-        LocalDateTime endFirst = LocalDateTime.of(2023, 1, 1, 11, 0);
-        LocalDateTime startSecond = LocalDateTime.of(2023, 1, 1, 12, 0);
-        LocalDateTime endSecond = LocalDateTime.of(2023, 1, 1, 13, 0);
-        Method checkOverlapMethod = getCheckOverlapMethod();
-        boolean overlap = (boolean) checkOverlapMethod.invoke(roomService, startFirst, endFirst, startSecond, endSecond);
-        assertFalse(overlap, "There should be no overlap.");
-    }
-
-    @Test
-    void testCheckOverlap_PartialOverlap() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        LocalDateTime startFirst = LocalDateTime.of(2023, 1, 1, 10, 0);
-        LocalDateTime endFirst = LocalDateTime.of(2023, 1, 1, 11, 0);
-        LocalDateTime startSecond = LocalDateTime.of(2023, 1, 1, 10, 30);
-        LocalDateTime endSecond = LocalDateTime.of(2023, 1, 1, 11, 30);
-        Method checkOverlapMethod = getCheckOverlapMethod();
-        boolean overlap = (boolean) checkOverlapMethod.invoke(roomService, startFirst, endFirst, startSecond, endSecond);
-        assertTrue(overlap, "There should be a partial overlap.");
-    }
-
-    @Test
-    void testCheckOverlap_FullOverlap() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        LocalDateTime startFirst = LocalDateTime.of(2023, 1, 1, 10, 0);
-        LocalDateTime endFirst = LocalDateTime.of(2023, 1, 1, 12, 0);
-        LocalDateTime startSecond = LocalDateTime.of(2023, 1, 1, 10, 0);
-        LocalDateTime endSecond = LocalDateTime.of(2023, 1, 1, 12, 0);
-        Method checkOverlapMethod = getCheckOverlapMethod();
-        boolean overlap = (boolean) checkOverlapMethod.invoke(roomService, startFirst, endFirst, startSecond, endSecond);
-        assertTrue(overlap, "There should be a full overlap.");
-    }
-
-    private Method getCheckOverlapMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("checkOverlap", LocalDateTime.class, LocalDateTime.class, LocalDateTime.class, LocalDateTime.class);
-        method.setAccessible(true);
-        return method;
-    }
-
-    private Method getIsMatchingScheduleMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("isMatchingSchedule", MeetingSchedule.class, Long.class, Integer.class);
-        method.setAccessible(true);
-        return method;
-    }
-
-    @Test
-    void testIsMatchingSchedule_MatchingSchedule() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        MeetingSchedule schedule = new MeetingSchedule();
-        Room room = new Room();
-        room.setId(1L);
-        schedule.setRoom(room);
-        schedule.setStatusMeeting(1);
-        when(meetingScheduleRepository.findById(1L)).thenReturn(Optional.of(schedule));
-        Method isMatchingScheduleMethod = getIsMatchingScheduleMethod();
-        boolean isMatching = (boolean) isMatchingScheduleMethod.invoke(roomService, schedule, 1L, 1);
-        assertTrue(isMatching, "The schedule should match.");
-    }
-
-    private Method getMapToSearchRoomResponseMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("mapToSearchRoomResponse", Room.class);
-        method.setAccessible(true);
-        return method;
-    }
-
-    @Test
-    void testMapToSearchRoomResponse_WithoutMeetingSchedules() throws Exception {
+    void testMapToSearchRoomResponse_WithoutMeetingSchedules() {
         Room room = new Room();
         room.setId(1L);
         room.setRoomName("Meeting Room 1");
         room.setCapacity(10);
         room.setStatusRoom(StatusRoom.AVAILABLE);
-        SearchRoomResponse response = (SearchRoomResponse) getMapToSearchRoomResponseMethod().invoke(roomService, room);
+        SearchRoomResponse response = RoomMapper.toSearchRoomResponse(room, new ArrayList<>());
         assertEquals(1L, response.getRoomId());
         assertEquals("Meeting Room 1", response.getRoomName());
         assertEquals(10, response.getCapacity());
@@ -377,45 +370,136 @@ class RoomServiceImplTest {
         assertTrue(meetingSchedules.isEmpty());
     }
 
-    private Method getFilterRoomsByDateMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("filterRoomsByDate", List.class, LocalDateTime.class, LocalDateTime.class);
+    private Method getSortRoomsByAvailabilityMethod() throws NoSuchMethodException {
+        Method method = RoomServiceImpl.class.getDeclaredMethod("sortRoomsByAvailability", List.class, Map.class);
         method.setAccessible(true);
         return method;
     }
 
     @Test
-    void testFilterRoomsByDate() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    void testSortRoomsByAvailability() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         List<Room> rooms = createSampleRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            rooms.get(i).setId((long) i + 1);
+        }
+        Map<Long, List<MeetingScheduleDTO>> meetingsByRoom = new HashMap<>();
+        meetingsByRoom.put(1L, new ArrayList<>());
+        List<Room> sortedRooms = (List<Room>) getSortRoomsByAvailabilityMethod().invoke(roomService, rooms, meetingsByRoom);
+        assertEquals(4, sortedRooms.size());
+        assertEquals("Meeting Room 1", sortedRooms.get(3).getRoomName());
+    }
+
+    @Test
+    void testListRoom_GroupsMeetingsByRoom() {
         LocalDateTime fromDate = LocalDateTime.of(2023, 1, 1, 10, 0);
         LocalDateTime toDate = LocalDateTime.of(2023, 1, 1, 12, 0);
-        List<Room> filteredRooms = (List<Room>) getFilterRoomsByDateMethod().invoke(roomService, rooms, fromDate, toDate);
-        assertEquals(4, filteredRooms.size());
+        List<Room> rooms = createSampleRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            rooms.get(i).setId((long) i + 1);
+        }
+        List<RoomMeetingScheduleDTO> meetings = new ArrayList<>();
+        meetings.add(new RoomMeetingScheduleDTO(1L, 10L, "Daily", fromDate, fromDate.plusMinutes(30), fromDate.minusDays(1)));
+        meetings.add(new RoomMeetingScheduleDTO(1L, 11L, "Review", fromDate.plusHours(1), toDate, fromDate.minusDays(1)));
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(meetingScheduleRepository.findMeetingsForRoomSearch(null, null, "room", StatusMeetingSchedule.SCHEDULED, fromDate, toDate))
+                .thenReturn(meetings);
+
+        List<SearchRoomResponse> actual = roomService.listRoom(fromDate, toDate, null, null, "room");
+
+        assertEquals(4, actual.size());
+        assertEquals("Conference Room 1", actual.get(0).getRoomName());
+        assertEquals(1L, actual.get(3).getRoomId());
+        assertEquals(2, actual.get(3).getMeetingSchedules().size());
+        assertTrue(actual.get(0).getMeetingSchedules().isEmpty());
+        verify(roomRepository, times(1)).findAll();
+        verify(meetingScheduleRepository, never()).findAll();
     }
 
-    private Method getFilterRoomsByNameMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("filterRoomsByName", List.class, String.class);
-        method.setAccessible(true);
-        return method;
+    @Test
+    void testListRoom_WithEveryRoomFreeInBitmap_SkipsMeetingQuery() {
+        LocalDateTime fromDate = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime toDate = fromDate.plusHours(2);
+        List<Room> rooms = createSampleRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            rooms.get(i).setId((long) i + 1);
+        }
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(roomAvailabilityBitmap.isLoadedAndFree(any(), eq(fromDate), eq(toDate))).thenReturn(true);
+
+        List<SearchRoomResponse> actual = roomService.listRoom(fromDate, toDate, null, null, "room");
+
+        assertEquals(4, actual.size());
+        assertEquals("Conference Room 1", actual.get(0).getRoomName());
+        assertTrue(actual.get(3).getMeetingSchedules().isEmpty());
+        verify(meetingScheduleRepository, never()).findMeetingsForRoomSearch(any(), any(), any(), Mockito.anyInt(), any(), any());
+        verify(roomAvailabilityBitmap, never()).isDefinitelyFree(any(), any(), any());
     }
 
     @Test
-    void testFilterRoomsByName() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    void testListRoom_WithOneRoomNotFreeInBitmap_RunsMeetingQuery() {
+        LocalDateTime fromDate = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime toDate = fromDate.plusHours(2);
         List<Room> rooms = createSampleRooms();
-        List<Room> filteredRooms = (List<Room>) getFilterRoomsByNameMethod().invoke(roomService, rooms, "meeting");
-        assertEquals(2, filteredRooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            rooms.get(i).setId((long) i + 1);
+        }
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(roomAvailabilityBitmap.isLoadedAndFree(any(), eq(fromDate), eq(toDate))).thenReturn(true);
+        when(roomAvailabilityBitmap.isLoadedAndFree(1L, fromDate, toDate)).thenReturn(false);
+        when(meetingScheduleRepository.findMeetingsForRoomSearch(null, null, "room", StatusMeetingSchedule.SCHEDULED, fromDate, toDate))
+                .thenReturn(Collections.singletonList(new RoomMeetingScheduleDTO(1L, 10L, "Daily", fromDate, fromDate.plusMinutes(30), fromDate.minusDays(1))));
+
+        List<SearchRoomResponse> actual = roomService.listRoom(fromDate, toDate, null, null, "room");
+
+        assertEquals(1L, actual.get(3).getRoomId());
+        assertEquals(1, actual.get(3).getMeetingSchedules().size());
     }
 
-    private Method getFilterRoomsByCapacityMethod() throws NoSuchMethodException {
-        Method method = RoomServiceImpl.class.getDeclaredMethod("filterRoomsByCapacity", List.class, Integer.class, Integer.class);
-        method.setAccessible(true);
-        return method;
+    @Test
+    void testListRoom_FromDateAfterToDate() {
+        LocalDateTime fromDate = LocalDateTime.of(2023, 1, 1, 12, 0);
+        LocalDateTime toDate = LocalDateTime.of(2023, 1, 1, 10, 0);
+        Exception exception = assertThrows(RoomInvalidFormatParamException.class, () -> roomService.listRoom(fromDate, toDate, null, null, null));
+        assertEquals("fromDate param cannot be after toDate param.", exception.getMessage());
     }
 
     @Test
-    void testFilterRoomsByCapacity() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        List<Room> rooms = createSampleRooms();
-        List<Room> filteredRooms = (List<Room>) getFilterRoomsByCapacityMethod().invoke(roomService, rooms, 10, 20);
-        assertEquals(4, filteredRooms.size());
+    void testListRoomPage_ReturnsNextCursorWhenMoreRooms() {
+        LocalDateTime fromDate = LocalDateTime.of(2023, 1, 1, 10, 0);
+        LocalDateTime toDate = LocalDateTime.of(2023, 1, 1, 12, 0);
+        Room first = createSampleRoom("Room A");
+        first.setId(1L);
+        Room second = createSampleRoom("Room B");
+        second.setId(2L);
+        Room third = createSampleRoom("Room C");
+        third.setId(3L);
+        when(roomRepository.findAll()).thenReturn(Arrays.asList(third, second, first));
+
+        DataListRoomResponse<List<SearchRoomResponse>> page = roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).limit(1).meetings("none").build());
+
+        assertEquals(1, page.getData().size());
+        assertNull(page.getData().get(0).getMeetingSchedules());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(1L, cursor.getId());
+        assertEquals("Room A", cursor.getKey());
+        verify(meetingScheduleRepository, never()).findMeetingsInRoomsLimited(any(), anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testListRoomPage_InvalidParams() {
+        LocalDateTime fromDate = LocalDateTime.of(2023, 1, 1, 10, 0);
+        LocalDateTime toDate = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).limit(0).build()));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).meetingLimit(101).build()));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).meetings("all").build()));
+        Exception exception = assertThrows(RoomInvalidFormatParamException.class, () -> roomService.listRoomPage(SearchRoomRequest.builder()
+                .fromDate(fromDate).toDate(toDate).cursor("not-a-cursor").build()));
+        assertEquals("cursor param is not valid.", exception.getMessage());
     }
 
     private List<Room> createSampleRooms() {
@@ -466,6 +550,47 @@ class RoomServiceImplTest {
         assertEquals(1,actual.size());
     }
 
+    @Test
+    void test_getBookingHistoryPage_returnsNextCursor() {
+        Person person = new Person();
+        person.setId(1L);
+        LocalDateTime startTime = LocalDateTime.of(2023, 9, 22, 10, 0);
+        List<IBookingHistoryResponse> responseList = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            BookingHistoryResponseImpl response = new BookingHistoryResponseImpl();
+            response.setMeetingId(i);
+            response.setStartTime(Timestamp.valueOf(startTime.plusHours(i)));
+            response.setReservationTime(Timestamp.valueOf(startTime.minusDays(i)));
+            responseList.add(response);
+        }
+        BookingHistoryRequest request = BookingHistoryRequest.builder().personId(1L).isSort(true).limit(2).build();
+        when(personRepository.findById(1L)).thenReturn(Optional.of(person));
+        when(meetingScheduleRepository.findBookingHistoryPage(any(BookingHistoryRequest.class), any(), any(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(responseList);
+
+        DataListRoomResponse<List<IBookingHistoryResponse>> page = roomService.getBookingHistoryPage(request);
+
+        assertEquals(2, page.getData().size());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(startTime.plusHours(2), cursor.getKeyAsTime());
+        verify(meetingScheduleRepository).findBookingHistoryPage(any(BookingHistoryRequest.class), any(), any(), any(LocalDateTime.class), Mockito.eq(3));
+    }
+
+    @Test
+    void test_getBookingHistoryPage_withInvalidParams() {
+        Person person = new Person();
+        person.setId(1L);
+        when(personRepository.findById(1L)).thenReturn(Optional.of(person));
+
+        assertThrows(IllegalArgumentException.class, () -> roomService.getBookingHistoryPage(
+                BookingHistoryRequest.builder().personId(1L).statusMeeting(4).build()));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.getBookingHistoryPage(
+                BookingHistoryRequest.builder().personId(1L).limit(101).build()));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.getBookingHistoryPage(
+                BookingHistoryRequest.builder().personId(1L).cursor(new KeysetCursor(1L, "Room A").encode()).build()));
+    }
+
     @Test
     void test_getBookingHistory_withPersonId_fail() {
         Long personId = -1L;
@@ -488,7 +613,7 @@ class RoomServiceImplTest {
     void test_findMeetingByUserFromData_withMeetingId_NotExit(){
         Long personId = 1L;
         Long meetingId = -5L;
-        when(meetingScheduleRepository.findById(meetingId)).thenReturn(Optional.empty());
+        when(meetingScheduleRepository.existsById(meetingId)).thenReturn(false);
         assertThrows(IllegalArgumentException.class, () -> roomService.findMeetingByUserFromData(personId, meetingId));
     }
 
@@ -516,7 +641,7 @@ class RoomServiceImplTest {
         response.setTitle(ms.getTitle());
 
         when(personRepository.findById(personId)).thenReturn(Optional.of(person));
-        when(meetingScheduleRepository.findById(meetingId)).thenReturn(Optional.of(ms));
+        when(meetingScheduleRepository.existsById(meetingId)).thenReturn(true);
         when(meetingScheduleRepository.findMeetingByUser(personId,meetingId)).thenReturn(response);
         IBookingHistoryResponse actual = roomService.findMeetingByUserFromData(personId,meetingId);
 
@@ -595,11 +720,56 @@ class RoomServiceImplTest {
         Person person = new Person();
         person.setId(request.getPersonId());
         when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(person));
-        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(new Room());
-        when(roomRepository.getAvailableSeat(request.getRoomId(), InputRequired.SEATS_FOR_ONE_REGISTRATION)).thenReturn(0);
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(false);
+        when(seatOccupancyTimeline.peakOccupancy(request.getRoomId(), request.getStartTime(), request.getEndTime())).thenReturn(3);
+        String message = assertThrows(IllegalArgumentException.class,
+                () -> roomService.resolverSeatRegistration(request)).getMessage();
+        assertEquals("Fully booked.", message);
+        verify(seatOccupancyTimeline).invalidate(request.getRoomId(), request.getStartTime(), request.getEndTime());
+        verify(seatRegistrationRepository, never()).registerIfAvailable(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withCountersFullButPeakFree_registersThroughInsert() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(false);
+        when(seatOccupancyTimeline.peakOccupancy(request.getRoomId(), request.getStartTime(), request.getEndTime())).thenReturn(2);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.of(100L));
+
+        SeatRegistrationDTO actual = roomService.resolverSeatRegistration(request);
+
+        assertEquals(100L, actual.getId());
+        verify(seatReservationCounters).reserve(request.getRoomId(), request.getStartTime(), request.getEndTime());
+        verify(seatReservationCounters, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withCountersFullAndInsertRejected_releasesNothing() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(false);
+        when(seatOccupancyTimeline.peakOccupancy(request.getRoomId(), request.getStartTime(), request.getEndTime())).thenReturn(2);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusSeatRegistration.REGISTERED, request.getStartTime(), request.getEndTime())).thenReturn(null);
+
         String message = assertThrows(IllegalArgumentException.class,
                 () -> roomService.resolverSeatRegistration(request)).getMessage();
         assertEquals("Fully booked.", message);
+        verify(seatReservationCounters, never()).reserve(any(), any(), any());
+        verify(seatReservationCounters, never()).release(any(), any(), any());
+        verify(seatOccupancyTimeline, times(2)).invalidate(request.getRoomId(), request.getStartTime(), request.getEndTime());
     }
 
     @Test
@@ -612,12 +782,13 @@ class RoomServiceImplTest {
         Person person = new Person();
         person.setId(request.getPersonId());
         when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(person));
-        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(new Room());
-        when(roomRepository.getAvailableSeat(request.getRoomId(), InputRequired.SEATS_FOR_ONE_REGISTRATION)).thenReturn(3);
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
         when(roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusMeetingSchedule.SCHEDULED, request.getStartTime(), request.getEndTime())).thenReturn(request.getRoomId());
         String message = assertThrows(IllegalArgumentException.class,
                 () -> roomService.resolverSeatRegistration(request)).getMessage();
         assertEquals("Overlap time.", message);
+        verify(seatReservationCounters).release(request.getRoomId(), request.getStartTime(), request.getEndTime());
     }
 
     @Test
@@ -631,6 +802,7 @@ class RoomServiceImplTest {
         person.setId(request.getPersonId());
         Room room = new Room();
         room.setId(request.getRoomId());
+        room.setCapacity(3);
         SeatRegistrationDTO dto = new SeatRegistrationDTO();
         dto.setId(100L);
         dto.setRoomId(request.getRoomId());
@@ -641,12 +813,171 @@ class RoomServiceImplTest {
         dto.setSeatRegistrationTime(LocalDateTime.now());
         when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(person));
         when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(room);
-        when(roomRepository.getAvailableSeat(request.getRoomId(), InputRequired.SEATS_FOR_ONE_REGISTRATION)).thenReturn(3);
-        when(roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusMeetingSchedule.SCHEDULED, request.getStartTime(), request.getEndTime())).thenReturn(null);
-        when(seatRegistrationRepository.save(any(SeatRegistration.class))).thenReturn(new ModelMapper().map(dto, SeatRegistration.class));
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.of(dto.getId()));
         SeatRegistrationDTO actual = roomService.resolverSeatRegistration(request);
         assertNotNull(actual);
         assertEquals(dto.getId(), actual.getId());
+        assertEquals(dto.getPersonId(), actual.getPersonId());
+        assertEquals(dto.getSeatRegistrationStatus(), actual.getSeatRegistrationStatus());
+        verify(roomRepository, never()).findRoomIdByOverlapTime(any(), any(), anyInt(), any(), any());
+        verify(seatOccupancyTimeline).add(request.getRoomId(), dto.getId(), request.getStartTime(), request.getEndTime());
+        verify(roomUsageService).recordSeatRegistration(request.getRoomId(), request.getStartTime(), request.getEndTime(), 1);
+        verify(seatReservationCounters, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withInsertRejected_reportsFullyBooked() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(roomRepository.findRoomIdByOverlapTime(request.getRoomId(), request.getPersonId(), StatusSeatRegistration.REGISTERED, request.getStartTime(), request.getEndTime())).thenReturn(null);
+
+        String message = assertThrows(IllegalArgumentException.class,
+                () -> roomService.resolverSeatRegistration(request)).getMessage();
+        assertEquals("Fully booked.", message);
+        verify(seatReservationCounters).release(request.getRoomId(), request.getStartTime(), request.getEndTime());
+        verify(seatOccupancyTimeline, never()).add(any(), any(), any(), any());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withSaveFailure_releasesReservation() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenThrow(new DataIntegrityViolationException("person_id"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> roomService.resolverSeatRegistration(request));
+        verify(seatReservationCounters).release(request.getRoomId(), request.getStartTime(), request.getEndTime());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withFailedCommit_releasesReservationAndSkipsTimeline() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.of(100L));
+        SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+        transactionManager.setFailCommit(true);
+
+        assertThrows(DataIntegrityViolationException.class, () -> new TransactionTemplate(transactionManager)
+                .execute(status -> roomService.resolverSeatRegistration(request)));
+        verify(seatReservationCounters, times(1)).release(request.getRoomId(), request.getStartTime(), request.getEndTime());
+        verify(seatOccupancyTimeline, never()).add(any(), any(), any(), any());
+    }
+
+    @Test
+    void test_resolverSeatRegistration_inTransaction_addsTimelineAfterCommit() {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(LocalDateTime.now().plusHours(1));
+        request.setEndTime(LocalDateTime.now().plusHours(2));
+        when(personRepository.findById(request.getPersonId())).thenReturn(Optional.of(new Person()));
+        when(roomRepository.getRoomByIdAvailable(request.getRoomId())).thenReturn(Room.builder().id(1L).capacity(3).build());
+        when(seatReservationCounters.tryReserve(request.getRoomId(), 3, request.getStartTime(), request.getEndTime())).thenReturn(true);
+        when(seatRegistrationRepository.registerIfAvailable(any(), any(), any(), any(), any())).thenReturn(Optional.of(100L));
+
+        new TransactionTemplate(new SynchronizingTransactionManager()).execute(status -> {
+            roomService.resolverSeatRegistration(request);
+            verify(seatOccupancyTimeline, never()).add(any(), any(), any(), any());
+            return null;
+        });
+        verify(seatOccupancyTimeline).add(request.getRoomId(), 100L, request.getStartTime(), request.getEndTime());
+        verify(seatReservationCounters, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void test_findFreeSlots_withMeetings() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Room room = new Room();
+        room.setId(1L);
+        List<MeetingIntervalDTO> meetings = new ArrayList<>();
+        meetings.add(new MeetingIntervalDTO(1L, 1L, day.withHour(9), day.withHour(10)));
+        meetings.add(new MeetingIntervalDTO(2L, 1L, day.withHour(10).withMinute(20), day.withHour(11)));
+        meetings.add(new MeetingIntervalDTO(3L, 1L, day.withHour(11).withMinute(10), day.withHour(12)));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(1L, StatusMeetingSchedule.SCHEDULED, day.withHour(8), day.withHour(13)))
+                .thenReturn(meetings);
+
+        List<FreeSlotResponse> actual = roomService.findFreeSlots(1L, day.withHour(8), day.withHour(13), 15);
+
+        assertEquals(3, actual.size());
+        assertEquals(day.withHour(8), actual.get(0).getStartTime());
+        assertEquals(day.withHour(8).withMinute(59), actual.get(0).getEndTime());
+        assertEquals(day.withHour(10).withMinute(1), actual.get(1).getStartTime());
+        assertEquals(day.withHour(10).withMinute(19), actual.get(1).getEndTime());
+        assertEquals(18, actual.get(1).getDurationMinutes());
+        assertEquals(day.withHour(12).withMinute(1), actual.get(2).getStartTime());
+        assertEquals(day.withHour(13), actual.get(2).getEndTime());
     }
-}
 
+    @Test
+    void test_findFreeSlots_splitsAtDayBoundary() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Room room = new Room();
+        room.setId(1L);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(meetingScheduleRepository.findIntervalsInRoomBetween(1L, StatusMeetingSchedule.SCHEDULED, day.withHour(22), day.plusDays(1).withHour(2)))
+                .thenReturn(new ArrayList<>());
+
+        List<FreeSlotResponse> actual = roomService.findFreeSlots(1L, day.withHour(22), day.plusDays(1).withHour(2), null);
+
+        assertEquals(2, actual.size());
+        assertEquals(day.withHour(23).withMinute(59), actual.get(0).getEndTime());
+        assertEquals(day.plusDays(1), actual.get(1).getStartTime());
+        assertEquals(120, actual.get(1).getDurationMinutes());
+    }
+
+    @Test
+    void test_findFreeSlots_withDeletedRoom() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        Room room = new Room();
+        room.setId(1L);
+        room.setDeletedAt(new Date());
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+
+        assertThrows(RoomNotFoundException.class, () -> roomService.findFreeSlots(1L, from, from.plusHours(2), null));
+        verify(meetingScheduleRepository, never()).findIntervalsInRoomBetween(any(), Mockito.anyInt(), any(), any());
+    }
+
+    @Test
+    void test_findFreeSlots_withInvalidParams() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.findFreeSlots(1L, from, from.plusHours(2), 10));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.findFreeSlots(1L, from, from.minusHours(2), null));
+        assertThrows(RoomInvalidFormatParamException.class, () -> roomService.findFreeSlots(1L, from, from.plusDays(100), null));
+    }
+
+    @Test
+    void test_findFreeSlots_withClearBitmap_skipsMeetingQuery() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Room room = new Room();
+        room.setId(1L);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomAvailabilityBitmap.isDefinitelyFree(1L, day.withHour(8), day.withHour(10))).thenReturn(true);
+
+        List<FreeSlotResponse> actual = roomService.findFreeSlots(1L, day.withHour(8), day.withHour(10), null);
+
+        assertEquals(1, actual.size());
+        assertEquals(120, actual.get(0).getDurationMinutes());
+        verify(meetingScheduleRepository, never()).findIntervalsInRoomBetween(any(), Mockito.anyInt(), any(), any());
+    }
+}
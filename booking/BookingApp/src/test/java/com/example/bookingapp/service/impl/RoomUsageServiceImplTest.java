@@ -0,0 +1,200 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.exception.RoomInvalidFormatParamException;
+import com.example.bookingapp.response.RoomUtilizationResponse;
+import com.example.bookingapp.service.RoomUsageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(RoomUsageServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomUsageServiceImplTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2023, 10, 2, 0, 0);
+
+    @Autowired
+    RoomUsageService roomUsageService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (1, 'Room A', 2, 10), (2, 'Room B', 2, 10)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (1, 30, 'John')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM room_daily_usage");
+        jdbcTemplate.update("DELETE FROM seat_registration");
+        jdbcTemplate.update("DELETE FROM meeting_schedule");
+        jdbcTemplate.update("DELETE FROM person");
+        jdbcTemplate.update("DELETE FROM room");
+    }
+
+    @Test
+    void test_recordedUsage_matchesRebuild() {
+        insertMeeting(1, 1, DAY.withHour(9), DAY.withHour(10), 1);
+        roomUsageService.recordMeeting(1L, DAY.withHour(9), DAY.withHour(10), 1);
+        insertMeeting(2, 1, DAY.withHour(13), DAY.withHour(14).withMinute(30), 1);
+        roomUsageService.recordMeeting(1L, DAY.withHour(13), DAY.withHour(14).withMinute(30), 1);
+        insertMeeting(3, 1, DAY.withHour(16), DAY.withHour(17), 0);
+        roomUsageService.recordMeeting(1L, DAY.withHour(16), DAY.withHour(17), 1);
+        roomUsageService.recordMeeting(1L, DAY.withHour(16), DAY.withHour(17), -1);
+
+        insertSeat(1, 2, DAY.withHour(9), DAY.withHour(10), 1);
+        roomUsageService.recordSeatRegistration(2L, DAY.withHour(9), DAY.withHour(10), 1);
+        insertSeat(2, 2, DAY.withHour(9).withMinute(30), DAY.withHour(11), 1);
+        roomUsageService.recordSeatRegistration(2L, DAY.withHour(9).withMinute(30), DAY.withHour(11), 1);
+        insertSeat(3, 2, DAY.withHour(10), DAY.withHour(12), 1);
+        roomUsageService.recordSeatRegistration(2L, DAY.withHour(10), DAY.withHour(12), 1);
+        insertSeat(4, 2, DAY.withHour(10), DAY.withHour(10).withMinute(45), 1);
+        roomUsageService.recordSeatRegistration(2L, DAY.withHour(10), DAY.withHour(10).withMinute(45), 1);
+        jdbcTemplate.update("UPDATE seat_registration SET seat_registration_status = 0 WHERE seat_registration_id = 4");
+        roomUsageService.recordSeatRegistration(2L, DAY.withHour(10), DAY.withHour(10).withMinute(45), -1);
+
+        List<Map<String, Object>> recorded = usageRows();
+        assertEquals(2, recorded.size());
+        assertUsage(recorded.get(0), 1L, 2, 150, 0, 0, 0);
+        assertUsage(recorded.get(1), 2L, 0, 0, 3, 270, 2);
+
+        assertEquals(2, roomUsageService.rebuild(DAY.toLocalDate(), DAY.toLocalDate()));
+        assertEquals(recorded, usageRows());
+    }
+
+    @Test
+    void test_recordMeeting_concurrentlyOnNewDay_losesNoUpdate() throws Exception {
+        int threads = 8;
+        int meetingsPerThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < meetingsPerThread; i++) {
+                    roomUsageService.recordMeeting(1L, DAY.withHour(9), DAY.withHour(9).withMinute(15), 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<Map<String, Object>> rows = usageRows();
+        assertEquals(1, rows.size());
+        assertUsage(rows.get(0), 1L, threads * meetingsPerThread, threads * meetingsPerThread * 15L, 0, 0, 0);
+    }
+
+    @Test
+    void test_recordMeeting_onNewDay_rollsBackWithTheCaller() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            roomUsageService.recordMeeting(1L, DAY.withHour(9), DAY.withHour(10), 1);
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM room_daily_usage", Integer.class));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertEquals(0, usageRows().size());
+    }
+
+    @Test
+    void test_getUtilization_groupsRollupsByMonth() {
+        jdbcTemplate.update("INSERT INTO room_daily_usage (room_id, usage_date, meeting_count, meeting_minutes, " +
+                "seat_registration_count, seat_minutes, peak_seats) VALUES " +
+                "(1, DATE '2023-09-30', 9, 900, 0, 0, 0), " +
+                "(1, DATE '2023-10-02', 2, 120, 3, 180, 2), " +
+                "(1, DATE '2023-10-20', 1, 60, 5, 300, 4), " +
+                "(1, DATE '2023-11-05', 3, 144, 0, 0, 0), " +
+                "(2, DATE '2023-10-03', 1, 30, 1, 30, 1)");
+
+        List<RoomUtilizationResponse> utilization = roomUsageService.getUtilization(1L, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 11, 10));
+
+        assertEquals(2, utilization.size());
+        RoomUtilizationResponse october = utilization.get(0);
+        assertEquals("2023-10", october.getMonth());
+        assertEquals(31, october.getDays());
+        assertEquals(3, october.getMeetingCount());
+        assertEquals(180, october.getMeetingMinutes());
+        assertEquals(8, october.getSeatRegistrationCount());
+        assertEquals(480, october.getSeatMinutes());
+        assertEquals(4, october.getPeakSeats());
+        assertEquals(180.0 / (31 * 1440), october.getMeetingUtilization(), 1e-9);
+        RoomUtilizationResponse november = utilization.get(1);
+        assertEquals("2023-11", november.getMonth());
+        assertEquals(10, november.getDays());
+        assertEquals(0.01, november.getMeetingUtilization(), 1e-9);
+
+        assertEquals(3, roomUsageService.getUtilization(null, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 11, 10)).size());
+        assertThrows(RoomInvalidFormatParamException.class,
+                () -> roomUsageService.getUtilization(1L, LocalDate.of(2023, 11, 10), LocalDate.of(2023, 10, 1)));
+        assertThrows(RoomInvalidFormatParamException.class,
+                () -> roomUsageService.getUtilization(1L, LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    void test_peakSeats_withBackToBackRegistrations() {
+        assertEquals(1, RoomUsageServiceImpl.peakSeats(Arrays.asList(
+                new SeatIntervalDTO(1L, 1L, DAY.withHour(9), DAY.withHour(10)),
+                new SeatIntervalDTO(2L, 1L, DAY.withHour(10), DAY.withHour(11)))));
+        assertEquals(0, RoomUsageServiceImpl.peakSeats(new ArrayList<>()));
+    }
+
+    private void insertMeeting(long id, long roomId, LocalDateTime startTime, LocalDateTime endTime, int status) {
+        jdbcTemplate.update("INSERT INTO meeting_schedule (meeting_id, room_id, person_id, title, start_time, end_time, " +
+                "reservation_time, status_meeting) VALUES (?, ?, 1, 'Meeting', ?, ?, ?, ?)",
+                id, roomId, startTime, endTime, DAY.minusDays(7), status);
+    }
+
+    private void insertSeat(long id, long roomId, LocalDateTime startTime, LocalDateTime endTime, int status) {
+        jdbcTemplate.update("INSERT INTO seat_registration (seat_registration_id, room_id, person_id, start_time, end_time, " +
+                "seat_registration_time, seat_registration_status) VALUES (?, ?, 1, ?, ?, ?, ?)",
+                id, roomId, startTime, endTime, DAY.minusDays(7), status);
+    }
+
+    private List<Map<String, Object>> usageRows() {
+        return jdbcTemplate.queryForList("SELECT room_id, usage_date, meeting_count, meeting_minutes, seat_registration_count, " +
+                "seat_minutes, peak_seats FROM room_daily_usage ORDER BY room_id, usage_date");
+    }
+
+    private void assertUsage(Map<String, Object> row, long roomId, int meetingCount, long meetingMinutes,
+                             int seatRegistrationCount, long seatMinutes, int peakSeats) {
+        assertEquals(roomId, ((Number) row.get("ROOM_ID")).longValue());
+        assertEquals(meetingCount, ((Number) row.get("MEETING_COUNT")).intValue());
+        assertEquals(meetingMinutes, ((Number) row.get("MEETING_MINUTES")).longValue());
+        assertEquals(seatRegistrationCount, ((Number) row.get("SEAT_REGISTRATION_COUNT")).intValue());
+        assertEquals(seatMinutes, ((Number) row.get("SEAT_MINUTES")).longValue());
+        assertEquals(peakSeats, ((Number) row.get("PEAK_SEATS")).intValue());
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
+import com.example.bookingapp.model.Person;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.model.SeatRegistration;
+import com.example.bookingapp.repository.PersonRepository;
+import com.example.bookingapp.repository.RoomRepository;
+import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.request.SeatRegistrationRequest;
+import com.example.bookingapp.service.RoomUsageService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatRegistrationConcurrencyTest {
+    private static final Logger logger = Logger.getLogger(SeatRegistrationConcurrencyTest.class.getName());
+    private static final int THREADS = 256;
+    private static final int REGISTRATIONS_PER_THREAD = 200;
+    private static final int SMALL_THREADS = 16;
+    private static final int SMALL_REGISTRATIONS_PER_THREAD = 50;
+    private static final int CAPACITY = 40;
+
+    private final LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void test_resolverSeatRegistration_withSameWindow_fillsRoomExactly() throws Exception {
+        assertSameWindowFillsRoomExactly(SMALL_THREADS, SMALL_REGISTRATIONS_PER_THREAD);
+    }
+
+    @Test
+    void test_resolverSeatRegistration_withRandomWindows_neverOverbooks() throws Exception {
+        assertRandomWindowsNeverOverbook(SMALL_THREADS, SMALL_REGISTRATIONS_PER_THREAD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_resolverSeatRegistration_withSameWindowUnderLoad_fillsRoomExactly() throws Exception {
+        assertSameWindowFillsRoomExactly(THREADS, REGISTRATIONS_PER_THREAD);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void test_resolverSeatRegistration_withRandomWindowsUnderLoad_neverOverbooks() throws Exception {
+        assertRandomWindowsNeverOverbook(THREADS, REGISTRATIONS_PER_THREAD);
+    }
+
+    private void assertSameWindowFillsRoomExactly(int threads, int registrationsPerThread) throws Exception {
+        ConcurrentLinkedQueue<SeatRegistration> saved = new ConcurrentLinkedQueue<>();
+        AtomicInteger fullyBooked = new AtomicInteger();
+        RoomServiceImpl service = createService(saved, 0);
+
+        run(service, threads, registrationsPerThread, random -> request(day.withHour(9), day.withHour(10)),
+                fullyBooked, new AtomicInteger());
+
+        assertEquals(CAPACITY, saved.size());
+        assertEquals(threads * registrationsPerThread - CAPACITY, fullyBooked.get());
+    }
+
+    private void assertRandomWindowsNeverOverbook(int threads, int registrationsPerThread) throws Exception {
+        ConcurrentLinkedQueue<SeatRegistration> saved = new ConcurrentLinkedQueue<>();
+        AtomicInteger fullyBooked = new AtomicInteger();
+        AtomicInteger failedSaves = new AtomicInteger();
+        RoomServiceImpl service = createService(saved, 10);
+
+        run(service, threads, registrationsPerThread, this::randomRequest, fullyBooked, failedSaves);
+
+        int[] occupancy = occupancyPerMinute(saved);
+        SeatReservationCounters counters = (SeatReservationCounters) ReflectionTestUtils.getField(service, "seatReservationCounters");
+        for (int minute = 0; minute < occupancy.length; minute++) {
+            assertTrue(occupancy[minute] <= CAPACITY, "Overbooked minute " + minute + ": " + occupancy[minute]);
+            assertEquals(occupancy[minute], counters.getReserved(1L, day.plusMinutes(minute)), "Counter drift at minute " + minute);
+        }
+        assertEquals(threads * registrationsPerThread, saved.size() + fullyBooked.get() + failedSaves.get());
+        assertTrue(failedSaves.get() > 0);
+    }
+
+    private void run(RoomServiceImpl service, int threads, int registrationsPerThread,
+                     Function<Random, SeatRegistrationRequest> requests,
+                     AtomicInteger fullyBooked, AtomicInteger failedSaves) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < registrationsPerThread; i++) {
+                    try {
+                        service.resolverSeatRegistration(requests.apply(random));
+                    } catch (IllegalArgumentException e) {
+                        fullyBooked.incrementAndGet();
+                    } catch (DataIntegrityViolationException e) {
+                        failedSaves.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int attempts = threads * registrationsPerThread;
+        logger.info(String.format("threads=%d attempts=%d fullyBooked=%d failedSaves=%d registrations/sec=%.0f",
+                threads, attempts, fullyBooked.get(), failedSaves.get(), attempts / (elapsedNanos / 1_000_000_000.0)));
+    }
+
+    private RoomServiceImpl createService(ConcurrentLinkedQueue<SeatRegistration> saved, int failEverySave) {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        PersonRepository personRepository = mock(PersonRepository.class);
+        SeatRegistrationRepository seatRegistrationRepository = mock(SeatRegistrationRepository.class);
+
+        Room room = Room.builder().id(1L).roomName("Hot Desk").capacity(CAPACITY).build();
+        when(roomRepository.getRoomByIdAvailable(1L)).thenReturn(room);
+        when(roomRepository.findRoomIdByOverlapTime(anyLong(), anyLong(), anyInt(), any(), any())).thenReturn(null);
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(Person.builder().id(1L).build()));
+        when(seatRegistrationRepository.findIntervalsInRoomBetween(anyLong(), anyInt(), any(), any())).thenReturn(Collections.emptyList());
+        AtomicLong ids = new AtomicLong();
+        when(seatRegistrationRepository.registerIfAvailable(anyLong(), anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            long id = ids.incrementAndGet();
+            if (failEverySave > 0 && id % failEverySave == 0) {
+                throw new DataIntegrityViolationException("Simulated failure of registration " + id);
+            }
+            // Like the conditional insert under the room lock: the row only lands while every minute has a seat.
+            synchronized (saved) {
+                SeatRegistration registration = SeatRegistration.builder().id(id)
+                        .startTime(invocation.getArgument(2)).endTime(invocation.getArgument(3)).build();
+                int[] occupancy = occupancyPerMinute(saved);
+                for (LocalDateTime minute = registration.getStartTime(); minute.isBefore(registration.getEndTime()); minute = minute.plusMinutes(1)) {
+                    if (occupancy[minute.getHour() * 60 + minute.getMinute()] >= CAPACITY) {
+                        return Optional.empty();
+                    }
+                }
+                saved.add(registration);
+            }
+            return Optional.of(id);
+        });
+
+        SeatOccupancyTimeline timeline = new SeatOccupancyTimeline();
+        ReflectionTestUtils.setField(timeline, "seatRegistrationRepository", seatRegistrationRepository);
+        SeatReservationCounters counters = new SeatReservationCounters();
+        ReflectionTestUtils.setField(counters, "seatOccupancyTimeline", timeline);
+
+        ExistenceCheckServiceImpl existenceCheckService = new ExistenceCheckServiceImpl();
+        existenceCheckService.idExistenceFilter = new IdExistenceFilter();
+        existenceCheckService.personRepository = personRepository;
+
+        return new RoomServiceImpl(roomRepository, null, personRepository, seatRegistrationRepository,
+                null, null, timeline, counters, mock(RoomUsageService.class), existenceCheckService);
+    }
+
+    private SeatRegistrationRequest randomRequest(Random random) {
+        LocalDateTime startTime = day.withHour(8).plusMinutes(5L * random.nextInt(96));
+        return request(startTime, startTime.plusMinutes(15L + 5L * random.nextInt(24)));
+    }
+
+    private SeatRegistrationRequest request(LocalDateTime startTime, LocalDateTime endTime) {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(1L);
+        request.setPersonId(1L);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        return request;
+    }
+
+    private int[] occupancyPerMinute(ConcurrentLinkedQueue<SeatRegistration> saved) {
+        int[] occupancy = new int[SeatOccupancyTimeline.MINUTES_PER_DAY];
+        for (SeatRegistration registration : saved) {
+            LocalDateTime minute = registration.getStartTime();
+            while (minute.isBefore(registration.getEndTime())) {
+                occupancy[minute.getHour() * 60 + minute.getMinute()]++;
+                minute = minute.plusMinutes(1);
+            }
+        }
+        return occupancy;
+    }
+}
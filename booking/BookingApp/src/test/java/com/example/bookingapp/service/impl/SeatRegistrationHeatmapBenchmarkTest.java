@@ -0,0 +1,134 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.concurrent.HeatmapPoolConfig;
+import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamException;
+import com.example.bookingapp.response.SeatRegistrationHeatmap;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({SeatRegistrationHeatmapServiceImpl.class, HeatmapPoolConfig.class})
+class SeatRegistrationHeatmapBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(SeatRegistrationHeatmapBenchmarkTest.class.getName());
+    private static final int ROOMS = 500;
+    private static final int DAYS = 30;
+    private static final int REGISTRATIONS = 300_000;
+    private static final int SMALL_ROOMS = 20;
+    private static final int SMALL_REGISTRATIONS = 5_000;
+    private static final LocalDate FROM_DATE = LocalDate.of(2023, 10, 1);
+    private static final LocalDate TO_DATE = FROM_DATE.plusDays(DAYS - 1);
+
+    @Autowired
+    SeatRegistrationHeatmapServiceImpl seatRegistrationHeatmapService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ForkJoinPool heatmapForkJoinPool;
+
+    @Test
+    void test_calculateHeatmap_matchesBruteForceCount() throws Exception {
+        calculateAndCheck(SMALL_ROOMS, SMALL_REGISTRATIONS, new long[]{1L, 2L, 10L, SMALL_ROOMS - 1});
+        assertFalse(heatmapForkJoinPool.isShutdown());
+        assertEquals(4, heatmapForkJoinPool.getParallelism());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_calculateHeatmap_withFiveHundredRoomsAndThirtyDays() throws Exception {
+        long[] nanos = calculateAndCheck(ROOMS, REGISTRATIONS, new long[]{1L, 2L, 250L, 499L});
+
+        logger.info(String.format("seat heatmap, %d rooms x %d days at 15-minute blocks from %d registrations: " +
+                        "calculate %.2f ms, calculate and stream %.2f ms",
+                ROOMS, DAYS, REGISTRATIONS, nanos[0] / 1e6, nanos[1] / 1e6));
+    }
+
+    /**
+     * Fills the rooms, the last one soft-deleted, and checks the heatmap and its JSON export against a
+     * brute-force count. Returns the nanoseconds taken to calculate and to export.
+     */
+    private long[] calculateAndCheck(int rooms, int registrations, long[] sampledRoomIds) throws Exception {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity, deleted_at) " +
+                "SELECT x, CONCAT('Room ', x), 2, 100, CASE WHEN x = " + rooms + " THEN TIMESTAMP '2023-09-01 00:00:00' END " +
+                "FROM SYSTEM_RANGE(1, " + rooms + ")");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (1, 30, 'John')");
+        jdbcTemplate.update("INSERT INTO seat_registration " +
+                "(seat_registration_id, room_id, person_id, start_time, end_time, seat_registration_time, seat_registration_status) " +
+                "SELECT x, MOD(x, " + rooms + ") + 1, 1, " +
+                "DATEADD(MINUTE, MOD(x * 37, " + (DAYS * 1440 + 120) + ") - 60, TIMESTAMP '2023-10-01 00:00:00'), " +
+                "DATEADD(MINUTE, MOD(x * 37, " + (DAYS * 1440 + 120) + ") - 45 + MOD(x, 180), TIMESTAMP '2023-10-01 00:00:00'), " +
+                "TIMESTAMP '2023-09-01 00:00:00', CASE WHEN MOD(x, 10) = 0 THEN 0 ELSE 1 END " +
+                "FROM SYSTEM_RANGE(1, " + registrations + ")");
+
+        long start = System.nanoTime();
+        SeatRegistrationHeatmap heatmap = seatRegistrationHeatmapService.calculateHeatmap(FROM_DATE, TO_DATE, 15);
+        long calculateNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        seatRegistrationHeatmapService.exportHeatmap(FROM_DATE, TO_DATE, 15).writeTo(out);
+        long exportNanos = System.nanoTime() - start;
+
+        assertEquals(rooms - 1, heatmap.getRoomIds().length);
+        assertEquals(1L, heatmap.getRoomIds()[0]);
+        for (long roomId : sampledRoomIds) {
+            assertArrayEquals(bruteForce(roomId, 15), heatmap.getTotals()[(int) roomId - 1], "Room " + roomId);
+        }
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(96, json.get("blocksPerDay").asInt());
+        assertEquals(rooms - 1, json.get("totals").size());
+        assertEquals(DAYS * 96, json.get("totals").get(0).size());
+        assertEquals(heatmap.getTotals()[1][500], json.get("totals").get(1).get(500).asInt());
+        return new long[]{calculateNanos, exportNanos};
+    }
+
+    @Test
+    void test_calculateHeatmap_withInvalidParams() {
+        assertThrows(SeatRegistrationInvalidFormatParamException.class,
+                () -> seatRegistrationHeatmapService.calculateHeatmap(FROM_DATE, null, 15));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class,
+                () -> seatRegistrationHeatmapService.calculateHeatmap(FROM_DATE, FROM_DATE.minusDays(1), 15));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class,
+                () -> seatRegistrationHeatmapService.calculateHeatmap(FROM_DATE, FROM_DATE.plusDays(31), 15));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class,
+                () -> seatRegistrationHeatmapService.calculateHeatmap(FROM_DATE, FROM_DATE, 7));
+    }
+
+    private int[] bruteForce(Long roomId, int eachMinute) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT start_time, end_time FROM seat_registration " +
+                "WHERE room_id = ? AND seat_registration_status <> 0", roomId);
+        int[] totals = new int[DAYS * 1440 / eachMinute];
+        for (Map<String, Object> row : rows) {
+            LocalDateTime startTime = ((Timestamp) row.get("START_TIME")).toLocalDateTime();
+            LocalDateTime endTime = ((Timestamp) row.get("END_TIME")).toLocalDateTime();
+            for (int block = 0; block < totals.length; block++) {
+                LocalDateTime blockStart = FROM_DATE.atStartOfDay().plusMinutes((long) block * eachMinute);
+                if (!startTime.isAfter(blockStart.plusMinutes(eachMinute)) && !endTime.isBefore(blockStart)) {
+                    totals[block]++;
+                }
+            }
+        }
+        return totals;
+    }
+}
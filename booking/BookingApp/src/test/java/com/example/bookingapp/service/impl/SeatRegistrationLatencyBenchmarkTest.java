@@ -0,0 +1,92 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.IdExistenceFilter;
+import com.example.bookingapp.cache.RoomAvailabilityBitmap;
+import com.example.bookingapp.cache.RoomCatalog;
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
+import com.example.bookingapp.request.SeatRegistrationRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({RoomServiceImpl.class, RoomAvailabilityBitmap.class, RoomCatalog.class, SeatOccupancyTimeline.class, SeatReservationCounters.class,
+        RoomUsageServiceImpl.class, ExistenceCheckServiceImpl.class, IdExistenceFilter.class})
+@Tag("benchmark")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatRegistrationLatencyBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(SeatRegistrationLatencyBenchmarkTest.class.getName());
+    private static final int WARM_UP = 200;
+    private static final int REGISTRATIONS = 2000;
+    private static final int SLOTS = 40;
+
+    @Autowired
+    RoomServiceImpl roomService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seat_registration");
+        jdbcTemplate.update("DELETE FROM room_daily_usage");
+        jdbcTemplate.update("DELETE FROM person");
+        jdbcTemplate.update("DELETE FROM room");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void benchmark_resolverSeatRegistration_latency() {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (900001, 'Benchmark Room', 2, 200)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) SELECT 900000 + x, 30, 'Person' FROM SYSTEM_RANGE(1, "
+                + (WARM_UP + REGISTRATIONS) + ")");
+        LocalDateTime day = LocalDateTime.now().plusDays(40).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        for (int i = 1; i <= WARM_UP; i++) {
+            roomService.resolverSeatRegistration(request(900000L + i, day.minusDays(1), i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long[] nanos = new long[REGISTRATIONS];
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            SeatRegistrationRequest request = request(900001L + WARM_UP + i, day, i);
+            long start = System.nanoTime();
+            roomService.resolverSeatRegistration(request);
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        assertEquals(WARM_UP + REGISTRATIONS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_registration", Integer.class));
+        Arrays.sort(nanos);
+        logger.info(String.format("seat registration, %d calls: p50 %.3f ms, p99 %.3f ms, %.2f statements/call", REGISTRATIONS,
+                nanos[REGISTRATIONS / 2] / 1e6, nanos[REGISTRATIONS * 99 / 100] / 1e6,
+                (double) statistics.getPrepareStatementCount() / REGISTRATIONS));
+    }
+
+    private SeatRegistrationRequest request(Long personId, LocalDateTime day, int i) {
+        SeatRegistrationRequest request = new SeatRegistrationRequest();
+        request.setRoomId(900001L);
+        request.setPersonId(personId);
+        request.setStartTime(day.plusMinutes(15L * (i % SLOTS)));
+        request.setEndTime(request.getStartTime().plusMinutes(30));
+        return request;
+    }
+}
@@ -1,23 +1,39 @@
 package com.example.bookingapp.service.impl;
 
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
 import com.example.bookingapp.constant.StatusSeatRegistration;
+import com.example.bookingapp.dto.SeatIntervalDTO;
+import com.example.bookingapp.exception.SeatRegistrationInvalidFormatParamException;
 import com.example.bookingapp.model.Person;
 import com.example.bookingapp.model.Room;
 import com.example.bookingapp.model.SeatRegistration;
+import com.example.bookingapp.repository.RoomRepository;
 import com.example.bookingapp.repository.SeatRegistrationRepository;
+import com.example.bookingapp.response.SeatRegistrationStatisticsResponse;
+import com.example.bookingapp.response.iSeatRegistrationStatisticsInterval;
+import com.example.bookingapp.service.RoomUsageService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,11 +44,55 @@ class SeatRegistrationServiceImplTest {
     @MockBean
     SeatRegistrationRepository seatRegistrationRepository;
 
+    @MockBean
+    RoomRepository roomRepository;
+
+    @MockBean
+    SeatOccupancyTimeline seatOccupancyTimeline;
+
+    @MockBean
+    SeatReservationCounters seatReservationCounters;
+
+    @MockBean
+    RoomUsageService roomUsageService;
+
     @InjectMocks
     SeatRegistrationServiceImpl seatRegistrationService;
 
     @Test
     void testCancelSeatRegistration() {
+        Long seatRegistrationId = 1L;
+        Long personId = 1L;
+        LocalDateTime startTime = LocalDateTime.now().plusHours(1);
+        LocalDateTime endTime = startTime.plusHours(1);
+        when(seatRegistrationRepository.cancelIfAllowed(eq(seatRegistrationId), eq(personId), eq(StatusSeatRegistration.CANCELED), any())).thenReturn(1);
+        when(seatRegistrationRepository.findIntervalById(seatRegistrationId)).thenReturn(new SeatIntervalDTO(seatRegistrationId, 1L, startTime, endTime));
+        seatRegistrationService.cancleSeatRegistration(seatRegistrationId, personId);
+        verify(seatRegistrationRepository, never()).findById(seatRegistrationId);
+        verify(seatRegistrationRepository, never()).save(any(SeatRegistration.class));
+        verify(seatReservationCounters, times(1)).release(1L, startTime, endTime);
+        verify(roomUsageService, times(1)).recordSeatRegistration(1L, startTime, endTime, -1);
+        verify(seatOccupancyTimeline, times(1)).remove(1L, seatRegistrationId, startTime, endTime);
+    }
+
+    @Test
+    void testCancelSeatRegistration_WithFailedCommit_KeepsSeatReserved() {
+        Long seatRegistrationId = 1L;
+        Long personId = 1L;
+        LocalDateTime startTime = LocalDateTime.now().plusHours(1);
+        LocalDateTime endTime = startTime.plusHours(1);
+        when(seatRegistrationRepository.cancelIfAllowed(eq(seatRegistrationId), eq(personId), eq(StatusSeatRegistration.CANCELED), any())).thenReturn(1);
+        when(seatRegistrationRepository.findIntervalById(seatRegistrationId)).thenReturn(new SeatIntervalDTO(seatRegistrationId, 1L, startTime, endTime));
+        SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+        transactionManager.setFailCommit(true);
+        assertThrows(DataIntegrityViolationException.class, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> seatRegistrationService.cancleSeatRegistration(seatRegistrationId, personId)));
+        verify(seatReservationCounters, never()).release(any(), any(), any());
+        verify(seatOccupancyTimeline, never()).remove(any(), any(), any(), any());
+    }
+
+    @Test
+    void testCancelSeatRegistration_AlreadyCanceled() {
         Long seatRegistrationId = 1L;
         Long personId = 1L;
         SeatRegistration seatRegistration = SeatRegistration.builder()
@@ -40,14 +100,14 @@ class SeatRegistrationServiceImplTest {
                 .person(Person.builder().id(personId).build())
                 .startTime(LocalDateTime.now().plusHours(1))
                 .endTime(LocalDateTime.now().plusHours(2))
-                .seatRegistrationStatus(StatusSeatRegistration.REGISTERED)
-                .room(Room.builder().deletedAt(null).build())
+                .seatRegistrationStatus(StatusSeatRegistration.CANCELED)
+                .room(Room.builder().id(1L).build())
                 .build();
         when(seatRegistrationRepository.findById(seatRegistrationId)).thenReturn(Optional.of(seatRegistration));
-        when(seatRegistrationRepository.save(any(SeatRegistration.class))).thenReturn(seatRegistration);
-        seatRegistrationService.cancleSeatRegistration(seatRegistrationId, personId);
-        assertEquals(StatusSeatRegistration.CANCELED, seatRegistration.getSeatRegistrationStatus());
-        verify(seatRegistrationRepository, times(1)).save(seatRegistration);
+        String message = assertThrows(IllegalArgumentException.class,
+                () -> seatRegistrationService.cancleSeatRegistration(seatRegistrationId, personId)).getMessage();
+        assertEquals("You have not registered for this seat yet", message);
+        verify(seatReservationCounters, never()).release(any(), any(), any());
     }
 
     @Test
@@ -91,4 +151,42 @@ class SeatRegistrationServiceImplTest {
         when(seatRegistrationRepository.findById(seatRegistrationId)).thenReturn(Optional.of(seatRegistration));
         assertThrows(IllegalArgumentException.class, () -> seatRegistrationService.cancleSeatRegistration(seatRegistrationId, personId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStatisticSeatRegistration_countsRegistrationsTouchingEachBlock() {
+        LocalDate date = LocalDate.of(2023, 10, 2);
+        LocalDateTime day = date.atStartOfDay();
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(Room.builder().id(1L).build()));
+        when(seatRegistrationRepository.findIntervalsTouching(1L, StatusSeatRegistration.CANCELED, day, day.plusDays(1)))
+                .thenReturn(Arrays.asList(
+                        new SeatIntervalDTO(1L, 1L, day.withHour(9), day.withHour(10)),
+                        new SeatIntervalDTO(2L, 1L, day.withHour(9).withMinute(30), day.withHour(9).withMinute(45)),
+                        new SeatIntervalDTO(3L, 1L, day.minusHours(2), day.withHour(1).withMinute(15)),
+                        new SeatIntervalDTO(4L, 1L, day.withHour(23).withMinute(30), day.plusDays(1).withHour(2))));
+
+        SeatRegistrationStatisticsResponse response = seatRegistrationService.statisticSeatRegistration(1L, date, 60);
+
+        List<iSeatRegistrationStatisticsInterval> intervals = response.getData().getTimeIntervals();
+        assertEquals(24, intervals.size());
+        assertEquals(1, intervals.get(0).getTotalSeatRegistrations());
+        assertEquals(1, intervals.get(1).getTotalSeatRegistrations());
+        assertEquals(0, intervals.get(2).getTotalSeatRegistrations());
+        assertEquals(1, intervals.get(8).getTotalSeatRegistrations());
+        assertEquals(2, intervals.get(9).getTotalSeatRegistrations());
+        assertEquals(1, intervals.get(10).getTotalSeatRegistrations());
+        assertEquals(1, intervals.get(23).getTotalSeatRegistrations());
+        assertEquals(LocalTime.of(23, 0), intervals.get(23).getStartTime());
+        assertEquals(LocalTime.MIDNIGHT, intervals.get(23).getEndTime());
+    }
+
+    @Test
+    void testStatisticSeatRegistration_withZeroOrNegativeEachMinute_isInvalidFormat() {
+        LocalDate date = LocalDate.of(2023, 10, 2);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(Room.builder().id(1L).build()));
+
+        assertThrows(SeatRegistrationInvalidFormatParamException.class, () -> seatRegistrationService.statisticSeatRegistration(1L, date, 0));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class, () -> seatRegistrationService.statisticSeatRegistration(1L, date, -60));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class, () -> seatRegistrationService.statisticSeatRegistration(1L, date, 2880));
+        assertThrows(SeatRegistrationInvalidFormatParamException.class, () -> seatRegistrationService.statisticSeatRegistration(1L, date, 7));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.SeatOccupancyTimeline;
+import com.example.bookingapp.concurrent.SeatReservationCounters;
+import com.example.bookingapp.response.SeatRegistrationStatisticsResponse;
+import com.example.bookingapp.response.iSeatRegistrationStatisticsInterval;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({SeatRegistrationServiceImpl.class, SeatOccupancyTimeline.class, SeatReservationCounters.class, RoomUsageServiceImpl.class})
+class SeatRegistrationStatisticsBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(SeatRegistrationStatisticsBenchmarkTest.class.getName());
+    private static final int REGISTRATIONS = 100_000;
+    private static final int SMALL_REGISTRATIONS = 2_000;
+    private static final int ROUNDS = 10;
+    private static final LocalDate DATE = LocalDate.of(2023, 10, 2);
+
+    @Autowired
+    SeatRegistrationServiceImpl seatRegistrationService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void test_statisticSeatRegistration_matchesBruteForceCount() {
+        insertRegistrations(SMALL_REGISTRATIONS);
+
+        for (int eachMinute : new int[]{1, 15, 60, 1440}) {
+            assertArrayEquals(bruteForce(1L, eachMinute), totals(seatRegistrationService.statisticSeatRegistration(1L, DATE, eachMinute)));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_statisticSeatRegistration_withOneHundredThousandRegistrations() {
+        insertRegistrations(REGISTRATIONS);
+        assertArrayEquals(bruteForce(1L, 15), totals(seatRegistrationService.statisticSeatRegistration(1L, DATE, 15)));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            seatRegistrationService.statisticSeatRegistration(1L, DATE, 1);
+        }
+        long prefixSumNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        bruteForce(1L, 1);
+        long bruteForceNanos = System.nanoTime() - start;
+
+        logger.info(String.format("seat statistics, %d registrations at 1-minute blocks: prefix sum %.2f ms/call, blocks x registrations %.2f ms",
+                REGISTRATIONS, prefixSumNanos / 1e6 / ROUNDS, bruteForceNanos / 1e6));
+    }
+
+    private void insertRegistrations(int count) {
+        jdbcTemplate.update("INSERT INTO room (room_id, room_name, status_room, capacity) VALUES (1, 'Room A', 2, 100), (2, 'Room B', 2, 100)");
+        jdbcTemplate.update("INSERT INTO person (person_id, age, fullname) VALUES (1, 30, 'John')");
+        jdbcTemplate.update("INSERT INTO seat_registration " +
+                "(seat_registration_id, room_id, person_id, start_time, end_time, seat_registration_time, seat_registration_status) " +
+                "SELECT x, MOD(x, 20) / 19 + 1, 1, " +
+                "DATEADD(MINUTE, MOD(x * 7, 1560) - 60, TIMESTAMP '2023-10-02 00:00:00'), " +
+                "DATEADD(MINUTE, MOD(x * 7, 1560) - 45 + MOD(x, 120), TIMESTAMP '2023-10-02 00:00:00'), " +
+                "TIMESTAMP '2023-09-01 00:00:00', CASE WHEN MOD(x, 10) = 0 THEN 0 ELSE 1 END " +
+                "FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    private int[] totals(SeatRegistrationStatisticsResponse response) {
+        List<iSeatRegistrationStatisticsInterval> intervals = response.getData().getTimeIntervals();
+        int[] totals = new int[intervals.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = intervals.get(i).getTotalSeatRegistrations();
+            assertEquals(LocalTime.MIDNIGHT.plusMinutes((long) i * (1440 / totals.length)), intervals.get(i).getStartTime());
+        }
+        return totals;
+    }
+
+    private int[] bruteForce(Long roomId, int eachMinute) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT start_time, end_time FROM seat_registration " +
+                "WHERE room_id = ? AND seat_registration_status <> 0", roomId);
+        LocalDateTime[] starts = new LocalDateTime[rows.size()];
+        LocalDateTime[] ends = new LocalDateTime[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            starts[i] = ((Timestamp) rows.get(i).get("START_TIME")).toLocalDateTime();
+            ends[i] = ((Timestamp) rows.get(i).get("END_TIME")).toLocalDateTime();
+        }
+        int[] totals = new int[1440 / eachMinute];
+        for (int block = 0; block < totals.length; block++) {
+            LocalDateTime blockStart = DATE.atStartOfDay().plusMinutes((long) block * eachMinute);
+            LocalDateTime blockEnd = blockStart.plusMinutes(eachMinute);
+            for (int i = 0; i < starts.length; i++) {
+                if (!starts[i].isAfter(blockEnd) && !ends[i].isBefore(blockStart)) {
+                    totals[block]++;
+                }
+            }
+        }
+        return totals;
+    }
+}
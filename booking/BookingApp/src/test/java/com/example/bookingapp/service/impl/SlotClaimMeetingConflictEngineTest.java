@@ -0,0 +1,201 @@
+package com.example.bookingapp.service.impl;
+
+import com.example.bookingapp.cache.MeetingScheduleCache;
+import com.example.bookingapp.concurrent.RoomLockManager;
+import com.example.bookingapp.constant.StatusMeetingSchedule;
+import com.example.bookingapp.exception.MeetingConflictException;
+import com.example.bookingapp.model.MeetingSchedule;
+import com.example.bookingapp.model.Room;
+import com.example.bookingapp.repository.MeetingScheduleRepository;
+import com.example.bookingapp.repository.MeetingSlotRepository;
+import com.example.bookingapp.service.MeetingConflictEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "booking.conflict-engine=slot-claim")
+@Import(SlotClaimMeetingConflictEngine.class)
+class SlotClaimMeetingConflictEngineTest {
+    private static final Logger logger = Logger.getLogger(SlotClaimMeetingConflictEngineTest.class.getName());
+    private static final int THREADS = 8;
+    private static final int BOOKINGS_PER_THREAD = 200;
+    private static final int ROOMS = 4;
+
+    @Autowired
+    private SlotClaimMeetingConflictEngine slotClaimEngine;
+
+    @Autowired
+    private MeetingSlotRepository meetingSlotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void test_reserve_claimsEverySlotFromStartToEnd() {
+        slotClaimEngine.reserve(meeting(1L, 1L, base, base.plusHours(1)));
+
+        assertEquals(5, meetingSlotRepository.count());
+        assertTrue(slotClaimEngine.hasConflict(1L, base.plusHours(1), base.plusHours(2), null));
+        assertFalse(slotClaimEngine.hasConflict(1L, base.plusMinutes(75), base.plusHours(2), null));
+        assertFalse(slotClaimEngine.hasConflict(1L, base, base.plusHours(1), 1L));
+        assertFalse(slotClaimEngine.hasConflict(2L, base, base.plusHours(1), null));
+    }
+
+    @Test
+    void test_reserve_withRescheduledMeeting_releasesPreviousSlots() {
+        MeetingSchedule meeting = meeting(1L, 1L, base, base.plusHours(1));
+        slotClaimEngine.reserve(meeting);
+        meeting.setStartTime(base.plusHours(3));
+        meeting.setEndTime(base.plusHours(4));
+        slotClaimEngine.reserve(meeting);
+
+        assertFalse(slotClaimEngine.hasConflict(1L, base, base.plusMinutes(30), null));
+        assertTrue(slotClaimEngine.hasConflict(1L, base.plusHours(3), base.plusHours(4), null));
+    }
+
+    @Test
+    void test_release() {
+        MeetingSchedule meeting = meeting(1L, 1L, base, base.plusHours(1));
+        slotClaimEngine.reserve(meeting);
+        slotClaimEngine.release(meeting.getId());
+
+        assertEquals(0, meetingSlotRepository.count());
+        assertFalse(slotClaimEngine.hasConflict(1L, base, base.plusHours(1), null));
+    }
+
+    @Test
+    void test_reserve_withClaimedSlot_throwsMeetingConflictException() {
+        slotClaimEngine.reserve(meeting(1L, 1L, base, base.plusHours(1)));
+
+        assertThrows(MeetingConflictException.class,
+                () -> slotClaimEngine.reserve(meeting(2L, 1L, base.plusMinutes(45), base.plusHours(2))));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void test_contention_slotClaimAgainstInMemory() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            int slotBooked = runContention("slot-claim", slotClaimEngine,
+                    book -> transactionTemplate.executeWithoutResult(status -> book.run()));
+            assertEquals(slotBooked, countDistinctClaimingMeetings());
+
+            MeetingScheduleCache cache = new MeetingScheduleCache();
+            ReflectionTestUtils.setField(cache, "meetingRepository", mock(MeetingScheduleRepository.class));
+            for (long roomId = 1; roomId <= ROOMS; roomId++) {
+                cache.loadRoom(roomId, Collections.emptyList());
+            }
+            InMemoryMeetingConflictEngine memoryEngine = new InMemoryMeetingConflictEngine();
+            ReflectionTestUtils.setField(memoryEngine, "meetingScheduleCache", cache);
+            RoomLockManager roomLockManager = new RoomLockManager();
+            runContention("memory", memoryEngine, book -> roomLockManager.withRoomLock(book.roomId, book));
+        } finally {
+            meetingSlotRepository.deleteAll();
+        }
+    }
+
+    private int runContention(String name, MeetingConflictEngine engine, Consumer<Booking> executor) throws Exception {
+        AtomicLong ids = new AtomicLong();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    LocalDateTime startTime = base.plusMinutes(15L * random.nextInt(40));
+                    MeetingSchedule meeting = meeting(ids.incrementAndGet(), 1L + random.nextInt(ROOMS),
+                            startTime, startTime.plusMinutes(15L + 15L * random.nextInt(4)));
+                    try {
+                        executor.accept(new Booking(engine, meeting));
+                        booked.incrementAndGet();
+                    } catch (MeetingConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int attempts = THREADS * BOOKINGS_PER_THREAD;
+        logger.info(String.format("engine=%s rooms=%d threads=%d attempts=%d booked=%d conflicts=%d bookings/sec=%.0f",
+                name, ROOMS, THREADS, attempts, booked.get(), conflicts.get(),
+                attempts / (elapsedNanos / 1_000_000_000.0)));
+        assertEquals(attempts, booked.get() + conflicts.get());
+        return booked.get();
+    }
+
+    private long countDistinctClaimingMeetings() {
+        return meetingSlotRepository.findAll().stream().map(slot -> slot.getMeetingId()).distinct().count();
+    }
+
+    private MeetingSchedule meeting(Long id, Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return MeetingSchedule.builder()
+                .id(id)
+                .room(Room.builder().id(roomId).build())
+                .startTime(startTime)
+                .endTime(endTime)
+                .statusMeeting(StatusMeetingSchedule.SCHEDULED)
+                .build();
+    }
+
+    private static class Booking implements Runnable {
+        private final MeetingConflictEngine engine;
+        private final MeetingSchedule meeting;
+        private final Long roomId;
+
+        Booking(MeetingConflictEngine engine, MeetingSchedule meeting) {
+            this.engine = engine;
+            this.meeting = meeting;
+            this.roomId = meeting.getRoom().getId();
+        }
+
+        @Override
+        public void run() {
+            if (engine.hasConflict(roomId, meeting.getStartTime(), meeting.getEndTime(), null)) {
+                throw new MeetingConflictException("Meeting conflict detected.");
+            }
+            engine.reserve(meeting);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.bookingapp.service.impl;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Transaction manager without a resource for unit tests: it only drives transaction synchronizations,
+ * so after-commit and after-rollback callbacks run as they would around a database transaction. While
+ * failCommit is set every commit fails and is rolled back.
+ */
+class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+    private volatile boolean failCommit;
+
+    void setFailCommit(boolean failCommit) {
+        this.failCommit = failCommit;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        if (failCommit) {
+            throw new DataIntegrityViolationException("Commit failed.");
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.bookingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongBloomFilterTest {
+    @Test
+    void test_mightContain_neverMissesAddedIds() {
+        LongBloomFilter filter = new LongBloomFilter(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.put(id * 7);
+        }
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(filter.mightContain(id * 7));
+        }
+    }
+
+    @Test
+    void test_mightContain_falsePositiveRateNearTarget() {
+        LongBloomFilter filter = new LongBloomFilter(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.put(id);
+        }
+        int falsePositives = 0;
+        for (long id = 100_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 15_000, "False positives: " + falsePositives);
+        assertFalse(filter.mightContain(-1));
+    }
+}
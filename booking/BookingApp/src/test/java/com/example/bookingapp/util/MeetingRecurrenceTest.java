@@ -0,0 +1,55 @@
+package com.example.bookingapp.util;
+
+import com.example.bookingapp.constant.RecurrenceFrequency;
+import com.example.bookingapp.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MeetingRecurrenceTest {
+    private final LocalDateTime first = LocalDateTime.of(2099, 1, 31, 9, 0);
+
+    @Test
+    void test_expand_dailyWithInterval_untilIsInclusive() {
+        List<LocalDateTime> occurrences = MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 2,
+                LocalDate.of(2099, 2, 6), null, 366);
+
+        assertEquals(Arrays.asList(first, first.plusDays(2), first.plusDays(4), first.plusDays(6)), occurrences);
+    }
+
+    @Test
+    void test_expand_weeklyCount() {
+        List<LocalDateTime> occurrences = MeetingRecurrence.expand(first, RecurrenceFrequency.WEEKLY, 1, null, 52, 366);
+
+        assertEquals(52, occurrences.size());
+        assertEquals(first.plusWeeks(51), occurrences.get(51));
+    }
+
+    @Test
+    void test_expand_monthly_skipsMonthsWithoutTheDay() {
+        List<LocalDateTime> occurrences = MeetingRecurrence.expand(first, RecurrenceFrequency.MONTHLY, 1, null, 4, 366);
+
+        assertEquals(Arrays.asList(first, LocalDateTime.of(2099, 3, 31, 9, 0),
+                LocalDateTime.of(2099, 5, 31, 9, 0), LocalDateTime.of(2099, 7, 31, 9, 0)), occurrences);
+    }
+
+    @Test
+    void test_expand_rejectsInvalidRules() {
+        assertThrows(ValidationException.class,
+                () -> MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 1, null, null, 366));
+        assertThrows(ValidationException.class,
+                () -> MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 1, first.toLocalDate(), 3, 366));
+        assertThrows(ValidationException.class,
+                () -> MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 0, null, 3, 366));
+        assertThrows(ValidationException.class,
+                () -> MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 1, null, 367, 366));
+        assertThrows(ValidationException.class,
+                () -> MeetingRecurrence.expand(first, RecurrenceFrequency.DAILY, 1, first.toLocalDate().plusYears(2), null, 366));
+    }
+}
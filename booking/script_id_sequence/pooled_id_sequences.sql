@@ -0,0 +1,12 @@
+-- Run before deploying the pooled sequence ids: Hibernate allocates 50 ids per nextval and refuses to start
+-- while the SERIAL sequences still increment by 1. The SERIAL defaults keep working for plain SQL inserts.
+ALTER SEQUENCE room_room_id_seq INCREMENT BY 50;
+ALTER SEQUENCE person_person_id_seq INCREMENT BY 50;
+ALTER SEQUENCE meeting_schedule_meeting_id_seq INCREMENT BY 50;
+ALTER SEQUENCE seat_registration_seat_registration_id_seq INCREMENT BY 50;
+
+-- Hibernate uses the 50 ids up to each value it reads, so move every sequence a full block past the current ids.
+SELECT setval('room_room_id_seq', (SELECT COALESCE(MAX(room_id), 0) + 50 FROM room));
+SELECT setval('person_person_id_seq', (SELECT COALESCE(MAX(person_id), 0) + 50 FROM person));
+SELECT setval('meeting_schedule_meeting_id_seq', (SELECT COALESCE(MAX(meeting_id), 0) + 50 FROM meeting_schedule));
+SELECT setval('seat_registration_seat_registration_id_seq', (SELECT COALESCE(MAX(seat_registration_id), 0) + 50 FROM seat_registration));
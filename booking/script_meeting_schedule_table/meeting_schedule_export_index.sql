@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_meeting_schedule_room_start
+    ON meeting_schedule (room_id, start_time, meeting_id);
+
+COMMENT ON INDEX idx_meeting_schedule_room_start IS 'Streaming export of a room''s booking history ordered by start time';
@@ -0,0 +1,8 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_meeting_schedule_person_start
+    ON meeting_schedule (person_id, start_time, meeting_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_meeting_schedule_person_reservation
+    ON meeting_schedule (person_id, reservation_time, meeting_id);
+
+COMMENT ON INDEX idx_meeting_schedule_person_start IS 'Keyset pagination of a person''s booking history ordered by start time';
+COMMENT ON INDEX idx_meeting_schedule_person_reservation IS 'Keyset pagination of a person''s booking history ordered by reservation time';
@@ -0,0 +1,7 @@
+ALTER TABLE meeting_schedule ADD COLUMN IF NOT EXISTS series_id UUID;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_meeting_schedule_series
+    ON meeting_schedule (series_id);
+
+COMMENT ON COLUMN meeting_schedule.series_id IS 'Shared by every occurrence of a recurring meeting series, NULL for single meetings';
+COMMENT ON INDEX idx_meeting_schedule_series IS 'Loading and canceling all occurrences of a meeting series';
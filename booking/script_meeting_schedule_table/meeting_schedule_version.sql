@@ -0,0 +1,3 @@
+ALTER TABLE meeting_schedule ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN meeting_schedule.version IS 'Optimistic lock version, incremented on every update of the meeting';
@@ -0,0 +1,25 @@
+CREATE TABLE meeting_slot
+(
+    room_id BIGINT NOT NULL,
+    slot_start TIMESTAMP NOT NULL,
+    meeting_id BIGINT NOT NULL,
+    PRIMARY KEY (room_id, slot_start),
+    FOREIGN KEY (room_id) REFERENCES room (room_id),
+    FOREIGN KEY (meeting_id) REFERENCES meeting_schedule (meeting_id)
+);
+
+CREATE INDEX idx_meeting_slot_meeting_id ON meeting_slot (meeting_id);
+
+COMMENT ON COLUMN meeting_slot.room_id IS 'The ID of the room. This is a foreign key that references the `room` table.';
+COMMENT ON COLUMN meeting_slot.slot_start IS 'Start of a 15 minute slot claimed by a meeting, the meeting claims every slot from its start time to its end time';
+COMMENT ON COLUMN meeting_slot.meeting_id IS 'The ID of the meeting. This is a foreign key that references the `meeting_schedule` table.';
+
+INSERT INTO meeting_slot (room_id, slot_start, meeting_id)
+SELECT m.room_id, slot, m.meeting_id
+FROM meeting_schedule m,
+     generate_series(date_bin('15 minutes', m.start_time, TIMESTAMP '2000-01-01'),
+                     date_bin('15 minutes', m.end_time, TIMESTAMP '2000-01-01'),
+                     INTERVAL '15 minutes') AS slot
+WHERE m.status_meeting = 1
+  AND m.end_time > now()
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,22 @@
+CREATE TABLE room_daily_usage
+(
+    room_id BIGINT NOT NULL,
+    usage_date DATE NOT NULL,
+    meeting_count INTEGER NOT NULL DEFAULT 0,
+    meeting_minutes BIGINT NOT NULL DEFAULT 0,
+    seat_registration_count INTEGER NOT NULL DEFAULT 0,
+    seat_minutes BIGINT NOT NULL DEFAULT 0,
+    peak_seats INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (room_id, usage_date)
+);
+
+CREATE INDEX idx_room_daily_usage_usage_date ON room_daily_usage (usage_date);
+
+COMMENT ON TABLE room_daily_usage IS 'Daily usage rollup of each room, kept up to date by every booking, cancellation and seat registration. Backfill past days with POST /api/room/utilization/rebuild?fromDate=&toDate=';
+COMMENT ON COLUMN room_daily_usage.room_id IS 'The ID of the room.';
+COMMENT ON COLUMN room_daily_usage.usage_date IS 'The day of the start time of the meetings and seat registrations counted in this row';
+COMMENT ON COLUMN room_daily_usage.meeting_count IS 'Number of scheduled meetings';
+COMMENT ON COLUMN room_daily_usage.meeting_minutes IS 'Total booked minutes of the scheduled meetings';
+COMMENT ON COLUMN room_daily_usage.seat_registration_count IS 'Number of registered seats';
+COMMENT ON COLUMN room_daily_usage.seat_minutes IS 'Total registered seat minutes';
+COMMENT ON COLUMN room_daily_usage.peak_seats IS 'Most seats registered at the same time during the day';
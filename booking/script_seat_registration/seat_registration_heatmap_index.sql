@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seat_registration_end_start
+    ON seat_registration (end_time, start_time);
+
+COMMENT ON INDEX idx_seat_registration_end_start IS 'Range scan of the seat registrations of all rooms for the occupancy heatmap';
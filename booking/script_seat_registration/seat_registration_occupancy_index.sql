@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seat_registration_room_start
+    ON seat_registration (room_id, start_time, end_time);
+
+COMMENT ON INDEX idx_seat_registration_room_start IS 'Loading the seat registrations of a room for one day into the occupancy timeline';